@@ -0,0 +1,62 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import tv.hd3g.processlauncher.ProcesslauncherBuilder;
+import tv.hd3g.processlauncher.cmdline.CommandLine;
+import tv.hd3g.processlauncher.cmdline.ExecutableFinder;
+import tv.hd3g.processlauncher.cmdline.Parameters;
+
+/**
+ * Start the processlauncher test "demo" mains as child processes, with the current classpath.
+ */
+final class DemoExec {
+
+	private DemoExec() {
+	}
+
+	private static List<String> makeParameters(final Class<?> demoClass, final String... args) {
+		final var parameters = new ArrayList<String>();
+		parameters.add("-cp");
+		parameters.add(System.getProperty("java.class.path"));
+		parameters.add(demoClass.getName());
+		parameters.addAll(List.of(args));
+		return parameters;
+	}
+
+	static ProcesslauncherBuilder prepareBuilder(final Class<?> demoClass, final String... args) throws IOException {
+		final var cmd = new CommandLine("java",
+				Parameters.of(makeParameters(demoClass, args)),
+				ExecutableFinder.getDefault());
+		return new ProcesslauncherBuilder(cmd);
+	}
+
+	/**
+	 * Same command line, without processlauncher: a baseline for the JVM child startup cost.
+	 */
+	static ProcessBuilder prepareProcessBuilder(final Class<?> demoClass, final String... args) throws IOException {
+		final var fullCommandLine = new ArrayList<String>();
+		fullCommandLine.add(ExecutableFinder.getDefault().get("java").getPath());
+		fullCommandLine.addAll(makeParameters(demoClass, args));
+		return new ProcessBuilder(fullCommandLine);
+	}
+
+}
@@ -0,0 +1,137 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher.benchmarks;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static tv.hd3g.processlauncher.CapturedStreams.BOTH_STDOUT_STDERR;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import tv.hd3g.processlauncher.CapturedStdOutErrText;
+import tv.hd3g.processlauncher.LineEntry;
+import tv.hd3g.processlauncher.ProcesslauncherLifecycle;
+import tv.hd3g.processlauncher.demo.DemoExecFloodStdOut;
+import tv.hd3g.processlauncher.demo.DemoExecLongStdOutErr;
+
+/**
+ * Read the demo exec stdout/stderr through CaptureStandardOutputText, to a line counter observer, by line (onText)
+ * or by batch (onTextBatch). The "lines" counter is the stdout+stderr lines by second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OutputThroughputBenchmark {
+
+	@Param({ "DemoExecLongStdOutErr", "DemoExecFloodStdOut" })
+	String demo;
+
+	@Param({ "false", "true" })
+	boolean batch;
+
+	Class<?> demoClass;
+
+	@Setup
+	public void setup() {
+		demoClass = switch (demo) {
+		case "DemoExecLongStdOutErr" -> DemoExecLongStdOutErr.class;
+		case "DemoExecFloodStdOut" -> DemoExecFloodStdOut.class;
+		default -> throw new IllegalArgumentException("Unknown demo: " + demo);
+		};
+	}
+
+	/**
+	 * Count the lines, by line or by batch.
+	 */
+	static class LineCountObserver extends CapturedStdOutErrText {
+		private final LongAdder count = new LongAdder();
+		private final boolean batch;
+
+		LineCountObserver(final boolean batch) {
+			this.batch = batch;
+		}
+
+		@Override
+		public boolean isTextBatch() {
+			return batch;
+		}
+
+		@Override
+		public void onText(final LineEntry lineEntry) {
+			count.increment();
+		}
+
+		@Override
+		public void onTextBatch(final List<LineEntry> lineEntries) {
+			count.add(lineEntries.size());
+		}
+	}
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class LineCounter {
+		/**
+		 * Reported by JMH, as lines by second
+		 */
+		public long lines;// NOSONAR
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			lines = 0;
+		}
+	}
+
+	@Benchmark
+	public ProcesslauncherLifecycle readLines(final LineCounter counter) throws IOException {
+		final var observer = new LineCountObserver(batch);
+		final var builder = DemoExec.prepareBuilder(demoClass);
+		builder.getSetCaptureStandardOutputAsOutputText(BOTH_STDOUT_STDERR).addObserver(observer);
+		final var lifecycle = builder.start().waitForEnd();
+		observer.waitForClosedStreams();
+		counter.lines += observer.count.sum();
+		return lifecycle;
+	}
+
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(OutputThroughputBenchmark.class.getSimpleName())
+				.build())
+				.run();
+	}
+
+}
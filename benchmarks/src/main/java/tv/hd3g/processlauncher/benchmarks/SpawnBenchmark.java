@@ -0,0 +1,113 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher.benchmarks;
+
+import static java.lang.ProcessBuilder.Redirect.DISCARD;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static tv.hd3g.processlauncher.CapturedStreams.BOTH_STDOUT_STDERR;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import tv.hd3g.processlauncher.CapturedStdOutErrTextRetention;
+import tv.hd3g.processlauncher.ProcesslauncherLifecycle;
+import tv.hd3g.processlauncher.demo.DemoExecEmpty;
+import tv.hd3g.processlauncher.demo.DemoExecSimple;
+
+/**
+ * Start a demo exec and wait its end (streams included).
+ * "spawnLatency" is the full start-to-end time distribution, "processesBySecond" the throughput with 4 concurrent
+ * starts. "processBuilderBaseline" starts the same command line without processlauncher: the difference with
+ * spawnLatency is the processlauncher overhead, the rest is the child JVM startup.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SpawnBenchmark {
+
+	@Param({ "DemoExecEmpty", "DemoExecSimple" })
+	String demo;
+
+	Class<?> demoClass;
+
+	@Setup
+	public void setup() {
+		demoClass = switch (demo) {
+		case "DemoExecEmpty" -> DemoExecEmpty.class;
+		case "DemoExecSimple" -> DemoExecSimple.class;
+		default -> throw new IllegalArgumentException("Unknown demo: " + demo);
+		};
+	}
+
+	private ProcesslauncherLifecycle startAndWait() throws IOException {
+		final var builder = DemoExec.prepareBuilder(demoClass);
+		builder.getSetCaptureStandardOutputAsOutputText(BOTH_STDOUT_STDERR)
+				.addObserver(new CapturedStdOutErrTextRetention());
+		return builder.start().waitForEnd();
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SampleTime)
+	@OutputTimeUnit(MILLISECONDS)
+	public ProcesslauncherLifecycle spawnLatency() throws IOException {
+		return startAndWait();
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(SECONDS)
+	@Threads(4)
+	public ProcesslauncherLifecycle processesBySecond() throws IOException {
+		return startAndWait();
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SampleTime)
+	@OutputTimeUnit(MILLISECONDS)
+	public int processBuilderBaseline() throws IOException, InterruptedException {
+		return DemoExec.prepareProcessBuilder(demoClass)
+				.redirectOutput(DISCARD)
+				.redirectError(DISCARD)
+				.start()
+				.waitFor();
+	}
+
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(SpawnBenchmark.class.getSimpleName())
+				.build())
+				.run();
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher.benchmarks;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static tv.hd3g.processlauncher.CapturedStreams.ONLY_STDOUT;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import tv.hd3g.processlauncher.CapturedStdOutErrText;
+import tv.hd3g.processlauncher.LineEntry;
+import tv.hd3g.processlauncher.ProcesslauncherLifecycle;
+import tv.hd3g.processlauncher.StdInInjection;
+import tv.hd3g.processlauncher.demo.DemoExecInteractive;
+
+/**
+ * Send a word to a running DemoExecInteractive with StdInInjection, and wait for its uppercased stdout line,
+ * thru CaptureStandardOutputText.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StdInInjectionBenchmark {
+
+	ProcesslauncherLifecycle lifecycle;
+	StdInInjection stdInInjection;
+	BlockingQueue<String> stdOutLines;
+
+	@Setup
+	public void setup() throws IOException, InterruptedException {
+		stdOutLines = new LinkedBlockingQueue<>();
+		final var builder = DemoExec.prepareBuilder(DemoExecInteractive.class, "ready");
+		builder.getSetCaptureStandardOutputAsOutputText(ONLY_STDOUT).addObserver(new CapturedStdOutErrText() {
+			@Override
+			public void onText(final LineEntry lineEntry) {
+				stdOutLines.add(lineEntry.line());
+			}
+		});
+		lifecycle = builder.start();
+		stdInInjection = lifecycle.getStdInInjection();
+		if ("READY".equals(stdOutLines.poll(30, SECONDS)) == false) {
+			throw new IllegalStateException("Can't start " + lifecycle);
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		stdInInjection.println(DemoExecInteractive.QUIT);
+		lifecycle.waitForEnd(30, SECONDS);
+	}
+
+	@Benchmark
+	public String roundTrip() throws IOException, InterruptedException {
+		stdInInjection.println("ping");
+		return stdOutLines.take();
+	}
+
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(StdInInjectionBenchmark.class.getSimpleName())
+				.build())
+				.run();
+	}
+
+}
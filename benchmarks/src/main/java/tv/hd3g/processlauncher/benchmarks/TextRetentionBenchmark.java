@@ -0,0 +1,118 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher.benchmarks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import tv.hd3g.processlauncher.CapturedStdOutErrTextRetention;
+import tv.hd3g.processlauncher.LineEntry;
+import tv.hd3g.processlauncher.demo.DemoExecFloodStdOut;
+
+/**
+ * Keep all the DemoExecFloodStdOut stdout lines in a CapturedStdOutErrTextRetention, without process.
+ * Each line String is created from chars, like a decoded process line.
+ * "retainedBytesByLine" is the heap still used after a GC, by kept line (the text included), measured out of the
+ * benchmark time. Run with "-prof gc" to get the allocated bytes by line.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TextRetentionBenchmark {
+
+	char[][] lines;
+
+	@Setup
+	public void setup() {
+		final var stdOut = new ByteArrayOutputStream();
+		DemoExecFloodStdOut.write(new PrintStream(stdOut, false, UTF_8));
+		lines = stdOut.toString(UTF_8).lines().map(String::toCharArray).toArray(char[][]::new);
+	}
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class RetainedSize {
+		/**
+		 * Reported by JMH
+		 */
+		public long retainedBytesByLine;// NOSONAR
+
+		private long usedHeapBefore;
+		private CapturedStdOutErrTextRetention retention;
+		private int lineCount;
+
+		private static long usedHeapAfterGC() {
+			final var memory = ManagementFactory.getMemoryMXBean();
+			memory.gc();
+			return memory.getHeapMemoryUsage().getUsed();
+		}
+
+		@Setup(Level.Invocation)
+		public void before() {
+			usedHeapBefore = usedHeapAfterGC();
+		}
+
+		@TearDown(Level.Invocation)
+		public void after() {
+			retainedBytesByLine = (usedHeapAfterGC() - usedHeapBefore) / lineCount;
+			retention = null;
+		}
+	}
+
+	@Benchmark
+	public CapturedStdOutErrTextRetention keepLines(final RetainedSize retainedSize) {
+		final var retention = new CapturedStdOutErrTextRetention();
+		for (final var line : lines) {
+			retention.onText(LineEntry.makeStdOut(new String(line), null));
+		}
+		retainedSize.retention = retention;
+		retainedSize.lineCount = lines.length;
+		return retention;
+	}
+
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(TextRetentionBenchmark.class.getSimpleName())
+				.build())
+				.run();
+	}
+
+}
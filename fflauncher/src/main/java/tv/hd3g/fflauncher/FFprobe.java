@@ -29,6 +29,8 @@ public class FFprobe extends FFbase {
 	private static final String P_SHOW_PROGRAMS = "-show_programs";
 	private static final String P_SHOW_STREAMS = "-show_streams";
 	private static final String P_SHOW_CHAPTERS = "-show_chapters";
+	private static final String P_SHOW_ENTRIES = "-show_entries";
+	private static final String P_READ_INTERVALS = "-read_intervals";
 	private static final String P_PRINT_FORMAT = "-print_format";
 	private static final String P_PRETTY = "-pretty";
 
@@ -201,4 +203,32 @@ public class FFprobe extends FFbase {
 		return getInternalParameters().hasParameters(P_SHOW_CHAPTERS);
 	}
 
+	/**
+	 * -show_entries entry_list show a set of specified entries
+	 * @param entries like "packet=pts,dts:frame=pkt_size"
+	 */
+	public FFprobe setShowEntries(final String entries) {
+		getInternalParameters().ifHasNotParameter(() -> getInternalParameters().addParameters(P_SHOW_ENTRIES,
+				entries), P_SHOW_ENTRIES);
+		return this;
+	}
+
+	public boolean isShowEntries() {
+		return getInternalParameters().hasParameters(P_SHOW_ENTRIES);
+	}
+
+	/**
+	 * -read_intervals read_intervals set read intervals
+	 * @param intervals like "10%+20" or "01:30%02:00,03:00%"
+	 */
+	public FFprobe setReadIntervals(final String intervals) {
+		getInternalParameters().ifHasNotParameter(() -> getInternalParameters().addParameters(P_READ_INTERVALS,
+				intervals), P_READ_INTERVALS);
+		return this;
+	}
+
+	public boolean isReadIntervals() {
+		return getInternalParameters().hasParameters(P_READ_INTERVALS);
+	}
+
 }
@@ -0,0 +1,91 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.ffprobecontainer;
+
+import static java.util.Arrays.copyOf;
+
+import java.util.List;
+
+/**
+ * FFprobeAudioFrame list, stored as columns.
+ */
+public final class FFprobeAudioFrameColumns extends FFprobeColumns<FFprobeAudioFrame> {
+
+	private final FFprobeBaseFrameColumns frame;
+	private int[] nbSamples;
+
+	FFprobeAudioFrameColumns() {
+		this(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @param maxSize keep only the last maxSize frames
+	 */
+	FFprobeAudioFrameColumns(final int maxSize) {
+		super(maxSize);
+		frame = new FFprobeBaseFrameColumns(getCapacity());
+		nbSamples = new int[getCapacity()];
+	}
+
+	@Override
+	void grow(final int newCapacity) {
+		frame.grow(newCapacity);
+		nbSamples = copyOf(nbSamples, newCapacity);
+	}
+
+	/**
+	 * Merge the audio frames of ffprobe runs on consecutive time segments, without boundary duplicates.
+	 * A frame is sorted by its pts, or its best effort timestamp if no pts.
+	 * @param segments in time order
+	 */
+	public static FFprobeAudioFrameColumns mergeSegments(final List<List<FFprobeAudioFrame>> segments) {
+		return mergeSegments(segments, FFprobeAudioFrameColumns.class, FFprobeAudioFrameColumns::new);
+	}
+
+	@Override
+	void append(final FFprobeAudioFrame audioFrame) {
+		final var index = nextIndex();
+		frame.set(index, audioFrame.frame());
+		nbSamples[index] = audioFrame.nbSamples();
+	}
+
+	@Override
+	void appendRow(final FFprobeColumns<FFprobeAudioFrame> from, final int fromIndex) {
+		final var source = (FFprobeAudioFrameColumns) from;
+		final var index = nextIndex();
+		frame.copy(index, source.frame, fromIndex);
+		nbSamples[index] = source.nbSamples[fromIndex];
+	}
+
+	@Override
+	int getStreamIndex(final int index) {
+		return frame.getStreamIndex(index);
+	}
+
+	@Override
+	long getTimestamp(final int index) {
+		return frame.getTimestamp(index);
+	}
+
+	@Override
+	FFprobeAudioFrame getRecord(final int index) {
+		return new FFprobeAudioFrame(
+				frame.get(index),
+				nbSamples[index]);
+	}
+
+}
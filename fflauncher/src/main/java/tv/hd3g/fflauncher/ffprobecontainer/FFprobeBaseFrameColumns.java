@@ -0,0 +1,133 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.ffprobecontainer;
+
+import static java.util.Arrays.copyOf;
+
+/**
+ * FFprobeBaseFrame fields, as columns. Used by FFprobeVideoFrameColumns and FFprobeAudioFrameColumns.
+ */
+class FFprobeBaseFrameColumns {
+	private static final FFprobeCodecType[] CODEC_TYPES = FFprobeCodecType.values();
+
+	private byte[] mediaType;
+	private int[] streamIndex;
+	private boolean[] keyFrame;
+	private long[] pts;
+	private float[] ptsTime;
+	private long[] pktDts;
+	private float[] pktDtsTime;
+	private long[] bestEffortTimestamp;
+	private float[] bestEffortTimestampTime;
+	private int[] duration;
+	private float[] durationTime;
+	private long[] pktPos;
+	private int[] pktSize;
+
+	FFprobeBaseFrameColumns(final int capacity) {
+		mediaType = new byte[capacity];
+		streamIndex = new int[capacity];
+		keyFrame = new boolean[capacity];
+		pts = new long[capacity];
+		ptsTime = new float[capacity];
+		pktDts = new long[capacity];
+		pktDtsTime = new float[capacity];
+		bestEffortTimestamp = new long[capacity];
+		bestEffortTimestampTime = new float[capacity];
+		duration = new int[capacity];
+		durationTime = new float[capacity];
+		pktPos = new long[capacity];
+		pktSize = new int[capacity];
+	}
+
+	void grow(final int newCapacity) {
+		mediaType = copyOf(mediaType, newCapacity);
+		streamIndex = copyOf(streamIndex, newCapacity);
+		keyFrame = copyOf(keyFrame, newCapacity);
+		pts = copyOf(pts, newCapacity);
+		ptsTime = copyOf(ptsTime, newCapacity);
+		pktDts = copyOf(pktDts, newCapacity);
+		pktDtsTime = copyOf(pktDtsTime, newCapacity);
+		bestEffortTimestamp = copyOf(bestEffortTimestamp, newCapacity);
+		bestEffortTimestampTime = copyOf(bestEffortTimestampTime, newCapacity);
+		duration = copyOf(duration, newCapacity);
+		durationTime = copyOf(durationTime, newCapacity);
+		pktPos = copyOf(pktPos, newCapacity);
+		pktSize = copyOf(pktSize, newCapacity);
+	}
+
+	void set(final int index, final FFprobeBaseFrame frame) {
+		mediaType[index] = (byte) frame.mediaType().ordinal();
+		streamIndex[index] = frame.streamIndex();
+		keyFrame[index] = frame.keyFrame();
+		pts[index] = frame.pts();
+		ptsTime[index] = frame.ptsTime();
+		pktDts[index] = frame.pktDts();
+		pktDtsTime[index] = frame.pktDtsTime();
+		bestEffortTimestamp[index] = frame.bestEffortTimestamp();
+		bestEffortTimestampTime[index] = frame.bestEffortTimestampTime();
+		duration[index] = frame.duration();
+		durationTime[index] = frame.durationTime();
+		pktPos[index] = frame.pktPos();
+		pktSize[index] = frame.pktSize();
+	}
+
+	void copy(final int index, final FFprobeBaseFrameColumns from, final int fromIndex) {
+		mediaType[index] = from.mediaType[fromIndex];
+		streamIndex[index] = from.streamIndex[fromIndex];
+		keyFrame[index] = from.keyFrame[fromIndex];
+		pts[index] = from.pts[fromIndex];
+		ptsTime[index] = from.ptsTime[fromIndex];
+		pktDts[index] = from.pktDts[fromIndex];
+		pktDtsTime[index] = from.pktDtsTime[fromIndex];
+		bestEffortTimestamp[index] = from.bestEffortTimestamp[fromIndex];
+		bestEffortTimestampTime[index] = from.bestEffortTimestampTime[fromIndex];
+		duration[index] = from.duration[fromIndex];
+		durationTime[index] = from.durationTime[fromIndex];
+		pktPos[index] = from.pktPos[fromIndex];
+		pktSize[index] = from.pktSize[fromIndex];
+	}
+
+	int getStreamIndex(final int index) {
+		return streamIndex[index];
+	}
+
+	/**
+	 * @return pts, or the best effort timestamp if no pts
+	 */
+	long getTimestamp(final int index) {
+		return pts[index] != -1 ? pts[index] : bestEffortTimestamp[index];
+	}
+
+	FFprobeBaseFrame get(final int index) {
+		return new FFprobeBaseFrame(
+				CODEC_TYPES[mediaType[index]],
+				streamIndex[index],
+				keyFrame[index],
+				pts[index],
+				ptsTime[index],
+				pktDts[index],
+				pktDtsTime[index],
+				bestEffortTimestamp[index],
+				bestEffortTimestampTime[index],
+				duration[index],
+				durationTime[index],
+				pktPos[index],
+				pktSize[index]);
+	}
+
+}
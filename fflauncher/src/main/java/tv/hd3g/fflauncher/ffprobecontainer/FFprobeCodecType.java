@@ -22,18 +22,22 @@ public enum FFprobeCodecType {
 	DATA,
 	OTHER;
 
+	private static final FFprobeCodecType[] VALUES = values();
+
+	/**
+	 * Case insensitive, without valueOf or exceptions.
+	 * @return OTHER if null or unknown
+	 */
 	public static FFprobeCodecType fromString(final String name) {
-		try {
-			final var v = FFprobeCodecType.valueOf(name.toUpperCase());
-			if (v != null) {
-				return v;
+		if (name == null) {
+			return OTHER;
+		}
+		for (final var value : VALUES) {
+			if (value.name().equalsIgnoreCase(name)) {
+				return value;
 			}
-		} catch (final Exception e) {
-			/**
-			 *
-			 */
 		}
-		return FFprobeCodecType.OTHER;
+		return OTHER;
 	}
 
 }
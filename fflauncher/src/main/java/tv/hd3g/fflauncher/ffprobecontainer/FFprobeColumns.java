@@ -0,0 +1,154 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.ffprobecontainer;
+
+import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Supplier;
+
+/**
+ * Struct of arrays storage: one growable primitive array by field, instead of one record by item.
+ * It's a read-only List view: records are only created on get(), and never kept.
+ * With a maxSize, the storage is a ring: only the last maxSize items are kept.
+ */
+public abstract sealed class FFprobeColumns<T> extends AbstractList<T> implements RandomAccess
+										   permits FFprobePacketColumns, FFprobeVideoFrameColumns, FFprobeAudioFrameColumns {
+
+	static final int INITIAL_CAPACITY = 1024;
+
+	private final int maxSize;
+	private int size;
+	private int capacity;
+	/**
+	 * Physical index of the first (oldest) item
+	 */
+	private int start;
+
+	FFprobeColumns(final int maxSize) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("Invalid maxSize: " + maxSize);
+		}
+		this.maxSize = maxSize;
+		capacity = Math.min(INITIAL_CAPACITY, maxSize);
+	}
+
+	/**
+	 * @return the arrays size to allocate on the subclass constructor
+	 */
+	int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * @return the (physical) index to write the new item, maybe in place of the oldest one
+	 */
+	int nextIndex() {
+		if (size < maxSize) {
+			if (size == capacity) {
+				capacity = (int) Math.min(capacity + (long) (capacity >> 1), maxSize);
+				grow(capacity);
+			}
+			return size++;
+		}
+		final var index = start;
+		start = (start + 1) % capacity;
+		return index;
+	}
+
+	/**
+	 * Resize all the columns arrays to newCapacity
+	 */
+	abstract void grow(int newCapacity);
+
+	abstract T getRecord(int index);
+
+	abstract void append(T item);
+
+	/**
+	 * Copy a row from another store of the same type, without record.
+	 * @param fromIndex the (physical) index in from
+	 */
+	abstract void appendRow(FFprobeColumns<T> from, int fromIndex);
+
+	/**
+	 * @param index physical index
+	 */
+	abstract int getStreamIndex(int index);
+
+	/**
+	 * @param index physical index
+	 * @return the timestamp to sort the items of a stream, or -1
+	 */
+	abstract long getTimestamp(int index);
+
+	/**
+	 * Keep segments order. An item is a boundary duplicate if its timestamp is not after the last timestamp of its
+	 * stream in the previous segments. Items without timestamp (-1) are always kept.
+	 * The rows are copied column by column, without records: a segment not stored in columnsType is stored first.
+	 * @param segments in time order, null segments are ignored
+	 */
+	static <T, C extends FFprobeColumns<T>> C mergeSegments(final List<List<T>> segments,
+															 final Class<C> columnsType,
+															 final Supplier<C> newColumns) {
+		final var merged = newColumns.get();
+		final var lastTimestampByStream = new HashMap<Integer, Long>();
+		for (final var segment : segments) {
+			if (segment == null) {
+				continue;
+			}
+			final FFprobeColumns<T> columns;
+			if (columnsType.isInstance(segment)) {
+				columns = columnsType.cast(segment);
+			} else {
+				columns = newColumns.get();
+				segment.forEach(columns::append);
+			}
+
+			final var segmentLastTimestampByStream = new HashMap<Integer, Long>();
+			for (var pos = 0; pos < columns.size; pos++) {
+				final var index = (columns.start + pos) % columns.capacity;
+				final var streamIndex = columns.getStreamIndex(index);
+				final var timestamp = columns.getTimestamp(index);
+				if (timestamp != -1) {
+					final var lastTimestamp = lastTimestampByStream.get(streamIndex);
+					if (lastTimestamp != null && timestamp <= lastTimestamp) {
+						continue;
+					}
+					segmentLastTimestampByStream.merge(streamIndex, timestamp, Math::max);
+				}
+				merged.appendRow(columns, index);
+			}
+			segmentLastTimestampByStream.forEach((k, v) -> lastTimestampByStream.merge(k, v, Math::max));
+		}
+		return merged;
+	}
+
+	@Override
+	public T get(final int index) {
+		Objects.checkIndex(index, size);
+		return getRecord((start + index) % capacity);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+}
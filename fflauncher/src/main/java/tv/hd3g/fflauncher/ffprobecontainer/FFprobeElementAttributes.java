@@ -0,0 +1,266 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.ffprobecontainer;
+
+import java.util.Arrays;
+
+import org.xml.sax.Attributes;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Attributes reader for all the XML elements with the same name (like all the "packet" elements).
+ * Attribute indexes are resolved once, and only checked for the next elements (ffprobe always write attributes in the
+ * same order). Numbers are parsed from the SAX attribute value, without Optional, boxing or intermediate Strings.
+ * Not thread safe.
+ * @param <K> attribute names, as enum constants (PKT_DTS_TIME for "pkt_dts_time")
+ */
+@Slf4j
+class FFprobeElementAttributes<K extends Enum<K>> {
+	private static final String CAN_T_PARSE_NUMBER = "Can't parse number: {}";
+	/**
+	 * 10^15 < 2^53: all the mantissa and powers of ten used here are exact as double.
+	 */
+	static final int MAX_FLOAT_DIGITS = 15;
+	private static final double[] POWERS_OF_TEN;
+	static final int MAX_INT_DIGITS = 9;
+	static final int MAX_LONG_DIGITS = 18;
+	/**
+	 * Double to float rounding bits: 52 (double) - 23 (float) mantissa bits
+	 */
+	private static final long DOUBLE_TO_FLOAT_LOST_BITS = (1L << 29) - 1;
+	private static final long DOUBLE_TO_FLOAT_HALF = 1L << 28;
+
+	static {
+		POWERS_OF_TEN = new double[MAX_FLOAT_DIGITS + 1];
+		POWERS_OF_TEN[0] = 1d;
+		for (var pos = 1; pos < POWERS_OF_TEN.length; pos++) {
+			POWERS_OF_TEN[pos] = POWERS_OF_TEN[pos - 1] * 10d;
+		}
+	}
+
+	private final String[] names;
+	private final int[] indexes;
+	private final boolean[] missingLogged;
+	private Attributes attributes;
+
+	FFprobeElementAttributes(final Class<K> keys) {
+		final var constants = keys.getEnumConstants();
+		names = new String[constants.length];
+		for (var pos = 0; pos < constants.length; pos++) {
+			names[pos] = constants[pos].name().toLowerCase().intern();
+		}
+		indexes = new int[constants.length];
+		Arrays.fill(indexes, -1);
+		missingLogged = new boolean[constants.length];
+	}
+
+	/**
+	 * @return this, to read the attributes of the current element
+	 */
+	FFprobeElementAttributes<K> set(final Attributes attributes) {
+		this.attributes = attributes;
+		return this;
+	}
+
+	/**
+	 * @return null if missing
+	 */
+	String getValue(final K key) {
+		final var keyIndex = key.ordinal();
+		final var name = names[keyIndex];
+		var index = indexes[keyIndex];
+		if (index < 0
+			|| index >= attributes.getLength()
+			|| name.equals(attributes.getQName(index)) == false) {
+			index = attributes.getIndex(name);
+			indexes[keyIndex] = index;
+			if (index < 0) {
+				if (missingLogged[keyIndex] == false) {
+					log.debug("Missing XML attribute: {}", name);
+					missingLogged[keyIndex] = true;
+				}
+				return null;
+			}
+		}
+		return attributes.getValue(index);
+	}
+
+	String getValue(final K key, final String orDefault) {
+		final var value = getValue(key);
+		if (value == null) {
+			return orDefault;
+		}
+		return value;
+	}
+
+	/**
+	 * @return true only for "1"
+	 */
+	boolean getBoolean(final K key, final boolean orDefault) {
+		final var value = getValue(key);
+		if (value == null) {
+			return orDefault;
+		}
+		return value.length() == 1 && value.charAt(0) == '1';
+	}
+
+	int getInt(final K key, final int orDefault) {
+		final var value = getValue(key);
+		if (value == null) {
+			return orDefault;
+		}
+		return parseInt(value, orDefault);
+	}
+
+	long getLong(final K key, final long orDefault) {
+		final var value = getValue(key);
+		if (value == null) {
+			return orDefault;
+		}
+		return parseLong(value, orDefault);
+	}
+
+	float getFloat(final K key, final float orDefault) {
+		final var value = getValue(key);
+		if (value == null) {
+			return orDefault;
+		}
+		return parseFloat(value, orDefault);
+	}
+
+	/**
+	 * @return orDefault if value is not a number (like Integer.parseInt)
+	 */
+	static int parseInt(final String value, final int orDefault) {
+		final var negative = value.length() > 1 && value.charAt(0) == '-';
+		final var start = negative ? 1 : 0;
+		if (value.isEmpty() || value.length() - start > MAX_INT_DIGITS) {
+			return parseIntFallback(value, orDefault);
+		}
+		var result = 0;
+		for (var pos = start; pos < value.length(); pos++) {
+			final var digit = value.charAt(pos) - '0';
+			if (digit < 0 || digit > 9) {
+				return parseIntFallback(value, orDefault);
+			}
+			result = result * 10 + digit;
+		}
+		return negative ? -result : result;
+	}
+
+	private static int parseIntFallback(final String value, final int orDefault) {
+		try {
+			return Integer.parseInt(value);
+		} catch (final NumberFormatException e) {
+			log.warn(CAN_T_PARSE_NUMBER, value);
+			return orDefault;
+		}
+	}
+
+	/**
+	 * @return orDefault if value is not a number (like Long.parseLong)
+	 */
+	static long parseLong(final String value, final long orDefault) {
+		final var negative = value.length() > 1 && value.charAt(0) == '-';
+		final var start = negative ? 1 : 0;
+		if (value.isEmpty() || value.length() - start > MAX_LONG_DIGITS) {
+			return parseLongFallback(value, orDefault);
+		}
+		var result = 0L;
+		for (var pos = start; pos < value.length(); pos++) {
+			final var digit = value.charAt(pos) - '0';
+			if (digit < 0 || digit > 9) {
+				return parseLongFallback(value, orDefault);
+			}
+			result = result * 10 + digit;
+		}
+		return negative ? -result : result;
+	}
+
+	private static long parseLongFallback(final String value, final long orDefault) {
+		try {
+			return Long.parseLong(value);
+		} catch (final NumberFormatException e) {
+			log.warn(CAN_T_PARSE_NUMBER, value);
+			return orDefault;
+		}
+	}
+
+	/**
+	 * Fast path for the ffprobe "-123.456789" notation: the (exact) mantissa is divided by an (exact) power of ten, as
+	 * double, so it's correctly rounded. Then the double is rounded to float, only if it's not on a float rounding tie.
+	 * Else, like Float.parseFloat.
+	 * @return orDefault if value is not a number (like Float.parseFloat)
+	 */
+	static float parseFloat(final String value, final float orDefault) {
+		final var negative = value.length() > 1 && value.charAt(0) == '-';
+		var mantissa = 0L;
+		var digits = 0;
+		var scale = 0;
+		var dot = false;
+		for (var pos = negative ? 1 : 0; pos < value.length(); pos++) {
+			final var chr = value.charAt(pos);
+			if (chr == '.' && dot == false) {
+				dot = true;
+				continue;
+			}
+			final var digit = chr - '0';
+			if (digit < 0 || digit > 9 || ++digits > MAX_FLOAT_DIGITS) {
+				return parseFloatFallback(value, orDefault);
+			}
+			mantissa = mantissa * 10 + digit;
+			if (dot) {
+				scale++;
+			}
+		}
+		if (digits == 0) {
+			return parseFloatFallback(value, orDefault);
+		}
+		final var result = toFloat(mantissa, scale, negative);
+		if (Float.isNaN(result)) {
+			return parseFloatFallback(value, orDefault);
+		}
+		return result;
+	}
+
+	/**
+	 * @param mantissa up to MAX_FLOAT_DIGITS digits
+	 * @param scale digit count after the dot, up to MAX_FLOAT_DIGITS
+	 * @return the correctly rounded float for -?mantissa/10^scale, or NaN if it can't be sure (use Float.parseFloat)
+	 */
+	static float toFloat(final long mantissa, final int scale, final boolean negative) {
+		/**
+		 * Always between 1e-15 and 1e15 (or 0), so a normal float
+		 */
+		final var result = mantissa / POWERS_OF_TEN[scale];
+		if ((Double.doubleToRawLongBits(result) & DOUBLE_TO_FLOAT_LOST_BITS) == DOUBLE_TO_FLOAT_HALF) {
+			return Float.NaN;
+		}
+		return negative ? -(float) result : (float) result;
+	}
+
+	private static float parseFloatFallback(final String value, final float orDefault) {
+		try {
+			return Float.parseFloat(value);
+		} catch (final NumberFormatException e) {
+			log.warn(CAN_T_PARSE_NUMBER, value);
+			return orDefault;
+		}
+	}
+
+}
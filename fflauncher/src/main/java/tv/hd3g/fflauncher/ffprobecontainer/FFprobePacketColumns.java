@@ -0,0 +1,223 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.ffprobecontainer;
+
+import static java.util.Arrays.copyOf;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FFprobePacket list, stored as columns.
+ * Packet flags (like "K_", "__", "K__", "_D_") are stored as bits in one byte.
+ */
+public final class FFprobePacketColumns extends FFprobeColumns<FFprobePacket> {
+	private static final FFprobeCodecType[] CODEC_TYPES = FFprobeCodecType.values();
+
+	/**
+	 * Flags chars, by position. An unset flag is "_".
+	 */
+	private static final String FLAG_NAMES = "KDC";
+	private static final char UNSET_FLAG = '_';
+	private static final int FLAG_LENGTH_SHIFT = 4;
+	static final byte NULL_FLAGS = -1;
+	static final byte OTHER_FLAGS = -2;
+	private static final String[] DECODED_FLAGS;
+
+	static {
+		DECODED_FLAGS = new String[(FLAG_NAMES.length() + 1) << FLAG_LENGTH_SHIFT];
+		for (var length = 0; length <= FLAG_NAMES.length(); length++) {
+			for (var bits = 0; bits < 1 << length; bits++) {
+				final var flags = new StringBuilder(length);
+				for (var position = 0; position < length; position++) {
+					flags.append((bits & 1 << position) == 0 ? UNSET_FLAG : FLAG_NAMES.charAt(position));
+				}
+				DECODED_FLAGS[length << FLAG_LENGTH_SHIFT | bits] = flags.toString();
+			}
+		}
+	}
+
+	private byte[] codecType;
+	private int[] streamIndex;
+	private long[] pts;
+	private float[] ptsTime;
+	private long[] dts;
+	private float[] dtsTime;
+	private int[] duration;
+	private float[] durationTime;
+	private int[] size;
+	private long[] pos;
+	private byte[] flags;
+	/**
+	 * By index, only for flags that can't be encoded (never seen)
+	 */
+	private final Map<Integer, String> otherFlags;
+
+	FFprobePacketColumns() {
+		this(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @param maxSize keep only the last maxSize packets
+	 */
+	FFprobePacketColumns(final int maxSize) {
+		super(maxSize);
+		final var capacity = getCapacity();
+		codecType = new byte[capacity];
+		streamIndex = new int[capacity];
+		pts = new long[capacity];
+		ptsTime = new float[capacity];
+		dts = new long[capacity];
+		dtsTime = new float[capacity];
+		duration = new int[capacity];
+		durationTime = new float[capacity];
+		size = new int[capacity];
+		pos = new long[capacity];
+		flags = new byte[capacity];
+		otherFlags = new HashMap<>();
+	}
+
+	@Override
+	void grow(final int newCapacity) {
+		codecType = copyOf(codecType, newCapacity);
+		streamIndex = copyOf(streamIndex, newCapacity);
+		pts = copyOf(pts, newCapacity);
+		ptsTime = copyOf(ptsTime, newCapacity);
+		dts = copyOf(dts, newCapacity);
+		dtsTime = copyOf(dtsTime, newCapacity);
+		duration = copyOf(duration, newCapacity);
+		durationTime = copyOf(durationTime, newCapacity);
+		size = copyOf(size, newCapacity);
+		pos = copyOf(pos, newCapacity);
+		flags = copyOf(flags, newCapacity);
+	}
+
+	/**
+	 * Merge the packets of ffprobe runs on consecutive time segments, without boundary duplicates.
+	 * A packet is sorted by its dts, or its pts if no dts.
+	 * @param segments in time order
+	 */
+	public static FFprobePacketColumns mergeSegments(final List<List<FFprobePacket>> segments) {
+		return mergeSegments(segments, FFprobePacketColumns.class, FFprobePacketColumns::new);
+	}
+
+	@Override
+	void append(final FFprobePacket packet) {
+		final var index = nextIndex();
+		codecType[index] = (byte) packet.codecType().ordinal();
+		streamIndex[index] = packet.streamIndex();
+		pts[index] = packet.pts();
+		ptsTime[index] = packet.ptsTime();
+		dts[index] = packet.dts();
+		dtsTime[index] = packet.dtsTime();
+		duration[index] = packet.duration();
+		durationTime[index] = packet.durationTime();
+		size[index] = packet.size();
+		pos[index] = packet.pos();
+		if (flags[index] == OTHER_FLAGS) {
+			otherFlags.remove(index);
+		}
+		flags[index] = encodeFlags(packet.flags());
+		if (flags[index] == OTHER_FLAGS) {
+			otherFlags.put(index, packet.flags());
+		}
+	}
+
+	@Override
+	void appendRow(final FFprobeColumns<FFprobePacket> from, final int fromIndex) {
+		final var source = (FFprobePacketColumns) from;
+		final var index = nextIndex();
+		codecType[index] = source.codecType[fromIndex];
+		streamIndex[index] = source.streamIndex[fromIndex];
+		pts[index] = source.pts[fromIndex];
+		ptsTime[index] = source.ptsTime[fromIndex];
+		dts[index] = source.dts[fromIndex];
+		dtsTime[index] = source.dtsTime[fromIndex];
+		duration[index] = source.duration[fromIndex];
+		durationTime[index] = source.durationTime[fromIndex];
+		size[index] = source.size[fromIndex];
+		pos[index] = source.pos[fromIndex];
+		if (flags[index] == OTHER_FLAGS) {
+			otherFlags.remove(index);
+		}
+		flags[index] = source.flags[fromIndex];
+		if (flags[index] == OTHER_FLAGS) {
+			otherFlags.put(index, source.otherFlags.get(fromIndex));
+		}
+	}
+
+	@Override
+	int getStreamIndex(final int index) {
+		return streamIndex[index];
+	}
+
+	@Override
+	long getTimestamp(final int index) {
+		return dts[index] != -1 ? dts[index] : pts[index];
+	}
+
+	@Override
+	FFprobePacket getRecord(final int index) {
+		return new FFprobePacket(
+				CODEC_TYPES[codecType[index]],
+				streamIndex[index],
+				pts[index],
+				ptsTime[index],
+				dts[index],
+				dtsTime[index],
+				duration[index],
+				durationTime[index],
+				size[index],
+				pos[index],
+				flags[index] == OTHER_FLAGS ? otherFlags.get(index) : decodeFlags(flags[index]));
+	}
+
+	/**
+	 * @return 4 bits for the flags length, 4 bits for the set flags, or NULL_FLAGS/OTHER_FLAGS
+	 */
+	static byte encodeFlags(final String flags) {
+		if (flags == null) {
+			return NULL_FLAGS;
+		} else if (flags.length() > FLAG_NAMES.length()) {
+			return OTHER_FLAGS;
+		}
+		var bits = 0;
+		for (var position = 0; position < flags.length(); position++) {
+			final var flag = flags.charAt(position);
+			if (flag == FLAG_NAMES.charAt(position)) {
+				bits |= 1 << position;
+			} else if (flag != UNSET_FLAG) {
+				return OTHER_FLAGS;
+			}
+		}
+		return (byte) (flags.length() << FLAG_LENGTH_SHIFT | bits);
+	}
+
+	/**
+	 * @return always the same String instance for the same flags
+	 */
+	static String decodeFlags(final byte encoded) {
+		if (encoded == NULL_FLAGS) {
+			return null;
+		} else if (encoded < 0 || encoded >= DECODED_FLAGS.length) {
+			throw new IllegalArgumentException("Invalid encoded flags: " + encoded);
+		}
+		return DECODED_FLAGS[encoded];
+	}
+
+}
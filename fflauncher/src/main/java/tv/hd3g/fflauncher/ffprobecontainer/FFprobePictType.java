@@ -22,4 +22,20 @@ public enum FFprobePictType {
 	P,
 	UNKNOWN;
 
+	/**
+	 * Without valueOf: ffprobe pict_type is a single char ("I", "P", "B", "?", "S"...)
+	 * @return UNKNOWN if null or not I/B/P
+	 */
+	public static FFprobePictType fromString(final String name) {
+		if (name == null || name.length() != 1) {
+			return UNKNOWN;
+		}
+		return switch (name.charAt(0)) {
+		case 'I' -> I;
+		case 'B' -> B;
+		case 'P' -> P;
+		default -> UNKNOWN;
+		};
+	}
+
 }
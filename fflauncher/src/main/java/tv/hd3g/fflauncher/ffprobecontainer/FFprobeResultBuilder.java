@@ -0,0 +1,122 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.ffprobecontainer;
+
+import static java.util.Collections.unmodifiableList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import tv.hd3g.fflauncher.recipes.ContainerAnalyserProcessResult;
+
+/**
+ * Packets, frames and consts collector for the ffprobe output parsers (XML or CSV).
+ * Apply the FFprobeRetentionPolicy and call the FFprobeResultListeners. Not thread safe.
+ */
+class FFprobeResultBuilder {
+
+	private final FFprobePacketColumns packets;
+	private final FFprobeAudioFrameColumns audioFrames;
+	private final FFprobeVideoFrameColumns videoFrames;
+
+	private final boolean retainItems;
+	private final List<FFprobeResultListener> listeners;
+
+	private final List<FFprobeVideoFrameConst> olderVideoConsts;
+	private final List<FFprobeAudioFrameConst> olderAudioConsts;
+	private FFprobeVideoFrameConst videoConst;
+	private FFprobeAudioFrameConst audioConst;
+
+	FFprobeResultBuilder(final FFprobeRetentionPolicy retentionPolicy) {
+		Objects.requireNonNull(retentionPolicy, "\"retentionPolicy\" can't to be null");
+		retainItems = retentionPolicy.maxItems() > 0;
+		final var maxItems = Math.max(1, retentionPolicy.maxItems());
+		packets = new FFprobePacketColumns(maxItems);
+		audioFrames = new FFprobeAudioFrameColumns(maxItems);
+		videoFrames = new FFprobeVideoFrameColumns(maxItems);
+		listeners = new ArrayList<>();
+		olderVideoConsts = new ArrayList<>();
+		olderAudioConsts = new ArrayList<>();
+	}
+
+	void addListener(final FFprobeResultListener listener) {
+		listeners.add(Objects.requireNonNull(listener, "\"listener\" can't to be null"));
+	}
+
+	void onPacket(final FFprobePacket packet) {
+		if (retainItems) {
+			packets.append(packet);
+		}
+		listeners.forEach(l -> l.onPacket(packet));
+	}
+
+	/**
+	 * @param currentVideoConst made from this frame
+	 */
+	void onVideoFrame(final FFprobeVideoFrame frame, final FFprobeVideoFrameConst currentVideoConst) {
+		if (retainItems) {
+			videoFrames.append(frame);
+		}
+		listeners.forEach(l -> l.onVideoFrame(frame));
+
+		if (videoConst == null || videoConst.valuesEquals(currentVideoConst) == false) {
+			final var previousVideoConst = videoConst;
+			if (previousVideoConst != null) {
+				olderVideoConsts.add(previousVideoConst);
+			}
+			videoConst = currentVideoConst;
+			listeners.forEach(l -> l.onVideoConstChange(previousVideoConst, currentVideoConst));
+		}
+	}
+
+	/**
+	 * @param currentAudioConst made from this frame
+	 */
+	void onAudioFrame(final FFprobeAudioFrame frame, final FFprobeAudioFrameConst currentAudioConst) {
+		if (retainItems) {
+			audioFrames.append(frame);
+		}
+		listeners.forEach(l -> l.onAudioFrame(frame));
+
+		if (audioConst == null || audioConst.valuesEquals(currentAudioConst) == false) {
+			final var previousAudioConst = audioConst;
+			if (previousAudioConst != null) {
+				olderAudioConsts.add(previousAudioConst);
+			}
+			audioConst = currentAudioConst;
+			listeners.forEach(l -> l.onAudioConstChange(previousAudioConst, currentAudioConst));
+		}
+	}
+
+	void onEnd() {
+		listeners.forEach(FFprobeResultListener::onEnd);
+	}
+
+	ContainerAnalyserProcessResult getResult(final String ffprobeCommandLine) {
+		return new ContainerAnalyserProcessResult(
+				packets,
+				audioFrames,
+				videoFrames,
+				videoConst,
+				audioConst,
+				unmodifiableList(olderVideoConsts),
+				unmodifiableList(olderAudioConsts),
+				ffprobeCommandLine);
+	}
+
+}
@@ -0,0 +1,555 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.ffprobecontainer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobeCodecType.AUDIO;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobeCodecType.OTHER;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobeCodecType.VIDEO;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobeElementAttributes.MAX_FLOAT_DIGITS;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobeElementAttributes.MAX_INT_DIGITS;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobeElementAttributes.MAX_LONG_DIGITS;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import tv.hd3g.fflauncher.enums.ChannelLayout;
+import tv.hd3g.fflauncher.progress.FFProbeXMLProgressHandler;
+import tv.hd3g.fflauncher.recipes.ContainerAnalyserProcessResult;
+import tv.hd3g.processlauncher.ProcesslauncherLifecycle;
+
+/**
+ * Parse the ffprobe "-show_entries SHOW_ENTRIES -print_format csv" output, with a byte level tokenizer.
+ * One line by packet or frame, like "packet,video,0,1738737,57.957900,[...],K__".
+ * The CSV writer always display the optional fields (as "N/A"), so fields positions are stable for packets, video
+ * frames, and audio frames. Fields are displayed in the ffprobe (6+) internal order, regardless of the -show_entries
+ * order.
+ * Numbers are parsed from the bytes. Strings (flags, pix_fmt...) are reused from the previous line if they are the same.
+ */
+@Slf4j
+public class FFprobeResultCSV implements FFprobeResultParser {
+	private static final int BUFFER_SIZE = 0xFFFF;
+	private static final int MAX_FIELDS = 32;
+
+	static final List<String> PACKET_FIELDS = List.of(
+			"codec_type", "stream_index", "pts", "pts_time", "dts", "dts_time", "duration", "duration_time", "size",
+			"pos", "flags");
+	static final List<String> FRAME_FIELDS = List.of(
+			"media_type", "stream_index", "key_frame", "pts", "pts_time", "pkt_dts", "pkt_dts_time",
+			"best_effort_timestamp", "best_effort_timestamp_time", "duration", "duration_time", "pkt_pos", "pkt_size");
+	static final List<String> VIDEO_FRAME_FIELDS = List.of(
+			"width", "height", "pix_fmt", "sample_aspect_ratio", "pict_type", "interlaced_frame", "top_field_first",
+			"repeat_pict", "color_range", "color_space", "color_primaries", "color_transfer");
+	static final List<String> AUDIO_FRAME_FIELDS = List.of(
+			"sample_fmt", "nb_samples", "channels", "channel_layout");
+
+	/**
+	 * For FFprobe.setShowEntries
+	 */
+	public static final String SHOW_ENTRIES = "packet=" + String.join(",", PACKET_FIELDS)
+											  + ":frame=" + Stream.of(FRAME_FIELDS,
+													  VIDEO_FRAME_FIELDS,
+													  AUDIO_FRAME_FIELDS)
+													  .flatMap(List::stream)
+													  .collect(Collectors.joining(","));
+
+	private static final int P_CODEC_TYPE = packetField("codec_type");
+	private static final int P_STREAM_INDEX = packetField("stream_index");
+	private static final int P_PTS = packetField("pts");
+	private static final int P_PTS_TIME = packetField("pts_time");
+	private static final int P_DTS = packetField("dts");
+	private static final int P_DTS_TIME = packetField("dts_time");
+	private static final int P_DURATION = packetField("duration");
+	private static final int P_DURATION_TIME = packetField("duration_time");
+	private static final int P_SIZE = packetField("size");
+	private static final int P_POS = packetField("pos");
+	private static final int P_FLAGS = packetField("flags");
+
+	private static final int F_MEDIA_TYPE = frameField("media_type");
+	private static final int F_STREAM_INDEX = frameField("stream_index");
+	private static final int F_KEY_FRAME = frameField("key_frame");
+	private static final int F_PTS = frameField("pts");
+	private static final int F_PTS_TIME = frameField("pts_time");
+	private static final int F_PKT_DTS = frameField("pkt_dts");
+	private static final int F_PKT_DTS_TIME = frameField("pkt_dts_time");
+	private static final int F_BEST_EFFORT_TIMESTAMP = frameField("best_effort_timestamp");
+	private static final int F_BEST_EFFORT_TIMESTAMP_TIME = frameField("best_effort_timestamp_time");
+	private static final int F_DURATION = frameField("duration");
+	private static final int F_DURATION_TIME = frameField("duration_time");
+	private static final int F_PKT_POS = frameField("pkt_pos");
+	private static final int F_PKT_SIZE = frameField("pkt_size");
+
+	private static final int V_WIDTH = videoFrameField("width");
+	private static final int V_HEIGHT = videoFrameField("height");
+	private static final int V_PIX_FMT = videoFrameField("pix_fmt");
+	private static final int V_SAMPLE_ASPECT_RATIO = videoFrameField("sample_aspect_ratio");
+	private static final int V_PICT_TYPE = videoFrameField("pict_type");
+	private static final int V_INTERLACED_FRAME = videoFrameField("interlaced_frame");
+	private static final int V_TOP_FIELD_FIRST = videoFrameField("top_field_first");
+	private static final int V_REPEAT_PICT = videoFrameField("repeat_pict");
+	private static final int V_COLOR_RANGE = videoFrameField("color_range");
+	private static final int V_COLOR_SPACE = videoFrameField("color_space");
+	private static final int V_COLOR_PRIMARIES = videoFrameField("color_primaries");
+	private static final int V_COLOR_TRANSFER = videoFrameField("color_transfer");
+
+	private static final int A_SAMPLE_FMT = audioFrameField("sample_fmt");
+	private static final int A_NB_SAMPLES = audioFrameField("nb_samples");
+	private static final int A_CHANNELS = audioFrameField("channels");
+	private static final int A_CHANNEL_LAYOUT = audioFrameField("channel_layout");
+
+	private static final byte[] PACKET = "packet".getBytes(UTF_8);
+	private static final byte[] FRAME = "frame".getBytes(UTF_8);
+	private static final byte[] NOT_AVAILABLE = "N/A".getBytes(UTF_8);
+	private static final byte[] UNKNOWN = "unknown".getBytes(UTF_8);
+	private static final FFprobeCodecType[] CODEC_TYPES = FFprobeCodecType.values();
+	private static final byte[][] CODEC_TYPES_NAMES = Stream.of(CODEC_TYPES)
+			.map(t -> t.name().toLowerCase().getBytes(UTF_8))
+			.toArray(byte[][]::new);
+
+	/**
+	 * String cache by line type
+	 */
+	private static final int PACKET_LINE = 0;
+	private static final int VIDEO_FRAME_LINE = 1;
+	private static final int AUDIO_FRAME_LINE = 2;
+
+	private final FFprobeResultBuilder resultBuilder;
+	private final int[] fieldStarts;
+	private final int[] fieldEnds;
+	private final String[][] lastStrings;
+	private byte[] buffer;
+	private int lineStart;
+	private int fieldCount;
+	private int lineType;
+	private String lastChannelLayoutName;
+	private ChannelLayout lastChannelLayout;
+
+	@Setter
+	private FFProbeXMLProgressHandler progressHandler;
+
+	public FFprobeResultCSV() {
+		this(FFprobeRetentionPolicy.FULL);
+	}
+
+	public FFprobeResultCSV(final FFprobeRetentionPolicy retentionPolicy) {
+		resultBuilder = new FFprobeResultBuilder(retentionPolicy);
+		fieldStarts = new int[MAX_FIELDS];
+		fieldEnds = new int[MAX_FIELDS];
+		lastStrings = new String[3][MAX_FIELDS];
+		buffer = new byte[BUFFER_SIZE];
+	}
+
+	private static int packetField(final String name) {
+		return field(PACKET_FIELDS, name, 1);
+	}
+
+	private static int frameField(final String name) {
+		return field(FRAME_FIELDS, name, 1);
+	}
+
+	private static int videoFrameField(final String name) {
+		return field(VIDEO_FRAME_FIELDS, name, 1 + FRAME_FIELDS.size());
+	}
+
+	private static int audioFrameField(final String name) {
+		return field(AUDIO_FRAME_FIELDS, name, 1 + FRAME_FIELDS.size());
+	}
+
+	/**
+	 * @param offset 1 for the section name, + previous fields
+	 */
+	private static int field(final List<String> fields, final String name, final int offset) {
+		final var index = fields.indexOf(name);
+		if (index < 0) {
+			throw new IllegalArgumentException("Unknown field: " + name);
+		}
+		return offset + index;
+	}
+
+	@Override
+	public void addListener(final FFprobeResultListener listener) {
+		resultBuilder.addListener(listener);
+	}
+
+	@Override
+	public void onProcessStart(final InputStream processInputStream, final ProcesslauncherLifecycle source) {
+		try {
+			read(processInputStream);
+		} catch (final IOException e) {
+			log.error("Can't read ffprobe CSV for {}",
+					Optional.ofNullable(source).map(ProcesslauncherLifecycle::toString).orElse(""), e);
+			Optional.ofNullable(source)
+					.ifPresent(ProcesslauncherLifecycle::kill);
+			return;
+		}
+		if (progressHandler != null) {
+			progressHandler.onEnd();
+		}
+		resultBuilder.onEnd();
+	}
+
+	private void read(final InputStream processInputStream) throws IOException {
+		var length = 0;
+		var scanPos = 0;
+		var inQuotes = false;
+		var started = false;
+		int read;
+		while ((read = processInputStream.read(buffer, length, buffer.length - length)) > -1) {
+			if (started == false && read > 0) {
+				started = true;
+				if (progressHandler != null) {
+					progressHandler.onStart();
+				}
+			}
+			length += read;
+
+			for (; scanPos < length; scanPos++) {
+				final var chr = buffer[scanPos];
+				if (chr == '"') {
+					inQuotes = inQuotes == false;
+				} else if (inQuotes == false) {
+					if (chr == ',') {
+						endField(scanPos);
+					} else if (chr == '\n') {
+						endField(scanPos);
+						onLine();
+						lineStart = scanPos + 1;
+						fieldCount = 0;
+					}
+				}
+			}
+
+			if (lineStart > 0) {
+				length -= lineStart;
+				System.arraycopy(buffer, lineStart, buffer, 0, length);
+				scanPos -= lineStart;
+				lineStart = 0;
+			} else if (length == buffer.length) {
+				buffer = Arrays.copyOf(buffer, buffer.length * 2);
+			}
+		}
+		if (length > 0) {
+			endField(length);
+			onLine();
+		}
+	}
+
+	/**
+	 * Field positions are relative to lineStart (the buffer can be compacted during a line).
+	 */
+	private void endField(final int end) {
+		if (fieldCount < MAX_FIELDS) {
+			fieldStarts[fieldCount] = fieldCount == 0 ? 0 : fieldEnds[fieldCount - 1] + 1;
+			fieldEnds[fieldCount] = end - lineStart;
+		}
+		fieldCount++;
+	}
+
+	private void onLine() {
+		final var lastField = Math.min(fieldCount, MAX_FIELDS) - 1;
+		if (fieldEnds[lastField] > fieldStarts[lastField]
+			&& buffer[lineStart + fieldEnds[lastField] - 1] == '\r') {
+			fieldEnds[lastField]--;
+		}
+
+		if (fieldEquals(0, PACKET)) {
+			lineType = PACKET_LINE;
+			onPacket();
+		} else if (fieldEquals(0, FRAME)) {
+			onFrame();
+		}
+	}
+
+	private void onPacket() {
+		final var streamIndex = getInt(P_STREAM_INDEX, -1);
+		if (streamIndex == -1) {
+			return;
+		}
+		final var ptsTime = getFloat(P_PTS_TIME, -1);
+		final var dtsTime = getFloat(P_DTS_TIME, -1);
+		resultBuilder.onPacket(new FFprobePacket(
+				getCodecType(P_CODEC_TYPE),
+				streamIndex,
+				getLong(P_PTS, -1),
+				ptsTime,
+				getLong(P_DTS, -1),
+				dtsTime,
+				getInt(P_DURATION, -1),
+				getFloat(P_DURATION_TIME, -1),
+				getInt(P_SIZE, -1),
+				getLong(P_POS, -1),
+				getString(P_FLAGS)));
+		if (progressHandler != null) {
+			progressHandler.onTime(ptsTime, dtsTime);
+		}
+	}
+
+	private void onFrame() {
+		final var streamIndex = getInt(F_STREAM_INDEX, -1);
+		if (streamIndex == -1) {
+			return;
+		}
+		final var mediaType = getCodecType(F_MEDIA_TYPE);
+		if (mediaType == VIDEO) {
+			lineType = VIDEO_FRAME_LINE;
+		} else if (mediaType == AUDIO) {
+			lineType = AUDIO_FRAME_LINE;
+		} else {
+			log.warn("Can't manage this frame type: {}", mediaType);
+			return;
+		}
+
+		final var ptsTime = getFloat(F_PTS_TIME, -1);
+		final var pktDtsTime = getFloat(F_PKT_DTS_TIME, -1);
+		final var baseFrame = new FFprobeBaseFrame(
+				mediaType,
+				streamIndex,
+				getBoolean(F_KEY_FRAME, true),
+				getLong(F_PTS, -1),
+				ptsTime,
+				getLong(F_PKT_DTS, -1),
+				pktDtsTime,
+				getLong(F_BEST_EFFORT_TIMESTAMP, -1),
+				getFloat(F_BEST_EFFORT_TIMESTAMP_TIME, -1),
+				getInt(F_DURATION, -1),
+				getFloat(F_DURATION_TIME, -1),
+				getLong(F_PKT_POS, -1),
+				getInt(F_PKT_SIZE, -1));
+
+		if (mediaType == VIDEO) {
+			onFrameVideo(baseFrame);
+		} else {
+			onFrameAudio(baseFrame);
+		}
+		if (progressHandler != null) {
+			progressHandler.onTime(ptsTime, pktDtsTime);
+		}
+	}
+
+	private void onFrameVideo(final FFprobeBaseFrame baseFrame) {
+		final var frame = new FFprobeVideoFrame(
+				baseFrame,
+				getPictType(V_PICT_TYPE),
+				getBoolean(V_REPEAT_PICT, false));
+		resultBuilder.onVideoFrame(frame, new FFprobeVideoFrameConst(
+				frame,
+				getInt(V_WIDTH, 0),
+				getInt(V_HEIGHT, 0),
+				getString(V_PIX_FMT),
+				getString(V_SAMPLE_ASPECT_RATIO),
+				getBoolean(V_INTERLACED_FRAME, false),
+				getBoolean(V_TOP_FIELD_FIRST, false),
+				getString(V_COLOR_RANGE),
+				getString(V_COLOR_SPACE),
+				getString(V_COLOR_PRIMARIES),
+				getString(V_COLOR_TRANSFER)));
+	}
+
+	private void onFrameAudio(final FFprobeBaseFrame baseFrame) {
+		final var frame = new FFprobeAudioFrame(
+				baseFrame,
+				getInt(A_NB_SAMPLES, -1));
+
+		final var channelLayoutName = getString(A_CHANNEL_LAYOUT);
+		if (channelLayoutName != lastChannelLayoutName) {// NOSONAR S4973
+			lastChannelLayoutName = channelLayoutName;
+			lastChannelLayout = ChannelLayout.parse(Optional.ofNullable(channelLayoutName).orElse(""));
+		}
+		resultBuilder.onAudioFrame(frame, new FFprobeAudioFrameConst(
+				frame,
+				getString(A_SAMPLE_FMT),
+				getInt(A_CHANNELS, 0),
+				lastChannelLayout));
+	}
+
+	@Override
+	public ContainerAnalyserProcessResult getResult(final String ffprobeCommandLine) {
+		return resultBuilder.getResult(ffprobeCommandLine);
+	}
+
+	private boolean fieldEquals(final int field, final byte[] value) {
+		if (field >= fieldCount) {
+			return false;
+		}
+		final var start = lineStart + fieldStarts[field];
+		return Arrays.equals(buffer, start, lineStart + fieldEnds[field], value, 0, value.length);
+	}
+
+	/**
+	 * @return false if missing, empty or "N/A"
+	 */
+	private boolean isAvailable(final int field) {
+		return field < fieldCount
+			   && fieldEnds[field] > fieldStarts[field]
+			   && fieldEquals(field, NOT_AVAILABLE) == false;
+	}
+
+	/**
+	 * @return null if not available or "unknown". Reuse the previous line String if it's the same.
+	 */
+	private String getString(final int field) {
+		if (isAvailable(field) == false || fieldEquals(field, UNKNOWN)) {
+			return null;
+		}
+		final var start = lineStart + fieldStarts[field];
+		final var end = lineStart + fieldEnds[field];
+		final var last = lastStrings[lineType][field];
+		if (last != null && sameASCII(last, start, end)) {
+			return last;
+		}
+		final String value;
+		if (buffer[start] == '"') {
+			value = new String(buffer, start + 1, end - start - 2, UTF_8).replace("\"\"", "\"");
+		} else {
+			value = new String(buffer, start, end - start, UTF_8);
+		}
+		lastStrings[lineType][field] = value;
+		return value;
+	}
+
+	private boolean sameASCII(final String value, final int start, final int end) {
+		if (value.length() != end - start) {
+			return false;
+		}
+		for (var pos = start; pos < end; pos++) {
+			if (value.charAt(pos - start) != buffer[pos]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private FFprobeCodecType getCodecType(final int field) {
+		for (var pos = 0; pos < CODEC_TYPES.length; pos++) {
+			if (fieldEquals(field, CODEC_TYPES_NAMES[pos])) {
+				return CODEC_TYPES[pos];
+			}
+		}
+		return OTHER;
+	}
+
+	private FFprobePictType getPictType(final int field) {
+		if (field >= fieldCount || fieldEnds[field] - fieldStarts[field] != 1) {
+			return FFprobePictType.UNKNOWN;
+		}
+		return switch (buffer[lineStart + fieldStarts[field]]) {
+		case 'I' -> FFprobePictType.I;
+		case 'B' -> FFprobePictType.B;
+		case 'P' -> FFprobePictType.P;
+		default -> FFprobePictType.UNKNOWN;
+		};
+	}
+
+	/**
+	 * @return true only for "1"
+	 */
+	private boolean getBoolean(final int field, final boolean orDefault) {
+		if (isAvailable(field) == false) {
+			return orDefault;
+		}
+		return fieldEnds[field] - fieldStarts[field] == 1 && buffer[lineStart + fieldStarts[field]] == '1';
+	}
+
+	private int getInt(final int field, final int orDefault) {
+		if (isAvailable(field) == false) {
+			return orDefault;
+		}
+		final var start = lineStart + fieldStarts[field];
+		final var end = lineStart + fieldEnds[field];
+		final var negative = buffer[start] == '-' && end - start > 1;
+		final var digitsStart = negative ? start + 1 : start;
+		if (end - digitsStart > MAX_INT_DIGITS) {
+			return FFprobeElementAttributes.parseInt(asString(start, end), orDefault);
+		}
+		var result = 0;
+		for (var pos = digitsStart; pos < end; pos++) {
+			final var digit = buffer[pos] - '0';
+			if (digit < 0 || digit > 9) {
+				return FFprobeElementAttributes.parseInt(asString(start, end), orDefault);
+			}
+			result = result * 10 + digit;
+		}
+		return negative ? -result : result;
+	}
+
+	private long getLong(final int field, final long orDefault) {
+		if (isAvailable(field) == false) {
+			return orDefault;
+		}
+		final var start = lineStart + fieldStarts[field];
+		final var end = lineStart + fieldEnds[field];
+		final var negative = buffer[start] == '-' && end - start > 1;
+		final var digitsStart = negative ? start + 1 : start;
+		if (end - digitsStart > MAX_LONG_DIGITS) {
+			return FFprobeElementAttributes.parseLong(asString(start, end), orDefault);
+		}
+		var result = 0L;
+		for (var pos = digitsStart; pos < end; pos++) {
+			final var digit = buffer[pos] - '0';
+			if (digit < 0 || digit > 9) {
+				return FFprobeElementAttributes.parseLong(asString(start, end), orDefault);
+			}
+			result = result * 10 + digit;
+		}
+		return negative ? -result : result;
+	}
+
+	private float getFloat(final int field, final float orDefault) {
+		if (isAvailable(field) == false) {
+			return orDefault;
+		}
+		final var start = lineStart + fieldStarts[field];
+		final var end = lineStart + fieldEnds[field];
+		final var negative = buffer[start] == '-' && end - start > 1;
+		var mantissa = 0L;
+		var digits = 0;
+		var scale = 0;
+		var dot = false;
+		for (var pos = negative ? start + 1 : start; pos < end; pos++) {
+			final var chr = buffer[pos];
+			if (chr == '.' && dot == false) {
+				dot = true;
+				continue;
+			}
+			final var digit = chr - '0';
+			if (digit < 0 || digit > 9 || ++digits > MAX_FLOAT_DIGITS) {
+				return FFprobeElementAttributes.parseFloat(asString(start, end), orDefault);
+			}
+			mantissa = mantissa * 10 + digit;
+			if (dot) {
+				scale++;
+			}
+		}
+		final var result = digits == 0 ? Float.NaN : FFprobeElementAttributes.toFloat(mantissa, scale, negative);
+		if (Float.isNaN(result)) {
+			return FFprobeElementAttributes.parseFloat(asString(start, end), orDefault);
+		}
+		return result;
+	}
+
+	private String asString(final int start, final int end) {
+		return new String(buffer, start, end - start, UTF_8);
+	}
+
+}
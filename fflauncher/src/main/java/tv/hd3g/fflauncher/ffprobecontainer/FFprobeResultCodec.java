@@ -0,0 +1,308 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.ffprobecontainer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import tv.hd3g.fflauncher.enums.ChannelLayout;
+import tv.hd3g.fflauncher.recipes.ContainerAnalyserProcessResult;
+
+/**
+ * Compact binary encoding for ContainerAnalyserProcessResult, to store it out of the JVM (like in ProbeResultCache).
+ * Big endian, fixed size numbers, packets flags on one byte (like FFprobePacketColumns), nullable Strings as UTF-8
+ * bytes with their length (-1 for null). About 50 bytes by packet or frame.
+ * Decoded packets and frames are stored as columns.
+ */
+public final class FFprobeResultCodec {
+	private static final FFprobeCodecType[] CODEC_TYPES = FFprobeCodecType.values();
+	private static final FFprobePictType[] PICT_TYPES = FFprobePictType.values();
+
+	private FFprobeResultCodec() {
+	}
+
+	public static void write(final ContainerAnalyserProcessResult result, final DataOutput out) throws IOException {
+		final var packets = nonNull(result.packets());
+		out.writeInt(packets.size());
+		for (final var packet : packets) {
+			writePacket(packet, out);
+		}
+		final var audioFrames = nonNull(result.audioFrames());
+		out.writeInt(audioFrames.size());
+		for (final var audioFrame : audioFrames) {
+			writeAudioFrame(audioFrame, out);
+		}
+		final var videoFrames = nonNull(result.videoFrames());
+		out.writeInt(videoFrames.size());
+		for (final var videoFrame : videoFrames) {
+			writeVideoFrame(videoFrame, out);
+		}
+
+		writeVideoConst(result.videoConst(), out);
+		writeAudioConst(result.audioConst(), out);
+		final var olderVideoConsts = nonNull(result.olderVideoConsts());
+		out.writeInt(olderVideoConsts.size());
+		for (final var videoConst : olderVideoConsts) {
+			writeVideoConst(videoConst, out);
+		}
+		final var olderAudioConsts = nonNull(result.olderAudioConsts());
+		out.writeInt(olderAudioConsts.size());
+		for (final var audioConst : olderAudioConsts) {
+			writeAudioConst(audioConst, out);
+		}
+		writeString(result.ffprobeCommandLine(), out);
+	}
+
+	/**
+	 * @throws java.nio.BufferUnderflowException or IllegalArgumentException if in is not a valid encoded result.
+	 */
+	public static ContainerAnalyserProcessResult read(final ByteBuffer in) {
+		final var packetCount = readCount(in);
+		final var packets = new FFprobePacketColumns();
+		for (var pos = 0; pos < packetCount; pos++) {
+			packets.append(readPacket(in));
+		}
+		final var audioFrameCount = readCount(in);
+		final var audioFrames = new FFprobeAudioFrameColumns();
+		for (var pos = 0; pos < audioFrameCount; pos++) {
+			audioFrames.append(readAudioFrame(in));
+		}
+		final var videoFrameCount = readCount(in);
+		final var videoFrames = new FFprobeVideoFrameColumns();
+		for (var pos = 0; pos < videoFrameCount; pos++) {
+			videoFrames.append(readVideoFrame(in));
+		}
+
+		final var videoConst = readVideoConst(in);
+		final var audioConst = readAudioConst(in);
+		final var olderVideoConstCount = readCount(in);
+		final var olderVideoConsts = new ArrayList<FFprobeVideoFrameConst>(olderVideoConstCount);
+		for (var pos = 0; pos < olderVideoConstCount; pos++) {
+			olderVideoConsts.add(readVideoConst(in));
+		}
+		final var olderAudioConstCount = readCount(in);
+		final var olderAudioConsts = new ArrayList<FFprobeAudioFrameConst>(olderAudioConstCount);
+		for (var pos = 0; pos < olderAudioConstCount; pos++) {
+			olderAudioConsts.add(readAudioConst(in));
+		}
+
+		return new ContainerAnalyserProcessResult(
+				packets,
+				audioFrames,
+				videoFrames,
+				videoConst,
+				audioConst,
+				List.copyOf(olderVideoConsts),
+				List.copyOf(olderAudioConsts),
+				readString(in));
+	}
+
+	private static <T> List<T> nonNull(final List<T> list) {
+		return list == null ? List.of() : list;
+	}
+
+	private static int readCount(final ByteBuffer in) {
+		final var count = in.getInt();
+		if (count < 0 || count > in.remaining()) {
+			throw new IllegalArgumentException("Invalid items count: " + count);
+		}
+		return count;
+	}
+
+	private static <T> T readOrdinal(final ByteBuffer in, final T[] values) {
+		final var ordinal = in.get();
+		if (ordinal < 0 || ordinal >= values.length) {
+			throw new IllegalArgumentException("Invalid ordinal: " + ordinal);
+		}
+		return values[ordinal];
+	}
+
+	private static void writeString(final String value, final DataOutput out) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+			return;
+		}
+		final var bytes = value.getBytes(UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(final ByteBuffer in) {
+		final var length = in.getInt();
+		if (length == -1) {
+			return null;
+		} else if (length < 0 || length > in.remaining()) {
+			throw new IllegalArgumentException("Invalid String length: " + length);
+		}
+		final var bytes = new byte[length];
+		in.get(bytes);
+		return new String(bytes, UTF_8);
+	}
+
+	private static void writePacket(final FFprobePacket packet, final DataOutput out) throws IOException {
+		out.writeByte(packet.codecType().ordinal());
+		out.writeInt(packet.streamIndex());
+		out.writeLong(packet.pts());
+		out.writeFloat(packet.ptsTime());
+		out.writeLong(packet.dts());
+		out.writeFloat(packet.dtsTime());
+		out.writeInt(packet.duration());
+		out.writeFloat(packet.durationTime());
+		out.writeInt(packet.size());
+		out.writeLong(packet.pos());
+		final var flags = FFprobePacketColumns.encodeFlags(packet.flags());
+		out.writeByte(flags);
+		if (flags == FFprobePacketColumns.OTHER_FLAGS) {
+			writeString(packet.flags(), out);
+		}
+	}
+
+	private static FFprobePacket readPacket(final ByteBuffer in) {
+		final var codecType = readOrdinal(in, CODEC_TYPES);
+		final var streamIndex = in.getInt();
+		final var pts = in.getLong();
+		final var ptsTime = in.getFloat();
+		final var dts = in.getLong();
+		final var dtsTime = in.getFloat();
+		final var duration = in.getInt();
+		final var durationTime = in.getFloat();
+		final var size = in.getInt();
+		final var pos = in.getLong();
+		final var flags = in.get();
+		return new FFprobePacket(codecType, streamIndex, pts, ptsTime, dts, dtsTime, duration, durationTime, size, pos,
+				flags == FFprobePacketColumns.OTHER_FLAGS ? readString(in) : FFprobePacketColumns.decodeFlags(flags));
+	}
+
+	private static void writeBaseFrame(final FFprobeBaseFrame frame, final DataOutput out) throws IOException {
+		out.writeByte(frame.mediaType().ordinal());
+		out.writeInt(frame.streamIndex());
+		out.writeBoolean(frame.keyFrame());
+		out.writeLong(frame.pts());
+		out.writeFloat(frame.ptsTime());
+		out.writeLong(frame.pktDts());
+		out.writeFloat(frame.pktDtsTime());
+		out.writeLong(frame.bestEffortTimestamp());
+		out.writeFloat(frame.bestEffortTimestampTime());
+		out.writeInt(frame.duration());
+		out.writeFloat(frame.durationTime());
+		out.writeLong(frame.pktPos());
+		out.writeInt(frame.pktSize());
+	}
+
+	private static FFprobeBaseFrame readBaseFrame(final ByteBuffer in) {
+		return new FFprobeBaseFrame(
+				readOrdinal(in, CODEC_TYPES),
+				in.getInt(),
+				in.get() != 0,
+				in.getLong(),
+				in.getFloat(),
+				in.getLong(),
+				in.getFloat(),
+				in.getLong(),
+				in.getFloat(),
+				in.getInt(),
+				in.getFloat(),
+				in.getLong(),
+				in.getInt());
+	}
+
+	private static void writeAudioFrame(final FFprobeAudioFrame frame, final DataOutput out) throws IOException {
+		writeBaseFrame(frame.frame(), out);
+		out.writeInt(frame.nbSamples());
+	}
+
+	private static FFprobeAudioFrame readAudioFrame(final ByteBuffer in) {
+		return new FFprobeAudioFrame(readBaseFrame(in), in.getInt());
+	}
+
+	private static void writeVideoFrame(final FFprobeVideoFrame frame, final DataOutput out) throws IOException {
+		writeBaseFrame(frame.frame(), out);
+		out.writeByte(frame.pictType().ordinal());
+		out.writeBoolean(frame.repeatPict());
+	}
+
+	private static FFprobeVideoFrame readVideoFrame(final ByteBuffer in) {
+		return new FFprobeVideoFrame(readBaseFrame(in), readOrdinal(in, PICT_TYPES), in.get() != 0);
+	}
+
+	private static void writeVideoConst(final FFprobeVideoFrameConst videoConst,
+										final DataOutput out) throws IOException {
+		out.writeBoolean(videoConst != null);
+		if (videoConst == null) {
+			return;
+		}
+		writeVideoFrame(videoConst.updatedWith(), out);
+		out.writeInt(videoConst.width());
+		out.writeInt(videoConst.height());
+		writeString(videoConst.pixFmt(), out);
+		writeString(videoConst.sampleAspectRatio(), out);
+		out.writeBoolean(videoConst.interlacedFrame());
+		out.writeBoolean(videoConst.topFieldFirst());
+		writeString(videoConst.colorRange(), out);
+		writeString(videoConst.colorSpace(), out);
+		writeString(videoConst.colorPrimaries(), out);
+		writeString(videoConst.colorTransfer(), out);
+	}
+
+	private static FFprobeVideoFrameConst readVideoConst(final ByteBuffer in) {
+		if (in.get() == 0) {
+			return null;
+		}
+		return new FFprobeVideoFrameConst(
+				readVideoFrame(in),
+				in.getInt(),
+				in.getInt(),
+				readString(in),
+				readString(in),
+				in.get() != 0,
+				in.get() != 0,
+				readString(in),
+				readString(in),
+				readString(in),
+				readString(in));
+	}
+
+	private static void writeAudioConst(final FFprobeAudioFrameConst audioConst,
+										final DataOutput out) throws IOException {
+		out.writeBoolean(audioConst != null);
+		if (audioConst == null) {
+			return;
+		}
+		writeAudioFrame(audioConst.updatedWith(), out);
+		writeString(audioConst.sampleFmt(), out);
+		out.writeInt(audioConst.channels());
+		writeString(audioConst.channelLayout() == null ? null : audioConst.channelLayout().name(), out);
+	}
+
+	private static FFprobeAudioFrameConst readAudioConst(final ByteBuffer in) {
+		if (in.get() == 0) {
+			return null;
+		}
+		final var frame = readAudioFrame(in);
+		final var sampleFmt = readString(in);
+		final var channels = in.getInt();
+		final var channelLayout = readString(in);
+		return new FFprobeAudioFrameConst(frame, sampleFmt, channels,
+				channelLayout == null ? null : ChannelLayout.valueOf(channelLayout));
+	}
+
+}
@@ -0,0 +1,52 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.ffprobecontainer;
+
+/**
+ * Called by FFprobeResultSAX during the XML parsing, from the ffprobe stdout thread.
+ * Can be used to compute stats on the fly, regardless of the FFprobeRetentionPolicy.
+ */
+public interface FFprobeResultListener {
+
+	default void onPacket(final FFprobePacket packet) {
+	}
+
+	default void onVideoFrame(final FFprobeVideoFrame videoFrame) {
+	}
+
+	default void onAudioFrame(final FFprobeAudioFrame audioFrame) {
+	}
+
+	/**
+	 * @param previous null for the first video frame
+	 */
+	default void onVideoConstChange(final FFprobeVideoFrameConst previous, final FFprobeVideoFrameConst current) {
+	}
+
+	/**
+	 * @param previous null for the first audio frame
+	 */
+	default void onAudioConstChange(final FFprobeAudioFrameConst previous, final FFprobeAudioFrameConst current) {
+	}
+
+	/**
+	 * After the last packet/frame, on the XML document end.
+	 */
+	default void onEnd() {
+	}
+
+}
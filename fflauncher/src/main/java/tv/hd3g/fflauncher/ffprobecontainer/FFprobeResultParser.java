@@ -0,0 +1,37 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.ffprobecontainer;
+
+import tv.hd3g.fflauncher.progress.FFProbeXMLProgressHandler;
+import tv.hd3g.fflauncher.recipes.ContainerAnalyserProcessResult;
+import tv.hd3g.processlauncher.InputStreamConsumer;
+
+/**
+ * ffprobe packets and frames stdout parser, for ContainerAnalyserProcess.
+ */
+public interface FFprobeResultParser extends InputStreamConsumer {
+
+	/**
+	 * Should be called before the process start.
+	 */
+	void addListener(FFprobeResultListener listener);
+
+	void setProgressHandler(FFProbeXMLProgressHandler progressHandler);
+
+	ContainerAnalyserProcessResult getResult(String ffprobeCommandLine);
+
+}
@@ -16,17 +16,13 @@
  */
 package tv.hd3g.fflauncher.ffprobecontainer;
 
-import static java.util.Collections.unmodifiableList;
 import static tv.hd3g.fflauncher.ffprobecontainer.FFprobeCodecType.AUDIO;
-import static tv.hd3g.fflauncher.ffprobecontainer.FFprobeCodecType.OTHER;
 import static tv.hd3g.fflauncher.ffprobecontainer.FFprobeCodecType.VIDEO;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -47,15 +43,13 @@ import lombok.extern.slf4j.Slf4j;
 import tv.hd3g.fflauncher.enums.ChannelLayout;
 import tv.hd3g.fflauncher.progress.FFProbeXMLProgressHandler;
 import tv.hd3g.fflauncher.recipes.ContainerAnalyserProcessResult;
-import tv.hd3g.processlauncher.InputStreamConsumer;
 import tv.hd3g.processlauncher.ProcesslauncherLifecycle;
 
 @Slf4j
 public class FFprobeResultSAX extends DefaultHandler implements
 							  ErrorHandler,
-							  InputStreamConsumer {
+							  FFprobeResultParser {
 	private static final String CAN_T_PARSE_NUMBER = "Can't parse number: {}";
-	private static final String STREAM_INDEX = "stream_index";
 	public static final SAXParserFactory factory;
 
 	static {
@@ -69,27 +63,77 @@ public class FFprobeResultSAX extends DefaultHandler implements
 		}
 	}
 
+	enum PacketAttribute {
+		CODEC_TYPE,
+		STREAM_INDEX,
+		PTS,
+		PTS_TIME,
+		DTS,
+		DTS_TIME,
+		DURATION,
+		DURATION_TIME,
+		SIZE,
+		POS,
+		FLAGS;
+	}
+
+	enum FrameAttribute {
+		MEDIA_TYPE,
+		STREAM_INDEX,
+		KEY_FRAME,
+		PTS,
+		PTS_TIME,
+		PKT_DTS,
+		PKT_DTS_TIME,
+		BEST_EFFORT_TIMESTAMP,
+		BEST_EFFORT_TIMESTAMP_TIME,
+		DURATION,
+		DURATION_TIME,
+		PKT_POS,
+		PKT_SIZE,
+		PICT_TYPE,
+		REPEAT_PICT,
+		WIDTH,
+		HEIGHT,
+		PIX_FMT,
+		SAMPLE_ASPECT_RATIO,
+		INTERLACED_FRAME,
+		TOP_FIELD_FIRST,
+		COLOR_RANGE,
+		COLOR_SPACE,
+		COLOR_PRIMARIES,
+		COLOR_TRANSFER,
+		SAMPLE_FMT,
+		NB_SAMPLES,
+		CHANNELS,
+		CHANNEL_LAYOUT;
+	}
+
 	private String processSource;
+	private final FFprobeElementAttributes<PacketAttribute> packetAttributes;
+	private final FFprobeElementAttributes<FrameAttribute> frameAttributes;
+	private String lastChannelLayoutName;
+	private ChannelLayout lastChannelLayout;
 	private final HashSet<String> notFoundKeysAfterWarn;
-	private final List<FFprobePacket> packets;
-	private final List<FFprobeAudioFrame> audioFrames;
-	private final List<FFprobeVideoFrame> videoFrames;
-
-	private final List<FFprobeVideoFrameConst> olderVideoConsts;
-	private final List<FFprobeAudioFrameConst> olderAudioConsts;
-	private FFprobeVideoFrameConst videoConst;
-	private FFprobeAudioFrameConst audioConst;
+	private final FFprobeResultBuilder resultBuilder;
 
 	@Setter
 	private FFProbeXMLProgressHandler progressHandler;
 
 	public FFprobeResultSAX() {
+		this(FFprobeRetentionPolicy.FULL);
+	}
+
+	public FFprobeResultSAX(final FFprobeRetentionPolicy retentionPolicy) {
 		notFoundKeysAfterWarn = new HashSet<>();
-		packets = new ArrayList<>();
-		audioFrames = new ArrayList<>();
-		videoFrames = new ArrayList<>();
-		olderVideoConsts = new ArrayList<>();
-		olderAudioConsts = new ArrayList<>();
+		packetAttributes = new FFprobeElementAttributes<>(PacketAttribute.class);
+		frameAttributes = new FFprobeElementAttributes<>(FrameAttribute.class);
+		resultBuilder = new FFprobeResultBuilder(retentionPolicy);
+	}
+
+	@Override
+	public void addListener(final FFprobeResultListener listener) {
+		resultBuilder.addListener(listener);
 	}
 
 	@Override
@@ -136,22 +180,25 @@ public class FFprobeResultSAX extends DefaultHandler implements
 	 * "__"/>
 	 */
 	private void onPacket(final Attributes attributes) {
-		if (getAttrIntValue(attributes, STREAM_INDEX, -1) == -1) {
+		final var attrs = packetAttributes.set(attributes);
+		final var streamIndex = attrs.getInt(PacketAttribute.STREAM_INDEX, -1);
+		if (streamIndex == -1) {
 			return;
 		}
 
-		packets.add(new FFprobePacket(
-				FFprobeCodecType.fromString(getAttrValue(attributes, "codec_type", OTHER.toString())),
-				getAttrIntValue(attributes, STREAM_INDEX, -1),
-				getAttrLongValue(attributes, "pts", -1),
-				getAttrFloatValue(attributes, "pts_time", -1),
-				getAttrLongValue(attributes, "dts", -1),
-				getAttrFloatValue(attributes, "dts_time", -1),
-				getAttrIntValue(attributes, "duration", -1),
-				getAttrFloatValue(attributes, "duration_time", -1),
-				getAttrIntValue(attributes, "size", -1),
-				getAttrLongValue(attributes, "pos", -1),
-				getAttrValue(attributes, "flags", null)));
+		final var packet = new FFprobePacket(
+				FFprobeCodecType.fromString(attrs.getValue(PacketAttribute.CODEC_TYPE)),
+				streamIndex,
+				attrs.getLong(PacketAttribute.PTS, -1),
+				attrs.getFloat(PacketAttribute.PTS_TIME, -1),
+				attrs.getLong(PacketAttribute.DTS, -1),
+				attrs.getFloat(PacketAttribute.DTS_TIME, -1),
+				attrs.getInt(PacketAttribute.DURATION, -1),
+				attrs.getFloat(PacketAttribute.DURATION_TIME, -1),
+				attrs.getInt(PacketAttribute.SIZE, -1),
+				attrs.getLong(PacketAttribute.POS, -1),
+				attrs.getValue(PacketAttribute.FLAGS));
+		resultBuilder.onPacket(packet);
 	}
 
 	/**
@@ -188,30 +235,32 @@ public class FFprobeResultSAX extends DefaultHandler implements
 	 * color_transfer= * "bt709"/>
 	 */
 	private void onFrame(final Attributes attributes) {
-		if (getAttrIntValue(attributes, STREAM_INDEX, -1) == -1) {
+		final var attrs = frameAttributes.set(attributes);
+		final var streamIndex = attrs.getInt(FrameAttribute.STREAM_INDEX, -1);
+		if (streamIndex == -1) {
 			return;
 		}
 
-		final var mediaType = FFprobeCodecType.fromString(getAttrValue(attributes, "media_type", OTHER.toString()));
+		final var mediaType = FFprobeCodecType.fromString(attrs.getValue(FrameAttribute.MEDIA_TYPE));
 		final var baseFrame = new FFprobeBaseFrame(
 				mediaType,
-				getAttrIntValue(attributes, STREAM_INDEX, -1),
-				getAttrBooleanValue(attributes, "key_frame", true),
-				getAttrLongValue(attributes, "pts", -1),
-				getAttrFloatValue(attributes, "pts_time", -1),
-				getAttrLongValue(attributes, "pkt_dts", -1),
-				getAttrFloatValue(attributes, "pkt_dts_time", -1),
-				getAttrLongValue(attributes, "best_effort_timestamp", -1),
-				getAttrFloatValue(attributes, "best_effort_timestamp_time", -1),
-				getAttrIntValue(attributes, "duration", -1),
-				getAttrFloatValue(attributes, "duration_time", -1f),
-				getAttrLongValue(attributes, "pkt_pos", -1),
-				getAttrIntValue(attributes, "pkt_size", -1));
+				streamIndex,
+				attrs.getBoolean(FrameAttribute.KEY_FRAME, true),
+				attrs.getLong(FrameAttribute.PTS, -1),
+				attrs.getFloat(FrameAttribute.PTS_TIME, -1),
+				attrs.getLong(FrameAttribute.PKT_DTS, -1),
+				attrs.getFloat(FrameAttribute.PKT_DTS_TIME, -1),
+				attrs.getLong(FrameAttribute.BEST_EFFORT_TIMESTAMP, -1),
+				attrs.getFloat(FrameAttribute.BEST_EFFORT_TIMESTAMP_TIME, -1),
+				attrs.getInt(FrameAttribute.DURATION, -1),
+				attrs.getFloat(FrameAttribute.DURATION_TIME, -1f),
+				attrs.getLong(FrameAttribute.PKT_POS, -1),
+				attrs.getInt(FrameAttribute.PKT_SIZE, -1));
 
 		if (mediaType == VIDEO) {
-			onFrameVideo(attributes, baseFrame);
+			onFrameVideo(attrs, baseFrame);
 		} else if (mediaType == AUDIO) {
-			onFrameAudio(attributes, baseFrame);
+			onFrameAudio(attrs, baseFrame);
 		} else {
 			log.warn("Can't manage this frame type: {}, {}", mediaType, getAttributes(attributes));
 		}
@@ -224,67 +273,57 @@ public class FFprobeResultSAX extends DefaultHandler implements
 	 * interlaced_frame="0" top_field_first="0" repeat_pict="0"
 	 * color_range="tv" color_space="bt709" color_primaries="bt709" color_transfer="bt709"/>
 	 */
-	private void onFrameVideo(final Attributes attributes, final FFprobeBaseFrame baseFrame) {
+	private void onFrameVideo(final FFprobeElementAttributes<FrameAttribute> attrs, final FFprobeBaseFrame baseFrame) {
 		final var frame = new FFprobeVideoFrame(
 				baseFrame,
-				FFprobePictType.valueOf(getAttrValue(attributes, "pict_type", "UNKNOWN")),
-				"1".equals(attributes.getValue("repeat_pict")) ? true : false);
-		videoFrames.add(frame);
-
+				FFprobePictType.fromString(attrs.getValue(FrameAttribute.PICT_TYPE)),
+				attrs.getBoolean(FrameAttribute.REPEAT_PICT, false));
 		final var currentVideoConst = new FFprobeVideoFrameConst(
 				frame,
-				getAttrIntValue(attributes, "width", 0),
-				getAttrIntValue(attributes, "height", 0),
-				getAttrValue(attributes, "pix_fmt", null),
-				getAttrValue(attributes, "sample_aspect_ratio", null),
-				getAttrBooleanValue(attributes, "interlaced_frame", false),
-				getAttrBooleanValue(attributes, "top_field_first", false),
-				getAttrValue(attributes, "color_range", null),
-				getAttrValue(attributes, "color_space", null),
-				getAttrValue(attributes, "color_primaries", null),
-				getAttrValue(attributes, "color_transfer", null));
-
-		if (videoConst == null) {
-			videoConst = currentVideoConst;
-		} else if (videoConst.valuesEquals(currentVideoConst) == false) {
-			olderVideoConsts.add(videoConst);
-			videoConst = currentVideoConst;
-		}
+				attrs.getInt(FrameAttribute.WIDTH, 0),
+				attrs.getInt(FrameAttribute.HEIGHT, 0),
+				attrs.getValue(FrameAttribute.PIX_FMT),
+				attrs.getValue(FrameAttribute.SAMPLE_ASPECT_RATIO),
+				attrs.getBoolean(FrameAttribute.INTERLACED_FRAME, false),
+				attrs.getBoolean(FrameAttribute.TOP_FIELD_FIRST, false),
+				attrs.getValue(FrameAttribute.COLOR_RANGE),
+				attrs.getValue(FrameAttribute.COLOR_SPACE),
+				attrs.getValue(FrameAttribute.COLOR_PRIMARIES),
+				attrs.getValue(FrameAttribute.COLOR_TRANSFER));
+
+		resultBuilder.onVideoFrame(frame, currentVideoConst);
 	}
 
 	/**
 	 * <frame media_type="audio" [...] sample_fmt="fltp" nb_samples="1024" channels="2" channel_layout="stereo"/>
 	 */
-	private void onFrameAudio(final Attributes attributes, final FFprobeBaseFrame baseFrame) {
+	private void onFrameAudio(final FFprobeElementAttributes<FrameAttribute> attrs, final FFprobeBaseFrame baseFrame) {
 		final var frame = new FFprobeAudioFrame(
 				baseFrame,
-				getAttrIntValue(attributes, "nb_samples", -1));
-		audioFrames.add(frame);
-
+				attrs.getInt(FrameAttribute.NB_SAMPLES, -1));
 		final var currentAudioConst = new FFprobeAudioFrameConst(
 				frame,
-				getAttrValue(attributes, "sample_fmt", null),
-				getAttrIntValue(attributes, "channels", 0),
-				ChannelLayout.parse(getAttrValue(attributes, "channel_layout", "")));
-
-		if (audioConst == null) {
-			audioConst = currentAudioConst;
-		} else if (audioConst.valuesEquals(currentAudioConst) == false) {
-			olderAudioConsts.add(audioConst);
-			audioConst = currentAudioConst;
+				attrs.getValue(FrameAttribute.SAMPLE_FMT),
+				attrs.getInt(FrameAttribute.CHANNELS, 0),
+				parseChannelLayout(attrs.getValue(FrameAttribute.CHANNEL_LAYOUT, "")));
+
+		resultBuilder.onAudioFrame(frame, currentAudioConst);
+	}
+
+	/**
+	 * Same channel layout on all audio frames: avoid a ChannelLayout.parse by frame.
+	 */
+	private ChannelLayout parseChannelLayout(final String name) {
+		if (name.equals(lastChannelLayoutName) == false) {
+			lastChannelLayoutName = name;
+			lastChannelLayout = ChannelLayout.parse(name);
 		}
+		return lastChannelLayout;
 	}
 
+	@Override
 	public ContainerAnalyserProcessResult getResult(final String ffprobeCommandLine) {
-		return new ContainerAnalyserProcessResult(
-				unmodifiableList(packets),
-				unmodifiableList(audioFrames),
-				unmodifiableList(videoFrames),
-				videoConst,
-				audioConst,
-				unmodifiableList(olderVideoConsts),
-				unmodifiableList(olderAudioConsts),
-				ffprobeCommandLine);
+		return resultBuilder.getResult(ffprobeCommandLine);
 	}
 
 	@Override
@@ -372,6 +411,7 @@ public class FFprobeResultSAX extends DefaultHandler implements
 
 	@Override
 	public void endDocument() throws SAXException {
+		resultBuilder.onEnd();
 		if (progressHandler != null) {
 			progressHandler.endDocument();
 		}
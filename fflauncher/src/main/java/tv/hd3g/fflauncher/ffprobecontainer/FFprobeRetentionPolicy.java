@@ -0,0 +1,51 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.ffprobecontainer;
+
+/**
+ * How many packets and frames FFprobeResultSAX keeps in memory, by type, for the final ContainerAnalyserProcessResult.
+ * Consts (and older consts) are always kept.
+ * @param maxItems 0 for none, Integer.MAX_VALUE for all, else only the last maxItems
+ */
+public record FFprobeRetentionPolicy(int maxItems) {
+
+	/**
+	 * Keep nothing: only FFprobeResultListeners can see packets and frames.
+	 */
+	public static final FFprobeRetentionPolicy NONE = new FFprobeRetentionPolicy(0);
+	/**
+	 * Keep all packets and frames (default)
+	 */
+	public static final FFprobeRetentionPolicy FULL = new FFprobeRetentionPolicy(Integer.MAX_VALUE);
+
+	public FFprobeRetentionPolicy {
+		if (maxItems < 0) {
+			throw new IllegalArgumentException("Invalid maxItems: " + maxItems);
+		}
+	}
+
+	/**
+	 * @return keep only the lastItems packets, video frames and audio frames
+	 */
+	public static FFprobeRetentionPolicy windowed(final int lastItems) {
+		if (lastItems < 1) {
+			throw new IllegalArgumentException("Invalid lastItems: " + lastItems);
+		}
+		return new FFprobeRetentionPolicy(lastItems);
+	}
+
+}
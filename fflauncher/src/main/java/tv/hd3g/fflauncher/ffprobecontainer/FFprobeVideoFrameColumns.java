@@ -0,0 +1,98 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.ffprobecontainer;
+
+import static java.util.Arrays.copyOf;
+
+import java.util.List;
+
+/**
+ * FFprobeVideoFrame list, stored as columns.
+ */
+public final class FFprobeVideoFrameColumns extends FFprobeColumns<FFprobeVideoFrame> {
+	private static final FFprobePictType[] PICT_TYPES = FFprobePictType.values();
+
+	private final FFprobeBaseFrameColumns frame;
+	private byte[] pictType;
+	private boolean[] repeatPict;
+
+	FFprobeVideoFrameColumns() {
+		this(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @param maxSize keep only the last maxSize frames
+	 */
+	FFprobeVideoFrameColumns(final int maxSize) {
+		super(maxSize);
+		frame = new FFprobeBaseFrameColumns(getCapacity());
+		pictType = new byte[getCapacity()];
+		repeatPict = new boolean[getCapacity()];
+	}
+
+	@Override
+	void grow(final int newCapacity) {
+		frame.grow(newCapacity);
+		pictType = copyOf(pictType, newCapacity);
+		repeatPict = copyOf(repeatPict, newCapacity);
+	}
+
+	/**
+	 * Merge the video frames of ffprobe runs on consecutive time segments, without boundary duplicates.
+	 * A frame is sorted by its pts, or its best effort timestamp if no pts.
+	 * @param segments in time order
+	 */
+	public static FFprobeVideoFrameColumns mergeSegments(final List<List<FFprobeVideoFrame>> segments) {
+		return mergeSegments(segments, FFprobeVideoFrameColumns.class, FFprobeVideoFrameColumns::new);
+	}
+
+	@Override
+	void append(final FFprobeVideoFrame videoFrame) {
+		final var index = nextIndex();
+		frame.set(index, videoFrame.frame());
+		pictType[index] = (byte) videoFrame.pictType().ordinal();
+		repeatPict[index] = videoFrame.repeatPict();
+	}
+
+	@Override
+	void appendRow(final FFprobeColumns<FFprobeVideoFrame> from, final int fromIndex) {
+		final var source = (FFprobeVideoFrameColumns) from;
+		final var index = nextIndex();
+		frame.copy(index, source.frame, fromIndex);
+		pictType[index] = source.pictType[fromIndex];
+		repeatPict[index] = source.repeatPict[fromIndex];
+	}
+
+	@Override
+	int getStreamIndex(final int index) {
+		return frame.getStreamIndex(index);
+	}
+
+	@Override
+	long getTimestamp(final int index) {
+		return frame.getTimestamp(index);
+	}
+
+	@Override
+	FFprobeVideoFrame getRecord(final int index) {
+		return new FFprobeVideoFrame(
+				frame.get(index),
+				PICT_TYPES[pictType[index]],
+				repeatPict[index]);
+	}
+
+}
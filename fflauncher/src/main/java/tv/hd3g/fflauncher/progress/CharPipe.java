@@ -0,0 +1,162 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.progress;
+
+import static java.lang.Math.min;
+import static java.lang.Thread.currentThread;
+
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded, array backed (ring buffer), one writer to one reader char pipe.
+ * The writer push whole lines/buffers and is blocked while the pipe is full.
+ * The reader get chars by bulk, and -1 after writeEnd, when all the pipe content was read.
+ */
+class CharPipe {
+
+	private final char[] buffer;
+	private final ReentrantLock lock;
+	private final Condition notEmpty;
+	private final Condition notFull;
+	private final Reader reader;
+
+	private int readPos;
+	private int count;
+	private boolean writeEnded;
+	private boolean readClosed;
+
+	CharPipe(final int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Invalid capacity: " + capacity);
+		}
+		buffer = new char[capacity];
+		lock = new ReentrantLock();
+		notEmpty = lock.newCondition();
+		notFull = lock.newCondition();
+		reader = new Reader() {
+
+			@Override
+			public int read(final char[] cbuf, final int off, final int len) throws InterruptedIOException {
+				return CharPipe.this.read(cbuf, off, len);
+			}
+
+			@Override
+			public void close() {
+				closeRead();
+			}
+		};
+	}
+
+	/**
+	 * Blocking while the pipe is full.
+	 * @return false if the chars can't be written: the pipe was ended or closed by the reader.
+	 */
+	boolean write(final String chars) {
+		final var len = chars.length();
+		var pos = 0;
+		lock.lock();
+		try {
+			while (pos < len) {
+				while (count == buffer.length && writeEnded == false && readClosed == false) {
+					notFull.await();
+				}
+				if (writeEnded || readClosed) {
+					return false;
+				}
+
+				final var writePos = (readPos + count) % buffer.length;
+				final var size = min(len - pos, min(buffer.length - count, buffer.length - writePos));
+				chars.getChars(pos, pos + size, buffer, writePos);
+				pos += size;
+				count += size;
+				notEmpty.signal();
+			}
+			return true;
+		} catch (final InterruptedException e) {
+			currentThread().interrupt();
+			throw new IllegalStateException("Interrupted during write", e);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * End of stream signal: the reader will get -1 after the last chars.
+	 */
+	void writeEnd() {
+		lock.lock();
+		try {
+			writeEnded = true;
+			notEmpty.signalAll();
+			notFull.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Don't block the writer after the reader stops to read.
+	 */
+	void closeRead() {
+		lock.lock();
+		try {
+			readClosed = true;
+			count = 0;
+			notEmpty.signalAll();
+			notFull.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	Reader getReader() {
+		return reader;
+	}
+
+	private int read(final char[] cbuf, final int off, final int len) throws InterruptedIOException {
+		if (len == 0) {
+			return 0;
+		}
+		lock.lock();
+		try {
+			while (count == 0 && writeEnded == false && readClosed == false) {
+				notEmpty.await();
+			}
+			if (count == 0) {
+				return -1;
+			}
+
+			final var size = min(len, min(count, buffer.length - readPos));
+			System.arraycopy(buffer, readPos, cbuf, off, size);
+			readPos = (readPos + size) % buffer.length;
+			count -= size;
+			notFull.signal();
+			return size;
+		} catch (final InterruptedException e) {
+			currentThread().interrupt();
+			final var ioe = new InterruptedIOException("Interrupted during read");
+			ioe.initCause(e);
+			throw ioe;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+}
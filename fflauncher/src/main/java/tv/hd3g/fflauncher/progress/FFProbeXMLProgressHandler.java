@@ -20,19 +20,17 @@ import static java.lang.Float.isFinite;
 import static java.lang.Math.floor;
 import static java.lang.Thread.currentThread;
 import static java.lang.Thread.State.NEW;
-import static java.util.concurrent.TimeUnit.SECONDS;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
 
 import javax.xml.parsers.ParserConfigurationException;
 
 import org.xml.sax.Attributes;
 import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.helpers.DefaultHandler;
 
@@ -42,13 +40,18 @@ import tv.hd3g.fflauncher.recipes.ContainerAnalyserBase;
 
 public class FFProbeXMLProgressHandler extends DefaultHandler
 									   implements FFprobeXMLProgressConsumer, Runnable, ErrorHandler {
+	/**
+	 * In chars. The stdout reader will be blocked if the SAX worker is too late.
+	 */
+	private static final int PIPE_CAPACITY = 0xFFFF;
+	private static final String LINE_SEPARATOR = "\n";
+
 	private final FFprobeXMLProgressWatcher watcher;
 	private final ContainerAnalyserBase<?, ?> session;
 	private final Thread worker;
-	private final LinkedBlockingQueue<Integer> linesBytes;
-	private final InputStream source;
+	private final CharPipe pipe;
 
-	private boolean ended;
+	private volatile boolean ended;
 	private double lastTime;
 	private long startdate;
 	private long lastProgressDate;
@@ -68,54 +71,40 @@ public class FFProbeXMLProgressHandler extends DefaultHandler
 			worker = threadFactory.get().newThread(this);
 		}
 
-		linesBytes = new LinkedBlockingQueue<>();
+		pipe = new CharPipe(PIPE_CAPACITY);
 		ended = false;
 		lastTime = -1;
 		startdate = System.currentTimeMillis();
 		lastProgressDate = -1;
 		durationTime = floor(watcher.programDuration().toMillis() / 1000f);
-		source = new InputStream() {
-
-			@Override
-			public int read() throws IOException {
-				if (ended) {
-					return -1;
-				}
-				try {
-					return Optional.ofNullable(linesBytes.poll(1, SECONDS)).orElse(-1);
-				} catch (final InterruptedException e) {
-					currentThread().interrupt();
-					throw new IllegalStateException(e);
-				}
-			}
-		};
 	}
 
+	/**
+	 * Can block if the pipe is full.
+	 */
 	@Override
 	public synchronized void accept(final String t) {
 		if (ended) {
 			return;
 		}
-		t.chars().forEach(i -> {
-			try {
-				linesBytes.put(i);
-			} catch (final InterruptedException e) {
-				currentThread().interrupt();
-				throw new IllegalStateException(e);
-			}
-		});
-
 		if (worker.getState() == NEW) {
 			worker.start();
 		}
+		if (pipe.write(t)) {
+			pipe.write(LINE_SEPARATOR);
+		}
 	}
 
 	@Override
 	public void run() {
 		try {
-			FFprobeResultSAX.factory.newSAXParser().parse(source, this);
+			FFprobeResultSAX.factory.newSAXParser().parse(new InputSource(pipe.getReader()), this);
 		} catch (ParserConfigurationException | SAXException | IOException e) {
-			throw new IllegalStateException(e);
+			if (ended == false) {
+				throw new IllegalStateException(e);
+			}
+		} finally {
+			pipe.closeRead();
 		}
 	}
 
@@ -125,63 +114,92 @@ public class FFProbeXMLProgressHandler extends DefaultHandler
 							 final String qName,
 							 final Attributes attributes) throws SAXException {
 		if (qName.equals("ffprobe")) {
-			startdate = System.currentTimeMillis();
-			watcher.onStartCallback().accept(session);
+			onStart();
 		} else if (qName.equals("packet") || qName.equals("frame")) {
 			final var sPtsTime = Optional.ofNullable(attributes.getValue("pts_time")).orElse("-1");
 			final var sDtsTime = Optional.ofNullable(attributes.getValue("dts_time")).orElse("-1");
-			final var tempPtsTime = Float.parseFloat(sPtsTime);
-			final var tempDtsTime = Float.parseFloat(sDtsTime);
-			var time = tempPtsTime;
-			if (isFinite(time) == false || time < 0) {
-				time = tempDtsTime;
-			}
-			if (isFinite(time) == false || time < 0) {
+			onTime(Float.parseFloat(sPtsTime), Float.parseFloat(sDtsTime));
+		}
+	}
+
+	/**
+	 * On the ffprobe output start.
+	 */
+	public void onStart() {
+		startdate = System.currentTimeMillis();
+		watcher.onStartCallback().accept(session);
+	}
+
+	/**
+	 * On each packet or frame.
+	 * @param ptsTime in seconds, negative or not finite if not set
+	 * @param dtsTime in seconds, used if no ptsTime, negative or not finite if not set
+	 */
+	public void onTime(final float ptsTime, final float dtsTime) {
+		var time = ptsTime;
+		if (isFinite(time) == false || time < 0) {
+			time = dtsTime;
+		}
+		if (isFinite(time) == false || time < 0) {
+			return;
+		}
+
+		if (time > lastTime) {
+			lastTime = time;
+			final var progress = lastTime / durationTime;
+			if (progress > 1d || durationTime - lastTime < 1d) {
 				return;
 			}
 
-			if (time > lastTime) {
-				lastTime = time;
-				final var progress = lastTime / durationTime;
-				if (progress > 1d || durationTime - lastTime < 1d) {
-					return;
-				}
-
-				if (lastProgressDate <= startdate) {
-					watcher.progressCallback().accept(new FFprobeXMLProgressEvent(progress, 1f, session));
-					lastProgressDate = System.currentTimeMillis();
-					return;
-				} else if (System.currentTimeMillis() - lastProgressDate < 500) {
-					return;
-				}
-
+			if (lastProgressDate <= startdate) {
+				watcher.progressCallback().accept(new FFprobeXMLProgressEvent(progress, 1f, session));
 				lastProgressDate = System.currentTimeMillis();
-				final var speed = lastTime * 1000d / (lastProgressDate - startdate);
-				watcher.progressCallback().accept(new FFprobeXMLProgressEvent(progress, (float) speed, session));
+				return;
+			} else if (System.currentTimeMillis() - lastProgressDate < 500) {
+				return;
 			}
+
+			lastProgressDate = System.currentTimeMillis();
+			final var speed = lastTime * 1000d / (lastProgressDate - startdate);
+			watcher.progressCallback().accept(new FFprobeXMLProgressEvent(progress, (float) speed, session));
 		}
 	}
 
-	@Override
-	public void endDocument() throws SAXException {
+	/**
+	 * On the ffprobe output end. Only the first call is used.
+	 */
+	public void onEnd() {
 		if (ended) {
 			return;
 		}
 		ended = true;
+		pipe.closeRead();
 		watcher.onEndCallback().accept(session);
 	}
 
+	@Override
+	public void endDocument() throws SAXException {
+		onEnd();
+	}
+
 	@Override
 	public void endElement(final String uri, final String localName, final String qName) throws SAXException {
 		if (qName.equals("ffprobe") || qName.equals("packets_and_frames")) {
-			endDocument();
+			onEnd();
 		}
 	}
 
+	/**
+	 * Send the end of stream to the SAX worker, and wait it.
+	 */
 	@Override
 	public void waitForEnd() {
-		while (worker.isAlive()) {
-			Thread.onSpinWait();
+		pipe.writeEnd();
+		try {
+			worker.join();
+		} catch (final InterruptedException e) {
+			currentThread().interrupt();
+			throw new IllegalStateException(e);
 		}
 	}
 
@@ -24,10 +24,17 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.stream.IntStream;
 
+/**
+ * Immutable ffmpeg "-progress" block values. See ProgressSnapshot for the reusable, allocation free, version.
+ */
 public class ProgressBlock {
 
 	private final Map<String, String> items;
 
+	ProgressBlock(final Map<String, String> items) {
+		this.items = items;
+	}
+
 	/**
 	 * CAN BE
 	 * [frame=619,
@@ -84,8 +91,13 @@ public class ProgressBlock {
 		return Optional.ofNullable(items.get("fps")).map(Float::valueOf);
 	}
 
+	/**
+	 * @return in kbits/s
+	 */
 	public Optional<Float> getBitrate() {
-		return Optional.ofNullable(items.get("bitrate")).map(Float::valueOf);
+		return Optional.ofNullable(items.get("bitrate"))
+				.map(bitrate -> bitrate.endsWith("kbits/s") ? bitrate.substring(0, bitrate.length() - 7) : bitrate)
+				.map(Float::valueOf);
 	}
 
 	public Optional<Long> getTotalSize() {
@@ -0,0 +1,289 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.progress;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Incremental ffmpeg "-progress" parser, from the raw received bytes, without allocation by block.
+ * Lines and blocks can be split across the reads. onBlock is called on each "progress=" line, always with the same
+ * (reused) ProgressSnapshot.
+ * Not thread safe: one parser by progress connection.
+ */
+public final class ProgressBlockParser {
+	static final int MAX_LINE_LENGTH = 256;
+
+	private static final byte[] FRAME = "frame".getBytes(US_ASCII);
+	private static final byte[] FPS = "fps".getBytes(US_ASCII);
+	private static final byte[] BITRATE = "bitrate".getBytes(US_ASCII);
+	private static final byte[] TOTAL_SIZE = "total_size".getBytes(US_ASCII);
+	private static final byte[] OUT_TIME_US = "out_time_us".getBytes(US_ASCII);
+	private static final byte[] OUT_TIME_MS = "out_time_ms".getBytes(US_ASCII);
+	private static final byte[] OUT_TIME = "out_time".getBytes(US_ASCII);
+	private static final byte[] DUP_FRAMES = "dup_frames".getBytes(US_ASCII);
+	private static final byte[] DROP_FRAMES = "drop_frames".getBytes(US_ASCII);
+	private static final byte[] SPEED = "speed".getBytes(US_ASCII);
+	private static final byte[] PROGRESS = "progress".getBytes(US_ASCII);
+	private static final byte[] END = "end".getBytes(US_ASCII);
+	private static final byte[] NOT_AVAILABLE = "N/A".getBytes(US_ASCII);
+	private static final byte[] STREAM_PREFIX = "stream_".getBytes(US_ASCII);
+	private static final byte[] STREAM_Q_SUFFIX = "_q".getBytes(US_ASCII);
+
+	private static final int MAX_DIGITS = 18;
+	private static final double[] POW10;
+
+	static {
+		POW10 = new double[MAX_DIGITS + 1];
+		POW10[0] = 1d;
+		for (var pos = 1; pos < POW10.length; pos++) {
+			POW10[pos] = POW10[pos - 1] * 10d;
+		}
+	}
+
+	private final Consumer<ProgressSnapshot> onBlock;
+	private final ProgressSnapshot snapshot;
+	private final byte[] line;
+	private int lineLength;
+	private int equalsPos;
+	private boolean overflow;
+	private boolean ended;
+
+	public ProgressBlockParser(final Consumer<ProgressSnapshot> onBlock) {
+		this.onBlock = Objects.requireNonNull(onBlock, "\"onBlock\" can't to be null");
+		snapshot = new ProgressSnapshot();
+		line = new byte[MAX_LINE_LENGTH];
+		equalsPos = -1;
+	}
+
+	/**
+	 * @return true after a "progress=end" line
+	 */
+	public boolean isEnded() {
+		return ended;
+	}
+
+	public void parse(final byte[] buffer, final int offset, final int length) {
+		for (var pos = offset; pos < offset + length; pos++) {
+			final var b = buffer[pos];
+			if (b == '\n') {
+				endLine();
+			} else if (b == '\r') {
+				continue;
+			} else if (lineLength == MAX_LINE_LENGTH) {
+				overflow = true;
+			} else {
+				if (b == '=' && equalsPos == -1) {
+					equalsPos = lineLength;
+				}
+				line[lineLength++] = b;
+			}
+		}
+	}
+
+	private void endLine() {
+		if (overflow == false && equalsPos > 0) {
+			parseLine();
+		}
+		lineLength = 0;
+		equalsPos = -1;
+		overflow = false;
+	}
+
+	private void parseLine() {
+		var keyStart = 0;
+		var keyEnd = equalsPos;
+		while (keyStart < keyEnd && isBlank(line[keyStart])) {
+			keyStart++;
+		}
+		while (keyEnd > keyStart && isBlank(line[keyEnd - 1])) {
+			keyEnd--;
+		}
+		var valueStart = equalsPos + 1;
+		var valueEnd = lineLength;
+		while (valueStart < valueEnd && isBlank(line[valueStart])) {
+			valueStart++;
+		}
+		while (valueEnd > valueStart && isBlank(line[valueEnd - 1])) {
+			valueEnd--;
+		}
+
+		if (is(PROGRESS, keyStart, keyEnd)) {
+			snapshot.setEnd(is(END, valueStart, valueEnd));
+			ended |= snapshot.isEnd();
+			onBlock.accept(snapshot);
+			snapshot.reset();
+			return;
+		} else if (valueStart == valueEnd || isIgnoreCase(NOT_AVAILABLE, valueStart, valueEnd)) {
+			return;
+		}
+
+		if (is(FRAME, keyStart, keyEnd)) {
+			final var value = parseLong(valueStart, valueEnd);
+			if (value >= 0 && value <= Integer.MAX_VALUE) {
+				snapshot.setFrame((int) value);
+			}
+		} else if (is(FPS, keyStart, keyEnd)) {
+			snapshot.setFps(parseFloat(valueStart, valueEnd, false));
+		} else if (is(BITRATE, keyStart, keyEnd)) {
+			snapshot.setBitrate(parseFloat(valueStart, valueEnd, true));
+		} else if (is(TOTAL_SIZE, keyStart, keyEnd)) {
+			snapshot.setTotalSize(Math.max(-1, parseLong(valueStart, valueEnd)));
+		} else if (is(OUT_TIME_US, keyStart, keyEnd)) {
+			snapshot.setOutTimeUs(Math.max(-1, parseLong(valueStart, valueEnd)));
+		} else if (is(OUT_TIME_MS, keyStart, keyEnd)) {
+			snapshot.setOutTimeMs(Math.max(-1, parseLong(valueStart, valueEnd)));
+		} else if (is(OUT_TIME, keyStart, keyEnd)) {
+			snapshot.setOutTime(line, valueStart, valueEnd - valueStart);
+		} else if (is(DUP_FRAMES, keyStart, keyEnd)) {
+			snapshot.setDupFrames(Math.clamp(parseLong(valueStart, valueEnd), -1, Integer.MAX_VALUE));
+		} else if (is(DROP_FRAMES, keyStart, keyEnd)) {
+			snapshot.setDropFrames(Math.clamp(parseLong(valueStart, valueEnd), -1, Integer.MAX_VALUE));
+		} else if (is(SPEED, keyStart, keyEnd)) {
+			snapshot.setSpeed(parseFloat(valueStart, valueEnd, true));
+		} else if (keyEnd - keyStart > STREAM_PREFIX.length + STREAM_Q_SUFFIX.length
+				   && startsWith(STREAM_PREFIX, keyStart, keyEnd)
+				   && endsWith(STREAM_Q_SUFFIX, keyStart, keyEnd)) {
+			parseStreamQ(keyStart + STREAM_PREFIX.length, keyEnd - STREAM_Q_SUFFIX.length, valueStart, valueEnd);
+		}
+	}
+
+	/**
+	 * stream_FILE_STREAM_q=-0.0
+	 */
+	private void parseStreamQ(final int indexesStart, final int indexesEnd, final int valueStart, final int valueEnd) {
+		var separator = indexesStart;
+		while (separator < indexesEnd && line[separator] != '_') {
+			separator++;
+		}
+		final var fileIndex = parseLong(indexesStart, separator);
+		final var streamIndex = parseLong(separator + 1, indexesEnd);
+		final var q = parseFloat(valueStart, valueEnd, false);
+		if (fileIndex < 0 || fileIndex > Integer.MAX_VALUE
+			|| streamIndex < 0 || streamIndex > Integer.MAX_VALUE
+			|| Float.isNaN(q)) {
+			return;
+		}
+		snapshot.addStreamQ((int) fileIndex, (int) streamIndex, q);
+	}
+
+	private static boolean isBlank(final byte b) {
+		return b == ' ' || b == '\t';
+	}
+
+	private boolean is(final byte[] expected, final int start, final int end) {
+		return end - start == expected.length && startsWith(expected, start, end);
+	}
+
+	private boolean startsWith(final byte[] expected, final int start, final int end) {
+		if (end - start < expected.length) {
+			return false;
+		}
+		for (var pos = 0; pos < expected.length; pos++) {
+			if (line[start + pos] != expected[pos]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean endsWith(final byte[] expected, final int start, final int end) {
+		return end - start >= expected.length && startsWith(expected, end - expected.length, end);
+	}
+
+	private boolean isIgnoreCase(final byte[] expected, final int start, final int end) {
+		if (end - start != expected.length) {
+			return false;
+		}
+		for (var pos = 0; pos < expected.length; pos++) {
+			if (Character.toUpperCase(line[start + pos]) != expected[pos]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return Long.MIN_VALUE if not a (not too big) integer
+	 */
+	private long parseLong(final int start, final int end) {
+		var pos = start;
+		final var negative = pos < end && line[pos] == '-';
+		if (negative) {
+			pos++;
+		}
+		if (pos == end || end - pos > MAX_DIGITS) {
+			return Long.MIN_VALUE;
+		}
+		var value = 0L;
+		for (; pos < end; pos++) {
+			final var digit = line[pos] - '0';
+			if (digit < 0 || digit > 9) {
+				return Long.MIN_VALUE;
+			}
+			value = value * 10L + digit;
+		}
+		return negative ? -value : value;
+	}
+
+	/**
+	 * Only decimal notation, like "-12.345".
+	 * @param allowSuffix like with "1234.5kbits/s" and "1.01x"
+	 * @return NaN if not a number
+	 */
+	private float parseFloat(final int start, final int end, final boolean allowSuffix) {
+		var pos = start;
+		final var negative = pos < end && line[pos] == '-';
+		if (negative) {
+			pos++;
+		}
+		var mantissa = 0L;
+		var digits = 0;
+		var fractionDigits = 0;
+		var dot = false;
+		for (; pos < end; pos++) {
+			final var b = line[pos];
+			if (b == '.' && dot == false) {
+				dot = true;
+			} else if (b >= '0' && b <= '9') {
+				if (digits == MAX_DIGITS) {
+					if (dot == false) {
+						return Float.NaN;
+					}
+					continue;
+				}
+				mantissa = mantissa * 10L + (b - '0');
+				digits++;
+				if (dot) {
+					fractionDigits++;
+				}
+			} else if (allowSuffix) {
+				break;
+			} else {
+				return Float.NaN;
+			}
+		}
+		if (digits == 0) {
+			return Float.NaN;
+		}
+		final var value = (float) (mantissa / POW10[fractionDigits]);
+		return negative ? -value : value;
+	}
+
+}
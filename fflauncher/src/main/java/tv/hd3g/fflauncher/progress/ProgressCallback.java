@@ -28,6 +28,15 @@ public interface ProgressCallback {
 
 	void onProgress(int localhostTcpPort, ProgressBlock progressBlock);
 
+	/**
+	 * Called for each received block, before the next one is parsed: progressSnapshot is reused after this call.
+	 * Override it (and let onProgress empty) to never allocate by block.
+	 * By default, call onProgress with progressSnapshot.toProgressBlock().
+	 */
+	default void onProgressSnapshot(final int localhostTcpPort, final ProgressSnapshot progressSnapshot) {
+		onProgress(localhostTcpPort, progressSnapshot.toProgressBlock());
+	}
+
 	default void onEndProgress(final int localhostTcpPort) {
 	}
 
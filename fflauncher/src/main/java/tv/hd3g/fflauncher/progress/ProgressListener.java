@@ -25,6 +25,7 @@ import java.util.concurrent.ThreadFactory;
  */
 public class ProgressListener {
 	private final ThreadFactory threadFactory;
+	private final ProgressSelectorServer selectorServer;
 
 	public ProgressListener() {
 		this(r -> {
@@ -35,12 +36,27 @@ public class ProgressListener {
 		});
 	}
 
+	/**
+	 * One thread, created by threadFactory, by session.
+	 */
 	public ProgressListener(final ThreadFactory threadFactory) {
 		this.threadFactory = Objects.requireNonNull(threadFactory, "\"threadFactory\" can't to be null");
+		selectorServer = null;
+	}
+
+	/**
+	 * All the sessions are run by the selectorServer thread.
+	 */
+	public ProgressListener(final ProgressSelectorServer selectorServer) {
+		this.selectorServer = Objects.requireNonNull(selectorServer, "\"selectorServer\" can't to be null");
+		threadFactory = null;
 	}
 
 	public ProgressListenerSession createSession(final ProgressCallback progressCallback, final Duration statsPeriod) {
-		return new ProgressListenerSession(threadFactory, progressCallback, statsPeriod);
+		if (selectorServer != null) {
+			return new ProgressListenerSelectorSession(selectorServer, progressCallback, statsPeriod);
+		}
+		return new ProgressListenerThreadSession(threadFactory, progressCallback, statsPeriod);
 	}
 
 }
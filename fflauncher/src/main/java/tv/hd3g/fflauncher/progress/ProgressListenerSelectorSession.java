@@ -0,0 +1,201 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.progress;
+
+import static java.nio.channels.SelectionKey.OP_ACCEPT;
+import static java.nio.channels.SelectionKey.OP_READ;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channel;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.Objects;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A non-blocking ServerSocketChannel, run by a ProgressSelectorServer.
+ * Not reusable.
+ */
+@Slf4j
+class ProgressListenerSelectorSession extends ProgressListenerSession {
+
+	private final ProgressSelectorServer selectorServer;
+	private final ProgressBlockParser parser;
+	private ServerSocketChannel serverChannel;
+	private SocketChannel clientChannel;
+	private volatile int port;
+	private volatile boolean ended;
+
+	ProgressListenerSelectorSession(final ProgressSelectorServer selectorServer,
+									final ProgressCallback progressCallback,
+									final Duration statsPeriod) {
+		super(progressCallback, statsPeriod);
+		this.selectorServer = Objects.requireNonNull(selectorServer, "\"selectorServer\" can't to be null");
+		parser = new ProgressBlockParser(snapshot -> onProgress(port, snapshot));
+	}
+
+	@Override
+	public synchronized int start() {
+		if (serverChannel != null) {
+			if (ended) {
+				throw new IllegalStateException("Progress session is now ended");
+			}
+			return port;
+		}
+
+		if (selectorServer.isClosed()) {
+			throw new IllegalStateException("Progress selector server is closed");
+		}
+		try {
+			serverChannel = ServerSocketChannel.open();
+			serverChannel.bind(new InetSocketAddress(InetAddress.getByName(LOCALHOST_IPV4), 0), 1);
+			serverChannel.configureBlocking(false);
+			port = ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+		} catch (final IOException e) {
+			close(serverChannel);
+			throw new UncheckedIOException("Can't listen socket", e);
+		}
+		try {
+			selectorServer.execute(this::register);
+		} catch (final IllegalStateException e) {
+			close(serverChannel);
+			serverChannel = null;
+			throw e;
+		}
+		return port;
+	}
+
+	private void register() {
+		try {
+			selectorServer.register(serverChannel, OP_ACCEPT, this);
+			log.debug("Socket listen now to {}...", port);
+			progressCallback.onStartProgressListener(port);
+		} catch (final ClosedChannelException e) {
+			end();
+		} catch (final RuntimeException e) {
+			log.error("Progress callback error on {}", port, e);
+			end();
+		}
+	}
+
+	/**
+	 * On the selector thread.
+	 */
+	void onSelected(final SelectionKey key, final ByteBuffer buffer) {
+		try {
+			if (key.isAcceptable()) {
+				accept();
+			} else if (key.isReadable()) {
+				read(buffer);
+			}
+		} catch (final SocketException e) {
+			if ("Connection reset".equalsIgnoreCase(e.getMessage())) {
+				progressCallback.onConnectionReset(port, e);
+			} else {
+				log.error("Socket error", e);
+			}
+			end();
+		} catch (final IOException e) {
+			log.error("Can't listen socket", e);
+			end();
+		} catch (final RuntimeException e) {
+			log.error("Progress callback error on {}", port, e);
+			end();
+		}
+	}
+
+	private void accept() throws IOException {
+		final var client = serverChannel.accept();
+		if (client == null) {
+			return;
+		}
+		/**
+		 * Only one client (ffmpeg) by session.
+		 */
+		serverChannel.close();
+		client.configureBlocking(false);
+		clientChannel = client;
+		selectorServer.register(client, OP_READ, this);
+		log.debug("Client (ffmpeg?) is now connected on {}, wait to receive progress datas...", port);
+		progressCallback.onFFmpegConnection(port);
+	}
+
+	private void read(final ByteBuffer buffer) throws IOException {
+		buffer.clear();
+		final var size = clientChannel.read(buffer);
+		if (size == -1) {
+			end();
+			return;
+		}
+		parser.parse(buffer.array(), 0, size);
+		if (parser.isEnded()) {
+			log.debug("Client (ffmpeg?) has now ends it's works on {}", port);
+			end();
+		}
+	}
+
+	/**
+	 * On the selector thread.
+	 */
+	void end() {
+		if (ended) {
+			return;
+		}
+		ended = true;
+		close(serverChannel);
+		close(clientChannel);
+		try {
+			progressCallback.onEndProgress(port);
+		} catch (final RuntimeException e) {
+			log.error("Progress callback error on {}", port, e);
+		}
+	}
+
+	private static void close(final Channel channel) {
+		if (channel == null) {
+			return;
+		}
+		try {
+			channel.close();
+		} catch (final IOException e) {
+			log.warn("Can't close socket", e);
+		}
+	}
+
+	@Override
+	public void manualClose() {
+		if (port == 0 || ended || selectorServer.isClosed()) {
+			return;
+		}
+		log.debug("Manually close socket session...");
+		try {
+			selectorServer.execute(this::end);
+		} catch (final IllegalStateException e) {
+			log.debug("Progress selector server is now closed, it will end this session", e);
+		}
+	}
+
+}
@@ -0,0 +1,155 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.progress;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One thread and one Selector for all the ProgressListener sessions created with it: accepts, reads, parsing and
+ * ProgressCallback calls are all done on this thread. So, a ProgressCallback must never block.
+ * Each session still listen on its own localhost port: ffmpeg never send the "-progress" url path, the port is the
+ * only way to know which run is connected.
+ * Reusable and thread safe. Close it to end all its sessions.
+ */
+@Slf4j
+public class ProgressSelectorServer implements Closeable {
+	private static final int BUFFER_SIZE = 8192;
+
+	private final Selector selector;
+	private final Thread thread;
+	private final Queue<Runnable> tasks;
+	private final ByteBuffer buffer;
+	private volatile boolean closed;
+
+	public ProgressSelectorServer() {
+		this(r -> {
+			final var t = new Thread(r);
+			t.setDaemon(true);
+			t.setName("Selector progressWatcher for ffmpeg progress");
+			return t;
+		});
+	}
+
+	public ProgressSelectorServer(final ThreadFactory threadFactory) {
+		Objects.requireNonNull(threadFactory, "\"threadFactory\" can't to be null");
+		try {
+			selector = Selector.open();
+		} catch (final IOException e) {
+			throw new UncheckedIOException("Can't open selector", e);
+		}
+		tasks = new ConcurrentLinkedQueue<>();
+		buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		thread = threadFactory.newThread(this::loop);
+		thread.start();
+	}
+
+	public boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * Run task on the selector thread. An accepted task is always run, even if the server is closed just after.
+	 * @throws IllegalStateException if the server is closed
+	 */
+	void execute(final Runnable task) {
+		synchronized (this) {
+			if (closed) {
+				throw new IllegalStateException("Progress selector server is closed");
+			}
+			tasks.add(task);
+		}
+		selector.wakeup();
+	}
+
+	/**
+	 * Only from the selector thread.
+	 */
+	void register(final SelectableChannel channel,
+				  final int ops,
+				  final ProgressListenerSelectorSession session) throws ClosedChannelException {
+		channel.register(selector, ops, session);
+	}
+
+	private void loop() {
+		log.debug("Start progress selector server");
+		while (closed == false) {
+			try {
+				selector.select(this::onSelected);
+			} catch (final IOException e) {
+				log.error("Can't select progress sockets", e);
+				synchronized (this) {
+					closed = true;
+				}
+			}
+			runTasks();
+		}
+
+		/**
+		 * closed is set: no more tasks can be added, run the last accepted ones.
+		 */
+		runTasks();
+		selector.keys().forEach(key -> ((ProgressListenerSelectorSession) key.attachment()).end());
+		try {
+			selector.close();
+		} catch (final IOException e) {
+			log.warn("Can't close selector", e);
+		}
+		log.debug("Progress selector server is closed");
+	}
+
+	private void onSelected(final SelectionKey key) {
+		if (key.isValid()) {
+			((ProgressListenerSelectorSession) key.attachment()).onSelected(key, buffer);
+		}
+	}
+
+	private void runTasks() {
+		Runnable task;
+		while ((task = tasks.poll()) != null) {
+			try {
+				task.run();
+			} catch (final RuntimeException e) {
+				log.error("Can't run progress selector task", e);
+			}
+		}
+	}
+
+	/**
+	 * End all the current sessions, async.
+	 */
+	@Override
+	public void close() {
+		synchronized (this) {
+			closed = true;
+		}
+		selector.wakeup();
+	}
+
+}
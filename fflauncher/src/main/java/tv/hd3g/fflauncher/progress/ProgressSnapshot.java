@@ -0,0 +1,294 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.progress;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The values of the last ffmpeg "-progress" block, as primitives.
+ * Mutable and reused by ProgressBlockParser for each block: never keep it out of the ProgressCallback call, use
+ * toProgressBlock() to get an immutable copy.
+ * Absent (or N/A) values are -1 for counters and sizes, NaN for floats.
+ */
+public final class ProgressSnapshot {
+	static final int MAX_OUT_TIME_LENGTH = 32;
+	private static final int INITIAL_STREAM_Q_CAPACITY = 4;
+
+	private int frame;
+	private float fps;
+	private float bitrate;
+	private long totalSize;
+	private long outTimeUs;
+	private long outTimeMs;
+	private final byte[] outTime;
+	private int outTimeLength;
+	private int dupFrames;
+	private int dropFrames;
+	private float speed;
+	private boolean end;
+
+	private int streamQCount;
+	private int[] streamQFileIndex;
+	private int[] streamQStreamIndex;
+	private float[] streamQ;
+
+	ProgressSnapshot() {
+		outTime = new byte[MAX_OUT_TIME_LENGTH];
+		streamQFileIndex = new int[INITIAL_STREAM_Q_CAPACITY];
+		streamQStreamIndex = new int[INITIAL_STREAM_Q_CAPACITY];
+		streamQ = new float[INITIAL_STREAM_Q_CAPACITY];
+		reset();
+	}
+
+	void reset() {
+		frame = -1;
+		fps = Float.NaN;
+		bitrate = Float.NaN;
+		totalSize = -1;
+		outTimeUs = -1;
+		outTimeMs = -1;
+		outTimeLength = 0;
+		dupFrames = -1;
+		dropFrames = -1;
+		speed = Float.NaN;
+		end = false;
+		streamQCount = 0;
+	}
+
+	void setFrame(final int frame) {
+		this.frame = frame;
+	}
+
+	void setFps(final float fps) {
+		this.fps = fps;
+	}
+
+	void setBitrate(final float bitrate) {
+		this.bitrate = bitrate;
+	}
+
+	void setTotalSize(final long totalSize) {
+		this.totalSize = totalSize;
+	}
+
+	void setOutTimeUs(final long outTimeUs) {
+		this.outTimeUs = outTimeUs;
+	}
+
+	void setOutTimeMs(final long outTimeMs) {
+		this.outTimeMs = outTimeMs;
+	}
+
+	void setOutTime(final byte[] source, final int offset, final int length) {
+		outTimeLength = Math.min(length, MAX_OUT_TIME_LENGTH);
+		System.arraycopy(source, offset, outTime, 0, outTimeLength);
+	}
+
+	void setDupFrames(final int dupFrames) {
+		this.dupFrames = dupFrames;
+	}
+
+	void setDropFrames(final int dropFrames) {
+		this.dropFrames = dropFrames;
+	}
+
+	void setSpeed(final float speed) {
+		this.speed = speed;
+	}
+
+	void setEnd(final boolean end) {
+		this.end = end;
+	}
+
+	void addStreamQ(final int fileIndex, final int streamIndex, final float q) {
+		if (streamQCount == streamQ.length) {
+			final var newCapacity = streamQCount * 2;
+			streamQFileIndex = Arrays.copyOf(streamQFileIndex, newCapacity);
+			streamQStreamIndex = Arrays.copyOf(streamQStreamIndex, newCapacity);
+			streamQ = Arrays.copyOf(streamQ, newCapacity);
+		}
+		streamQFileIndex[streamQCount] = fileIndex;
+		streamQStreamIndex[streamQCount] = streamIndex;
+		streamQ[streamQCount] = q;
+		streamQCount++;
+	}
+
+	public int getFrame() {
+		return frame;
+	}
+
+	public float getFps() {
+		return fps;
+	}
+
+	/**
+	 * @return in kbits/s
+	 */
+	public float getBitrate() {
+		return bitrate;
+	}
+
+	public long getTotalSize() {
+		return totalSize;
+	}
+
+	public long getOutTimeUs() {
+		return outTimeUs;
+	}
+
+	public long getOutTimeMs() {
+		return outTimeMs;
+	}
+
+	/**
+	 * @return a new String, like "00:00:20.633313", or null
+	 */
+	public String getOutTime() {
+		if (outTimeLength == 0) {
+			return null;
+		}
+		return new String(outTime, 0, outTimeLength, US_ASCII);
+	}
+
+	/**
+	 * @return from out_time_us, or zero
+	 */
+	public Duration getOutTimeDuration() {
+		return Duration.ofMillis(Math.max(0, outTimeUs) / 1000L);
+	}
+
+	public int getDupFrames() {
+		return dupFrames;
+	}
+
+	public int getDropFrames() {
+		return dropFrames;
+	}
+
+	public float getSpeed() {
+		return speed;
+	}
+
+	public boolean isEnd() {
+		return end;
+	}
+
+	public int getStreamQCount() {
+		return streamQCount;
+	}
+
+	/**
+	 * stream_FILE_STREAM_q
+	 */
+	public int getStreamQFileIndex(final int pos) {
+		return streamQFileIndex[checkStreamQPos(pos)];
+	}
+
+	/**
+	 * stream_FILE_STREAM_q
+	 */
+	public int getStreamQStreamIndex(final int pos) {
+		return streamQStreamIndex[checkStreamQPos(pos)];
+	}
+
+	public float getStreamQ(final int pos) {
+		return streamQ[checkStreamQPos(pos)];
+	}
+
+	private int checkStreamQPos(final int pos) {
+		if (pos < 0 || pos >= streamQCount) {
+			throw new IndexOutOfBoundsException("Invalid stream q pos: " + pos + " on " + streamQCount);
+		}
+		return pos;
+	}
+
+	/**
+	 * @return a new immutable copy
+	 */
+	public ProgressBlock toProgressBlock() {
+		final var items = new HashMap<String, String>();
+		if (frame > -1) {
+			items.put("frame", String.valueOf(frame));
+		}
+		if (Float.isNaN(fps) == false) {
+			items.put("fps", String.valueOf(fps));
+		}
+		for (var pos = 0; pos < streamQCount; pos++) {
+			items.put("stream_" + streamQFileIndex[pos] + "_" + streamQStreamIndex[pos] + "_q",
+					String.valueOf(streamQ[pos]));
+		}
+		if (Float.isNaN(bitrate) == false) {
+			items.put("bitrate", String.valueOf(bitrate));
+		}
+		if (totalSize > -1) {
+			items.put("total_size", String.valueOf(totalSize));
+		}
+		if (outTimeUs > -1) {
+			items.put("out_time_us", String.valueOf(outTimeUs));
+		}
+		if (outTimeMs > -1) {
+			items.put("out_time_ms", String.valueOf(outTimeMs));
+		}
+		if (outTimeLength > 0) {
+			items.put("out_time", getOutTime());
+		}
+		if (dupFrames > -1) {
+			items.put("dup_frames", String.valueOf(dupFrames));
+		}
+		if (dropFrames > -1) {
+			items.put("drop_frames", String.valueOf(dropFrames));
+		}
+		if (Float.isNaN(speed) == false) {
+			items.put("speed", speed + "x");
+		}
+		items.put("progress", end ? "end" : "continue");
+		return new ProgressBlock(Map.copyOf(items));
+	}
+
+	@Override
+	public String toString() {
+		final var builder = new StringBuilder();
+		builder.append("ProgressSnapshot [frame=");
+		builder.append(frame);
+		builder.append(", fps=");
+		builder.append(fps);
+		builder.append(", bitrate=");
+		builder.append(bitrate);
+		builder.append(", totalSize=");
+		builder.append(totalSize);
+		builder.append(", outTimeUs=");
+		builder.append(outTimeUs);
+		builder.append(", dupFrames=");
+		builder.append(dupFrames);
+		builder.append(", dropFrames=");
+		builder.append(dropFrames);
+		builder.append(", speed=");
+		builder.append(speed);
+		builder.append(", streamQCount=");
+		builder.append(streamQCount);
+		builder.append(", end=");
+		builder.append(end);
+		builder.append("]");
+		return builder.toString();
+	}
+
+}
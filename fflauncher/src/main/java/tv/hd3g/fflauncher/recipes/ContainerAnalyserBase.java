@@ -28,13 +28,20 @@ import tv.hd3g.processlauncher.processingtool.ExecutorWatcher;
 public abstract class ContainerAnalyserBase<T, W extends ExecutorWatcher> extends FFprobeToolBuilder<T, W> {
 
 	protected ContainerAnalyserBase(final String execName, final W watcher) {
-		super(new FFprobe(execName), watcher);
-		ffprobe.setHidebanner();
+		this(new FFprobe(execName), watcher);
 		ffprobe.setShowFrames();
 		ffprobe.setShowPackets();
 		ffprobe.setPrintFormat(XML);
 	}
 
+	/**
+	 * Without the show/print parameters: the subclass must set them.
+	 */
+	protected ContainerAnalyserBase(final FFprobe ffprobe, final W watcher) {
+		super(ffprobe, watcher);
+		ffprobe.setHidebanner();
+	}
+
 	public void setProgressWatcher(final FFprobeXMLProgressWatcher progressWatcher) {
 		Objects.requireNonNull(progressWatcher, "\"progressWatcher\" can't to be null");
 	}
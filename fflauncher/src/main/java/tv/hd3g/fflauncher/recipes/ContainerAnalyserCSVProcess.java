@@ -0,0 +1,46 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.recipes;
+
+import static tv.hd3g.fflauncher.FFprobe.FFPrintFormat.CSV;
+
+import tv.hd3g.fflauncher.FFprobe;
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobeResultCSV;
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobeRetentionPolicy;
+import tv.hd3g.processlauncher.processingtool.DirectStdoutGetStderrWatcher;
+
+/**
+ * Like ContainerAnalyserProcess, but with a compact ffprobe CSV output, limited to the needed entries
+ * (see FFprobeResultCSV.SHOW_ENTRIES), and parsed without XML parser.
+ * Needs ffprobe 6+.
+ */
+public class ContainerAnalyserCSVProcess extends ContainerAnalyserProcess {
+
+	public ContainerAnalyserCSVProcess(final String execName) {
+		this(execName, FFprobeRetentionPolicy.FULL);
+	}
+
+	/**
+	 * @param retentionPolicy how many packets/frames to keep in the final ContainerAnalyserProcessResult
+	 */
+	public ContainerAnalyserCSVProcess(final String execName, final FFprobeRetentionPolicy retentionPolicy) {
+		super(new FFprobe(execName), new FFprobeResultCSV(retentionPolicy), new DirectStdoutGetStderrWatcher());
+		ffprobe.setShowEntries(FFprobeResultCSV.SHOW_ENTRIES);
+		ffprobe.setPrintFormat(CSV);
+	}
+
+}
@@ -36,13 +36,15 @@ public class ContainerAnalyserExtract extends ContainerAnalyserBase<ContainerAna
 	public ContainerAnalyserExtract(final String execName) {
 		super(execName, new CallbackWatcher());
 		stdOutLines = new LinkedList<>();
-		executorWatcher.setStdOutErrConsumer(lineEntry -> {
-			final var line = lineEntry.line();
-			log.trace("Line: {}", line);
-			if (lineEntry.stdErr() == false) {
-				stdOutLines.add(line);
-				if (fFprobeXMLProgressConsumer != null) {
-					fFprobeXMLProgressConsumer.accept(line);
+		executorWatcher.setStdOutErrBatchConsumer(lineEntries -> {
+			for (final var lineEntry : lineEntries) {
+				final var line = lineEntry.line();
+				log.trace("Line: {}", line);
+				if (lineEntry.stdErr() == false) {
+					stdOutLines.add(line);
+					if (fFprobeXMLProgressConsumer != null) {
+						fFprobeXMLProgressConsumer.accept(line);
+					}
 				}
 			}
 		});
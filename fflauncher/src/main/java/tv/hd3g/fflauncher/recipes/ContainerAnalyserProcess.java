@@ -16,7 +16,11 @@
  */
 package tv.hd3g.fflauncher.recipes;
 
+import tv.hd3g.fflauncher.FFprobe;
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobeResultListener;
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobeResultParser;
 import tv.hd3g.fflauncher.ffprobecontainer.FFprobeResultSAX;
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobeRetentionPolicy;
 import tv.hd3g.fflauncher.processingtool.FFSourceDefinition;
 import tv.hd3g.fflauncher.progress.FFprobeXMLProgressWatcher;
 import tv.hd3g.processlauncher.ProcesslauncherLifecycle;
@@ -25,30 +29,55 @@ import tv.hd3g.processlauncher.processingtool.DirectStdoutGetStderrWatcher;
 public class ContainerAnalyserProcess extends
 									  ContainerAnalyserBase<ContainerAnalyserProcessResult, DirectStdoutGetStderrWatcher> {
 
-	private final FFprobeResultSAX ffprobeResultSAX;
+	private final FFprobeResultParser resultParser;
 
 	protected ContainerAnalyserProcess(final String execName,
-									   final FFprobeResultSAX ffprobeResultSAX,
+									   final FFprobeResultParser resultParser,
 									   final DirectStdoutGetStderrWatcher executorWatcher) {
 		super(execName, executorWatcher);
-		this.ffprobeResultSAX = ffprobeResultSAX;
-		executorWatcher.setStdOutConsumer(ffprobeResultSAX);
+		this.resultParser = resultParser;
+		executorWatcher.setStdOutConsumer(resultParser);
+	}
+
+	/**
+	 * For other ffprobe output formats: the ffprobe show/print parameters must match with the resultParser.
+	 */
+	protected ContainerAnalyserProcess(final FFprobe ffprobe,
+									   final FFprobeResultParser resultParser,
+									   final DirectStdoutGetStderrWatcher executorWatcher) {
+		super(ffprobe, executorWatcher);
+		this.resultParser = resultParser;
+		executorWatcher.setStdOutConsumer(resultParser);
 	}
 
 	public ContainerAnalyserProcess(final String execName) {
 		this(execName, new FFprobeResultSAX(), new DirectStdoutGetStderrWatcher());
 	}
 
+	/**
+	 * @param retentionPolicy how many packets/frames to keep in the final ContainerAnalyserProcessResult
+	 */
+	public ContainerAnalyserProcess(final String execName, final FFprobeRetentionPolicy retentionPolicy) {
+		this(execName, new FFprobeResultSAX(retentionPolicy), new DirectStdoutGetStderrWatcher());
+	}
+
+	/**
+	 * Get packets, frames and consts during the ffprobe run. Should be set before the process start.
+	 */
+	public void addResultListener(final FFprobeResultListener listener) {
+		resultParser.addListener(listener);
+	}
+
 	@Override
 	public void setProgressWatcher(final FFprobeXMLProgressWatcher progressWatcher) {
 		super.setProgressWatcher(progressWatcher);
-		progressWatcher.createHandler(this).ifPresent(ffprobeResultSAX::setProgressHandler);
+		progressWatcher.createHandler(this).ifPresent(resultParser::setProgressHandler);
 	}
 
 	@Override
 	protected ContainerAnalyserProcessResult compute(final FFSourceDefinition sourceOrigin,
 													 final ProcesslauncherLifecycle lifeCycle) {
-		return ffprobeResultSAX.getResult(lifeCycle.getFullCommandLine());
+		return resultParser.getResult(lifeCycle.getFullCommandLine());
 	}
 
 }
@@ -0,0 +1,216 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.recipes;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import lombok.extern.slf4j.Slf4j;
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobeAudioFrameColumns;
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobeAudioFrameConst;
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobePacketColumns;
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobeVideoFrameColumns;
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobeVideoFrameConst;
+import tv.hd3g.fflauncher.processingtool.FFSourceDefinition;
+import tv.hd3g.ffprobejaxb.FFprobeReference;
+import tv.hd3g.ffprobejaxb.data.FFProbeFormat;
+
+/**
+ * Split the source duration in time segments, and run one ContainerAnalyserProcess (ffprobe -read_intervals) by
+ * segment, with a bounded parallelism. Then merge the segments results in one ContainerAnalyserProcessResult.
+ * ffprobe starts each segment on the previous keyframe: the packets/frames already provided by the previous segment
+ * are removed (by stream, on pts/dts). Const changes are chained across segments.
+ * For long files on fast storage. Without a known duration, the whole source is analysed by a single process.
+ */
+@Slf4j
+public class ContainerAnalyserSegmentedProcess {
+	/**
+	 * Shorter segments are not worth the extra ffprobe run and keyframe seek.
+	 */
+	static final Duration MIN_SEGMENT_DURATION = Duration.ofSeconds(10);
+
+	private final Supplier<? extends ContainerAnalyserProcess> processFactory;
+	private final int segmentCount;
+	private final int maxParallel;
+
+	/**
+	 * @param processFactory must return a new, ready to run, ContainerAnalyserProcess (or ContainerAnalyserCSVProcess)
+	 *        on each call. Its -read_intervals will be set by segment.
+	 * @param segmentCount max segments count to split the source duration
+	 * @param maxParallel max ffprobe processes to run at the same time
+	 */
+	public ContainerAnalyserSegmentedProcess(final Supplier<? extends ContainerAnalyserProcess> processFactory,
+											 final int segmentCount,
+											 final int maxParallel) {
+		this.processFactory = requireNonNull(processFactory, "\"processFactory\" can't to be null");
+		if (segmentCount < 1) {
+			throw new IllegalArgumentException("Invalid segmentCount: " + segmentCount);
+		} else if (maxParallel < 1) {
+			throw new IllegalArgumentException("Invalid maxParallel: " + maxParallel);
+		}
+		this.segmentCount = segmentCount;
+		this.maxParallel = maxParallel;
+	}
+
+	/**
+	 * @param sourceProbe the ffprobe result for source (-show_format), for the source start time and duration
+	 */
+	public ContainerAnalyserProcessResult process(final FFprobeReference sourceProbe, final File source) {
+		return process(sourceProbe, f -> f.addSimpleInputSource(source));
+	}
+
+	/**
+	 * @param sourceProbe the ffprobe result for source (-show_format), for the source start time and duration
+	 */
+	public ContainerAnalyserProcessResult process(final FFprobeReference sourceProbe, final String source) {
+		return process(sourceProbe, f -> f.addSimpleInputSource(source));
+	}
+
+	public ContainerAnalyserProcessResult process(final FFprobeReference sourceProbe,
+												  final FFSourceDefinition sourceOrigin) {
+		requireNonNull(sourceProbe, "\"sourceProbe\" can't to be null");
+		requireNonNull(sourceOrigin, "\"sourceOrigin\" can't to be null");
+
+		final var startTime = sourceProbe.getFormat()
+				.map(FFProbeFormat::startTime)
+				.map(s -> Duration.ofMillis(Math.round(s * 1000d)))
+				.orElse(Duration.ZERO);
+		final var readIntervals = sourceProbe.getDuration()
+				.map(d -> getReadIntervals(startTime, d, segmentCount))
+				.orElse(List.of());
+		if (readIntervals.isEmpty()) {
+			log.debug("Can't split source, run a single process");
+			return processFactory.get().process(sourceOrigin).getResult();
+		}
+		log.debug("Split source in {} segments: {}", readIntervals.size(), readIntervals);
+
+		final List<ContainerAnalyserProcessResult> results;
+		try (var executor = Executors.newFixedThreadPool(Math.min(maxParallel, readIntervals.size()))) {
+			final var futures = readIntervals.stream()
+					.map(readInterval -> CompletableFuture.supplyAsync(() -> {
+						final var process = processFactory.get();
+						process.getFfprobe().setReadIntervals(readInterval);
+						return process.process(sourceOrigin).getResult();
+					}, executor))
+					.toList();
+			results = futures.stream()
+					.map(CompletableFuture::join)
+					.toList();
+		} catch (final CompletionException e) {
+			if (e.getCause() instanceof final RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+		return merge(results);
+	}
+
+	/**
+	 * ffprobe -read_intervals are absolute positions: the segments are shifted by the source start time.
+	 * @param startTime the source (format) start_time
+	 * @return "%end", "start%end"..., "start%", or empty if the duration is too short to be split.
+	 */
+	static List<String> getReadIntervals(final Duration startTime, final Duration duration, final int segmentCount) {
+		final var count = (int) Math.min(segmentCount, duration.toMillis() / MIN_SEGMENT_DURATION.toMillis());
+		if (count < 2) {
+			return List.of();
+		}
+		final var startMs = startTime.toMillis();
+		final var durationMs = duration.toMillis();
+		final var readIntervals = new ArrayList<String>(count);
+		for (var pos = 0; pos < count; pos++) {
+			final var start = pos == 0 ? "" : toSeconds(startMs + durationMs * pos / count);
+			final var end = pos + 1 == count ? "" : toSeconds(startMs + durationMs * (pos + 1) / count);
+			readIntervals.add(start + "%" + end);
+		}
+		return readIntervals;
+	}
+
+	private static String toSeconds(final long ms) {
+		return BigDecimal.valueOf(ms, 3).toPlainString();
+	}
+
+	/**
+	 * @param results in time order
+	 */
+	static ContainerAnalyserProcessResult merge(final List<ContainerAnalyserProcessResult> results) {
+		final var videoConsts = mergeConsts(results,
+				ContainerAnalyserProcessResult::olderVideoConsts,
+				ContainerAnalyserProcessResult::videoConst,
+				FFprobeVideoFrameConst::valuesEquals);
+		final var audioConsts = mergeConsts(results,
+				ContainerAnalyserProcessResult::olderAudioConsts,
+				ContainerAnalyserProcessResult::audioConst,
+				FFprobeAudioFrameConst::valuesEquals);
+
+		return new ContainerAnalyserProcessResult(
+				FFprobePacketColumns.mergeSegments(getSegments(results, ContainerAnalyserProcessResult::packets)),
+				FFprobeAudioFrameColumns.mergeSegments(getSegments(results, ContainerAnalyserProcessResult::audioFrames)),
+				FFprobeVideoFrameColumns.mergeSegments(getSegments(results, ContainerAnalyserProcessResult::videoFrames)),
+				videoConsts.isEmpty() ? null : videoConsts.get(videoConsts.size() - 1),
+				audioConsts.isEmpty() ? null : audioConsts.get(audioConsts.size() - 1),
+				videoConsts.isEmpty() ? List.of() : videoConsts.subList(0, videoConsts.size() - 1),
+				audioConsts.isEmpty() ? List.of() : audioConsts.subList(0, audioConsts.size() - 1),
+				results.stream()
+						.map(ContainerAnalyserProcessResult::ffprobeCommandLine)
+						.collect(Collectors.joining("\n")));
+	}
+
+	/**
+	 * @return the results items lists, in results order, maybe null
+	 */
+	private static <T> List<List<T>> getSegments(final List<ContainerAnalyserProcessResult> results,
+												 final Function<ContainerAnalyserProcessResult, List<T>> getItems) {
+		return results.stream()
+				.map(getItems)
+				.toList();
+	}
+
+	/**
+	 * @return all consts, in time order, without the same consecutive values.
+	 */
+	private static <T> List<T> mergeConsts(final List<ContainerAnalyserProcessResult> results,
+										   final Function<ContainerAnalyserProcessResult, List<T>> getOlderConsts,
+										   final Function<ContainerAnalyserProcessResult, T> getConst,
+										   final BiPredicate<T, T> valuesEquals) {
+		final var merged = new ArrayList<T>();
+		results.stream()
+				.flatMap(r -> Stream.concat(
+						Stream.ofNullable(getOlderConsts.apply(r)).flatMap(List::stream),
+						Stream.ofNullable(getConst.apply(r))))
+				.forEach(c -> {
+					if (merged.isEmpty() || valuesEquals.test(merged.get(merged.size() - 1), c) == false) {
+						merged.add(c);
+					}
+				});
+		return merged;
+	}
+
+}
@@ -0,0 +1,557 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.recipes;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import tv.hd3g.ffprobejaxb.FFprobeJAXB;
+import tv.hd3g.ffprobejaxb.FFprobeReference;
+import tv.hd3g.ffprobejaxb.data.FFProbeChapter;
+import tv.hd3g.ffprobejaxb.data.FFProbeError;
+import tv.hd3g.ffprobejaxb.data.FFProbeFormat;
+import tv.hd3g.ffprobejaxb.data.FFProbeKeyValue;
+import tv.hd3g.ffprobejaxb.data.FFProbeLibraryVersion;
+import tv.hd3g.ffprobejaxb.data.FFProbePacketSideData;
+import tv.hd3g.ffprobejaxb.data.FFProbePixelFormat;
+import tv.hd3g.ffprobejaxb.data.FFProbeProgram;
+import tv.hd3g.ffprobejaxb.data.FFProbeProgramVersion;
+import tv.hd3g.ffprobejaxb.data.FFProbeStream;
+import tv.hd3g.ffprobejaxb.data.FFProbeStreamDisposition;
+
+/**
+ * Compact binary encoding for the FFprobeReference fields (like a ProbeMedia result), to store it out of the JVM (like
+ * in ProbeResultCache), without XML and JAXB.
+ * Big endian, fixed size numbers, nullable Strings and Lists with their length (-1 for null), stream dispositions as
+ * bits in one int. The XML content is not encoded.
+ */
+public final class FFprobeReferenceCodec {
+
+	/**
+	 * Item writer, for lists and optionals.
+	 */
+	@FunctionalInterface
+	private interface Writer<T> {
+		void write(T item, DataOutput out) throws IOException;
+	}
+
+	private FFprobeReferenceCodec() {
+	}
+
+	public static void write(final FFprobeReference probe, final DataOutput out) throws IOException {
+		writeString(probe.getXSDVersionReference(), out);
+		writeOptional(probe.getFormat(), FFprobeReferenceCodec::writeFormat, out);
+		writeList(probe.getStreams(), FFprobeReferenceCodec::writeStream, out);
+		writeList(probe.getLibraryVersions(), FFprobeReferenceCodec::writeLibraryVersion, out);
+		writeOptional(probe.getError(), FFprobeReferenceCodec::writeError, out);
+		writeList(probe.getPrograms(), FFprobeReferenceCodec::writeProgram, out);
+		writeOptional(probe.getProgramVersion(), FFprobeReferenceCodec::writeProgramVersion, out);
+		writeList(probe.getChapters(), FFprobeReferenceCodec::writeChapter, out);
+		writeList(probe.getPixelFormats(), FFprobeReferenceCodec::writePixelFormat, out);
+	}
+
+	/**
+	 * @return a FFprobeJAXB without XML content (getXmlContent() returns null).
+	 * @throws java.nio.BufferUnderflowException or IllegalArgumentException if in is not a valid encoded probe.
+	 */
+	public static FFprobeJAXB read(final ByteBuffer in) {
+		return new DecodedFFprobeJAXB(
+				readString(in),
+				readOptional(in, FFprobeReferenceCodec::readFormat),
+				readList(in, FFprobeReferenceCodec::readStream),
+				readList(in, FFprobeReferenceCodec::readLibraryVersion),
+				readOptional(in, FFprobeReferenceCodec::readError),
+				readList(in, FFprobeReferenceCodec::readProgram),
+				readOptional(in, FFprobeReferenceCodec::readProgramVersion),
+				readList(in, FFprobeReferenceCodec::readChapter),
+				readList(in, FFprobeReferenceCodec::readPixelFormat));
+	}
+
+	private static class DecodedFFprobeJAXB extends FFprobeJAXB {
+		private final String xsdVersionReference;
+		private final Optional<FFProbeFormat> format;
+		private final List<FFProbeStream> streams;
+		private final List<FFProbeLibraryVersion> libraryVersions;
+		private final Optional<FFProbeError> error;
+		private final List<FFProbeProgram> programs;
+		private final Optional<FFProbeProgramVersion> programVersion;
+		private final List<FFProbeChapter> chapters;
+		private final List<FFProbePixelFormat> pixelFormats;
+
+		DecodedFFprobeJAXB(final String xsdVersionReference,// NOSONAR S107
+						   final Optional<FFProbeFormat> format,
+						   final List<FFProbeStream> streams,
+						   final List<FFProbeLibraryVersion> libraryVersions,
+						   final Optional<FFProbeError> error,
+						   final List<FFProbeProgram> programs,
+						   final Optional<FFProbeProgramVersion> programVersion,
+						   final List<FFProbeChapter> chapters,
+						   final List<FFProbePixelFormat> pixelFormats) {
+			super(null);
+			this.xsdVersionReference = xsdVersionReference;
+			this.format = format;
+			this.streams = streams;
+			this.libraryVersions = libraryVersions;
+			this.error = error;
+			this.programs = programs;
+			this.programVersion = programVersion;
+			this.chapters = chapters;
+			this.pixelFormats = pixelFormats;
+		}
+
+		@Override
+		protected void setJAXB(final Object rawJAXB) {
+			throw new UnsupportedOperationException("Not loaded from JAXB");
+		}
+
+		@Override
+		public String getXSDVersionReference() {
+			return xsdVersionReference;
+		}
+
+		@Override
+		public Optional<FFProbeFormat> getFormat() {
+			return format;
+		}
+
+		@Override
+		public List<FFProbeStream> getStreams() {
+			return streams;
+		}
+
+		@Override
+		public List<FFProbeLibraryVersion> getLibraryVersions() {
+			return libraryVersions;
+		}
+
+		@Override
+		public Optional<FFProbeError> getError() {
+			return error;
+		}
+
+		@Override
+		public List<FFProbeProgram> getPrograms() {
+			return programs;
+		}
+
+		@Override
+		public Optional<FFProbeProgramVersion> getProgramVersion() {
+			return programVersion;
+		}
+
+		@Override
+		public List<FFProbeChapter> getChapters() {
+			return chapters;
+		}
+
+		@Override
+		public List<FFProbePixelFormat> getPixelFormats() {
+			return pixelFormats;
+		}
+	}
+
+	private static void writeString(final String value, final DataOutput out) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+			return;
+		}
+		final var bytes = value.getBytes(UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(final ByteBuffer in) {
+		final var length = in.getInt();
+		if (length == -1) {
+			return null;
+		} else if (length < 0 || length > in.remaining()) {
+			throw new IllegalArgumentException("Invalid String length: " + length);
+		}
+		final var bytes = new byte[length];
+		in.get(bytes);
+		return new String(bytes, UTF_8);
+	}
+
+	private static <T> void writeList(final List<T> items,
+									  final Writer<T> writer,
+									  final DataOutput out) throws IOException {
+		if (items == null) {
+			out.writeInt(-1);
+			return;
+		}
+		out.writeInt(items.size());
+		for (final var item : items) {
+			writer.write(item, out);
+		}
+	}
+
+	private static <T> List<T> readList(final ByteBuffer in, final Function<ByteBuffer, T> reader) {
+		final var count = in.getInt();
+		if (count == -1) {
+			return null;// NOSONAR S1168
+		} else if (count < 0 || count > in.remaining()) {
+			throw new IllegalArgumentException("Invalid items count: " + count);
+		}
+		final var items = new ArrayList<T>(count);
+		for (var pos = 0; pos < count; pos++) {
+			items.add(reader.apply(in));
+		}
+		return List.copyOf(items);
+	}
+
+	private static <T> void writeOptional(final Optional<T> item,
+										  final Writer<T> writer,
+										  final DataOutput out) throws IOException {
+		out.writeBoolean(item.isPresent());
+		if (item.isPresent()) {
+			writer.write(item.get(), out);
+		}
+	}
+
+	private static <T> Optional<T> readOptional(final ByteBuffer in, final Function<ByteBuffer, T> reader) {
+		if (in.get() == 0) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(reader.apply(in));
+	}
+
+	private static void writeKeyValue(final FFProbeKeyValue keyValue, final DataOutput out) throws IOException {
+		writeString(keyValue.key(), out);
+		writeString(keyValue.value(), out);
+	}
+
+	private static FFProbeKeyValue readKeyValue(final ByteBuffer in) {
+		return new FFProbeKeyValue(readString(in), readString(in));
+	}
+
+	private static void writeFormat(final FFProbeFormat format, final DataOutput out) throws IOException {
+		writeList(format.tags(), FFprobeReferenceCodec::writeKeyValue, out);
+		writeString(format.filename(), out);
+		out.writeInt(format.nbStreams());
+		out.writeInt(format.nbPrograms());
+		writeString(format.formatName(), out);
+		writeString(format.formatLongName(), out);
+		out.writeFloat(format.startTime());
+		out.writeFloat(format.duration());
+		out.writeLong(format.size());
+		out.writeLong(format.bitRate());
+		out.writeInt(format.probeScore());
+	}
+
+	private static FFProbeFormat readFormat(final ByteBuffer in) {
+		return new FFProbeFormat(
+				readList(in, FFprobeReferenceCodec::readKeyValue),
+				readString(in),
+				in.getInt(),
+				in.getInt(),
+				readString(in),
+				readString(in),
+				in.getFloat(),
+				in.getFloat(),
+				in.getLong(),
+				in.getLong(),
+				in.getInt());
+	}
+
+	/**
+	 * @return one bit by disposition, in FFProbeStreamDisposition fields order
+	 */
+	private static int encodeDisposition(final FFProbeStreamDisposition d) {
+		final var values = new boolean[] {
+										   d.asDefault(), d.dub(), d.original(), d.comment(), d.lyrics(), d.karaoke(),
+										   d.forced(), d.hearingImpaired(), d.visualImpaired(), d.cleanEffects(),
+										   d.attachedPic(), d.timedThumbnails(), d.nonDiegetic(), d.captions(),
+										   d.descriptions(), d.metadata(), d.dependent(), d.stillImage() };
+		var bits = 0;
+		for (var pos = 0; pos < values.length; pos++) {
+			if (values[pos]) {
+				bits |= 1 << pos;
+			}
+		}
+		return bits;
+	}
+
+	private static boolean isSet(final int bits, final int position) {
+		return (bits & 1 << position) != 0;
+	}
+
+	private static FFProbeStreamDisposition decodeDisposition(final int bits) {
+		return new FFProbeStreamDisposition(
+				isSet(bits, 0), isSet(bits, 1), isSet(bits, 2), isSet(bits, 3), isSet(bits, 4), isSet(bits, 5),
+				isSet(bits, 6), isSet(bits, 7), isSet(bits, 8), isSet(bits, 9),
+				isSet(bits, 10), isSet(bits, 11), isSet(bits, 12), isSet(bits, 13),
+				isSet(bits, 14), isSet(bits, 15), isSet(bits, 16), isSet(bits, 17));
+	}
+
+	private static void writeSideData(final FFProbePacketSideData sideData, final DataOutput out) throws IOException {
+		writeList(sideData.sideDatum(), FFprobeReferenceCodec::writeKeyValue, out);
+		writeString(sideData.type(), out);
+		out.writeInt(sideData.size());
+	}
+
+	private static FFProbePacketSideData readSideData(final ByteBuffer in) {
+		return new FFProbePacketSideData(
+				readList(in, FFprobeReferenceCodec::readKeyValue),
+				readString(in),
+				in.getInt());
+	}
+
+	private static void writeStream(final FFProbeStream stream, final DataOutput out) throws IOException {
+		out.writeBoolean(stream.disposition() != null);
+		if (stream.disposition() != null) {
+			out.writeInt(encodeDisposition(stream.disposition()));
+		}
+		writeList(stream.tags(), FFprobeReferenceCodec::writeKeyValue, out);
+		writeList(stream.sideDataList(), FFprobeReferenceCodec::writeSideData, out);
+		out.writeInt(stream.index());
+		writeString(stream.codecName(), out);
+		writeString(stream.codecLongName(), out);
+		writeString(stream.profile(), out);
+		writeString(stream.codecType(), out);
+		writeString(stream.codecTag(), out);
+		writeString(stream.codecTagString(), out);
+		writeString(stream.extradata(), out);
+		out.writeInt(stream.extradataSize());
+		writeString(stream.extradataHash(), out);
+		out.writeInt(stream.width());
+		out.writeInt(stream.height());
+		out.writeInt(stream.codedWidth());
+		out.writeInt(stream.codedHeight());
+		out.writeBoolean(stream.closedCaptions());
+		out.writeBoolean(stream.filmGrain());
+		out.writeBoolean(stream.hasBFrames());
+		writeString(stream.sampleAspectRatio(), out);
+		writeString(stream.displayAspectRatio(), out);
+		writeString(stream.pixFmt(), out);
+		out.writeInt(stream.level());
+		writeString(stream.colorRange(), out);
+		writeString(stream.colorSpace(), out);
+		writeString(stream.colorTransfer(), out);
+		writeString(stream.colorPrimaries(), out);
+		writeString(stream.chromaLocation(), out);
+		writeString(stream.fieldOrder(), out);
+		out.writeInt(stream.refs());
+		writeString(stream.sampleFmt(), out);
+		out.writeInt(stream.sampleRate());
+		out.writeInt(stream.channels());
+		writeString(stream.channelLayout(), out);
+		out.writeInt(stream.bitsPerSample());
+		out.writeInt(stream.initialPadding());
+		writeString(stream.id(), out);
+		writeString(stream.rFrameRate(), out);
+		writeString(stream.avgFrameRate(), out);
+		writeString(stream.timeBase(), out);
+		out.writeLong(stream.startPts());
+		out.writeFloat(stream.startTime());
+		out.writeLong(stream.durationTs());
+		out.writeFloat(stream.duration());
+		out.writeInt(stream.bitRate());
+		out.writeInt(stream.maxBitRate());
+		out.writeInt(stream.bitsPerRawSample());
+		out.writeInt(stream.nbFrames());
+		out.writeInt(stream.nbReadFrames());
+		out.writeInt(stream.nbReadPackets());
+	}
+
+	private static FFProbeStream readStream(final ByteBuffer in) {
+		return new FFProbeStream(
+				in.get() == 0 ? null : decodeDisposition(in.getInt()),
+				readList(in, FFprobeReferenceCodec::readKeyValue),
+				readList(in, FFprobeReferenceCodec::readSideData),
+				in.getInt(),
+				readString(in),
+				readString(in),
+				readString(in),
+				readString(in),
+				readString(in),
+				readString(in),
+				readString(in),
+				in.getInt(),
+				readString(in),
+				in.getInt(),
+				in.getInt(),
+				in.getInt(),
+				in.getInt(),
+				in.get() != 0,
+				in.get() != 0,
+				in.get() != 0,
+				readString(in),
+				readString(in),
+				readString(in),
+				in.getInt(),
+				readString(in),
+				readString(in),
+				readString(in),
+				readString(in),
+				readString(in),
+				readString(in),
+				in.getInt(),
+				readString(in),
+				in.getInt(),
+				in.getInt(),
+				readString(in),
+				in.getInt(),
+				in.getInt(),
+				readString(in),
+				readString(in),
+				readString(in),
+				readString(in),
+				in.getLong(),
+				in.getFloat(),
+				in.getLong(),
+				in.getFloat(),
+				in.getInt(),
+				in.getInt(),
+				in.getInt(),
+				in.getInt(),
+				in.getInt(),
+				in.getInt());
+	}
+
+	private static void writeLibraryVersion(final FFProbeLibraryVersion libraryVersion,
+											final DataOutput out) throws IOException {
+		writeString(libraryVersion.name(), out);
+		out.writeInt(libraryVersion.major());
+		out.writeInt(libraryVersion.minor());
+		out.writeInt(libraryVersion.micro());
+		out.writeInt(libraryVersion.version());
+		writeString(libraryVersion.ident(), out);
+	}
+
+	private static FFProbeLibraryVersion readLibraryVersion(final ByteBuffer in) {
+		return new FFProbeLibraryVersion(
+				readString(in),
+				in.getInt(),
+				in.getInt(),
+				in.getInt(),
+				in.getInt(),
+				readString(in));
+	}
+
+	private static void writeError(final FFProbeError error, final DataOutput out) throws IOException {
+		out.writeInt(error.code());
+		writeString(error.string(), out);
+	}
+
+	private static FFProbeError readError(final ByteBuffer in) {
+		return new FFProbeError(in.getInt(), readString(in));
+	}
+
+	private static void writeProgram(final FFProbeProgram program, final DataOutput out) throws IOException {
+		writeList(program.tags(), FFprobeReferenceCodec::writeKeyValue, out);
+		writeList(program.streams(), FFprobeReferenceCodec::writeStream, out);
+		out.writeInt(program.programId());
+		out.writeInt(program.programNum());
+		out.writeInt(program.nbStreams());
+		out.writeInt(program.pmtPid());
+		out.writeInt(program.pcrPid());
+	}
+
+	private static FFProbeProgram readProgram(final ByteBuffer in) {
+		return new FFProbeProgram(
+				readList(in, FFprobeReferenceCodec::readKeyValue),
+				readList(in, FFprobeReferenceCodec::readStream),
+				in.getInt(),
+				in.getInt(),
+				in.getInt(),
+				in.getInt(),
+				in.getInt());
+	}
+
+	private static void writeProgramVersion(final FFProbeProgramVersion programVersion,
+											final DataOutput out) throws IOException {
+		writeString(programVersion.version(), out);
+		writeString(programVersion.copyright(), out);
+		writeString(programVersion.buildDate(), out);
+		writeString(programVersion.buildTime(), out);
+		writeString(programVersion.compilerIdent(), out);
+		writeString(programVersion.configuration(), out);
+	}
+
+	private static FFProbeProgramVersion readProgramVersion(final ByteBuffer in) {
+		return new FFProbeProgramVersion(
+				readString(in),
+				readString(in),
+				readString(in),
+				readString(in),
+				readString(in),
+				readString(in));
+	}
+
+	private static void writeChapter(final FFProbeChapter chapter, final DataOutput out) throws IOException {
+		writeList(chapter.tags(), FFprobeReferenceCodec::writeKeyValue, out);
+		out.writeInt(chapter.id());
+		writeString(chapter.timeBase(), out);
+		out.writeInt(chapter.start());
+		out.writeFloat(chapter.startTime());
+		out.writeInt(chapter.end());
+		out.writeFloat(chapter.endTime());
+	}
+
+	private static FFProbeChapter readChapter(final ByteBuffer in) {
+		return new FFProbeChapter(
+				readList(in, FFprobeReferenceCodec::readKeyValue),
+				in.getInt(),
+				readString(in),
+				in.getInt(),
+				in.getFloat(),
+				in.getInt(),
+				in.getFloat());
+	}
+
+	private static void writePixelFormat(final FFProbePixelFormat pixelFormat,
+										 final DataOutput out) throws IOException {
+		writeString(pixelFormat.name(), out);
+		out.writeInt(pixelFormat.nbComponents());
+		out.writeInt(pixelFormat.log2ChromaW());
+		out.writeInt(pixelFormat.log2ChromaH());
+		out.writeInt(pixelFormat.bitsPerPixel());
+		out.writeBoolean(pixelFormat.bigEndian());
+		out.writeBoolean(pixelFormat.palette());
+		out.writeBoolean(pixelFormat.bitstream());
+		out.writeBoolean(pixelFormat.hwaccel());
+		out.writeBoolean(pixelFormat.planar());
+		out.writeBoolean(pixelFormat.rgb());
+		out.writeBoolean(pixelFormat.alpha());
+		writeList(pixelFormat.bitDepthByComponent(), (bitDepth, o) -> o.writeInt(bitDepth), out);
+	}
+
+	private static FFProbePixelFormat readPixelFormat(final ByteBuffer in) {
+		return new FFProbePixelFormat(
+				readString(in),
+				in.getInt(),
+				in.getInt(),
+				in.getInt(),
+				in.getInt(),
+				in.get() != 0,
+				in.get() != 0,
+				in.get() != 0,
+				in.get() != 0,
+				in.get() != 0,
+				in.get() != 0,
+				in.get() != 0,
+				readList(in, ByteBuffer::getInt));
+	}
+
+}
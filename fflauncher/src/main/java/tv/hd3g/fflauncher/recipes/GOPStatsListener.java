@@ -0,0 +1,83 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.recipes;
+
+import static java.util.Collections.unmodifiableList;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobePictType.B;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobePictType.I;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobeResultListener;
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobeVideoFrame;
+
+/**
+ * Compute GOPStatItems on the fly, one by GOP, as soon as the next I frame is parsed.
+ * Only the current GOP frames are kept in memory.
+ * A GOP starts on each I frame, or on the first frame.
+ */
+public class GOPStatsListener implements FFprobeResultListener {
+
+	private final Consumer<GOPStatItem> onGOPStat;
+	private List<FFprobeVideoFrame> gopFrames;
+	private long gopDataSize;
+	private int bFramesCount;
+	private long bFramesDataSize;
+
+	public GOPStatsListener(final Consumer<GOPStatItem> onGOPStat) {
+		this.onGOPStat = Objects.requireNonNull(onGOPStat, "\"onGOPStat\" can't to be null");
+		gopFrames = new ArrayList<>();
+	}
+
+	@Override
+	public void onVideoFrame(final FFprobeVideoFrame videoFrame) {
+		if (I.equals(videoFrame.pictType())) {
+			onEnd();
+		}
+		gopFrames.add(videoFrame);
+		gopDataSize += videoFrame.frame().pktSize();
+		if (B.equals(videoFrame.pictType())) {
+			bFramesCount++;
+			bFramesDataSize += videoFrame.frame().pktSize();
+		}
+	}
+
+	/**
+	 * Push the current GOP, if any.
+	 */
+	@Override
+	public void onEnd() {
+		if (gopFrames.isEmpty()) {
+			return;
+		}
+		onGOPStat.accept(new GOPStatItem(
+				gopFrames.size(),
+				gopDataSize,
+				bFramesCount,
+				gopFrames.get(0).frame().pktSize(),
+				bFramesDataSize,
+				unmodifiableList(gopFrames)));
+		gopFrames = new ArrayList<>();
+		gopDataSize = 0;
+		bFramesCount = 0;
+		bFramesDataSize = 0;
+	}
+
+}
@@ -44,14 +44,16 @@ public class MediaAnalyserProcess extends
 								   final LavfiMetadataFilterParser lavfiMetadataFilterParser) {
 		super(execName, about, watcher);
 		this.lavfiMetadataFilterParser = lavfiMetadataFilterParser;
-		executorWatcher.setStdOutErrConsumer(lineEntry -> {
-			final var line = lineEntry.line();
-			if (lineEntry.stdErr()) {
-				log.debug("Line: {}", line);
-				return;
+		executorWatcher.setStdOutErrBatchConsumer(lineEntries -> {
+			for (final var lineEntry : lineEntries) {
+				final var line = lineEntry.line();
+				if (lineEntry.stdErr()) {
+					log.debug("Line: {}", line);
+					continue;
+				}
+				log.trace("Line: {}", line);
+				lavfiMetadataFilterParser.addLavfiRawLine(line);
 			}
-			log.trace("Line: {}", line);
-			lavfiMetadataFilterParser.addLavfiRawLine(line);
 		});
 	}
 
@@ -16,24 +16,41 @@
  */
 package tv.hd3g.fflauncher.recipes;
 
+import java.io.InputStream;
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ScheduledExecutorService;
 
+import lombok.Setter;
 import tv.hd3g.fflauncher.FFprobe;
 import tv.hd3g.fflauncher.FFprobe.FFPrintFormat;
 import tv.hd3g.fflauncher.enums.FFLogLevel;
 import tv.hd3g.fflauncher.processingtool.FFSourceDefinition;
 import tv.hd3g.fflauncher.processingtool.FFprobeToolBuilder;
 import tv.hd3g.ffprobejaxb.FFprobeJAXB;
+import tv.hd3g.processlauncher.DirectStandardOutputStdErrRetention;
+import tv.hd3g.processlauncher.InputStreamConsumer;
 import tv.hd3g.processlauncher.ProcesslauncherLifecycle;
-import tv.hd3g.processlauncher.processingtool.KeepStdoutAndErrToLogWatcher;
+import tv.hd3g.processlauncher.processingtool.DirectStdoutGetStderrWatcher;
 
-public class ProbeMedia extends FFprobeToolBuilder<FFprobeJAXB, KeepStdoutAndErrToLogWatcher> {
+/**
+ * ffprobe XML stdout is directly unmarshalled during the process run, without text retention.
+ */
+public class ProbeMedia extends FFprobeToolBuilder<FFprobeJAXB, DirectStdoutGetStderrWatcher> {
+
+	/**
+	 * Keep a copy of the raw XML in FFprobeJAXB.getXmlContent() results. Default is true.
+	 * Set false to stream the XML without copy: getXmlContent() will return null.
+	 */
+	@Setter
+	private boolean keepXmlContent = true;
 
 	public ProbeMedia(final String execName,
 					  final ScheduledExecutorService maxExecTimeScheduler) {
-		super(new FFprobe(execName), new KeepStdoutAndErrToLogWatcher());
+		super(new FFprobe(execName), new DirectStdoutGetStderrWatcher());
 		setMaxExecutionTime(Duration.ofSeconds(5), maxExecTimeScheduler);
+		executorWatcher.setStdOutConsumerFactory(() -> new FFprobeJAXBLoader(keepXmlContent));
 
 		ffprobe.setPrintFormat(FFPrintFormat.XML).setShowStreams().setShowFormat().setShowChapters().isHidebanner();
 		ffprobe.setLogLevel(FFLogLevel.ERROR, false, false);
@@ -46,9 +63,50 @@ public class ProbeMedia extends FFprobeToolBuilder<FFprobeJAXB, KeepStdoutAndErr
 		this("ffprobe", maxExecTimeScheduler);
 	}
 
+	/**
+	 * One by run, created by the watcher on each run setup, and kept by the run stdout capture: the builder don't keep
+	 * any run state.
+	 */
+	private static class FFprobeJAXBLoader implements InputStreamConsumer {
+		private final boolean keepXmlContent;
+		private final CompletableFuture<FFprobeJAXB> result;
+
+		FFprobeJAXBLoader(final boolean keepXmlContent) {
+			this.keepXmlContent = keepXmlContent;
+			result = new CompletableFuture<>();
+		}
+
+		@Override
+		public void onProcessStart(final InputStream processInputStream, final ProcesslauncherLifecycle source) {
+			try {
+				result.complete(FFprobeJAXB.load(processInputStream, keepXmlContent));
+			} catch (final RuntimeException e) {
+				result.completeExceptionally(e);
+			}
+		}
+	}
+
+	/**
+	 * With processAsync, it's called after the stdout end (see ExecutorWatcher.afterStartProcessAsync): the
+	 * load is already done here, and this never blocks.
+	 */
 	@Override
 	protected FFprobeJAXB compute(final FFSourceDefinition sourceOrigin, final ProcesslauncherLifecycle lifeCycle) {
-		return FFprobeJAXB.load(executorWatcher.getTextRetention().getStdout(false, System.lineSeparator()));
+		final var loader = lifeCycle.getLauncher().getCaptureStandardOutput()
+				.filter(DirectStandardOutputStdErrRetention.class::isInstance)
+				.map(DirectStandardOutputStdErrRetention.class::cast)
+				.map(DirectStandardOutputStdErrRetention::getStdOutConsumer)
+				.filter(FFprobeJAXBLoader.class::isInstance)
+				.map(FFprobeJAXBLoader.class::cast)
+				.orElseThrow(() -> new IllegalStateException("This run was not started by this ProbeMedia"));
+		try {
+			return loader.result.join();
+		} catch (final CompletionException e) {
+			if (e.getCause() instanceof final RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
 	}
 
 }
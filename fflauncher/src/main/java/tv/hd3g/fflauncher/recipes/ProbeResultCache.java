@@ -0,0 +1,400 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.recipes;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+import tv.hd3g.fflauncher.about.FFAboutVersion;
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobeResultCodec;
+import tv.hd3g.ffprobejaxb.FFprobeJAXB;
+
+/**
+ * On-disk cache for ProbeMedia and ContainerAnalyserProcess results, with one file by entry in a directory, keyed by
+ * source path, size, last modified date and ffprobe version.
+ * Probe results are stored with FFprobeReferenceCodec (without the XML content), container analysis results with
+ * FFprobeResultCodec.
+ * Entries are read with a memory mapped file. Last read probe results are also kept in memory.
+ * The directory total size is bounded: least recently used entries are deleted first (the entry file last modified
+ * date is updated on hits, at most once by minute).
+ * Entries are written in a temp file, then atomically moved: concurrent writers (threads or processes) are safe.
+ */
+@Slf4j
+public class ProbeResultCache {
+	private static final int MAGIC = 0x46465043;// FFPC
+	private static final int FORMAT_VERSION = 2;
+	private static final String PROBE_SUFFIX = ".probe";
+	private static final String CONTAINER_SUFFIX = ".container";
+	static final int MAX_MEMORY_PROBES = 256;
+	static final long TOUCH_INTERVAL_MS = 60_000;
+
+	private final Path directory;
+	private final long maxSize;
+	private final String ffprobeVersion;
+	/**
+	 * Entry file -> file size, in access order
+	 */
+	private final LinkedHashMap<Path, Long> entries;
+	/**
+	 * Entry file -> last file date update by touch, in ms
+	 */
+	private final Map<Path, Long> lastTouches;
+	private final Map<Key, FFprobeJAXB> memoryProbes;
+	private long totalSize;
+
+	/**
+	 * Key fields are stored in the entry, to check the hash collisions.
+	 */
+	record Key(String path, long size, long lastModified, String ffprobeVersion) {
+
+		static Key of(final File source, final String ffprobeVersion) {
+			final var path = source.getAbsoluteFile().toPath().normalize();
+			try {
+				return new Key(path.toString(),
+						Files.size(path),
+						Files.getLastModifiedTime(path).toMillis(),
+						ffprobeVersion);
+			} catch (final IOException e) {
+				throw new UncheckedIOException("Can't read source file attributes", e);
+			}
+		}
+
+		String getHash() {
+			try {
+				final var digest = MessageDigest.getInstance("SHA-256");
+				digest.update((path + "|" + size + "|" + lastModified + "|" + ffprobeVersion).getBytes(UTF_8));
+				return HexFormat.of().formatHex(digest.digest());
+			} catch (final NoSuchAlgorithmException e) {
+				throw new IllegalStateException("Can't compute hash", e);
+			}
+		}
+
+		void write(final DataOutputStream out) throws IOException {
+			writeString(path, out);
+			out.writeLong(size);
+			out.writeLong(lastModified);
+			writeString(ffprobeVersion, out);
+		}
+
+		boolean isStored(final ByteBuffer in) {
+			return path.equals(readString(in))
+				   && size == in.getLong()
+				   && lastModified == in.getLong()
+				   && ffprobeVersion.equals(readString(in));
+		}
+
+		private static void writeString(final String value, final DataOutputStream out) throws IOException {
+			final var bytes = value.getBytes(UTF_8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+
+		private static String readString(final ByteBuffer in) {
+			final var length = in.getInt();
+			if (length < 0 || length > in.remaining()) {
+				throw new IllegalArgumentException("Invalid String length: " + length);
+			}
+			final var bytes = new byte[length];
+			in.get(bytes);
+			return new String(bytes, UTF_8);
+		}
+
+	}
+
+	/**
+	 * @param ffprobeVersion the ffprobe version used to produce the results, for the keys.
+	 */
+	public ProbeResultCache(final Path directory, final long maxSize, final FFAboutVersion ffprobeVersion) {
+		this(directory, maxSize, requireNonNull(ffprobeVersion, "\"ffprobeVersion\" can't to be null").headerVersion
+								 + "|" + ffprobeVersion.libavformatVersion
+								 + "|" + ffprobeVersion.libavcodecVersion);
+	}
+
+	/**
+	 * @param maxSize in bytes, for all the entries.
+	 * @param ffprobeVersion the ffprobe version used to produce the results, for the keys.
+	 */
+	public ProbeResultCache(final Path directory, final long maxSize, final String ffprobeVersion) {
+		this.directory = requireNonNull(directory, "\"directory\" can't to be null");
+		this.ffprobeVersion = requireNonNull(ffprobeVersion, "\"ffprobeVersion\" can't to be null");
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("Invalid maxSize: " + maxSize);
+		}
+		this.maxSize = maxSize;
+		entries = new LinkedHashMap<>(16, 0.75f, true);
+		lastTouches = new HashMap<>();
+		memoryProbes = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Key, FFprobeJAXB> eldest) {
+				return size() > MAX_MEMORY_PROBES;
+			}
+		};
+
+		try {
+			Files.createDirectories(directory);
+			try (var files = Files.list(directory)) {
+				files.filter(this::isEntry)
+						.map(f -> Map.entry(f, f.toFile().lastModified()))
+						.sorted(Map.Entry.comparingByValue())
+						.map(Map.Entry::getKey)
+						.forEach(f -> addEntry(f, f.toFile().length()));
+			}
+		} catch (final IOException e) {
+			throw new UncheckedIOException("Can't open cache directory " + directory, e);
+		}
+		evict(null);
+		log.debug("Open cache {}: {} entries, {} bytes", directory, entries.size(), totalSize);
+	}
+
+	private boolean isEntry(final Path file) {
+		final var name = file.getFileName().toString();
+		return name.endsWith(PROBE_SUFFIX) || name.endsWith(CONTAINER_SUFFIX);
+	}
+
+	/**
+	 * Get the cached result, or run ProbeMedia and cache its result.
+	 * Results read from the cache files don't have XML content (getXmlContent() returns null).
+	 * @param probeMediaFactory a new ProbeMedia
+	 */
+	public FFprobeJAXB probe(final File source, final Supplier<ProbeMedia> probeMediaFactory) {
+		return getProbe(source).orElseGet(() -> {
+			final var result = probeMediaFactory.get().process(source).getResult();
+			putProbe(source, result);
+			return result;
+		});
+	}
+
+	/**
+	 * Get the cached result, or run ContainerAnalyserProcess and cache its result.
+	 */
+	public ContainerAnalyserProcessResult analyse(final File source,
+												  final Supplier<? extends ContainerAnalyserProcess> processFactory) {
+		return getContainerAnalyse(source).orElseGet(() -> {
+			final var result = processFactory.get().process(source).getResult();
+			putContainerAnalyse(source, result);
+			return result;
+		});
+	}
+
+	public Optional<FFprobeJAXB> getProbe(final File source) {
+		final var key = Key.of(source, ffprobeVersion);
+		final FFprobeJAXB memoryResult;
+		synchronized (memoryProbes) {
+			memoryResult = memoryProbes.get(key);
+		}
+		if (memoryResult != null) {
+			touch(getEntryFile(key, PROBE_SUFFIX));
+			return Optional.ofNullable(memoryResult);
+		}
+		final var result = read(key, PROBE_SUFFIX, FFprobeReferenceCodec::read);
+		result.ifPresent(r -> {
+			synchronized (memoryProbes) {
+				memoryProbes.put(key, r);
+			}
+		});
+		return result;
+	}
+
+	public void putProbe(final File source, final FFprobeJAXB result) {
+		requireNonNull(result, "\"result\" can't to be null");
+		final var key = Key.of(source, ffprobeVersion);
+		write(key, PROBE_SUFFIX, out -> FFprobeReferenceCodec.write(result, out));
+		synchronized (memoryProbes) {
+			memoryProbes.put(key, result);
+		}
+	}
+
+	public Optional<ContainerAnalyserProcessResult> getContainerAnalyse(final File source) {
+		return read(Key.of(source, ffprobeVersion), CONTAINER_SUFFIX, FFprobeResultCodec::read);
+	}
+
+	public void putContainerAnalyse(final File source, final ContainerAnalyserProcessResult result) {
+		requireNonNull(result, "\"result\" can't to be null");
+		write(Key.of(source, ffprobeVersion), CONTAINER_SUFFIX, out -> FFprobeResultCodec.write(result, out));
+	}
+
+	/**
+	 * @return all entries size, in bytes, known by this instance
+	 */
+	public synchronized long getSize() {
+		return totalSize;
+	}
+
+	private Path getEntryFile(final Key key, final String suffix) {
+		return directory.resolve(key.getHash() + suffix);
+	}
+
+	private <T> Optional<T> read(final Key key, final String suffix, final Function<ByteBuffer, T> decoder) {
+		final var entryFile = getEntryFile(key, suffix);
+		final ByteBuffer in;
+		try (var channel = FileChannel.open(entryFile, READ)) {
+			in = channel.map(MapMode.READ_ONLY, 0, channel.size());
+		} catch (final NoSuchFileException e) {
+			return Optional.empty();
+		} catch (final IOException e) {
+			log.warn("Can't read cache entry {}", entryFile, e);
+			return Optional.empty();
+		}
+
+		try {
+			if (in.getInt() != MAGIC || in.getInt() != FORMAT_VERSION) {
+				log.info("Ignore and remove invalid cache entry {}", entryFile);
+				remove(entryFile);
+				return Optional.empty();
+			} else if (key.isStored(in) == false) {
+				log.debug("Ignore cache entry {} for another key", entryFile);
+				return Optional.empty();
+			}
+			final var result = decoder.apply(in);
+			synchronized (this) {
+				if (entries.containsKey(entryFile) == false) {
+					addEntry(entryFile, in.capacity());
+				}
+			}
+			touch(entryFile);
+			return Optional.ofNullable(result);
+		} catch (final BufferUnderflowException
+					   | IllegalArgumentException
+					   | IndexOutOfBoundsException
+					   | UncheckedIOException e) {
+			log.warn("Ignore and remove invalid cache entry {}", entryFile, e);
+			remove(entryFile);
+			return Optional.empty();
+		}
+	}
+
+	@FunctionalInterface
+	private interface EntryWriter {
+		void write(DataOutputStream out) throws IOException;
+	}
+
+	private void write(final Key key, final String suffix, final EntryWriter writer) {
+		final var entryFile = getEntryFile(key, suffix);
+		try {
+			final var tempFile = Files.createTempFile(directory, key.getHash(), ".tmp");
+			try {
+				try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+					out.writeInt(MAGIC);
+					out.writeInt(FORMAT_VERSION);
+					key.write(out);
+					writer.write(out);
+				}
+				final var size = Files.size(tempFile);
+				Files.move(tempFile, entryFile, ATOMIC_MOVE, REPLACE_EXISTING);
+				synchronized (this) {
+					addEntry(entryFile, size);
+					evict(entryFile);
+				}
+			} finally {
+				Files.deleteIfExists(tempFile);
+			}
+		} catch (final IOException e) {
+			log.warn("Can't write cache entry {}", entryFile, e);
+		}
+	}
+
+	private synchronized void addEntry(final Path entryFile, final long size) {
+		final var previousSize = entries.put(entryFile, size);
+		totalSize += size - (previousSize == null ? 0 : previousSize);
+	}
+
+	/**
+	 * Always update the in-memory access order, but the entry file date only once by TOUCH_INTERVAL_MS: it's only
+	 * needed to restore the access order on the next cache opening.
+	 */
+	private void touch(final Path entryFile) {
+		final var now = System.currentTimeMillis();
+		synchronized (this) {
+			entries.get(entryFile);
+			final var lastTouch = lastTouches.get(entryFile);
+			if (lastTouch != null && now - lastTouch < TOUCH_INTERVAL_MS) {
+				return;
+			}
+			lastTouches.put(entryFile, now);
+		}
+		try {
+			Files.setLastModifiedTime(entryFile, FileTime.fromMillis(now));
+		} catch (final IOException e) {
+			log.trace("Can't touch {}", entryFile, e);
+		}
+	}
+
+	/**
+	 * @param keep never remove this one (the last written entry), or null
+	 */
+	private synchronized void evict(final Path keep) {
+		final var iterator = entries.entrySet().iterator();
+		while (totalSize > maxSize && iterator.hasNext()) {
+			final var entry = iterator.next();
+			if (entry.getKey().equals(keep)) {
+				continue;
+			}
+			iterator.remove();
+			lastTouches.remove(entry.getKey());
+			totalSize -= entry.getValue();
+			deleteEntryFile(entry.getKey());
+		}
+	}
+
+	private synchronized void remove(final Path entryFile) {
+		final var size = entries.remove(entryFile);
+		lastTouches.remove(entryFile);
+		if (size != null) {
+			totalSize -= size;
+		}
+		deleteEntryFile(entryFile);
+	}
+
+	private static void deleteEntryFile(final Path entryFile) {
+		try {
+			Files.deleteIfExists(entryFile);
+			log.debug("Remove cache entry {}", entryFile);
+		} catch (final IOException e) {
+			log.warn("Can't remove cache entry {}", entryFile, e);
+		}
+	}
+
+}
@@ -0,0 +1,154 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.replay;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A stand-in ffmpeg/ffprobe, that replay a FFTranscript: stdout, stderr, progress, with the recorded timing, and the
+ * recorded exit code. Like ffmpeg, it connects to the "-progress tcp://host:port" url, if set, and fails if it can't.
+ * Usage: FFReplay transcriptFile [ffmpeg or ffprobe args...]. The other args are ignored.
+ * The "ffreplay.timeScale" system property scale the timing: 1 (default) for the original timing, 0.1 for 10 times
+ * faster, 0 to never wait.
+ * Only use JDK classes, for a fast startup. See FFReplayExecutable to run it like a real ffmpeg/ffprobe.
+ */
+public final class FFReplay {
+
+	public static final String TIME_SCALE_PROPERTY = "ffreplay.timeScale";
+
+	private FFReplay() {
+	}
+
+	public static void main(final String[] args) throws IOException, InterruptedException {
+		if (args.length == 0) {
+			System.err.println("Usage: FFReplay transcriptFile [ffmpeg/ffprobe args...]");// NOSONAR
+			System.exit(2);
+		}
+		final var timeScale = Double.parseDouble(System.getProperty(TIME_SCALE_PROPERTY, "1"));
+		final var exitCode = replay(
+				FFTranscript.read(Path.of(args[0])),
+				Arrays.asList(args).subList(1, args.length),
+				new FileOutputStream(FileDescriptor.out),
+				new FileOutputStream(FileDescriptor.err),
+				timeScale);
+		System.exit(exitCode);
+	}
+
+	/**
+	 * @return the exit code to return
+	 */
+	static int replay(final FFTranscript transcript,
+					  final List<String> args,
+					  final OutputStream stdOut,
+					  final OutputStream stdErr,
+					  final double timeScale) throws IOException, InterruptedException {
+		Objects.requireNonNull(transcript, "\"transcript\" can't to be null");
+		if (timeScale < 0d) {
+			throw new IllegalArgumentException("Invalid timeScale: " + timeScale);
+		}
+
+		final var progressUrl = getProgressUrl(args);
+		Socket progressSocket = null;
+		if (progressUrl != null) {
+			try {
+				progressSocket = new Socket(progressUrl.getHost(), progressUrl.getPort());
+			} catch (final IOException e) {
+				stdErr.write(("Connection to " + progressUrl + " failed: " + e.getMessage() + "\n").getBytes(UTF_8));
+				stdErr.flush();
+				return 1;
+			}
+		}
+
+		try {
+			final var startNanoTime = System.nanoTime();
+			for (final var event : transcript.events()) {
+				waitUntil(startNanoTime, Math.round(event.elapsedMillis() * timeScale));
+				switch (event.type()) {
+				case OUT -> {
+					stdOut.write(event.data());
+					stdOut.flush();
+				}
+				case ERR -> {
+					stdErr.write(event.data());
+					stdErr.flush();
+				}
+				case PROGRESS -> progressSocket = sendProgress(progressSocket, event.data());
+				case EXIT -> stdOut.flush();
+				}
+			}
+		} finally {
+			if (progressSocket != null) {
+				progressSocket.close();
+			}
+		}
+		return transcript.getExitCode();
+	}
+
+	/**
+	 * @return null if not set, or not a tcp url
+	 */
+	static URI getProgressUrl(final List<String> args) {
+		final var pos = args.indexOf("-progress");
+		if (pos == -1 || pos + 1 == args.size()) {
+			return null;
+		}
+		final var url = URI.create(args.get(pos + 1));
+		if ("tcp".equals(url.getScheme()) == false) {
+			return null;
+		}
+		return url;
+	}
+
+	private static void waitUntil(final long startNanoTime, final long elapsedMillis) throws InterruptedException {
+		final var waitNanos = startNanoTime + TimeUnit.MILLISECONDS.toNanos(elapsedMillis) - System.nanoTime();
+		if (waitNanos > 0) {
+			TimeUnit.NANOSECONDS.sleep(waitNanos);
+		}
+	}
+
+	/**
+	 * Like ffmpeg, a closed progress connection don't stop the process.
+	 * @return null if the progress connection is now closed
+	 */
+	private static Socket sendProgress(final Socket progressSocket, final byte[] data) throws IOException {
+		if (progressSocket == null) {
+			return null;
+		}
+		try {
+			final var out = progressSocket.getOutputStream();
+			out.write(data);
+			out.flush();
+			return progressSocket;
+		} catch (final IOException e) {
+			progressSocket.close();
+			return null;
+		}
+	}
+
+}
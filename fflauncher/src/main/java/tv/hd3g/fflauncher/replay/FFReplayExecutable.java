@@ -0,0 +1,91 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.replay;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Objects;
+
+import tv.hd3g.processlauncher.cmdline.ExecutableFinder;
+
+/**
+ * Create a POSIX shell script, runnable like a real ffmpeg/ffprobe, that starts FFReplay on a transcript, with the
+ * current JVM and classpath. Register it on an ExecutableFinder (as "ffmpeg" or "ffprobe") to run the fflauncher tools
+ * and recipes on it, without ffmpeg.
+ * Each run is a new (small) JVM.
+ */
+public final class FFReplayExecutable {
+
+	private FFReplayExecutable() {
+	}
+
+	/**
+	 * @param timeScale 1 for the original timing, 0.1 for 10 times faster, 0 to never wait.
+	 * @return the created script, directory/execName
+	 */
+	public static File create(final Path directory,
+							  final String execName,
+							  final Path transcriptFile,
+							  final double timeScale) throws IOException {
+		Objects.requireNonNull(directory, "\"directory\" can't to be null");
+		Objects.requireNonNull(execName, "\"execName\" can't to be null");
+		Objects.requireNonNull(transcriptFile, "\"transcriptFile\" can't to be null");
+		if (timeScale < 0d) {
+			throw new IllegalArgumentException("Invalid timeScale: " + timeScale);
+		}
+
+		final var java = Path.of(System.getProperty("java.home"), "bin", "java");
+		final var script = """
+				#!/bin/sh
+				exec %s -XX:TieredStopAtLevel=1 -XX:+UseSerialGC -Xshare:auto -cp %s -D%s=%s %s %s "$@"
+				""".formatted(
+				quote(java.toString()),
+				quote(System.getProperty("java.class.path")),
+				FFReplay.TIME_SCALE_PROPERTY,
+				timeScale,
+				FFReplay.class.getName(),
+				quote(transcriptFile.toAbsolutePath().toString()));
+
+		final var executable = directory.resolve(execName);
+		Files.writeString(executable, script, UTF_8);
+		Files.setPosixFilePermissions(executable, PosixFilePermissions.fromString("rwxr-xr-x"));
+		return executable.toFile();
+	}
+
+	/**
+	 * Create the script, and register it on executableFinder as execName.
+	 */
+	public static File register(final ExecutableFinder executableFinder,
+								final Path directory,
+								final String execName,
+								final Path transcriptFile,
+								final double timeScale) throws IOException {
+		final var executable = create(directory, execName, transcriptFile, timeScale);
+		executableFinder.registerExecutable(execName, executable);
+		return executable;
+	}
+
+	private static String quote(final String value) {
+		return "'" + value.replace("'", "'\\''") + "'";
+	}
+
+}
@@ -0,0 +1,143 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.replay;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A recorded ffmpeg/ffprobe run: the raw stdout, stderr and "-progress" chunks, timed from the process start, and the
+ * exit code. Created by FFTranscriptRecorder, played by FFReplay.
+ * Text file format: a "# fftranscript 1" header, then one event by line, "elapsedMillis TYPE base64Data".
+ * Only use JDK classes, as it's loaded by FFReplay.
+ */
+public record FFTranscript(List<Event> events) {
+
+	public static final String HEADER = "# fftranscript 1";
+
+	public enum EventType {
+		OUT,
+		ERR,
+		PROGRESS,
+		EXIT;
+	}
+
+	/**
+	 * @param data raw chunk, as read/send by the process. For EXIT, the exit code as ASCII.
+	 */
+	public record Event(long elapsedMillis, EventType type, byte[] data) {
+
+		public Event {
+			Objects.requireNonNull(type, "\"type\" can't to be null");
+			Objects.requireNonNull(data, "\"data\" can't to be null");
+			if (elapsedMillis < 0) {
+				throw new IllegalArgumentException("Invalid elapsedMillis: " + elapsedMillis);
+			}
+		}
+
+		public static Event exit(final long elapsedMillis, final int exitCode) {
+			return new Event(elapsedMillis, EventType.EXIT, String.valueOf(exitCode).getBytes(US_ASCII));
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			return obj instanceof final Event other
+				   && elapsedMillis == other.elapsedMillis
+				   && type == other.type
+				   && Arrays.equals(data, other.data);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(elapsedMillis, type, Arrays.hashCode(data));
+		}
+
+		@Override
+		public String toString() {
+			return elapsedMillis + " " + type + " (" + data.length + " bytes)";
+		}
+
+	}
+
+	public FFTranscript {
+		events = List.copyOf(Objects.requireNonNull(events, "\"events\" can't to be null"));
+	}
+
+	/**
+	 * @return the last EXIT event code, or 0 if it was not recorded
+	 */
+	public int getExitCode() {
+		return events.stream()
+				.filter(event -> event.type() == EventType.EXIT)
+				.reduce((first, second) -> second)
+				.map(event -> Integer.parseInt(new String(event.data(), US_ASCII)))
+				.orElse(0);
+	}
+
+	public static FFTranscript read(final Path file) throws IOException {
+		final var events = new ArrayList<Event>();
+		final var decoder = Base64.getDecoder();
+		try (var reader = Files.newBufferedReader(file, UTF_8)) {
+			if (HEADER.equals(reader.readLine()) == false) {
+				throw new IOException("Not a fftranscript file: " + file);
+			}
+			String line;
+			var lineNumber = 1;
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				if (line.isBlank() || line.startsWith("#")) {
+					continue;
+				}
+				final var items = line.split(" ", 3);
+				try {
+					events.add(new Event(
+							Long.parseLong(items[0]),
+							EventType.valueOf(items[1]),
+							items.length > 2 ? decoder.decode(items[2]) : new byte[0]));
+				} catch (final IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+					throw new IOException("Invalid line " + lineNumber + " on " + file, e);
+				}
+			}
+		}
+		return new FFTranscript(events);
+	}
+
+	public void write(final Path file) throws IOException {
+		final var encoder = Base64.getEncoder();
+		try (var writer = Files.newBufferedWriter(file, UTF_8)) {
+			writer.write(HEADER);
+			writer.newLine();
+			for (final var event : events) {
+				writer.write(event.elapsedMillis() + " " + event.type() + " " + encoder.encodeToString(event.data()));
+				writer.newLine();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,229 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.replay;
+
+import static java.util.Collections.synchronizedList;
+import static tv.hd3g.fflauncher.progress.ProgressListenerSession.LOCALHOST_IPV4;
+import static tv.hd3g.fflauncher.replay.FFTranscript.EventType.ERR;
+import static tv.hd3g.fflauncher.replay.FFTranscript.EventType.OUT;
+import static tv.hd3g.fflauncher.replay.FFTranscript.EventType.PROGRESS;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+import lombok.extern.slf4j.Slf4j;
+import tv.hd3g.fflauncher.replay.FFTranscript.Event;
+import tv.hd3g.fflauncher.replay.FFTranscript.EventType;
+import tv.hd3g.processlauncher.ProcesslauncherLifecycle;
+import tv.hd3g.processlauncher.cmdline.Parameters;
+import tv.hd3g.processlauncher.processingtool.ProcessingToolCallback;
+
+/**
+ * Record a real ffmpeg/ffprobe run to a FFTranscript file, for a later FFReplay.
+ * Add it at the end of a ProcessingToolBuilder getCallbacks(): if a "-progress tcp://" url was set, it's replaced by
+ * a local proxy to it, that record the progress.
+ * Stdout and stderr are recorded as the process watcher read it (only the captured streams).
+ * Not reusable.
+ */
+@Slf4j
+public class FFTranscriptRecorder implements ProcessingToolCallback {
+
+	private final Path transcriptFile;
+	private final List<Event> events;
+	private final List<CompletableFuture<Void>> sources;
+	private final CompletableFuture<Path> transcript;
+	private volatile long startNanoTime;
+	private ServerSocket progressProxy;
+
+	public FFTranscriptRecorder(final Path transcriptFile) {
+		this.transcriptFile = Objects.requireNonNull(transcriptFile, "\"transcriptFile\" can't to be null");
+		events = synchronizedList(new ArrayList<>());
+		sources = synchronizedList(new ArrayList<>());
+		transcript = new CompletableFuture<>();
+		startNanoTime = System.nanoTime();
+	}
+
+	/**
+	 * @return completed when the process is ended, and all its streams and progress are recorded and writed.
+	 */
+	public CompletableFuture<Path> getTranscript() {
+		return transcript;
+	}
+
+	@Override
+	public void prepareParameters(final Parameters parameters) {
+		final var progressUrls = parameters.getValues("-progress");
+		if (progressUrls == null || progressUrls.isEmpty()) {
+			return;
+		}
+		final var progressUrl = URI.create(progressUrls.get(0));
+		if ("tcp".equals(progressUrl.getScheme()) == false) {
+			return;
+		}
+		try {
+			progressProxy = new ServerSocket(0, 1, InetAddress.getByName(LOCALHOST_IPV4));
+		} catch (final IOException e) {
+			throw new UncheckedIOException("Can't open progress proxy", e);
+		}
+		final var proxyEnd = new CompletableFuture<Void>();
+		sources.add(proxyEnd);
+		final var t = new Thread(() -> {
+			proxyProgress(progressProxy, progressUrl);
+			proxyEnd.complete(null);
+		});
+		t.setDaemon(true);
+		t.setName("Progress transcript recorder for " + progressUrl);
+		t.start();
+		parameters.alterParameter("-progress", "tcp://" + LOCALHOST_IPV4 + ":" + progressProxy.getLocalPort(), 0);
+	}
+
+	/**
+	 * Forward and record all the received progress, until the process disconnect.
+	 */
+	private void proxyProgress(final ServerSocket server, final URI progressUrl) {
+		try (server; var processSocket = server.accept()) {
+			Socket target = null;
+			try {
+				target = new Socket(progressUrl.getHost(), progressUrl.getPort());
+			} catch (final IOException e) {
+				log.warn("Can't connect to the original progress url {}, only record it", progressUrl, e);
+			}
+			try (var targetSocket = target) {
+				final var is = processSocket.getInputStream();
+				final var buffer = new byte[1024];
+				int size;
+				while ((size = is.read(buffer)) > -1) {
+					record(PROGRESS, Arrays.copyOf(buffer, size));
+					if (targetSocket != null) {
+						targetSocket.getOutputStream().write(buffer, 0, size);
+					}
+				}
+			}
+		} catch (final IOException e) {
+			log.debug("Progress proxy is closed", e);
+		}
+	}
+
+	@Override
+	public void postStartupExecution(final ProcesslauncherLifecycle processlauncherLifecycle) {
+		startNanoTime = System.nanoTime();
+	}
+
+	@Override
+	public InputStream wrapProcessStream(final ProcesslauncherLifecycle processlauncherLifecycle,
+										 final InputStream processStream,
+										 final boolean stdErr) {
+		return new RecordInputStream(processStream, stdErr ? ERR : OUT);
+	}
+
+	@Override
+	public void onEndExecution(final ProcesslauncherLifecycle processlauncherLifecycle) {
+		final var exitCode = processlauncherLifecycle.getExitCode();
+		events.add(Event.exit(getElapsedMillis(), exitCode == null ? -1 : exitCode));
+
+		if (progressProxy != null) {
+			/**
+			 * Unblock the proxy, if the process never connect to it.
+			 */
+			try {
+				progressProxy.close();
+			} catch (final IOException e) {
+				log.debug("Can't close progress proxy", e);
+			}
+		}
+
+		/**
+		 * Only the captured streams are read (and recorded), until the end of their consumers.
+		 */
+		sources.add(processlauncherLifecycle.onClosedStreams());
+		CompletableFuture.allOf(sources.toArray(CompletableFuture[]::new)).thenRun(() -> {
+			try {
+				toTranscript().write(transcriptFile);
+				log.debug("Transcript is writed to {}", transcriptFile);
+				transcript.complete(transcriptFile);
+			} catch (final IOException e) {
+				transcript.completeExceptionally(e);
+			}
+		});
+	}
+
+	/**
+	 * @return all events by time, and the exit as the last one
+	 */
+	private FFTranscript toTranscript() {
+		final List<Event> sorted;
+		synchronized (events) {
+			sorted = new ArrayList<>(events);
+		}
+		sorted.sort(Comparator.comparingLong(Event::elapsedMillis));
+		final var exit = sorted.stream().filter(e -> e.type() == EventType.EXIT).findFirst().orElseThrow();
+		sorted.remove(exit);
+		final var lastElapsed = sorted.isEmpty() ? 0L : sorted.get(sorted.size() - 1).elapsedMillis();
+		sorted.add(new Event(Math.max(exit.elapsedMillis(), lastElapsed), EventType.EXIT, exit.data()));
+		return new FFTranscript(sorted);
+	}
+
+	private long getElapsedMillis() {
+		return (System.nanoTime() - startNanoTime) / 1_000_000L;
+	}
+
+	private void record(final EventType type, final byte[] data) {
+		events.add(new Event(Math.max(0, getElapsedMillis()), type, data));
+	}
+
+	private class RecordInputStream extends FilterInputStream {
+		private final EventType type;
+
+		RecordInputStream(final InputStream in, final EventType type) {
+			super(in);
+			this.type = type;
+		}
+
+		@Override
+		public int read() throws IOException {
+			final var b = super.read();
+			if (b > -1) {
+				record(type, new byte[] { (byte) b });
+			}
+			return b;
+		}
+
+		@Override
+		public int read(final byte[] b, final int off, final int len) throws IOException {
+			final var size = super.read(b, off, len);
+			if (size > 0) {
+				record(type, Arrays.copyOfRange(b, off, off + size));
+			}
+			return size;
+		}
+
+	}
+
+}
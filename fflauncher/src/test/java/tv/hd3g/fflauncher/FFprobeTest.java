@@ -108,6 +108,20 @@ class FFprobeTest {
 		assertTrue(p.isShowChapters());
 
 		parameters.clear();
+
+		assertFalse(p.isShowEntries());
+		p.setShowEntries("packet=pts");
+		assertEquals("-show_entries packet=pts", parameters.toString().substring(skip_base_cmdline));
+		assertTrue(p.isShowEntries());
+
+		parameters.clear();
+
+		assertFalse(p.isReadIntervals());
+		p.setReadIntervals("10%+20");
+		assertEquals("-read_intervals 10%+20", parameters.toString().substring(skip_base_cmdline));
+		assertTrue(p.isReadIntervals());
+
+		parameters.clear();
 	}
 
 }
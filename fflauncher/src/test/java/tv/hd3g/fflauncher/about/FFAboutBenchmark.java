@@ -0,0 +1,111 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.about;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.List;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Parse the "ffmpeg -codecs/-filters/-formats/-pix_fmts/-devices" samples with the FFAbout* parsers.
+ * The lines and items counters give the parsing speed (lines/s and codecs, filters... /s).
+ * Run with main(), from test classpath: the GC profiler gives the allocation rate, gc.alloc.rate.norm / items is the
+ * allocated bytes by item.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FFAboutBenchmark {
+
+	@Param({ "test-codecs.txt", "test-filters.txt", "test-formats.txt", "test-pixelsformats.txt", "test-devices.txt" })
+	String resource;
+
+	List<String> lines;
+	Function<List<String>, List<?>> parser;
+
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	@State(Scope.Thread)
+	public static class Counters {
+		public long lines;
+		public long items;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			lines = 0;
+			items = 0;
+		}
+	}
+
+	@Setup
+	public void setup() throws IOException {
+		try (var text = new BufferedReader(new InputStreamReader(
+				getClass().getResourceAsStream("/" + resource), UTF_8))) {
+			lines = text.lines().toList();
+		}
+		parser = switch (resource) {
+		case "test-codecs.txt" -> FFAboutCodec::parse;
+		case "test-filters.txt" -> FFAboutFilter::parseFilters;
+		case "test-formats.txt" -> FFAboutFormat::parseFormats;
+		case "test-pixelsformats.txt" -> FFAboutPixelFormat::parsePixelsFormats;
+		case "test-devices.txt" -> FFAboutDevice::parseDevices;
+		default -> throw new IllegalArgumentException("Unknown resource: " + resource);
+		};
+	}
+
+	@Benchmark
+	public List<?> parse(final Counters counters) {
+		final var result = parser.apply(lines);
+		counters.lines += lines.size();
+		counters.items += result.size();
+		return result;
+	}
+
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(FFAboutBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build())
+				.run();
+	}
+
+}
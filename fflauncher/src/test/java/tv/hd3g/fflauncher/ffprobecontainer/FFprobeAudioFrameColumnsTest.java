@@ -0,0 +1,59 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.ffprobecontainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobeColumns.INITIAL_CAPACITY;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobeVideoFrameColumnsTest.makeBaseFrame;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.datafaker.Faker;
+
+class FFprobeAudioFrameColumnsTest {
+	static Faker faker = net.datafaker.Faker.instance();
+
+	FFprobeAudioFrameColumns c;
+
+	@BeforeEach
+	void init() {
+		c = new FFprobeAudioFrameColumns();
+	}
+
+	@Test
+	void testEmpty() {
+		assertThat(c).isEmpty();
+		assertThrows(IndexOutOfBoundsException.class, () -> c.get(0));
+	}
+
+	@Test
+	void testAppendGet() {
+		final var frames = IntStream.range(0, INITIAL_CAPACITY * 3)
+				.mapToObj(i -> new FFprobeAudioFrame(makeBaseFrame(), faker.random().nextInt()))
+				.toList();
+		frames.forEach(c::append);
+
+		assertEquals(frames, c);
+		assertThrows(UnsupportedOperationException.class, () -> c.add(frames.get(0)));
+	}
+
+}
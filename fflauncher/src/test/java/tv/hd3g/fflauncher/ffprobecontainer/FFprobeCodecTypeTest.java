@@ -0,0 +1,40 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.ffprobecontainer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobeCodecType.AUDIO;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobeCodecType.DATA;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobeCodecType.OTHER;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobeCodecType.VIDEO;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobeCodecType.fromString;
+
+import org.junit.jupiter.api.Test;
+
+class FFprobeCodecTypeTest {
+
+	@Test
+	void testFromString() {
+		assertEquals(VIDEO, fromString("video"));
+		assertEquals(AUDIO, fromString("audio"));
+		assertEquals(DATA, fromString("DATA"));
+		assertEquals(OTHER, fromString("subtitle"));
+		assertEquals(OTHER, fromString(""));
+		assertEquals(OTHER, fromString(null));
+	}
+
+}
@@ -0,0 +1,146 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.ffprobecontainer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobeElementAttributes.parseFloat;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobeElementAttributes.parseInt;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobeElementAttributes.parseLong;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.xml.sax.helpers.AttributesImpl;
+
+import net.datafaker.Faker;
+
+class FFprobeElementAttributesTest {
+	static Faker faker = net.datafaker.Faker.instance();
+
+	enum Key {
+		PTS,
+		PTS_TIME,
+		KEY_FRAME,
+		FLAGS;
+	}
+
+	FFprobeElementAttributes<Key> a;
+
+	@BeforeEach
+	void init() {
+		a = new FFprobeElementAttributes<>(Key.class);
+	}
+
+	static AttributesImpl makeAttributes(final String... namesValues) {
+		final var attributes = new AttributesImpl();
+		for (var pos = 0; pos < namesValues.length; pos += 2) {
+			attributes.addAttribute("", namesValues[pos], namesValues[pos], "CDATA", namesValues[pos + 1]);
+		}
+		return attributes;
+	}
+
+	@Test
+	void testGet() {
+		a.set(makeAttributes("pts", "1738737", "pts_time", "57.957900", "key_frame", "1", "flags", "K_"));
+		assertEquals(1738737L, a.getLong(Key.PTS, -1));
+		assertEquals(57.9579f, a.getFloat(Key.PTS_TIME, -1));
+		assertTrue(a.getBoolean(Key.KEY_FRAME, false));
+		assertEquals("K_", a.getValue(Key.FLAGS));
+		assertEquals(1738737, a.getInt(Key.PTS, -1));
+	}
+
+	@Test
+	void testGet_changedOrder() {
+		a.set(makeAttributes("pts", "1", "flags", "__"));
+		assertEquals(1, a.getInt(Key.PTS, -1));
+		assertEquals("__", a.getValue(Key.FLAGS));
+
+		a.set(makeAttributes("flags", "K_", "key_frame", "0", "pts", "2"));
+		assertEquals(2, a.getInt(Key.PTS, -1));
+		assertEquals("K_", a.getValue(Key.FLAGS));
+		assertFalse(a.getBoolean(Key.KEY_FRAME, true));
+
+		a.set(makeAttributes("flags", "K_"));
+		assertEquals(-1, a.getInt(Key.PTS, -1));
+		assertEquals("K_", a.getValue(Key.FLAGS));
+	}
+
+	@Test
+	void testGet_missing() {
+		a.set(makeAttributes());
+		assertNull(a.getValue(Key.FLAGS));
+		assertEquals("default", a.getValue(Key.FLAGS, "default"));
+		assertEquals(-1, a.getInt(Key.PTS, -1));
+		assertEquals(-1L, a.getLong(Key.PTS, -1));
+		assertEquals(-1f, a.getFloat(Key.PTS_TIME, -1));
+		assertTrue(a.getBoolean(Key.KEY_FRAME, true));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "0", "-0", "1", "-1", "+1", "123456789", "-123456789", "2147483647", "-2147483648" })
+	void testParseInt(final String value) {
+		assertEquals(Integer.parseInt(value), parseInt(value, -1));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "", "-", "N/A", "1.0", "2147483648", "1a" })
+	void testParseInt_invalid(final String value) {
+		assertEquals(-42, parseInt(value, -42));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "0", "-0", "1", "-1", "+1", "123456789012345678", "9223372036854775807",
+							 "-9223372036854775808" })
+	void testParseLong(final String value) {
+		assertEquals(Long.parseLong(value), parseLong(value, -1));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "", "-", "N/A", "1.0", "9223372036854775808", "1a" })
+	void testParseLong_invalid(final String value) {
+		assertEquals(-42L, parseLong(value, -42));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "0", "-0", "0.0", "-0.000000", "1", "-1", "57.957007", "0.033367", "1.", ".5", "-.5",
+							 "123456789.123456", "1234567890123456", "0.000000000000001", "1e3", "+1.5",
+							 "3.4028235E38", "NaN", "Infinity" })
+	void testParseFloat(final String value) {
+		assertEquals(Float.parseFloat(value), parseFloat(value, -1));
+	}
+
+	@Test
+	void testParseFloat_random() {
+		IntStream.range(0, 100_000).forEach(i -> {
+			final var value = faker.random().nextInt(0, 100_000) + "." + faker.number().digits(6);
+			assertEquals(Float.parseFloat(value), parseFloat(value, -1), value);
+		});
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "", "-", ".", "-.", "N/A", "1.0.0", "1a" })
+	void testParseFloat_invalid(final String value) {
+		assertEquals(-42f, parseFloat(value, -42));
+	}
+
+}
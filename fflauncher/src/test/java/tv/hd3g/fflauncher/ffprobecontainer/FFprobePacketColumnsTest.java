@@ -0,0 +1,191 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.ffprobecontainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobeColumns.INITIAL_CAPACITY;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobePacketColumns.NULL_FLAGS;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobePacketColumns.OTHER_FLAGS;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobePacketColumns.decodeFlags;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobePacketColumns.encodeFlags;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import net.datafaker.Faker;
+
+class FFprobePacketColumnsTest {
+	static Faker faker = net.datafaker.Faker.instance();
+
+	FFprobePacketColumns c;
+
+	@BeforeEach
+	void init() {
+		c = new FFprobePacketColumns();
+	}
+
+	static FFprobePacket makePacket(final String flags) {
+		return new FFprobePacket(
+				faker.options().option(FFprobeCodecType.class),
+				faker.random().nextInt(),
+				faker.random().nextLong(),
+				faker.random().nextFloat(),
+				faker.random().nextLong(),
+				faker.random().nextFloat(),
+				faker.random().nextInt(),
+				faker.random().nextFloat(),
+				faker.random().nextInt(),
+				faker.random().nextLong(),
+				flags);
+	}
+
+	@Test
+	void testEmpty() {
+		assertThat(c).isEmpty();
+		assertThrows(IndexOutOfBoundsException.class, () -> c.get(0));
+	}
+
+	@Test
+	void testAddGet() {
+		final var packets = IntStream.range(0, INITIAL_CAPACITY * 3)
+				.mapToObj(i -> makePacket(faker.options().option("K_", "__", "K__", "_D_", "KDC", "", null, "?!")))
+				.toList();
+		packets.forEach(c::append);
+
+		assertEquals(packets.size(), c.size());
+		assertEquals(packets, c);
+		assertEquals(packets.get(10), c.get(10));
+		assertThrows(IndexOutOfBoundsException.class, () -> c.get(packets.size()));
+	}
+
+	@Test
+	void testReadOnly() {
+		final var packet = makePacket("K_");
+		c.append(packet);
+		assertThrows(UnsupportedOperationException.class, () -> c.add(packet));
+		assertThrows(UnsupportedOperationException.class, () -> c.remove(0));
+		assertThrows(UnsupportedOperationException.class, () -> c.set(0, packet));
+		assertThat(c).containsExactly(packet);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "", "_", "K", "__", "K_", "_D", "KD", "___", "K__", "_D_", "__C", "KDC" })
+	void testFlags(final String flags) {
+		final var encoded = encodeFlags(flags);
+		assertThat(encoded).isNotNegative();
+		assertEquals(flags, decodeFlags(encoded));
+		assertSame(decodeFlags(encoded), decodeFlags(encodeFlags(new String(flags))));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "D", "K_D", "k_", "____", "KDCK" })
+	void testOtherFlags(final String flags) {
+		assertEquals(OTHER_FLAGS, encodeFlags(flags));
+	}
+
+	@Test
+	void testNullFlags() {
+		assertEquals(NULL_FLAGS, encodeFlags(null));
+		assertNull(decodeFlags(NULL_FLAGS));
+		c.append(makePacket(null));
+		assertNull(c.get(0).flags());
+	}
+
+	@Test
+	void testOtherFlagsStored() {
+		c.append(makePacket("NOPE"));
+		assertEquals("NOPE", c.get(0).flags());
+	}
+
+	@Test
+	void testInvalidMaxSize() {
+		assertThrows(IllegalArgumentException.class, () -> new FFprobePacketColumns(0));
+	}
+
+	@Test
+	void testWindowed() {
+		c = new FFprobePacketColumns(INITIAL_CAPACITY + 10);
+		final var packets = IntStream.range(0, INITIAL_CAPACITY * 3)
+				.mapToObj(i -> makePacket(i % 2 == 0 ? "NOPE" : "K_"))
+				.toList();
+		packets.forEach(c::append);
+
+		assertEquals(INITIAL_CAPACITY + 10, c.size());
+		assertEquals(packets.subList(packets.size() - c.size(), packets.size()), c);
+		assertThrows(IndexOutOfBoundsException.class, () -> c.get(c.size()));
+	}
+
+	@Test
+	void testWindowed_small() {
+		c = new FFprobePacketColumns(1);
+		final var first = makePacket("K_");
+		final var last = makePacket("__");
+		c.append(first);
+		assertThat(c).containsExactly(first);
+		c.append(last);
+		assertThat(c).containsExactly(last);
+	}
+
+	static FFprobePacket makePacket(final int streamIndex, final long dts, final long pts, final String flags) {
+		return new FFprobePacket(
+				FFprobeCodecType.VIDEO, streamIndex, pts, pts, dts, dts, 1, 1f, 100, 0, flags);
+	}
+
+	@Test
+	void testMergeSegments() {
+		final var first = new FFprobePacketColumns(3);
+		List.of(
+				makePacket(0, 0, 0, "K_"),
+				makePacket(0, 1, 1, "__"),
+				makePacket(0, 2, 2, "__"),
+				makePacket(0, 3, 3, "NOPE"),
+				makePacket(1, 0, 0, "K_"))
+				.forEach(first::append);
+		final var second = List.of(
+				makePacket(0, 3, 3, "NOPE"),
+				makePacket(1, 0, 0, "K_"),
+				makePacket(0, -1, 4, "__"),
+				makePacket(0, -1, -1, null),
+				makePacket(1, 1, 1, "__"));
+		final var segments = new ArrayList<List<FFprobePacket>>();
+		segments.add(first);
+		segments.add(null);
+		segments.add(second);
+
+		final var merged = FFprobePacketColumns.mergeSegments(segments);
+		assertEquals(List.of(
+				makePacket(0, 2, 2, "__"),
+				makePacket(0, 3, 3, "NOPE"),
+				makePacket(1, 0, 0, "K_"),
+				makePacket(0, -1, 4, "__"),
+				makePacket(0, -1, -1, null),
+				makePacket(1, 1, 1, "__")),
+				merged);
+		assertThrows(UnsupportedOperationException.class, () -> merged.add(makePacket("K_")));
+	}
+
+}
@@ -0,0 +1,41 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.ffprobecontainer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobePictType.B;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobePictType.I;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobePictType.P;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobePictType.UNKNOWN;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobePictType.fromString;
+
+import org.junit.jupiter.api.Test;
+
+class FFprobePictTypeTest {
+
+	@Test
+	void testFromString() {
+		assertEquals(I, fromString("I"));
+		assertEquals(B, fromString("B"));
+		assertEquals(P, fromString("P"));
+		assertEquals(UNKNOWN, fromString("?"));
+		assertEquals(UNKNOWN, fromString("UNKNOWN"));
+		assertEquals(UNKNOWN, fromString(""));
+		assertEquals(UNKNOWN, fromString(null));
+	}
+
+}
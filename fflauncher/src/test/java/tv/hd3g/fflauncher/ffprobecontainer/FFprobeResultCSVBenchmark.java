@@ -0,0 +1,123 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.ffprobecontainer;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.xml.sax.SAXException;
+
+import tv.hd3g.fflauncher.recipes.ContainerAnalyserProcessResult;
+
+/**
+ * Parse the ffprobe-streams-packets.xml.gzip sample with FFprobeResultSAX, versus the same content, converted to the
+ * ffprobe CSV output, with FFprobeResultCSV.
+ * The bytes and items counters give the parsing speed (bytes/s) and the packets+frames rate (items/s).
+ * Run with main(), from test classpath: the GC profiler gives the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FFprobeResultCSVBenchmark {
+
+	@Param({ "XML", "CSV" })
+	String format;
+
+	byte[] xml;
+	byte[] csv;
+	int items;
+
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	@State(Scope.Thread)
+	public static class Counters {
+		public long bytes;
+		public long items;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			bytes = 0;
+			items = 0;
+		}
+	}
+
+	@Setup
+	public void setup() throws IOException, SAXException, ParserConfigurationException {
+		try (var gzip = new GZIPInputStream(getClass().getResourceAsStream("/ffprobe-streams-packets.xml.gzip"))) {
+			xml = gzip.readAllBytes();
+		}
+		csv = FFprobeResultCSVTest.toCSV(xml);
+
+		final var result = parse(new FFprobeResultSAX(FFprobeRetentionPolicy.FULL), xml);
+		items = result.packets().size() + result.videoFrames().size() + result.audioFrames().size();
+		if (result.equals(parse(new FFprobeResultCSV(FFprobeRetentionPolicy.FULL), csv)) == false) {
+			throw new IllegalStateException("XML and CSV results are not the same");
+		}
+	}
+
+	private static ContainerAnalyserProcessResult parse(final FFprobeResultParser parser, final byte[] content) {
+		parser.onProcessStart(new ByteArrayInputStream(content), null);
+		return parser.getResult(null);
+	}
+
+	@Benchmark
+	public ContainerAnalyserProcessResult parse(final Counters counters) {
+		final ContainerAnalyserProcessResult result;
+		if ("CSV".equals(format)) {
+			result = parse(new FFprobeResultCSV(FFprobeRetentionPolicy.NONE), csv);
+			counters.bytes += csv.length;
+		} else {
+			result = parse(new FFprobeResultSAX(FFprobeRetentionPolicy.NONE), xml);
+			counters.bytes += xml.length;
+		}
+		counters.items += items;
+		return result;
+	}
+
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(FFprobeResultCSVBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build())
+				.run();
+	}
+
+}
@@ -0,0 +1,350 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.ffprobecontainer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+import static tv.hd3g.fflauncher.enums.ChannelLayout.STEREO;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobeCodecType.AUDIO;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobeCodecType.VIDEO;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import net.datafaker.Faker;
+import tv.hd3g.fflauncher.progress.FFProbeXMLProgressHandler;
+import tv.hd3g.fflauncher.recipes.ContainerAnalyserProcessResult;
+import tv.hd3g.processlauncher.ProcesslauncherLifecycle;
+
+class FFprobeResultCSVTest {
+	static Faker faker = net.datafaker.Faker.instance();
+
+	/**
+	 * Same content as FFprobeResultSAXTest.XML
+	 */
+	static final String CSV = """
+			packet,audio,1,2555904,57.957007,2555904,57.957007,1024,0.023220,442,84622585,K_
+			frame,audio,1,1,2555904,57.957007,2555904,57.957007,2555904,57.957007,1024,0.023220,84622585,442,fltp,1024,2,stereo
+			packet,video,0,1738737,57.957900,1738737,57.957900,1001,0.033367,75214,84623027,__
+			frame,video,0,0,1738737,57.957900,1738737,57.957900,1738737,57.957900,1001,0.033367,84623027,75214,3840,2160,yuv420p,1:1,P,0,0,0,tv,bt709,bt709,bt709
+			""";
+
+	FFprobeResultCSV s;
+	ContainerAnalyserProcessResult r;
+
+	@Mock
+	ProcesslauncherLifecycle source;
+	@Mock
+	FFProbeXMLProgressHandler progressHandler;
+	@Mock
+	FFprobeResultListener listener;
+
+	@BeforeEach
+	void init() throws Exception {
+		openMocks(this).close();
+		s = new FFprobeResultCSV();
+		s.setProgressHandler(progressHandler);
+		when(source.toString()).thenReturn(faker.numerify("source###"));
+	}
+
+	@AfterEach
+	void end() {
+		verifyNoMoreInteractions(source, progressHandler, listener);
+	}
+
+	@Test
+	void testShowEntries() {
+		assertEquals("packet=codec_type,stream_index,pts,pts_time,dts,dts_time,duration,duration_time,size,pos,flags"
+					 + ":frame=media_type,stream_index,key_frame,pts,pts_time,pkt_dts,pkt_dts_time,"
+					 + "best_effort_timestamp,best_effort_timestamp_time,duration,duration_time,pkt_pos,pkt_size,"
+					 + "width,height,pix_fmt,sample_aspect_ratio,pict_type,interlaced_frame,top_field_first,"
+					 + "repeat_pict,color_range,color_space,color_primaries,color_transfer,"
+					 + "sample_fmt,nb_samples,channels,channel_layout",
+				FFprobeResultCSV.SHOW_ENTRIES);
+	}
+
+	@Test
+	void testFull() {
+		s.onProcessStart(IOUtils.toInputStream(CSV, UTF_8), source);
+		r = s.getResult(null);
+		assertNotNull(r);
+		checkFull();
+
+		verify(progressHandler, times(1)).onStart();
+		verify(progressHandler, times(2)).onTime(57.957007f, 57.957007f);
+		verify(progressHandler, times(2)).onTime(57.9579f, 57.9579f);
+		verify(progressHandler, times(1)).onEnd();
+	}
+
+	private void checkFull() {
+		assertEquals(List.of(
+				new FFprobePacket(
+						AUDIO, 1, 2555904l, 57.95701f, 2555904l, 57.95701f, 1024, 0.02322f, 442, 84622585l, "K_"),
+				new FFprobePacket(
+						VIDEO, 0, 1738737l, 57.9579f, 1738737l, 57.9579f, 1001, 0.033367f, 75214, 84623027l, "__")),
+				r.packets());
+
+		assertEquals(List.of(
+				new FFprobeAudioFrame(
+						new FFprobeBaseFrame(
+								AUDIO, 1, true, 2555904l, 57.957007f, 2555904l, 57.957007f, 2555904l,
+								57.957007f, 1024, 0.02322f, 84622585l, 442),
+						1024)), r.audioFrames());
+
+		assertEquals(List.of(
+				new FFprobeVideoFrame(
+						new FFprobeBaseFrame(
+								VIDEO, 0, false, 1738737l, 57.957900f, 1738737l, 57.957900f, 1738737l,
+								57.957900f, 1001, 0.033367f, 84623027l, 75214),
+						FFprobePictType.P,
+						false)), r.videoFrames());
+
+		assertEquals(
+				new FFprobeAudioFrameConst(r.audioFrames().get(0), "fltp", 2, STEREO),
+				r.audioConst());
+
+		assertEquals(
+				new FFprobeVideoFrameConst(
+						r.videoFrames().get(0),
+						3840, 2160, "yuv420p", "1:1", false, false,
+						"tv", "bt709", "bt709", "bt709"),
+				r.videoConst());
+
+		assertEquals(List.of(), r.olderAudioConsts());
+		assertEquals(List.of(), r.olderVideoConsts());
+	}
+
+	@Test
+	void testCRLF_noFinalNewLine() {
+		s.onProcessStart(IOUtils.toInputStream(CSV.strip().replace("\n", "\r\n"), UTF_8), source);
+		r = s.getResult(null);
+		checkFull();
+
+		verify(progressHandler, times(1)).onStart();
+		verify(progressHandler, times(2)).onTime(57.957007f, 57.957007f);
+		verify(progressHandler, times(2)).onTime(57.9579f, 57.9579f);
+		verify(progressHandler, times(1)).onEnd();
+	}
+
+	@Test
+	void testListener() {
+		s.addListener(listener);
+		s.onProcessStart(IOUtils.toInputStream(CSV, UTF_8), source);
+		r = s.getResult(null);
+
+		verify(listener, times(1)).onPacket(r.packets().get(0));
+		verify(listener, times(1)).onPacket(r.packets().get(1));
+		verify(listener, times(1)).onAudioFrame(r.audioFrames().get(0));
+		verify(listener, times(1)).onVideoFrame(r.videoFrames().get(0));
+		verify(listener, times(1)).onAudioConstChange(null, r.audioConst());
+		verify(listener, times(1)).onVideoConstChange(null, r.videoConst());
+		verify(listener, times(1)).onEnd();
+
+		verify(progressHandler, times(1)).onStart();
+		verify(progressHandler, times(2)).onTime(57.957007f, 57.957007f);
+		verify(progressHandler, times(2)).onTime(57.9579f, 57.9579f);
+		verify(progressHandler, times(1)).onEnd();
+	}
+
+	@Test
+	void testRetentionPolicy_windowed() {
+		s = new FFprobeResultCSV(FFprobeRetentionPolicy.windowed(1));
+		s.onProcessStart(IOUtils.toInputStream(CSV, UTF_8), source);
+		r = s.getResult(null);
+
+		assertEquals(1, r.packets().size());
+		assertEquals(VIDEO, r.packets().get(0).codecType());
+		assertEquals(1, r.audioFrames().size());
+		assertEquals(1, r.videoFrames().size());
+	}
+
+	/**
+	 * More than the read buffer size, read by small chunks.
+	 */
+	@Test
+	void testLongInput() {
+		final var count = 2000;
+		final var csv = CSV.repeat(count).getBytes(UTF_8);
+		final var inputStream = new InputStream() {
+			int pos;
+
+			@Override
+			public int read() throws IOException {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public int read(final byte[] b, final int off, final int len) throws IOException {
+				if (pos == csv.length) {
+					return -1;
+				}
+				final var size = Math.min(Math.min(len, 7), csv.length - pos);
+				System.arraycopy(csv, pos, b, off, size);
+				pos += size;
+				return size;
+			}
+		};
+		s.setProgressHandler(null);
+		s.onProcessStart(inputStream, source);
+		r = s.getResult(null);
+
+		assertEquals(count * 2, r.packets().size());
+		assertEquals(count, r.audioFrames().size());
+		assertEquals(count, r.videoFrames().size());
+		assertEquals(r.packets().get(1), r.packets().get(count * 2 - 1));
+		assertEquals(r.videoFrames().get(0), r.videoFrames().get(count - 1));
+		assertEquals(List.of(), r.olderVideoConsts());
+	}
+
+	@Test
+	void testNotAvailable() {
+		final var csv = """
+				packet,video,0,N/A,N/A,-5,-0.200000,N/A,N/A,75214,N/A,"K,_"
+				frame,video,0,1,N/A,N/A,N/A,N/A,,,N/A,N/A,N/A,N/A,N/A,N/A,unknown,N/A,?,0,0,1,unknown,unknown,unknown,unknown
+				packet,subtitle,2,0,0.000000,0,0.000000,N/A,N/A,8,N/A,K__
+				packet,video,N/A
+				frame,data,3,1
+				frame
+				side_data,something
+				""";
+
+		s.onProcessStart(IOUtils.toInputStream(csv, UTF_8), source);
+		r = s.getResult(null);
+
+		assertEquals(List.of(
+				new FFprobePacket(VIDEO, 0, -1, -1f, -5, -0.2f, -1, -1f, 75214, -1, "K,_"),
+				new FFprobePacket(FFprobeCodecType.OTHER, 2, 0, 0f, 0, 0f, -1, -1f, 8, -1, "K__")),
+				r.packets());
+		assertEquals(List.of(
+				new FFprobeVideoFrame(
+						new FFprobeBaseFrame(VIDEO, 0, true, -1, -1f, -1, -1f, -1, -1f, -1, -1f, -1, -1),
+						FFprobePictType.UNKNOWN,
+						true)), r.videoFrames());
+		assertEquals(
+				new FFprobeVideoFrameConst(
+						r.videoFrames().get(0), 0, 0, null, null, false, false, null, null, null, null),
+				r.videoConst());
+		assertEquals(List.of(), r.audioFrames());
+		assertNull(r.audioConst());
+
+		verify(progressHandler, times(1)).onStart();
+		verify(progressHandler, times(1)).onTime(-1f, -0.2f);
+		verify(progressHandler, times(1)).onTime(-1f, -1f);
+		verify(progressHandler, times(1)).onTime(0f, 0f);
+		verify(progressHandler, times(1)).onEnd();
+	}
+
+	@Test
+	void testEmpty() {
+		s.onProcessStart(IOUtils.toInputStream("", UTF_8), source);
+		r = s.getResult(null);
+
+		assertEquals(List.of(), r.packets());
+		assertEquals(List.of(), r.audioFrames());
+		assertEquals(List.of(), r.videoFrames());
+		verify(progressHandler, times(1)).onEnd();
+	}
+
+	@Test
+	void testIOError() {
+		s.onProcessStart(new InputStream() {
+
+			@Override
+			public int read() throws IOException {
+				throw new IOException("Test error");
+			}
+		}, source);
+		verify(source, times(1)).kill();
+	}
+
+	@Test
+	void testSameResultAsSAX() throws IOException, SAXException, ParserConfigurationException {
+		final byte[] xml;
+		try (var gzip = new GZIPInputStream(getClass().getResourceAsStream("/ffprobe-streams-packets.xml.gzip"))) {
+			xml = gzip.readAllBytes();
+		}
+		final var sax = new FFprobeResultSAX();
+		sax.onProcessStart(new ByteArrayInputStream(xml), source);
+		final var expected = sax.getResult(null);
+		assertFalse(expected.packets().isEmpty());
+		assertFalse(expected.audioFrames().isEmpty());
+		assertFalse(expected.videoFrames().isEmpty());
+
+		s.setProgressHandler(null);
+		s.onProcessStart(new ByteArrayInputStream(toCSV(xml)), source);
+		r = s.getResult(null);
+		assertEquals(expected, r);
+	}
+
+	/**
+	 * Like ffprobe -show_entries FFprobeResultCSV.SHOW_ENTRIES -print_format csv, from the same ffprobe XML content
+	 */
+	static byte[] toCSV(final byte[] xml) throws IOException, SAXException, ParserConfigurationException {
+		final var csv = new StringBuilder();
+		FFprobeResultSAX.factory.newSAXParser().parse(new ByteArrayInputStream(xml), new DefaultHandler() {
+
+			@Override
+			public void startElement(final String uri,
+									 final String localName,
+									 final String qName,
+									 final Attributes attributes) throws SAXException {
+				final Stream<String> fields;
+				if (qName.equals("packet")) {
+					fields = FFprobeResultCSV.PACKET_FIELDS.stream();
+				} else if (qName.equals("frame")) {
+					final var mediaFields = "video".equals(attributes.getValue("media_type"))
+						? FFprobeResultCSV.VIDEO_FRAME_FIELDS
+						: FFprobeResultCSV.AUDIO_FRAME_FIELDS;
+					fields = Stream.of(FFprobeResultCSV.FRAME_FIELDS, mediaFields).flatMap(List::stream);
+				} else {
+					return;
+				}
+				csv.append(qName);
+				csv.append(fields
+						.map(f -> Optional.ofNullable(attributes.getValue(f)).orElse("N/A"))
+						.collect(Collectors.joining(",", ",", "\n")));
+			}
+		});
+		return csv.toString().getBytes(UTF_8);
+	}
+
+}
@@ -0,0 +1,110 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.ffprobecontainer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static tv.hd3g.fflauncher.enums.ChannelLayout.MONO;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobeCodecType.VIDEO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+import tv.hd3g.fflauncher.recipes.ContainerAnalyserProcessResult;
+
+class FFprobeResultCodecTest {
+
+	static byte[] encode(final ContainerAnalyserProcessResult result) throws IOException {
+		final var bytes = new ByteArrayOutputStream();
+		try (var out = new DataOutputStream(bytes)) {
+			FFprobeResultCodec.write(result, out);
+		}
+		return bytes.toByteArray();
+	}
+
+	@Test
+	void testWriteRead() throws IOException {
+		final var parser = new FFprobeResultCSV();
+		parser.onProcessStart(IOUtils.toInputStream(FFprobeResultCSVTest.CSV, UTF_8), null);
+		final var parsed = parser.getResult("ffprobe -i file");
+		final var result = new ContainerAnalyserProcessResult(
+				List.of(parsed.packets().get(0),
+						new FFprobePacket(VIDEO, 0, -1, -1, -1, -1, -1, -1, -1, -1, "K,X"),
+						new FFprobePacket(VIDEO, 0, -1, -1, -1, -1, -1, -1, -1, -1, null)),
+				parsed.audioFrames(),
+				parsed.videoFrames(),
+				parsed.videoConst(),
+				parsed.audioConst(),
+				List.of(new FFprobeVideoFrameConst(
+						parsed.videoFrames().get(0), 1, 2, null, null, true, true, null, null, null, null)),
+				List.of(new FFprobeAudioFrameConst(parsed.audioFrames().get(0), "s16", 1, MONO),
+						new FFprobeAudioFrameConst(parsed.audioFrames().get(0), null, 0, null)),
+				parsed.ffprobeCommandLine());
+
+		assertEquals(result, FFprobeResultCodec.read(ByteBuffer.wrap(encode(result))));
+	}
+
+	@Test
+	void testWriteRead_empty() throws IOException {
+		final var result = new ContainerAnalyserProcessResult(null, null, null, null, null, null, null, null);
+		assertEquals(
+				new ContainerAnalyserProcessResult(List.of(), List.of(), List.of(), null, null, List.of(), List.of(),
+						null),
+				FFprobeResultCodec.read(ByteBuffer.wrap(encode(result))));
+	}
+
+	@Test
+	void testRead_invalid() throws IOException {
+		final var parser = new FFprobeResultCSV();
+		parser.onProcessStart(IOUtils.toInputStream(FFprobeResultCSVTest.CSV, UTF_8), null);
+		final var encoded = encode(parser.getResult(null));
+
+		final var truncated = ByteBuffer.wrap(encoded, 0, encoded.length - 10);
+		assertThrows(BufferUnderflowException.class, () -> FFprobeResultCodec.read(truncated));
+		final var invalidCount = ByteBuffer.wrap(new byte[] { -1, -1, -1, -2 });
+		assertThrows(IllegalArgumentException.class, () -> FFprobeResultCodec.read(invalidCount));
+	}
+
+	@Test
+	void testRead_invalidOrdinals() throws IOException {
+		final var parser = new FFprobeResultCSV();
+		parser.onProcessStart(IOUtils.toInputStream(FFprobeResultCSVTest.CSV, UTF_8), null);
+		final var encoded = encode(parser.getResult(null));
+
+		final var invalidCodecType = encoded.clone();
+		invalidCodecType[4] = -1;
+		assertThrows(IllegalArgumentException.class,
+				() -> FFprobeResultCodec.read(ByteBuffer.wrap(invalidCodecType)));
+		invalidCodecType[4] = Byte.MAX_VALUE;
+		assertThrows(IllegalArgumentException.class,
+				() -> FFprobeResultCodec.read(ByteBuffer.wrap(invalidCodecType)));
+
+		final var invalidFlags = encoded.clone();
+		invalidFlags[53] = Byte.MAX_VALUE;
+		assertThrows(IllegalArgumentException.class,
+				() -> FFprobeResultCodec.read(ByteBuffer.wrap(invalidFlags)));
+	}
+
+}
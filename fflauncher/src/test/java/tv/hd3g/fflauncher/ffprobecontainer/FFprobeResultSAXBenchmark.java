@@ -0,0 +1,141 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.ffprobecontainer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import tv.hd3g.fflauncher.recipes.ContainerAnalyserProcessResult;
+
+/**
+ * Parse the ffprobe-streams-packets.xml.gzip sample (packets and frames) with FFprobeResultSAX.
+ * With scale, the sample packets_and_frames content is repeated scale times, in the same XML document (streamed, not
+ * loaded in memory). 117 times is about 1M packets and frames.
+ * The xmlBytes and items counters give the parsing speed (bytes/s) and the packets+frames rate (items/s).
+ * Run with main(), from test classpath: the GC profiler gives the allocation rate, gc.alloc.rate.norm / items is the
+ * allocated bytes by packet or frame.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FFprobeResultSAXBenchmark {
+
+	@Param({ "NONE", "FULL" })
+	String retention;
+
+	@Param({ "1", "117" })
+	int scale;
+
+	byte[] xml;
+	int headerSize;
+	int footerPos;
+	long items;
+
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	@State(Scope.Thread)
+	public static class Counters {
+		public long xmlBytes;
+		public long items;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			xmlBytes = 0;
+			items = 0;
+		}
+	}
+
+	@Setup
+	public void setup() throws IOException {
+		try (var gzip = new GZIPInputStream(getClass().getResourceAsStream("/ffprobe-streams-packets.xml.gzip"))) {
+			xml = gzip.readAllBytes();
+		}
+		final var xmlText = new String(xml, UTF_8);
+		headerSize = xmlText.indexOf("<packets_and_frames>") + "<packets_and_frames>".length();
+		footerPos = xmlText.indexOf("</packets_and_frames>");
+		if (headerSize < "<packets_and_frames>".length() || footerPos < headerSize) {
+			throw new IllegalStateException("Can't find packets_and_frames in sample");
+		}
+		final var result = parse(FFprobeRetentionPolicy.FULL, 1);
+		items = (long) scale * (result.packets().size() + result.videoFrames().size() + result.audioFrames().size());
+	}
+
+	/**
+	 * @return header, scale times the packets_and_frames content, footer
+	 */
+	private InputStream scaledXml(final int scale) {
+		final var parts = new ArrayList<InputStream>(scale + 2);
+		parts.add(new ByteArrayInputStream(xml, 0, headerSize));
+		for (var pos = 0; pos < scale; pos++) {
+			parts.add(new ByteArrayInputStream(xml, headerSize, footerPos - headerSize));
+		}
+		parts.add(new ByteArrayInputStream(xml, footerPos, xml.length - footerPos));
+		return new SequenceInputStream(Collections.enumeration(parts));
+	}
+
+	private ContainerAnalyserProcessResult parse(final FFprobeRetentionPolicy retentionPolicy, final int scale) {
+		final var sax = new FFprobeResultSAX(retentionPolicy);
+		sax.onProcessStart(scaledXml(scale), null);
+		return sax.getResult(null);
+	}
+
+	@Benchmark
+	public ContainerAnalyserProcessResult parse(final Counters counters) {
+		final var result = parse(
+				"NONE".equals(retention) ? FFprobeRetentionPolicy.NONE : FFprobeRetentionPolicy.FULL, scale);
+		counters.xmlBytes += xml.length + (long) (scale - 1) * (footerPos - headerSize);
+		counters.items += items;
+		return result;
+	}
+
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(FFprobeResultSAXBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build())
+				.run();
+	}
+
+}
@@ -72,6 +72,8 @@ class FFprobeResultSAXTest {
 	Object session;
 	@Mock
 	FFProbeXMLProgressHandler progressHandler;
+	@Mock
+	FFprobeResultListener listener;
 
 	@BeforeEach
 	void init() throws Exception {
@@ -83,7 +85,7 @@ class FFprobeResultSAXTest {
 
 	@AfterEach
 	void end() {
-		verifyNoMoreInteractions(source, session, progressHandler);
+		verifyNoMoreInteractions(source, session, progressHandler, listener);
 	}
 
 	@Test
@@ -133,6 +135,58 @@ class FFprobeResultSAXTest {
 		verify(progressHandler, times(1)).endDocument();
 	}
 
+	@Test
+	void testListener() throws SAXException {
+		s.addListener(listener);
+		s.onProcessStart(IOUtils.toInputStream(XML, UTF_8), source);
+		r = s.getResult(null);
+
+		verify(listener, times(1)).onPacket(r.packets().get(0));
+		verify(listener, times(1)).onPacket(r.packets().get(1));
+		verify(listener, times(1)).onAudioFrame(r.audioFrames().get(0));
+		verify(listener, times(1)).onVideoFrame(r.videoFrames().get(0));
+		verify(listener, times(1)).onAudioConstChange(null, r.audioConst());
+		verify(listener, times(1)).onVideoConstChange(null, r.videoConst());
+		verify(listener, times(1)).onEnd();
+
+		verify(progressHandler, times(6)).startElement(any(), any(), any(), any());
+		verify(progressHandler, times(6)).endElement(any(), any(), any());
+		verify(progressHandler, times(1)).endDocument();
+	}
+
+	@Test
+	void testRetentionPolicy_none() throws SAXException {
+		s = new FFprobeResultSAX(FFprobeRetentionPolicy.NONE);
+		s.addListener(listener);
+		s.onProcessStart(IOUtils.toInputStream(XML, UTF_8), source);
+		r = s.getResult(null);
+
+		assertEquals(List.of(), r.packets());
+		assertEquals(List.of(), r.audioFrames());
+		assertEquals(List.of(), r.videoFrames());
+		assertNotNull(r.audioConst());
+		assertNotNull(r.videoConst());
+
+		verify(listener, times(2)).onPacket(any());
+		verify(listener, times(1)).onAudioFrame(any());
+		verify(listener, times(1)).onVideoFrame(any());
+		verify(listener, times(1)).onAudioConstChange(null, r.audioConst());
+		verify(listener, times(1)).onVideoConstChange(null, r.videoConst());
+		verify(listener, times(1)).onEnd();
+	}
+
+	@Test
+	void testRetentionPolicy_windowed() throws SAXException {
+		s = new FFprobeResultSAX(FFprobeRetentionPolicy.windowed(1));
+		s.onProcessStart(IOUtils.toInputStream(XML, UTF_8), source);
+		r = s.getResult(null);
+
+		assertEquals(1, r.packets().size());
+		assertEquals(VIDEO, r.packets().get(0).codecType());
+		assertEquals(1, r.audioFrames().size());
+		assertEquals(1, r.videoFrames().size());
+	}
+
 	@Test
 	void testBadXML() {
 		s.onProcessStart(IOUtils.toInputStream("NOPE XML !", UTF_8), source);
@@ -181,6 +235,7 @@ class FFprobeResultSAXTest {
 				</b></a>
 				""";
 
+		s.addListener(listener);
 		s.onProcessStart(IOUtils.toInputStream(testXML, UTF_8), source);
 		r = s.getResult(null);
 		assertNotNull(r);
@@ -199,6 +254,13 @@ class FFprobeResultSAXTest {
 		assertEquals(List.of(
 				new FFprobeAudioFrameConst(r.audioFrames().get(0), "fuuu", 1, MONO)),
 				r.olderAudioConsts());
+		verify(listener, times(1)).onAudioConstChange(null, r.olderAudioConsts().get(0));
+		verify(listener, times(1)).onAudioConstChange(r.olderAudioConsts().get(0), r.audioConst());
+		verify(listener, times(1)).onVideoConstChange(null, r.olderVideoConsts().get(0));
+		verify(listener, times(1)).onVideoConstChange(r.olderVideoConsts().get(0), r.videoConst());
+		verify(listener, times(2)).onAudioFrame(any());
+		verify(listener, times(2)).onVideoFrame(any());
+		verify(listener, times(1)).onEnd();
 		assertEquals(List.of(
 				new FFprobeVideoFrameConst(
 						r.videoFrames().get(0),
@@ -0,0 +1,39 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.ffprobecontainer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class FFprobeRetentionPolicyTest {
+
+	@Test
+	void testPolicies() {
+		assertEquals(0, FFprobeRetentionPolicy.NONE.maxItems());
+		assertEquals(Integer.MAX_VALUE, FFprobeRetentionPolicy.FULL.maxItems());
+		assertEquals(10, FFprobeRetentionPolicy.windowed(10).maxItems());
+	}
+
+	@Test
+	void testInvalid() {
+		assertThrows(IllegalArgumentException.class, () -> new FFprobeRetentionPolicy(-1));
+		assertThrows(IllegalArgumentException.class, () -> FFprobeRetentionPolicy.windowed(0));
+	}
+
+}
@@ -0,0 +1,111 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.ffprobecontainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobeColumns.INITIAL_CAPACITY;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.datafaker.Faker;
+
+class FFprobeVideoFrameColumnsTest {
+	static Faker faker = net.datafaker.Faker.instance();
+
+	FFprobeVideoFrameColumns c;
+
+	@BeforeEach
+	void init() {
+		c = new FFprobeVideoFrameColumns();
+	}
+
+	static FFprobeBaseFrame makeBaseFrame() {
+		return new FFprobeBaseFrame(
+				faker.options().option(FFprobeCodecType.class),
+				faker.random().nextInt(),
+				faker.random().nextBoolean(),
+				faker.random().nextLong(),
+				faker.random().nextFloat(),
+				faker.random().nextLong(),
+				faker.random().nextFloat(),
+				faker.random().nextLong(),
+				faker.random().nextFloat(),
+				faker.random().nextInt(),
+				faker.random().nextFloat(),
+				faker.random().nextLong(),
+				faker.random().nextInt());
+	}
+
+	@Test
+	void testEmpty() {
+		assertThat(c).isEmpty();
+		assertThrows(IndexOutOfBoundsException.class, () -> c.get(0));
+	}
+
+	@Test
+	void testAppendGet() {
+		final var frames = IntStream.range(0, INITIAL_CAPACITY * 3)
+				.mapToObj(i -> new FFprobeVideoFrame(
+						makeBaseFrame(),
+						faker.options().option(FFprobePictType.class),
+						faker.random().nextBoolean()))
+				.toList();
+		frames.forEach(c::append);
+
+		assertEquals(frames, c);
+		assertThrows(UnsupportedOperationException.class, () -> c.add(frames.get(0)));
+	}
+
+	@Test
+	void testWindowed() {
+		c = new FFprobeVideoFrameColumns(10);
+		final var frames = IntStream.range(0, 25)
+				.mapToObj(i -> new FFprobeVideoFrame(
+						makeBaseFrame(),
+						faker.options().option(FFprobePictType.class),
+						faker.random().nextBoolean()))
+				.toList();
+		frames.forEach(c::append);
+
+		assertEquals(frames.subList(15, 25), c);
+	}
+
+	static FFprobeVideoFrame makeVideoFrame(final long pts, final long bestEffortTimestamp) {
+		return new FFprobeVideoFrame(
+				new FFprobeBaseFrame(FFprobeCodecType.VIDEO, 0, false, pts, pts, -1, -1,
+						bestEffortTimestamp, bestEffortTimestamp, 1, 1f, 0, 100),
+				FFprobePictType.P,
+				false);
+	}
+
+	@Test
+	void testMergeSegments() {
+		List.of(makeVideoFrame(0, 0), makeVideoFrame(-1, 1)).forEach(c::append);
+		final var next = new FFprobeVideoFrameColumns();
+		List.of(makeVideoFrame(-1, 1), makeVideoFrame(2, 2), makeVideoFrame(-1, -1)).forEach(next::append);
+
+		assertEquals(List.of(makeVideoFrame(0, 0), makeVideoFrame(-1, 1), makeVideoFrame(2, 2), makeVideoFrame(-1, -1)),
+				FFprobeVideoFrameColumns.mergeSegments(List.of(c, next)));
+	}
+
+}
@@ -0,0 +1,161 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.filtering.lavfimtd;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Send lavfi metadata lines (aphasemeter + r128 by frame) to LavfiMetadataFilterParser.
+ * The r128 values are the ebur128.txt sample measures, in loop until the frames count.
+ * The frames and lines counters give the parsing speed (frames/s and lines/s).
+ * Run with main(), from test classpath: the GC profiler gives the allocation rate, gc.alloc.rate.norm / frames is the
+ * allocated bytes by frame.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class LavfiMetadataFilterParserBenchmark {
+	/**
+	 * "t: 0.407479   TARGET:-23 LUFS    M: -17.7 S:-120.7     I: -17.8 LUFS       LRA:   0.0 LU  SPK:  -5.5  -5.6 dBFS
+	 * FTPK: -16.1 -16.5 dBFS  TPK:  -5.5  -5.6 dBFS"
+	 */
+	private static final Pattern EBUR128_MEASURE = Pattern.compile(
+			"t: *([\\d.]+) .*M: *([-\\d.]+) S: *([-\\d.]+) +I: *([-\\d.]+) LUFS +LRA: *([-\\d.]+) LU" +
+			" +SPK: *([-\\d.]+) +([-\\d.]+) dBFS.* TPK: *([-\\d.]+) +([-\\d.]+) dBFS");
+
+	/**
+	 * 1M lavfi frames, for the scaled version
+	 */
+	@Param({ "3000", "1000000" })
+	int frames;
+
+	/**
+	 * By frame: "frame:" line, then lavfi lines
+	 */
+	List<String> frameLines;
+	List<List<String>> lavfiLines;
+	long lines;
+
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	@State(Scope.Thread)
+	public static class Counters {
+		public long frames;
+		public long lines;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			frames = 0;
+			lines = 0;
+		}
+	}
+
+	private static String toLinear(final String dB) {
+		return String.format(Locale.ENGLISH, "%.3f", Math.pow(10d, Float.parseFloat(dB) / 20d));
+	}
+
+	@Setup
+	public void setup() throws IOException {
+		final var measures = new ArrayList<List<String>>();
+		try (var ebur128 = new BufferedReader(new InputStreamReader(
+				getClass().getResourceAsStream("/ebur128.txt"), UTF_8))) {
+			ebur128.lines()
+					.map(EBUR128_MEASURE::matcher)
+					.filter(Matcher::find)
+					.forEach(m -> measures.add(List.of(
+							"lavfi.aphasemeter.phase=1.000000",
+							"lavfi.r128.M=" + m.group(2),
+							"lavfi.r128.S=" + m.group(3),
+							"lavfi.r128.I=" + m.group(4),
+							"lavfi.r128.LRA=" + m.group(5),
+							"lavfi.r128.LRA.low=" + m.group(4),
+							"lavfi.r128.LRA.high=" + m.group(2),
+							"lavfi.r128.sample_peaks_ch0=" + toLinear(m.group(6)),
+							"lavfi.r128.sample_peaks_ch1=" + toLinear(m.group(7)),
+							"lavfi.r128.sample_peak=" + toLinear(m.group(6)),
+							"lavfi.r128.true_peaks_ch0=" + toLinear(m.group(8)),
+							"lavfi.r128.true_peaks_ch1=" + toLinear(m.group(9)),
+							"lavfi.r128.true_peak=" + toLinear(m.group(8)))));
+		}
+		if (measures.isEmpty()) {
+			throw new IllegalStateException("Can't read ebur128.txt measures");
+		}
+
+		frameLines = new ArrayList<>(frames);
+		lavfiLines = new ArrayList<>(frames);
+		lines = 0;
+		for (var pos = 0; pos < frames; pos++) {
+			final var pts = pos * 4800L;
+			frameLines.add("frame:" + pos + "    pts:" + pts + "    pts_time:" + pts / 48000f);
+			final var frameLavfiLines = measures.get(pos % measures.size());
+			lavfiLines.add(frameLavfiLines);
+			lines += 1 + frameLavfiLines.size();
+		}
+	}
+
+	@Benchmark
+	public LavfiMetadataFilterParser parse(final Counters counters) {
+		final var parser = new LavfiMetadataFilterParser();
+		for (var pos = 0; pos < frames; pos++) {
+			parser.addLavfiRawLine(frameLines.get(pos));
+			lavfiLines.get(pos).forEach(parser::addLavfiRawLine);
+		}
+		parser.close();
+		counters.frames += frames;
+		counters.lines += lines;
+		return parser;
+	}
+
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(LavfiMetadataFilterParserBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build())
+				.run();
+	}
+
+}
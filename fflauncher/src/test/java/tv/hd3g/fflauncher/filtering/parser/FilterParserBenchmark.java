@@ -0,0 +1,108 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.filtering.parser;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import tv.hd3g.fflauncher.filtering.FilterChains;
+
+/**
+ * Parse a -filter_complex like graph with FilterParser (via FilterChains), with "branches" times the same
+ * MediaAnalyser-like audio chain (quotes and escapes included).
+ * The chars and filters counters give the parsing speed (chars/s and filters/s).
+ * Run with main(), from test classpath: the GC profiler gives the allocation rate, gc.alloc.rate.norm / filters is the
+ * allocated bytes by filter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterParserBenchmark {
+	static final int FILTERS_BY_BRANCH = 6;
+
+	@Param({ "1", "1000" })
+	int branches;
+
+	String rawFilterChain;
+
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	@State(Scope.Thread)
+	public static class Counters {
+		public long chars;
+		public long filters;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			chars = 0;
+			filters = 0;
+		}
+	}
+
+	@Setup
+	public void setup() {
+		rawFilterChain = IntStream.range(0, branches)
+				.mapToObj(pos -> "[0:a:" + pos + "]"
+								 + "astats=metadata=1:measure_perchannel=DC_offset+Peak_level:reset=1,"
+								 + "aphasemeter=video=0,"
+								 + "ebur128=metadata=1:peak=sample+true:framelog=quiet,"
+								 + "silencedetect=n=-60dB:d=3,"
+								 + "volume='if(lt(t\\,10)\\,1\\,0.5)':eval=frame,"
+								 + "ametadata=mode=print:file=-"
+								 + "[a" + pos + "]")
+				.collect(Collectors.joining(";"));
+	}
+
+	@Benchmark
+	public FilterChains parse(final Counters counters) {
+		final var filterChains = new FilterChains(rawFilterChain);
+		counters.chars += rawFilterChain.length();
+		counters.filters += (long) branches * FILTERS_BY_BRANCH;
+		return filterChains;
+	}
+
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(FilterParserBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build())
+				.run();
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.progress;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.datafaker.Faker;
+
+class CharPipeTest {
+	static Faker faker = net.datafaker.Faker.instance();
+
+	CharPipe pipe;
+	String text;
+
+	@BeforeEach
+	void init() {
+		pipe = new CharPipe(7);
+		text = IntStream.range(0, 100)
+				.mapToObj(i -> faker.lorem().sentence())
+				.collect(Collectors.joining("\n"));
+	}
+
+	@Test
+	void testInvalidCapacity() {
+		assertThrows(IllegalArgumentException.class, () -> new CharPipe(0));
+	}
+
+	@Test
+	void testWriteRead() throws Exception {
+		final var readed = CompletableFuture.supplyAsync(() -> {
+			try {
+				return IOUtils.toString(pipe.getReader());
+			} catch (final IOException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+
+		text.lines().forEach(l -> assertTrue(pipe.write(l + "\n")));
+		pipe.writeEnd();
+
+		assertEquals(text + "\n", readed.get());
+		assertEquals(-1, pipe.getReader().read());
+	}
+
+	@Test
+	void testWriteEnd() throws IOException {
+		assertTrue(pipe.write("abc"));
+		pipe.writeEnd();
+		assertFalse(pipe.write("def"));
+
+		final var cbuf = new char[10];
+		assertEquals(3, pipe.getReader().read(cbuf, 0, 10));
+		assertEquals("abc", new String(cbuf, 0, 3));
+		assertEquals(-1, pipe.getReader().read(cbuf, 0, 10));
+	}
+
+	@Test
+	void testReadEmpty() throws IOException {
+		assertEquals(0, pipe.getReader().read(new char[0], 0, 0));
+	}
+
+	@Test
+	void testCloseRead_unblockWriter() throws Exception {
+		final var writed = CompletableFuture.supplyAsync(() -> pipe.write(text));
+		assertThrows(TimeoutException.class,
+				() -> writed.get(100, MILLISECONDS));
+
+		pipe.getReader().close();
+		assertFalse(writed.get());
+		assertEquals(-1, pipe.getReader().read());
+	}
+
+	@Test
+	void testInterruptedRead() throws InterruptedException, ExecutionException {
+		final var interrupted = new CompletableFuture<Boolean>();
+		final var t = new Thread(() -> {
+			try {
+				pipe.getReader().read();
+				interrupted.complete(false);
+			} catch (final IOException e) {
+				interrupted.complete(Thread.currentThread().isInterrupted());
+			}
+		});
+		t.start();
+		t.interrupt();
+		assertTrue(interrupted.get());
+	}
+
+}
@@ -0,0 +1,195 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.progress;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.GZIPInputStream;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobeResultSAX;
+import tv.hd3g.fflauncher.recipes.ContainerAnalyserExtract;
+
+/**
+ * Feed the ffprobe-streams-packets.xml.gzip lines to FFProbeXMLProgressHandler, versus the previous implementation
+ * (a LinkedBlockingQueue of boxed chars, read one by one by the SAX worker).
+ * The lines and items counters give the parsing speed (lines/s and packets+frames/s).
+ * Run with main(), from test classpath: the GC profiler gives the allocation rate, gc.alloc.rate.norm / items is the
+ * allocated bytes by packet or frame.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FFProbeXMLProgressHandlerBenchmark {
+
+	List<String> lines;
+	long items;
+	FFprobeXMLProgressWatcher watcher;
+	ContainerAnalyserExtract session;
+
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	@State(Scope.Thread)
+	public static class Counters {
+		public long lines;
+		public long items;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			lines = 0;
+			items = 0;
+		}
+
+		void add(final FFProbeXMLProgressHandlerBenchmark benchmark) {
+			lines += benchmark.lines.size();
+			items += benchmark.items;
+		}
+	}
+
+	@Setup
+	public void setup() throws IOException {
+		try (var xml = new BufferedReader(new InputStreamReader(
+				new GZIPInputStream(getClass().getResourceAsStream("/ffprobe-streams-packets.xml.gzip")), UTF_8))) {
+			lines = xml.lines().toList();
+		}
+		items = lines.stream()
+				.map(String::trim)
+				.filter(line -> line.startsWith("<packet ") || line.startsWith("<frame "))
+				.count();
+		watcher = new FFprobeXMLProgressWatcher(Duration.ofMinutes(1), s -> {
+		}, e -> {
+		}, s -> {
+		});
+		session = new ContainerAnalyserExtract("ffprobe");
+	}
+
+	@Benchmark
+	public FFprobeXMLProgressConsumer handler(final Counters counters) {
+		final var handler = watcher.createProgress(session);
+		lines.forEach(handler::accept);
+		handler.waitForEnd();
+		counters.add(this);
+		return handler;
+	}
+
+	@Benchmark
+	public Thread previousQueue(final Counters counters) throws InterruptedException {
+		final var linesBytes = new LinkedBlockingQueue<Integer>();
+		final var saxHandler = new DefaultHandler() {
+			volatile boolean ended;
+
+			@Override
+			public void startElement(final String uri,
+									 final String localName,
+									 final String qName,
+									 final Attributes attributes) throws SAXException {
+				if (qName.equals("packet") || qName.equals("frame")) {
+					Float.parseFloat(Optional.ofNullable(attributes.getValue("pts_time")).orElse("-1"));
+				}
+			}
+
+			@Override
+			public void endElement(final String uri, final String localName, final String qName) {
+				if (qName.equals("ffprobe") || qName.equals("packets_and_frames")) {
+					ended = true;
+				}
+			}
+		};
+		final var source = new InputStream() {
+
+			@Override
+			public int read() throws IOException {
+				if (saxHandler.ended) {
+					return -1;
+				}
+				try {
+					return Optional.ofNullable(linesBytes.poll(1, SECONDS)).orElse(-1);
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException(e);
+				}
+			}
+		};
+		final var worker = new Thread(() -> {
+			try {
+				FFprobeResultSAX.factory.newSAXParser().parse(source, saxHandler);
+			} catch (ParserConfigurationException | SAXException | IOException e) {
+				if (saxHandler.ended == false) {
+					throw new IllegalStateException(e);
+				}
+			}
+		});
+
+		for (final var line : lines) {
+			line.chars().forEach(i -> {
+				try {
+					linesBytes.put(i);
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException(e);
+				}
+			});
+			if (worker.getState() == Thread.State.NEW) {
+				worker.start();
+			}
+		}
+		worker.join();
+		counters.add(this);
+		return worker;
+	}
+
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(FFProbeXMLProgressHandlerBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build())
+				.run();
+	}
+
+}
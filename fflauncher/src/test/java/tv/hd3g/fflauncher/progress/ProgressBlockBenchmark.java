@@ -0,0 +1,163 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.progress;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.Locale;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Parse ffmpeg "-progress" blocks, from the raw socket bytes to the values, like ProgressListenerSession and a
+ * ProgressCallback: with ProgressBlockParser and its reused ProgressSnapshot, versus the previous String lines to
+ * ProgressBlock way.
+ * The blocks counter gives the parsing speed (blocks/s).
+ * Run with main(), from test classpath: the GC profiler gives the allocation rate, gc.alloc.rate.norm / blocks is the
+ * allocated bytes by block.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProgressBlockBenchmark {
+	static final int BLOCK_COUNT = 10_000;
+
+	byte[][] rawBlocks;
+
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	@State(Scope.Thread)
+	public static class Counters {
+		public long blocks;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			blocks = 0;
+		}
+	}
+
+	/**
+	 * Like a "ffmpeg -stats_period 0.5 -progress tcp://..." client.
+	 */
+	static String makeRawBlock(final int pos, final boolean end) {
+		final var frame = pos * 15;
+		final var outTimeUs = frame * 40_000L;
+		return String.format(Locale.ENGLISH, """
+				frame=%d
+				fps=%.2f
+				stream_0_0_q=%.1f
+				bitrate=%.1fkbits/s
+				total_size=%d
+				out_time_us=%d
+				out_time_ms=%d
+				out_time=00:%02d:%02d.%06d
+				dup_frames=%d
+				drop_frames=%d
+				speed=%.3gx
+				progress=%s
+				""",
+				frame,
+				29.5f + pos % 10 / 10f,
+				28f + pos % 3,
+				1234.5f + pos % 100,
+				frame * 5000L,
+				outTimeUs,
+				outTimeUs,
+				outTimeUs / 60_000_000L % 60,
+				outTimeUs / 1_000_000L % 60,
+				outTimeUs % 1_000_000L,
+				pos % 7,
+				pos % 5,
+				1.01f + pos % 50 / 100f,
+				end ? "end" : "continue");
+	}
+
+	@Setup
+	public void setup() {
+		rawBlocks = new byte[BLOCK_COUNT][];
+		for (var pos = 0; pos < BLOCK_COUNT; pos++) {
+			rawBlocks[pos] = makeRawBlock(pos, pos + 1 == BLOCK_COUNT).getBytes(UTF_8);
+		}
+	}
+
+	@Benchmark
+	public void parser(final Counters counters, final Blackhole blackhole) {
+		final var parser = new ProgressBlockParser(snapshot -> {
+			blackhole.consume(snapshot.getFrame());
+			blackhole.consume(snapshot.getFps());
+			blackhole.consume(snapshot.getBitrate());
+			blackhole.consume(snapshot.getTotalSize());
+			blackhole.consume(snapshot.getOutTimeUs());
+			blackhole.consume(snapshot.getDupFrames());
+			blackhole.consume(snapshot.getDropFrames());
+			blackhole.consume(snapshot.getSpeed());
+			blackhole.consume(snapshot.isEnd());
+		});
+		for (final var rawBlock : rawBlocks) {
+			parser.parse(rawBlock, 0, rawBlock.length);
+		}
+		counters.blocks += rawBlocks.length;
+	}
+
+	@Benchmark
+	public void parse(final Counters counters, final Blackhole blackhole) {
+		for (final var rawBlock : rawBlocks) {
+			final var block = new ProgressBlock(new String(rawBlock, 0, rawBlock.length)
+					.lines()
+					.map(String::trim)
+					.toList());
+			blackhole.consume(block.getFrame());
+			blackhole.consume(block.getFPS());
+			blackhole.consume(block.getBitrate());
+			blackhole.consume(block.getTotalSize());
+			blackhole.consume(block.getOutTimeUs());
+			blackhole.consume(block.getDupFrames());
+			blackhole.consume(block.getDropFrames());
+			blackhole.consume(block.getSpeedX());
+			blackhole.consume(block.isEnd());
+		}
+		counters.blocks += rawBlocks.length;
+	}
+
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(ProgressBlockBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build())
+				.run();
+	}
+
+}
@@ -0,0 +1,249 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.progress;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ProgressBlockParserTest {
+
+	static final String FULL_BLOCK = """
+			frame=619
+			fps=30.39
+			stream_0_0_q=-0.0
+			stream_0_1_q=28.5
+			bitrate=1234.5kbits/s
+			total_size=4567
+			out_time_us=20633313
+			out_time_ms=20633313
+			out_time=00:00:20.633313
+			dup_frames=2
+			drop_frames=5
+			speed=1.01x
+			progress=continue
+			""";
+	static final String NA_BLOCK = """
+			frame=0
+			fps=0.00
+			stream_0_0_q=0.0
+			bitrate=N/A
+			total_size=N/A
+			out_time_us=N/A
+			out_time_ms=N/A
+			out_time=N/A
+			dup_frames=0
+			drop_frames=0
+			speed=N/A
+			progress=end
+			""";
+
+	List<ProgressBlock> blocks;
+	List<ProgressSnapshot> snapshots;
+	ProgressBlockParser parser;
+
+	@BeforeEach
+	void init() {
+		blocks = new ArrayList<>();
+		snapshots = new ArrayList<>();
+		parser = new ProgressBlockParser(snapshot -> {
+			snapshots.add(snapshot);
+			blocks.add(snapshot.toProgressBlock());
+		});
+	}
+
+	private void parse(final String text) {
+		final var bytes = text.getBytes(UTF_8);
+		parser.parse(bytes, 0, bytes.length);
+	}
+
+	@Test
+	void testFullBlock() {
+		final var snapshot = new ArrayList<ProgressSnapshot>();
+		parser = new ProgressBlockParser(s -> {
+			assertEquals(619, s.getFrame());
+			assertEquals(30.39f, s.getFps());
+			assertEquals(2, s.getStreamQCount());
+			assertEquals(0, s.getStreamQFileIndex(0));
+			assertEquals(0, s.getStreamQStreamIndex(0));
+			assertEquals(-0.0f, s.getStreamQ(0));
+			assertEquals(1, s.getStreamQStreamIndex(1));
+			assertEquals(28.5f, s.getStreamQ(1));
+			assertEquals(1234.5f, s.getBitrate());
+			assertEquals(4567L, s.getTotalSize());
+			assertEquals(20633313L, s.getOutTimeUs());
+			assertEquals(20633313L, s.getOutTimeMs());
+			assertEquals("00:00:20.633313", s.getOutTime());
+			assertEquals(2, s.getDupFrames());
+			assertEquals(5, s.getDropFrames());
+			assertEquals(1.01f, s.getSpeed());
+			assertFalse(s.isEnd());
+			snapshot.add(s);
+		});
+		parse(FULL_BLOCK);
+		assertEquals(1, snapshot.size());
+		assertFalse(parser.isEnded());
+	}
+
+	@Test
+	void testNABlock() {
+		final var snapshot = new ArrayList<ProgressSnapshot>();
+		parser = new ProgressBlockParser(s -> {
+			assertEquals(0, s.getFrame());
+			assertEquals(0f, s.getFps());
+			assertEquals(Float.NaN, s.getBitrate());
+			assertEquals(-1L, s.getTotalSize());
+			assertEquals(-1L, s.getOutTimeUs());
+			assertEquals(-1L, s.getOutTimeMs());
+			assertNull(s.getOutTime());
+			assertEquals(Float.NaN, s.getSpeed());
+			assertTrue(s.isEnd());
+			snapshot.add(s);
+		});
+		parse(NA_BLOCK);
+		assertEquals(1, snapshot.size());
+		assertTrue(parser.isEnded());
+	}
+
+	@Test
+	void testToProgressBlock() {
+		parse(FULL_BLOCK + NA_BLOCK);
+		assertEquals(2, blocks.size());
+
+		final var full = blocks.get(0);
+		assertEquals(Optional.ofNullable(619), full.getFrame());
+		assertEquals(Optional.ofNullable(30.39f), full.getFPS());
+		assertEquals(Optional.ofNullable(1234.5f), full.getBitrate());
+		assertEquals(Optional.ofNullable(4567L), full.getTotalSize());
+		assertEquals(20633313L, full.getOutTimeUs());
+		assertEquals("00:00:20.633313", full.getOutTime());
+		assertEquals(2, full.getDupFrames());
+		assertEquals(5, full.getDropFrames());
+		assertEquals(1.01f, full.getSpeedX());
+		assertEquals(Map.of("0_0", -0.0f, "0_1", 28.5f), full.getStreamQ());
+		assertFalse(full.isEnd());
+
+		final var na = blocks.get(1);
+		assertEquals(Optional.empty(), na.getBitrate());
+		assertEquals(0L, na.getOutTimeUs());
+		assertEquals(0f, na.getSpeedX());
+		assertTrue(na.isEnd());
+	}
+
+	@Test
+	void testReusedSnapshot() {
+		parse(FULL_BLOCK + FULL_BLOCK);
+		assertEquals(2, snapshots.size());
+		assertSame(snapshots.get(0), snapshots.get(1));
+	}
+
+	@Test
+	void testSplitReads() {
+		final var bytes = (FULL_BLOCK + FULL_BLOCK + NA_BLOCK).getBytes(UTF_8);
+		for (var pos = 0; pos < bytes.length; pos += 7) {
+			parser.parse(bytes, pos, Math.min(7, bytes.length - pos));
+		}
+		assertEquals(3, blocks.size());
+		assertEquals(blocks.get(0).toString(), blocks.get(1).toString());
+		assertEquals(Optional.ofNullable(619), blocks.get(1).getFrame());
+		assertTrue(blocks.get(2).isEnd());
+		assertTrue(parser.isEnded());
+	}
+
+	@Test
+	void testSplitReads_offset() {
+		final var bytes = ("XXXX" + FULL_BLOCK).getBytes(UTF_8);
+		parser.parse(bytes, 4, 20);
+		parser.parse(bytes, 24, bytes.length - 24);
+		assertEquals(1, blocks.size());
+		assertEquals(Optional.ofNullable(619), blocks.get(0).getFrame());
+	}
+
+	@Test
+	void testCRLFAndBlanks() {
+		parse(" frame = 12 \r\nspeed=  2.5x\r\nprogress=continue\r\n");
+		assertEquals(1, blocks.size());
+		assertEquals(Optional.ofNullable(12), blocks.get(0).getFrame());
+		assertEquals(2.5f, blocks.get(0).getSpeedX());
+	}
+
+	@Test
+	void testMissingValues() {
+		parser = new ProgressBlockParser(s -> {
+			if (blocks.isEmpty() == false) {
+				assertEquals(-1, s.getFrame());
+				assertEquals(Float.NaN, s.getFps());
+				assertEquals(-1, s.getDupFrames());
+				assertEquals(-1, s.getDropFrames());
+				assertEquals(0, s.getStreamQCount());
+			}
+			blocks.add(s.toProgressBlock());
+		});
+		parse(FULL_BLOCK + "progress=continue\n");
+		assertEquals(2, blocks.size());
+		assertEquals("ProgressBlock [items={progress=continue}]", blocks.get(1).toString());
+	}
+
+	@Test
+	void testTooLongLine() {
+		parse("frame=" + "1".repeat(ProgressBlockParser.MAX_LINE_LENGTH) + "\nfps=2\nprogress=continue\n");
+		assertEquals(Optional.empty(), blocks.get(0).getFrame());
+		assertEquals(Optional.ofNullable(2f), blocks.get(0).getFPS());
+	}
+
+	@Test
+	void testManyStreams() {
+		final var text = new StringBuilder();
+		for (var pos = 0; pos < 20; pos++) {
+			text.append("stream_1_" + pos + "_q=" + pos + ".5\n");
+		}
+		final var counts = new ArrayList<Integer>();
+		parser = new ProgressBlockParser(s -> {
+			counts.add(s.getStreamQCount());
+			assertEquals(1, s.getStreamQFileIndex(19));
+			assertEquals(19, s.getStreamQStreamIndex(19));
+			assertEquals(19.5f, s.getStreamQ(19));
+		});
+		parse(text + "progress=continue\n" + text + "progress=continue\n");
+		assertEquals(List.of(20, 20), counts);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+							 "dup_frames", "dup_frames=", "=5", "dup_frames=n/a", "dup_frames=N/A", "dup_frames=abc",
+							 "dup_frames=1.5", "fps=1.2.3", "fps=12x", "fps=-", "frame=-5",
+							 "frame=99999999999999999999", "stream_a_0_q=1", "stream_0_0_q=x", "stream__q=1", "stream_q=1",
+							 "unknown=12" })
+	void testBadLines(final String line) {
+		parse(line + "\nprogress=continue\n");
+		assertEquals("ProgressBlock [items={progress=continue}]", blocks.get(0).toString());
+	}
+
+}
@@ -91,6 +91,11 @@ class ProgressBlockTest {
 		assertEquals(Optional.empty(), bFullLines.getBitrate());
 	}
 
+	@Test
+	void testGetBitrate_kbits() {
+		assertEquals(Optional.ofNullable(1234.5f), new ProgressBlock(List.of("bitrate=1234.5kbits/s")).getBitrate());
+	}
+
 	@Test
 	void testGetTotalSize() {
 		assertEquals(Optional.ofNullable(4567l), bSimpleLines.getTotalSize());
@@ -16,6 +16,7 @@
  */
 package tv.hd3g.fflauncher.progress;
 
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -70,7 +71,15 @@ class ProgressListenerTest {
 	@Test
 	void testCreateSession_defaultConstr() {
 		final var session = new ProgressListener().createSession(progressCallback, statsPeriod);
-		assertNotNull(session);
+		assertInstanceOf(ProgressListenerThreadSession.class, session);
+	}
+
+	@Test
+	void testCreateSession_selectorServer() {
+		try (var selectorServer = new ProgressSelectorServer()) {
+			final var session = new ProgressListener(selectorServer).createSession(progressCallback, statsPeriod);
+			assertInstanceOf(ProgressListenerSelectorSession.class, session);
+		}
 	}
 
 }
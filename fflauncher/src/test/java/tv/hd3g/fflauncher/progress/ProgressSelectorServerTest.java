@@ -0,0 +1,244 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.progress;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static tv.hd3g.fflauncher.progress.ProgressListenerSession.LOCALHOST_IPV4;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProgressSelectorServerTest {
+
+	static final String BLOCK = """
+			frame=10
+			out_time_us=400000
+			progress=continue
+			""";
+	static final String END_BLOCK = """
+			frame=20
+			out_time_us=800000
+			progress=end
+			""";
+
+	ProgressSelectorServer server;
+	ProgressListener listener;
+	Set<Thread> callbackThreads;
+	Map<Integer, List<String>> eventsByPort;
+	CountDownLatch ended;
+
+	class Callback implements ProgressCallback {
+
+		void add(final int port, final String event) {
+			callbackThreads.add(Thread.currentThread());
+			eventsByPort.computeIfAbsent(port, p -> new ArrayList<>()).add(event);
+		}
+
+		@Override
+		public void onStartProgressListener(final int localhostTcpPort) {
+			add(localhostTcpPort, "start");
+		}
+
+		@Override
+		public void onFFmpegConnection(final int localhostTcpPort) {
+			add(localhostTcpPort, "connection");
+		}
+
+		@Override
+		public void onProgress(final int localhostTcpPort, final ProgressBlock progressBlock) {
+			add(localhostTcpPort, "frame" + progressBlock.getFrame().orElse(-1));
+		}
+
+		@Override
+		public void onEndProgress(final int localhostTcpPort) {
+			add(localhostTcpPort, "end");
+			ended.countDown();
+		}
+	}
+
+	@BeforeEach
+	void init() {
+		server = new ProgressSelectorServer();
+		listener = new ProgressListener(server);
+		callbackThreads = ConcurrentHashMap.newKeySet();
+		eventsByPort = new ConcurrentHashMap<>();
+	}
+
+	@AfterEach
+	void close() {
+		server.close();
+	}
+
+	private static void send(final int port, final String text, final int chunkSize) throws IOException {
+		try (var socket = new Socket(LOCALHOST_IPV4, port)) {
+			final var bytes = text.getBytes(UTF_8);
+			final var out = socket.getOutputStream();
+			for (var pos = 0; pos < bytes.length; pos += chunkSize) {
+				out.write(bytes, pos, Math.min(chunkSize, bytes.length - pos));
+				out.flush();
+			}
+		}
+	}
+
+	@Test
+	void testManySessions() throws Exception {
+		final var count = 50;
+		ended = new CountDownLatch(count);
+		final var ports = new ArrayList<Integer>();
+		for (var pos = 0; pos < count; pos++) {
+			ports.add(listener.createSession(new Callback(), Duration.ofSeconds(1)).start());
+		}
+		assertEquals(count, Set.copyOf(ports).size());
+
+		final var clients = new ArrayList<Thread>();
+		for (var pos = 0; pos < count; pos++) {
+			final var port = ports.get(pos);
+			final var chunkSize = pos + 1;
+			clients.add(Thread.startVirtualThread(() -> {
+				try {
+					send(port, BLOCK + BLOCK + END_BLOCK, chunkSize);
+				} catch (final IOException e) {
+					throw new IllegalStateException(e);
+				}
+			}));
+		}
+		for (final var client : clients) {
+			client.join();
+		}
+
+		assertTrue(ended.await(10, SECONDS));
+		for (final var port : ports) {
+			assertEquals(List.of("start", "connection", "frame10", "frame10", "frame20", "end"),
+					eventsByPort.get(port));
+		}
+		assertEquals(1, callbackThreads.size());
+	}
+
+	@Test
+	void testDisconnectBeforeEnd() throws Exception {
+		ended = new CountDownLatch(1);
+		final var port = listener.createSession(new Callback(), Duration.ofSeconds(1)).start();
+		send(port, BLOCK, 1000);
+
+		assertTrue(ended.await(10, SECONDS));
+		assertEquals(List.of("start", "connection", "frame10", "end"), eventsByPort.get(port));
+	}
+
+	@Test
+	void testManualClose() throws Exception {
+		ended = new CountDownLatch(1);
+		final var session = listener.createSession(new Callback(), Duration.ofSeconds(1));
+		session.manualClose();
+		final var port = session.start();
+		assertEquals(port, session.start());
+		session.manualClose();
+
+		assertTrue(ended.await(10, SECONDS));
+		assertEquals(List.of("start", "end"), eventsByPort.get(port));
+		assertThrows(IllegalStateException.class, session::start);
+		assertThrows(IOException.class, () -> send(port, BLOCK, 1000));
+	}
+
+	@Test
+	void testServerClose() throws Exception {
+		ended = new CountDownLatch(2);
+		final var port0 = listener.createSession(new Callback(), Duration.ofSeconds(1)).start();
+		final var port1 = listener.createSession(new Callback(), Duration.ofSeconds(1)).start();
+		server.close();
+
+		assertTrue(ended.await(10, SECONDS));
+		assertEquals("end", eventsByPort.get(port0).get(eventsByPort.get(port0).size() - 1));
+		assertEquals("end", eventsByPort.get(port1).get(eventsByPort.get(port1).size() - 1));
+		assertTrue(server.isClosed());
+
+		final var session = listener.createSession(new Callback(), Duration.ofSeconds(1));
+		assertThrows(IllegalStateException.class, session::start);
+	}
+
+	@Test
+	void testCallbackError() throws Exception {
+		ended = new CountDownLatch(2);
+		final var errors = new AtomicInteger();
+		final var failing = listener.createSession(new Callback() {
+			@Override
+			public void onProgress(final int localhostTcpPort, final ProgressBlock progressBlock) {
+				errors.incrementAndGet();
+				throw new IllegalStateException("Test error");
+			}
+		}, Duration.ofSeconds(1)).start();
+		final var working = listener.createSession(new Callback(), Duration.ofSeconds(1)).start();
+
+		send(failing, BLOCK + END_BLOCK, 1000);
+		send(working, BLOCK + END_BLOCK, 1000);
+
+		assertTrue(ended.await(10, SECONDS));
+		assertEquals(1, errors.get());
+		assertEquals(List.of("start", "connection", "end"), eventsByPort.get(failing));
+		assertEquals(List.of("start", "connection", "frame10", "frame20", "end"), eventsByPort.get(working));
+	}
+
+	@Test
+	void testServerClose_duringStarts() throws Exception {
+		final var endedSessions = new Semaphore(0);
+		final var startedSessions = new AtomicInteger();
+		final var rejectedSessions = new AtomicInteger();
+		final var starter = Thread.startVirtualThread(() -> {
+			while (true) {
+				final var session = listener.createSession(new Callback() {
+
+					@Override
+					public void onEndProgress(final int localhostTcpPort) {
+						endedSessions.release();
+					}
+				}, Duration.ofSeconds(1));
+				try {
+					session.start();
+					startedSessions.incrementAndGet();
+				} catch (final IllegalStateException e) {
+					rejectedSessions.incrementAndGet();
+					return;
+				}
+			}
+		});
+		while (startedSessions.get() < 100) {
+			Thread.onSpinWait();
+		}
+		server.close();
+		starter.join();
+
+		assertEquals(1, rejectedSessions.get());
+		assertTrue(endedSessions.tryAcquire(startedSessions.get(), 10, SECONDS));
+	}
+
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.progress;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProgressSnapshotTest {
+
+	ProgressSnapshot snapshot;
+
+	@BeforeEach
+	void init() {
+		snapshot = new ProgressSnapshot();
+	}
+
+	@Test
+	void testReset() {
+		snapshot.setFrame(1);
+		snapshot.setFps(2f);
+		snapshot.setOutTimeUs(3_000_000L);
+		snapshot.setOutTime("00:00:03".getBytes(US_ASCII), 0, 8);
+		snapshot.setEnd(true);
+		snapshot.addStreamQ(0, 0, 1f);
+		snapshot.reset();
+
+		assertEquals(-1, snapshot.getFrame());
+		assertEquals(Float.NaN, snapshot.getFps());
+		assertEquals(-1L, snapshot.getOutTimeUs());
+		assertNull(snapshot.getOutTime());
+		assertEquals(0, snapshot.getStreamQCount());
+		assertEquals(Duration.ZERO, snapshot.getOutTimeDuration());
+		assertEquals(false, snapshot.isEnd());
+	}
+
+	@Test
+	void testGetOutTimeDuration() {
+		snapshot.setOutTimeUs(1_582_993L);
+		assertEquals(Duration.ofMillis(1582), snapshot.getOutTimeDuration());
+	}
+
+	@Test
+	void testSetOutTime_tooLong() {
+		final var outTime = "0".repeat(ProgressSnapshot.MAX_OUT_TIME_LENGTH + 10).getBytes(US_ASCII);
+		snapshot.setOutTime(outTime, 0, outTime.length);
+		assertEquals(ProgressSnapshot.MAX_OUT_TIME_LENGTH, snapshot.getOutTime().length());
+	}
+
+	@Test
+	void testGetStreamQ_invalidPos() {
+		snapshot.addStreamQ(0, 1, 2f);
+		assertEquals(2f, snapshot.getStreamQ(0));
+		assertThrows(IndexOutOfBoundsException.class, () -> snapshot.getStreamQ(1));
+		assertThrows(IndexOutOfBoundsException.class, () -> snapshot.getStreamQFileIndex(-1));
+		assertThrows(IndexOutOfBoundsException.class, () -> snapshot.getStreamQStreamIndex(1));
+	}
+
+	@Test
+	void testToProgressBlock() {
+		snapshot.setFrame(5);
+		snapshot.setDupFrames(1);
+		snapshot.setDropFrames(2);
+		snapshot.setOutTimeMs(3L);
+		snapshot.addStreamQ(1, 2, 3.5f);
+		final var block = snapshot.toProgressBlock();
+
+		snapshot.reset();
+		assertEquals(Optional.ofNullable(5), block.getFrame());
+		assertEquals(1, block.getDupFrames());
+		assertEquals(2, block.getDropFrames());
+		assertEquals(3L, block.getOutTimeMs());
+		assertEquals(Map.of("1_2", 3.5f), block.getStreamQ());
+	}
+
+	@Test
+	void testToString() {
+		assertTrue(snapshot.toString().startsWith("ProgressSnapshot ["));
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.recipes;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static tv.hd3g.fflauncher.replay.FFTranscript.EventType.OUT;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobePacket;
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobeResultCSV;
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobeResultListener;
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobeRetentionPolicy;
+import tv.hd3g.fflauncher.replay.FFReplayExecutable;
+import tv.hd3g.fflauncher.replay.FFTranscript;
+import tv.hd3g.fflauncher.replay.FFTranscript.Event;
+import tv.hd3g.processlauncher.cmdline.ExecutableFinder;
+
+class ContainerAnalyserCSVProcessTest {
+
+	@TempDir
+	Path dir;
+	File source;
+
+	@BeforeEach
+	void init() throws IOException {
+		source = Files.createFile(dir.resolve("source.mov")).toFile();
+	}
+
+	@Test
+	void testGetFfprobe() {
+		final var cap = new ContainerAnalyserCSVProcess("ffprobe");
+		assertEquals("-hide_banner -show_entries " + FFprobeResultCSV.SHOW_ENTRIES + " -print_format csv",
+				cap.getFfprobe().getInternalParameters().toString());
+	}
+
+	@Test
+	void testRetentionPolicy() throws IOException {
+		final var csv = """
+				packet,audio,1,2555904,57.957007,2555904,57.957007,1024,0.023220,442,84622585,K_
+				frame,audio,1,1,2555904,57.957007,2555904,57.957007,2555904,57.957007,1024,0.023220,84622585,442,fltp,1024,2,stereo
+				packet,video,0,1738737,57.957900,1738737,57.957900,1001,0.033367,75214,84623027,__
+				frame,video,0,0,1738737,57.957900,1738737,57.957900,1738737,57.957900,1001,0.033367,84623027,75214,3840,2160,yuv420p,1:1,P,0,0,0,tv,bt709,bt709,bt709
+				""";
+		final var transcriptFile = dir.resolve("transcript.txt");
+		new FFTranscript(List.of(new Event(0, OUT, csv.getBytes(UTF_8)), Event.exit(0, 0))).write(transcriptFile);
+		final var executableFinder = new ExecutableFinder();
+		FFReplayExecutable.register(executableFinder, dir, "ffprobe", transcriptFile, 0);
+
+		final var cap = new ContainerAnalyserCSVProcess("ffprobe", FFprobeRetentionPolicy.NONE);
+		cap.setExecutableFinder(executableFinder);
+		final var packetCount = new AtomicInteger();
+		cap.addResultListener(new FFprobeResultListener() {
+
+			@Override
+			public void onPacket(final FFprobePacket packet) {
+				packetCount.incrementAndGet();
+			}
+		});
+
+		final var result = cap.process(source).getResult();
+		assertEquals(2, packetCount.get());
+		assertTrue(result.packets().isEmpty());
+		assertTrue(result.audioFrames().isEmpty());
+		assertTrue(result.videoFrames().isEmpty());
+		assertNotNull(result.videoConst());
+		assertNotNull(result.audioConst());
+	}
+
+}
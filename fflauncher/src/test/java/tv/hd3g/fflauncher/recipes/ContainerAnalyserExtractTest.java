@@ -24,6 +24,8 @@ import static org.mockito.Mockito.when;
 import static org.mockito.internal.verification.VerificationModeFactory.atLeastOnce;
 import static org.mockito.internal.verification.VerificationModeFactory.times;
 
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -83,9 +85,10 @@ class ContainerAnalyserExtractTest {
 		cae.setProgressWatcher(progressWatcher);
 		verify(progressWatcher, times(1)).createProgress(cae);
 
-		final var stdOutErrConsumer = callbackWatcher.getStdOutErrConsumer();
-		stdOutErrConsumer.accept(new LineEntry(0, stdOutLine, false, lifeCycle));
-		stdOutErrConsumer.accept(new LineEntry(0, stdErrLine, true, lifeCycle));
+		final var stdOutErrConsumer = callbackWatcher.getStdOutErrBatchConsumer();
+		stdOutErrConsumer.accept(List.of(
+				new LineEntry(0, stdOutLine, false, lifeCycle),
+				new LineEntry(0, stdErrLine, true, lifeCycle)));
 
 		final var result = cae.compute(sourceOrigin, lifeCycle);
 		assertNotNull(result);
@@ -100,9 +103,10 @@ class ContainerAnalyserExtractTest {
 
 	@Test
 	void testCompute() {
-		final var stdOutErrConsumer = callbackWatcher.getStdOutErrConsumer();
-		stdOutErrConsumer.accept(new LineEntry(0, stdOutLine, false, lifeCycle));
-		stdOutErrConsumer.accept(new LineEntry(0, stdErrLine, true, lifeCycle));
+		final var stdOutErrConsumer = callbackWatcher.getStdOutErrBatchConsumer();
+		stdOutErrConsumer.accept(List.of(
+				new LineEntry(0, stdOutLine, false, lifeCycle),
+				new LineEntry(0, stdErrLine, true, lifeCycle)));
 
 		final var result = cae.compute(sourceOrigin, lifeCycle);
 		assertNotNull(result);
@@ -28,7 +28,9 @@ import org.mockito.Mock;
 
 import tv.hd3g.commons.testtools.Fake;
 import tv.hd3g.commons.testtools.MockToolsExtendsJunit;
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobeResultListener;
 import tv.hd3g.fflauncher.ffprobecontainer.FFprobeResultSAX;
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobeRetentionPolicy;
 import tv.hd3g.fflauncher.processingtool.FFSourceDefinition;
 import tv.hd3g.processlauncher.ProcesslauncherLifecycle;
 import tv.hd3g.processlauncher.processingtool.DirectStdoutGetStderrWatcher;
@@ -55,6 +57,8 @@ class ContainerAnalyserProcessTest {
 	FFprobeResultSAX ffprobeResultSAX;
 	@Mock
 	DirectStdoutGetStderrWatcher executorWatcher;
+	@Mock
+	FFprobeResultListener listener;
 
 	@Fake
 	String execName;
@@ -70,6 +74,13 @@ class ContainerAnalyserProcessTest {
 		verify(executorWatcher, times(1)).setStdOutConsumer(ffprobeResultSAX);
 
 		new ContainerAnalyserProcess(execName);
+		new ContainerAnalyserProcess(execName, FFprobeRetentionPolicy.NONE);
+	}
+
+	@Test
+	void testAddResultListener() {
+		cap.addResultListener(listener);
+		verify(ffprobeResultSAX, times(1)).addListener(listener);
 	}
 
 	@Test
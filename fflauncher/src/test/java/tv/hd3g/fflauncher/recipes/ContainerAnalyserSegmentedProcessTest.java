@@ -0,0 +1,280 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.recipes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+import static tv.hd3g.fflauncher.enums.ChannelLayout.MONO;
+import static tv.hd3g.fflauncher.enums.ChannelLayout.STEREO;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobeCodecType.AUDIO;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobeCodecType.VIDEO;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobePictType.I;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobePictType.P;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import tv.hd3g.fflauncher.FFprobe;
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobeAudioFrame;
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobeAudioFrameConst;
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobeBaseFrame;
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobePacket;
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobePictType;
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobeVideoFrame;
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobeVideoFrameConst;
+import tv.hd3g.fflauncher.processingtool.FFSourceDefinition;
+import tv.hd3g.ffprobejaxb.FFprobeReference;
+import tv.hd3g.ffprobejaxb.data.FFProbeFormat;
+import tv.hd3g.processlauncher.ProcessLifeCycleException;
+import tv.hd3g.processlauncher.processingtool.ProcessingToolResult;
+
+class ContainerAnalyserSegmentedProcessTest {
+
+	@Mock
+	FFprobeReference sourceProbe;
+	@Mock
+	FFSourceDefinition sourceOrigin;
+
+	List<ContainerAnalyserProcess> processes;
+	List<FFprobe> ffprobes;
+	ContainerAnalyserProcessResult segmentResult;
+	ContainerAnalyserSegmentedProcess casp;
+
+	@BeforeEach
+	void init() throws Exception {
+		openMocks(this).close();
+		processes = Collections.synchronizedList(new ArrayList<>());
+		ffprobes = Collections.synchronizedList(new ArrayList<>());
+		segmentResult = result(List.of(packet(0, 1)), List.of(), List.of(), null, null, "cmd");
+		casp = new ContainerAnalyserSegmentedProcess(this::createProcess, 3, 2);
+	}
+
+	@AfterEach
+	void end() {
+		verifyNoMoreInteractions(sourceProbe, sourceOrigin);
+	}
+
+	@SuppressWarnings("unchecked")
+	ContainerAnalyserProcess createProcess() {
+		final var process = mock(ContainerAnalyserProcess.class);
+		final var ffprobe = new FFprobe("ffprobe");
+		final var toolResult = mock(ProcessingToolResult.class);
+		when(process.getFfprobe()).thenReturn(ffprobe);
+		when(process.process(any(FFSourceDefinition.class))).thenReturn(toolResult);
+		when(toolResult.getResult()).thenReturn(segmentResult);
+		processes.add(process);
+		ffprobes.add(ffprobe);
+		return process;
+	}
+
+	@Test
+	void testInvalidParams() {
+		assertThrows(IllegalArgumentException.class,
+				() -> new ContainerAnalyserSegmentedProcess(this::createProcess, 0, 1));
+		assertThrows(IllegalArgumentException.class,
+				() -> new ContainerAnalyserSegmentedProcess(this::createProcess, 1, 0));
+	}
+
+	@Test
+	void testGetReadIntervals() {
+		assertEquals(List.of("%20.000", "20.000%40.000", "40.000%"),
+				ContainerAnalyserSegmentedProcess.getReadIntervals(Duration.ZERO, Duration.ofMinutes(1), 3));
+		assertEquals(List.of("%12.500", "12.500%"),
+				ContainerAnalyserSegmentedProcess.getReadIntervals(Duration.ZERO, Duration.ofMillis(25000), 4));
+		assertEquals(List.of(),
+				ContainerAnalyserSegmentedProcess.getReadIntervals(Duration.ZERO, Duration.ofSeconds(15), 4));
+		assertEquals(List.of(),
+				ContainerAnalyserSegmentedProcess.getReadIntervals(Duration.ZERO, Duration.ofMinutes(1), 1));
+		assertEquals(List.of("%21.400", "21.400%41.400", "41.400%"),
+				ContainerAnalyserSegmentedProcess.getReadIntervals(Duration.ofMillis(1400), Duration.ofMinutes(1), 3));
+	}
+
+	@Test
+	void testProcess() {
+		when(sourceProbe.getDuration()).thenReturn(Optional.ofNullable(Duration.ofMinutes(1)));
+
+		final var result = casp.process(sourceProbe, sourceOrigin);
+
+		assertEquals(3, processes.size());
+		assertEquals(Set.of("-read_intervals %20.000", "-read_intervals 20.000%40.000", "-read_intervals 40.000%"),
+				ffprobes.stream()
+						.map(f -> f.getInternalParameters().toString())
+						.collect(Collectors.toUnmodifiableSet()));
+		processes.forEach(p -> verify(p, times(1)).process(sourceOrigin));
+		assertEquals(segmentResult.packets(), result.packets());
+		assertEquals("cmd\ncmd\ncmd", result.ffprobeCommandLine());
+		verify(sourceProbe, times(1)).getFormat();
+		verify(sourceProbe, times(1)).getDuration();
+	}
+
+	@Test
+	void testProcess_startTime() {
+		when(sourceProbe.getFormat()).thenReturn(Optional.ofNullable(
+				new FFProbeFormat(List.of(), "source", 1, 0, "mpegts", "MPEG-TS", 1.4f, 60f, 0, 0, 100)));
+		when(sourceProbe.getDuration()).thenReturn(Optional.ofNullable(Duration.ofMinutes(1)));
+
+		casp.process(sourceProbe, sourceOrigin);
+
+		assertEquals(Set.of("-read_intervals %21.400", "-read_intervals 21.400%41.400", "-read_intervals 41.400%"),
+				ffprobes.stream()
+						.map(f -> f.getInternalParameters().toString())
+						.collect(Collectors.toUnmodifiableSet()));
+		verify(sourceProbe, times(1)).getFormat();
+		verify(sourceProbe, times(1)).getDuration();
+	}
+
+	@Test
+	void testProcess_noDuration() {
+		when(sourceProbe.getDuration()).thenReturn(Optional.empty());
+
+		assertEquals(segmentResult, casp.process(sourceProbe, sourceOrigin));
+
+		assertEquals(1, processes.size());
+		assertEquals("", ffprobes.get(0).getInternalParameters().toString());
+		verify(sourceProbe, times(1)).getFormat();
+		verify(sourceProbe, times(1)).getDuration();
+	}
+
+	@Test
+	void testProcess_error() {
+		when(sourceProbe.getDuration()).thenReturn(Optional.ofNullable(Duration.ofMinutes(1)));
+		casp = new ContainerAnalyserSegmentedProcess(() -> {
+			final var process = createProcess();
+			when(process.process(any(FFSourceDefinition.class)))
+					.thenThrow(new ProcessLifeCycleException("Test error", null));
+			return process;
+		}, 3, 2);
+
+		assertThrows(ProcessLifeCycleException.class, () -> casp.process(sourceProbe, sourceOrigin));
+		verify(sourceProbe, times(1)).getFormat();
+		verify(sourceProbe, times(1)).getDuration();
+	}
+
+	@Test
+	void testMerge() {
+		final var v0 = videoFrame(0, 0, I);
+		final var v1 = videoFrame(0, 1, P);
+		final var v2 = videoFrame(0, 2, I);
+		final var v3 = videoFrame(0, 3, P);
+		final var a0 = audioFrame(1, 0);
+		final var a1 = audioFrame(1, 1);
+		final var a2 = audioFrame(1, 2);
+		final var vConstA = videoConst(v0, "yuv420p");
+		final var vConstB = videoConst(v2, "yuv420p");
+		final var vConstC = videoConst(v3, "yuv422p");
+		final var aConstA = new FFprobeAudioFrameConst(a0, "fltp", 1, MONO);
+		final var aConstB = new FFprobeAudioFrameConst(a2, "fltp", 2, STEREO);
+
+		final var result = ContainerAnalyserSegmentedProcess.merge(List.of(
+				result(
+						List.of(packet(0, 0), packet(1, 0), packet(0, 1), packet(1, 1)),
+						List.of(a0, a1),
+						List.of(v0, v1),
+						vConstA, aConstA, "cmd0"),
+				result(
+						List.of(packet(0, 1), packet(1, 1), packet(0, 2), packet(1, 2), packet(0, -1), packet(0, 3)),
+						List.of(a1, a2),
+						List.of(v1, v2, v3),
+						vConstC, aConstB, "cmd1",
+						List.of(vConstB))));
+
+		assertEquals(List.of(
+				packet(0, 0), packet(1, 0), packet(0, 1), packet(1, 1),
+				packet(0, 2), packet(1, 2), packet(0, -1), packet(0, 3)),
+				result.packets());
+		assertEquals(List.of(a0, a1, a2), result.audioFrames());
+		assertEquals(List.of(v0, v1, v2, v3), result.videoFrames());
+		assertEquals(vConstC, result.videoConst());
+		assertEquals(List.of(vConstA), result.olderVideoConsts());
+		assertEquals(aConstB, result.audioConst());
+		assertEquals(List.of(aConstA), result.olderAudioConsts());
+		assertEquals("cmd0\ncmd1", result.ffprobeCommandLine());
+	}
+
+	@Test
+	void testMerge_empty() {
+		final var result = ContainerAnalyserSegmentedProcess.merge(List.of(
+				new ContainerAnalyserProcessResult(null, null, null, null, null, null, null, "cmd")));
+		assertEquals(List.of(), result.packets());
+		assertEquals(List.of(), result.videoFrames());
+		assertNull(result.videoConst());
+		assertNull(result.audioConst());
+		assertEquals(List.of(), result.olderVideoConsts());
+	}
+
+	static ContainerAnalyserProcessResult result(final List<FFprobePacket> packets,
+												 final List<FFprobeAudioFrame> audioFrames,
+												 final List<FFprobeVideoFrame> videoFrames,
+												 final FFprobeVideoFrameConst videoConst,
+												 final FFprobeAudioFrameConst audioConst,
+												 final String cmd) {
+		return result(packets, audioFrames, videoFrames, videoConst, audioConst, cmd, List.of());
+	}
+
+	static ContainerAnalyserProcessResult result(final List<FFprobePacket> packets,
+												 final List<FFprobeAudioFrame> audioFrames,
+												 final List<FFprobeVideoFrame> videoFrames,
+												 final FFprobeVideoFrameConst videoConst,
+												 final FFprobeAudioFrameConst audioConst,
+												 final String cmd,
+												 final List<FFprobeVideoFrameConst> olderVideoConsts) {
+		return new ContainerAnalyserProcessResult(packets, audioFrames, videoFrames, videoConst, audioConst,
+				olderVideoConsts, List.of(), cmd);
+	}
+
+	static FFprobePacket packet(final int streamIndex, final long ts) {
+		return new FFprobePacket(streamIndex == 0 ? VIDEO : AUDIO, streamIndex, ts, ts, ts, ts, 1, 1, 1, ts, "K_");
+	}
+
+	static FFprobeBaseFrame baseFrame(final int streamIndex, final long pts) {
+		return new FFprobeBaseFrame(
+				streamIndex == 0 ? VIDEO : AUDIO, streamIndex, true, pts, pts, pts, pts, pts, pts, 1, 1, pts, 1);
+	}
+
+	static FFprobeVideoFrame videoFrame(final int streamIndex, final long pts,
+										final FFprobePictType pictType) {
+		return new FFprobeVideoFrame(baseFrame(streamIndex, pts), pictType, false);
+	}
+
+	static FFprobeAudioFrame audioFrame(final int streamIndex, final long pts) {
+		return new FFprobeAudioFrame(baseFrame(streamIndex, pts), 1024);
+	}
+
+	static FFprobeVideoFrameConst videoConst(final FFprobeVideoFrame frame, final String pixFmt) {
+		return new FFprobeVideoFrameConst(frame, 1920, 1080, pixFmt, "1:1", false, false, "tv", "bt709", "bt709",
+				"bt709");
+	}
+
+}
@@ -0,0 +1,111 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.recipes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import tv.hd3g.ffprobejaxb.FFprobeJAXB;
+import tv.hd3g.ffprobejaxb.FFprobeReference;
+
+class FFprobeReferenceCodecTest {
+
+	static byte[] encode(final FFprobeReference probe) throws IOException {
+		final var bytes = new ByteArrayOutputStream();
+		try (var out = new DataOutputStream(bytes)) {
+			FFprobeReferenceCodec.write(probe, out);
+		}
+		return bytes.toByteArray();
+	}
+
+	static FFprobeJAXB load(final String resource) throws IOException {
+		try (var in = FFprobeReferenceCodecTest.class.getResourceAsStream(resource)) {
+			if (resource.endsWith(".gzip")) {
+				return FFprobeJAXB.load(new GZIPInputStream(in), false);
+			}
+			return FFprobeJAXB.load(in, false);
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "/ffprobe-probemedia.xml", "/ffprobe-mpeg2ts-full.xml.gzip" })
+	void testWriteRead(final String resource) throws IOException {
+		final var probe = load(resource);
+		final var in = ByteBuffer.wrap(encode(probe));
+		final var result = FFprobeReferenceCodec.read(in);
+		assertFalse(in.hasRemaining());
+
+		assertNull(result.getXmlContent());
+		assertEquals(probe.getXSDVersionReference(), result.getXSDVersionReference());
+		assertEquals(probe.getFormat(), result.getFormat());
+		assertEquals(probe.getStreams(), result.getStreams());
+		assertEquals(probe.getLibraryVersions(), result.getLibraryVersions());
+		assertEquals(probe.getError(), result.getError());
+		assertEquals(probe.getPrograms(), result.getPrograms());
+		assertEquals(probe.getProgramVersion(), result.getProgramVersion());
+		assertEquals(probe.getChapters(), result.getChapters());
+		assertEquals(probe.getPixelFormats(), result.getPixelFormats());
+		assertEquals(probe.getMediaSummary(), result.getMediaSummary());
+	}
+
+	@Test
+	void testWriteRead_error() throws IOException {
+		final var probe = FFprobeJAXB.load("""
+				<?xml version="1.0" encoding="UTF-8"?>
+				<ffprobe>
+				    <error code="-2" string="No such file or directory"/>
+				</ffprobe>
+				""");
+		final var result = FFprobeReferenceCodec.read(ByteBuffer.wrap(encode(probe)));
+		assertEquals(probe.getError(), result.getError());
+		assertEquals(probe.getFormat(), result.getFormat());
+	}
+
+	@Test
+	void testRead_truncated() throws IOException {
+		final var bytes = encode(load("/ffprobe-probemedia.xml"));
+		final var truncated = ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length - 1));
+		assertThrows(BufferUnderflowException.class, () -> FFprobeReferenceCodec.read(truncated));
+	}
+
+	@Test
+	void testRead_invalidCount() throws IOException {
+		final var bytes = encode(load("/ffprobe-probemedia.xml"));
+		final var in = ByteBuffer.wrap(bytes);
+		final var xsdVersionLength = in.getInt();
+		in.position(in.position() + xsdVersionLength);
+		in.put((byte) 1);
+		in.putInt(Integer.MAX_VALUE);
+		in.rewind();
+		assertThrows(IllegalArgumentException.class, () -> FFprobeReferenceCodec.read(in));
+	}
+
+}
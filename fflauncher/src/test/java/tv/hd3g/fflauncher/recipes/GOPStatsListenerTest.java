@@ -0,0 +1,107 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.recipes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobePictType.B;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobePictType.I;
+import static tv.hd3g.fflauncher.ffprobecontainer.FFprobePictType.P;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobeBaseFrame;
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobeVideoFrame;
+
+class GOPStatsListenerTest {
+
+	@Mock
+	FFprobeBaseFrame frameI;
+	@Mock
+	FFprobeBaseFrame frameP;
+	@Mock
+	FFprobeBaseFrame frameB;
+
+	List<GOPStatItem> gopStats;
+	GOPStatsListener l;
+
+	@BeforeEach
+	void init() throws Exception {
+		openMocks(this).close();
+		when(frameI.pktSize()).thenReturn(300);
+		when(frameP.pktSize()).thenReturn(200);
+		when(frameB.pktSize()).thenReturn(100);
+		gopStats = new ArrayList<>();
+		l = new GOPStatsListener(gopStats::add);
+	}
+
+	@AfterEach
+	void end() {
+		verifyNoMoreInteractions(frameI, frameP, frameB);
+	}
+
+	@Test
+	void testNull() {
+		assertThrows(NullPointerException.class, () -> new GOPStatsListener(null));
+	}
+
+	@Test
+	void testEmpty() {
+		l.onEnd();
+		assertEquals(List.of(), gopStats);
+	}
+
+	@Test
+	void testIncremental() {
+		final var vI = new FFprobeVideoFrame(frameI, I, false);
+		final var vP = new FFprobeVideoFrame(frameP, P, false);
+		final var vB = new FFprobeVideoFrame(frameB, B, false);
+
+		l.onVideoFrame(vP);
+		l.onVideoFrame(vI);
+		assertEquals(List.of(
+				new GOPStatItem(1, 200, 0, 200, 0, List.of(vP))), gopStats);
+
+		l.onVideoFrame(vB);
+		l.onVideoFrame(vB);
+		l.onVideoFrame(vI);
+		assertEquals(2, gopStats.size());
+		assertEquals(new GOPStatItem(3, 500, 2, 300, 200, List.of(vI, vB, vB)), gopStats.get(1));
+
+		l.onVideoFrame(vP);
+		l.onEnd();
+		l.onEnd();
+		assertEquals(3, gopStats.size());
+		assertEquals(new GOPStatItem(2, 500, 0, 300, 0, List.of(vI, vP)), gopStats.get(2));
+
+		verify(frameI, atLeastOnce()).pktSize();
+		verify(frameP, atLeastOnce()).pktSize();
+		verify(frameB, atLeastOnce()).pktSize();
+	}
+
+}
@@ -24,6 +24,7 @@ import static org.mockito.Mockito.when;
 import static org.mockito.internal.verification.VerificationModeFactory.atLeastOnce;
 import static org.mockito.internal.verification.VerificationModeFactory.times;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -70,7 +71,7 @@ class MediaAnalyserProcessTest {
 	@Mock
 	MediaAnalyserProcessSetup setup;
 	@Captor
-	ArgumentCaptor<Consumer<LineEntry>> stdOutErrConsumerCaptor;
+	ArgumentCaptor<Consumer<List<LineEntry>>> stdOutErrConsumerCaptor;
 
 	@Fake
 	String execName;
@@ -91,7 +92,7 @@ class MediaAnalyserProcessTest {
 		when(lavfiMetadataFilterParser.close()).thenReturn(lavfiMetadataFilterParser);
 
 		map = new MAP(execName, about, executorWatcher, lavfiMetadataFilterParser);
-		verify(executorWatcher, times(1)).setStdOutErrConsumer(stdOutErrConsumerCaptor.capture());
+		verify(executorWatcher, times(1)).setStdOutErrBatchConsumer(stdOutErrConsumerCaptor.capture());
 
 		new MediaAnalyserProcess(execName, about);
 	}
@@ -100,8 +101,9 @@ class MediaAnalyserProcessTest {
 	void testCompute() {
 		when(setup.oLavfiLinesToMerge()).thenReturn(Optional.empty());
 
-		stdOutErrConsumerCaptor.getValue().accept(new LineEntry(0, stdOutLine, false, lifeCycle));
-		stdOutErrConsumerCaptor.getValue().accept(new LineEntry(0, stdErrLine, true, lifeCycle));
+		stdOutErrConsumerCaptor.getValue().accept(List.of(
+				new LineEntry(0, stdOutLine, false, lifeCycle),
+				new LineEntry(0, stdErrLine, true, lifeCycle)));
 
 		final var result = map.compute(setup, lifeCycle);
 		assertEquals(lavfiMetadataFilterParser, result.lavfiMetadatas());
@@ -16,16 +16,29 @@
  */
 package tv.hd3g.fflauncher.recipes;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static tv.hd3g.fflauncher.replay.FFTranscript.EventType.OUT;
 
 import java.awt.Point;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import tv.hd3g.fflauncher.enums.OutputFilePresencePolicy;
+import tv.hd3g.fflauncher.replay.FFReplayExecutable;
+import tv.hd3g.fflauncher.replay.FFTranscript;
+import tv.hd3g.fflauncher.replay.FFTranscript.Event;
 import tv.hd3g.processlauncher.cmdline.ExecutableFinder;
 
 class ProbeMediaTest {
@@ -60,4 +73,64 @@ class ProbeMediaTest {
 		ffmpeg.cleanUpOutputFiles(true, false, null);
 	}
 
+	@TempDir
+	Path dir;
+
+	private ProbeMedia prepareReplay(final String xmlContent) throws IOException {
+		final var transcriptFile = dir.resolve("transcript.txt");
+		new FFTranscript(List.of(
+				new Event(0, OUT, xmlContent.getBytes(UTF_8)),
+				Event.exit(0, 0)))
+				.write(transcriptFile);
+		final var replayExecutableFinder = new ExecutableFinder();
+		FFReplayExecutable.register(replayExecutableFinder, dir, "ffprobe", transcriptFile, 0);
+
+		final var probe = new ProbeMedia(Executors.newSingleThreadScheduledExecutor());
+		probe.setMaxExecutionTime(Duration.ofSeconds(30), Executors.newSingleThreadScheduledExecutor());
+		probe.setExecutableFinder(replayExecutableFinder);
+		return probe;
+	}
+
+	private static String readXml() throws IOException {
+		try (var in = ProbeMediaTest.class.getResourceAsStream("/ffprobe-probemedia.xml")) {
+			return new String(in.readAllBytes(), UTF_8);
+		}
+	}
+
+	@Test
+	void testReplay_keepXmlContentByDefault() throws IOException {
+		final var xmlContent = readXml();
+		final var probe = prepareReplay(xmlContent);
+		final var source = Files.createFile(dir.resolve("source.mkv")).toFile();
+
+		assertEquals(xmlContent, probe.process(source).getResult().getXmlContent());
+	}
+
+	@Test
+	void testReplay_noXmlContent() throws IOException {
+		final var probe = prepareReplay(readXml());
+		probe.setKeepXmlContent(false);
+		final var source = Files.createFile(dir.resolve("source.mkv")).toFile();
+
+		final var result = probe.process(source).getResult();
+		assertNull(result.getXmlContent());
+		assertEquals(288, result.getVideoStreams().findFirst().get().height());
+	}
+
+	@Test
+	void testReplay_concurrentProcessAsync() throws IOException {
+		final var probe = prepareReplay(readXml());
+		final var source = Files.createFile(dir.resolve("source.mkv")).toFile();
+
+		final var results = IntStream.range(0, 4)
+				.mapToObj(i -> probe.processAsync(f -> f.addSimpleInputSource(source)))
+				.toList();
+		final var loaded = results.stream()
+				.map(r -> r.join().getResult())
+				.toList();
+
+		assertEquals(4, loaded.stream().distinct().count());
+		loaded.forEach(r -> assertEquals(288, r.getVideoStreams().findFirst().get().height()));
+	}
+
 }
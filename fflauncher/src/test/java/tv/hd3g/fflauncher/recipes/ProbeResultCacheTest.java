@@ -0,0 +1,266 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.recipes;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobeResultCSV;
+import tv.hd3g.fflauncher.ffprobecontainer.FFprobeResultCodec;
+import tv.hd3g.ffprobejaxb.FFprobeJAXB;
+import tv.hd3g.processlauncher.processingtool.ProcessingToolResult;
+
+class ProbeResultCacheTest {
+
+	static final String PROBE_XML = """
+			<?xml version="1.0" encoding="UTF-8"?>
+			<ffprobe>
+			    <format filename="source.mov" nb_streams="0" nb_programs="0" format_name="mov" start_time="0.000000" duration="60.000000" size="1000" bit_rate="133" probe_score="100"/>
+			</ffprobe>
+			""";
+	static final String CSV = """
+			packet,video,0,1738737,57.957900,1738737,57.957900,1001,0.033367,75214,84623027,__
+			frame,video,0,0,1738737,57.957900,1738737,57.957900,1738737,57.957900,1001,0.033367,84623027,75214,3840,2160,yuv420p,1:1,P,0,0,0,tv,bt709,bt709,bt709
+			""";
+
+	@TempDir
+	Path cacheDir;
+	@TempDir
+	Path sourceDir;
+
+	@Mock
+	ProbeMedia probeMedia;
+	@Mock
+	ContainerAnalyserProcess containerAnalyserProcess;
+	@Mock
+	ProcessingToolResult<?, ?, ?, ?> toolResult;
+
+	File source;
+	FFprobeJAXB probe;
+	ContainerAnalyserProcessResult analyse;
+	ProbeResultCache cache;
+
+	@BeforeEach
+	void init() throws Exception {
+		openMocks(this).close();
+		source = sourceDir.resolve("source0.mov").toFile();
+		Files.writeString(source.toPath(), "content");
+		probe = FFprobeJAXB.load(PROBE_XML);
+
+		final var parser = new FFprobeResultCSV();
+		parser.onProcessStart(IOUtils.toInputStream(CSV, UTF_8), null);
+		analyse = parser.getResult("ffprobe -i source.mov");
+
+		cache = new ProbeResultCache(cacheDir, 1_000_000, "test-version");
+	}
+
+	@AfterEach
+	void end() {
+		verifyNoMoreInteractions(probeMedia, containerAnalyserProcess, toolResult);
+	}
+
+	@Test
+	void testInvalidParams() {
+		assertThrows(IllegalArgumentException.class, () -> new ProbeResultCache(cacheDir, 0, "v"));
+		final var file = sourceDir.resolve("notExists").toFile();
+		assertThrows(UncheckedIOException.class, () -> cache.getProbe(file));
+	}
+
+	@Test
+	void testProbe() {
+		assertTrue(cache.getProbe(source).isEmpty());
+		cache.putProbe(source, probe);
+
+		assertSame(probe, cache.getProbe(source).get());
+		final var loaded = new ProbeResultCache(cacheDir, 1_000_000, "test-version").getProbe(source);
+		assertNull(loaded.get().getXmlContent());
+		assertEquals(probe.getFormat(), loaded.get().getFormat());
+		assertEquals(probe.getDuration(), loaded.get().getDuration());
+		assertEquals(probe.getMediaSummary(), loaded.get().getMediaSummary());
+
+		assertTrue(new ProbeResultCache(cacheDir, 1_000_000, "other-version").getProbe(source).isEmpty());
+	}
+
+	@Test
+	void testProbe_noXmlContent() throws IOException {
+		final var noXmlProbe = FFprobeJAXB.load(IOUtils.toInputStream(PROBE_XML, UTF_8), false);
+		cache.putProbe(source, noXmlProbe);
+		assertTrue(cache.getSize() > 0);
+		assertEquals(probe.getFormat(),
+				new ProbeResultCache(cacheDir, 1_000_000, "test-version").getProbe(source).get().getFormat());
+	}
+
+	@Test
+	void testContainerAnalyse() {
+		assertTrue(cache.getContainerAnalyse(source).isEmpty());
+		cache.putContainerAnalyse(source, analyse);
+
+		assertEquals(Optional.ofNullable(analyse), cache.getContainerAnalyse(source));
+		assertEquals(Optional.ofNullable(analyse),
+				new ProbeResultCache(cacheDir, 1_000_000, "test-version").getContainerAnalyse(source));
+		assertTrue(cache.getSize() > 0);
+	}
+
+	@Test
+	void testSourceUpdated() throws IOException {
+		cache.putContainerAnalyse(source, analyse);
+		Files.setLastModifiedTime(source.toPath(), FileTime.fromMillis(source.lastModified() + 10_000));
+		assertTrue(cache.getContainerAnalyse(source).isEmpty());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	void testProbeWithFactory() {
+		when(probeMedia.process(source)).thenReturn((ProcessingToolResult) toolResult);
+		when(toolResult.getResult()).thenReturn(probe);
+
+		assertSame(probe, cache.probe(source, () -> probeMedia));
+		assertSame(probe, cache.probe(source, () -> probeMedia));
+
+		verify(probeMedia, times(1)).process(source);
+		verify(toolResult, times(1)).getResult();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	void testAnalyseWithFactory() {
+		when(containerAnalyserProcess.process(source)).thenReturn((ProcessingToolResult) toolResult);
+		when(toolResult.getResult()).thenReturn(analyse);
+
+		assertSame(analyse, cache.analyse(source, () -> containerAnalyserProcess));
+		assertEquals(analyse, cache.analyse(source, () -> containerAnalyserProcess));
+
+		verify(containerAnalyserProcess, times(1)).process(source);
+		verify(toolResult, times(1)).getResult();
+	}
+
+	@Test
+	void testEviction() throws IOException {
+		cache.putContainerAnalyse(source, analyse);
+		final var entrySize = cache.getSize();
+		cache = new ProbeResultCache(cacheDir, entrySize * 2, "test-version");
+
+		final var sources = List.of(
+				sourceDir.resolve("source1.mov").toFile(),
+				sourceDir.resolve("source2.mov").toFile());
+		for (final var s : sources) {
+			Files.writeString(s.toPath(), "content");
+		}
+
+		cache.putContainerAnalyse(sources.get(0), analyse);
+		assertTrue(cache.getContainerAnalyse(source).isPresent());
+		cache.putContainerAnalyse(sources.get(1), analyse);
+
+		assertTrue(cache.getContainerAnalyse(source).isPresent());
+		assertFalse(cache.getContainerAnalyse(sources.get(0)).isPresent());
+		assertTrue(cache.getContainerAnalyse(sources.get(1)).isPresent());
+		assertEquals(entrySize * 2, cache.getSize());
+	}
+
+	@Test
+	void testEviction_onOpen() throws IOException {
+		cache.putContainerAnalyse(source, analyse);
+		cache.putProbe(source, probe);
+		cache = new ProbeResultCache(cacheDir, 1, "test-version");
+		assertEquals(0, cache.getSize());
+		assertTrue(cache.getContainerAnalyse(source).isEmpty());
+	}
+
+	@Test
+	void testInvalidEntry() throws IOException {
+		cache.putContainerAnalyse(source, analyse);
+		try (var entries = Files.list(cacheDir)) {
+			final var entry = entries.findFirst().get();
+			final var content = Files.readAllBytes(entry);
+			Files.write(entry, Arrays.copyOf(content, content.length - 20));
+		}
+		assertTrue(cache.getContainerAnalyse(source).isEmpty());
+		try (var entries = Files.list(cacheDir)) {
+			assertEquals(0, entries.count());
+		}
+		assertEquals(0, cache.getSize());
+	}
+
+	@Test
+	void testInvalidEntry_codecType() throws IOException {
+		cache.putContainerAnalyse(source, analyse);
+		final var encoded = new ByteArrayOutputStream();
+		try (var out = new DataOutputStream(encoded)) {
+			FFprobeResultCodec.write(analyse, out);
+		}
+		try (var entries = Files.list(cacheDir)) {
+			final var entry = entries.findFirst().get();
+			final var content = Files.readAllBytes(entry);
+			content[content.length - encoded.size() + 4] = -1;
+			Files.write(entry, content);
+		}
+		assertTrue(cache.getContainerAnalyse(source).isEmpty());
+		try (var entries = Files.list(cacheDir)) {
+			assertEquals(0, entries.count());
+		}
+		assertEquals(0, cache.getSize());
+	}
+
+	@Test
+	void testTouch_throttled() throws IOException {
+		cache.putProbe(source, probe);
+		final Path entry;
+		try (var entries = Files.list(cacheDir)) {
+			entry = entries.findFirst().get();
+		}
+		final var old = FileTime.fromMillis(0);
+
+		Files.setLastModifiedTime(entry, old);
+		assertSame(probe, cache.getProbe(source).get());
+		assertNotEquals(old, Files.getLastModifiedTime(entry));
+
+		Files.setLastModifiedTime(entry, old);
+		assertSame(probe, cache.getProbe(source).get());
+		assertEquals(old, Files.getLastModifiedTime(entry));
+	}
+
+}
@@ -0,0 +1,66 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.replay;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tv.hd3g.processlauncher.cmdline.ExecutableFinder;
+
+class FFReplayExecutableTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void testCreate() throws IOException {
+		final var transcript = dir.resolve("it's a transcript.txt");
+		final var executable = FFReplayExecutable.create(dir, "ffprobe", transcript, 0.5);
+
+		assertEquals(dir.resolve("ffprobe").toFile(), executable);
+		assertTrue(executable.canExecute());
+		final var script = Files.readString(executable.toPath());
+		assertTrue(script.startsWith("#!/bin/sh\nexec "));
+		assertTrue(script.contains(" -D" + FFReplay.TIME_SCALE_PROPERTY + "=0.5 " + FFReplay.class.getName() + " "));
+		assertTrue(script.contains("/it'\\''s a transcript.txt'"));
+		assertTrue(script.strip().endsWith("\"$@\""));
+	}
+
+	@Test
+	void testCreate_invalidTimeScale() {
+		final var transcript = dir.resolve("transcript.txt");
+		assertThrows(IllegalArgumentException.class,
+				() -> FFReplayExecutable.create(dir, "ffmpeg", transcript, -1));
+	}
+
+	@Test
+	void testRegister() throws IOException {
+		final var executableFinder = new ExecutableFinder();
+		final var executable = FFReplayExecutable.register(
+				executableFinder, dir, "ffmpeg", dir.resolve("transcript.txt"), 1);
+		assertEquals(executable, executableFinder.get("ffmpeg"));
+	}
+
+}
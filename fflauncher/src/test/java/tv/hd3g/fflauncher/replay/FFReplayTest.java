@@ -0,0 +1,121 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.replay;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static tv.hd3g.fflauncher.progress.ProgressListenerSession.LOCALHOST_IPV4;
+import static tv.hd3g.fflauncher.replay.FFTranscript.EventType.ERR;
+import static tv.hd3g.fflauncher.replay.FFTranscript.EventType.OUT;
+import static tv.hd3g.fflauncher.replay.FFTranscript.EventType.PROGRESS;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import tv.hd3g.fflauncher.replay.FFTranscript.Event;
+
+class FFReplayTest {
+
+	ByteArrayOutputStream stdOut;
+	ByteArrayOutputStream stdErr;
+	FFTranscript transcript;
+
+	@BeforeEach
+	void init() {
+		stdOut = new ByteArrayOutputStream();
+		stdErr = new ByteArrayOutputStream();
+		transcript = new FFTranscript(List.of(
+				new Event(0, ERR, "start\n".getBytes(UTF_8)),
+				new Event(0, OUT, "out1".getBytes(UTF_8)),
+				new Event(100, PROGRESS, "frame=1\nprogress=continue\n".getBytes(UTF_8)),
+				new Event(150, OUT, "out2".getBytes(UTF_8)),
+				new Event(200, PROGRESS, "frame=2\nprogress=end\n".getBytes(UTF_8)),
+				Event.exit(200, 5)));
+	}
+
+	@Test
+	void testReplay() throws Exception {
+		final var start = System.currentTimeMillis();
+		assertEquals(5, FFReplay.replay(transcript, List.of("-i", "source"), stdOut, stdErr, 1));
+		assertTrue(System.currentTimeMillis() - start >= 200);
+		assertEquals("out1out2", stdOut.toString(UTF_8));
+		assertEquals("start\n", stdErr.toString(UTF_8));
+	}
+
+	@Test
+	void testReplay_noWait() throws Exception {
+		final var start = System.currentTimeMillis();
+		assertEquals(5, FFReplay.replay(transcript, List.of(), stdOut, stdErr, 0));
+		assertTrue(System.currentTimeMillis() - start < 200);
+		assertEquals("out1out2", stdOut.toString(UTF_8));
+	}
+
+	@Test
+	void testReplay_invalidTimeScale() {
+		assertThrows(IllegalArgumentException.class,
+				() -> FFReplay.replay(transcript, List.of(), stdOut, stdErr, -1));
+	}
+
+	@Test
+	void testReplay_progress() throws Exception {
+		try (var server = new ServerSocket(0, 1, InetAddress.getByName(LOCALHOST_IPV4))) {
+			final var received = CompletableFuture.supplyAsync(() -> {
+				try (var client = server.accept()) {
+					return new String(client.getInputStream().readAllBytes(), UTF_8);
+				} catch (final IOException e) {
+					throw new IllegalStateException(e);
+				}
+			});
+			final var args = List.of("-progress", "tcp://" + LOCALHOST_IPV4 + ":" + server.getLocalPort(), "-i", "s");
+			assertEquals(5, FFReplay.replay(transcript, args, stdOut, stdErr, 0));
+			assertEquals("frame=1\nprogress=continue\nframe=2\nprogress=end\n", received.get());
+		}
+	}
+
+	@Test
+	void testReplay_progressCantConnect() throws Exception {
+		final int port;
+		try (var server = new ServerSocket(0, 1, InetAddress.getByName(LOCALHOST_IPV4))) {
+			port = server.getLocalPort();
+		}
+		final var args = List.of("-progress", "tcp://" + LOCALHOST_IPV4 + ":" + port);
+		assertEquals(1, FFReplay.replay(transcript, args, stdOut, stdErr, 0));
+		assertEquals(0, stdOut.size());
+		assertTrue(stdErr.toString(UTF_8).startsWith("Connection to "));
+	}
+
+	@Test
+	void testGetProgressUrl() {
+		assertEquals(URI.create("tcp://127.0.0.1:1234"),
+				FFReplay.getProgressUrl(List.of("-y", "-progress", "tcp://127.0.0.1:1234", "-i", "s")));
+		assertNull(FFReplay.getProgressUrl(List.of("-progress", "pipe:1")));
+		assertNull(FFReplay.getProgressUrl(List.of("-progress")));
+		assertNull(FFReplay.getProgressUrl(List.of("-i", "s")));
+	}
+
+}
@@ -0,0 +1,160 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.replay;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static tv.hd3g.fflauncher.replay.FFTranscript.EventType.ERR;
+import static tv.hd3g.fflauncher.replay.FFTranscript.EventType.EXIT;
+import static tv.hd3g.fflauncher.replay.FFTranscript.EventType.OUT;
+import static tv.hd3g.fflauncher.replay.FFTranscript.EventType.PROGRESS;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tv.hd3g.fflauncher.progress.ProgressBlock;
+import tv.hd3g.fflauncher.progress.ProgressCallback;
+import tv.hd3g.fflauncher.progress.ProgressListener;
+import tv.hd3g.fflauncher.replay.FFTranscript.Event;
+import tv.hd3g.fflauncher.replay.FFTranscript.EventType;
+import tv.hd3g.processlauncher.CapturedStdOutErrTextRetention;
+import tv.hd3g.processlauncher.CapturedStreams;
+import tv.hd3g.processlauncher.ProcesslauncherBuilder;
+import tv.hd3g.processlauncher.cmdline.CommandLine;
+import tv.hd3g.processlauncher.cmdline.ExecutableFinder;
+import tv.hd3g.processlauncher.cmdline.Parameters;
+
+/**
+ * Record a FFReplay run, with FFReplayExecutable as ffmpeg.
+ */
+class FFTranscriptRecorderTest {
+
+	@TempDir
+	Path dir;
+
+	FFTranscript source;
+	ExecutableFinder executableFinder;
+	FFTranscriptRecorder recorder;
+	CapturedStdOutErrTextRetention textRetention;
+
+	@BeforeEach
+	void init() throws IOException {
+		source = new FFTranscript(List.of(
+				new Event(0, ERR, "ffmpeg version N\n".getBytes(UTF_8)),
+				new Event(10, OUT, "line1\n".getBytes(UTF_8)),
+				new Event(100, PROGRESS, "frame=1\nprogress=continue\n".getBytes(UTF_8)),
+				new Event(200, PROGRESS, "frame=2\nprogress=end\n".getBytes(UTF_8)),
+				new Event(210, OUT, "line2\n".getBytes(UTF_8)),
+				Event.exit(220, 0)));
+		final var sourceFile = dir.resolve("source.txt");
+		source.write(sourceFile);
+
+		executableFinder = new ExecutableFinder();
+		FFReplayExecutable.register(executableFinder, dir, "ffmpeg", sourceFile, 0.5);
+		recorder = new FFTranscriptRecorder(dir.resolve("recorded.txt"));
+		textRetention = new CapturedStdOutErrTextRetention();
+	}
+
+	private FFTranscript recordRun(final Parameters parameters) throws Exception {
+		return recordRun(parameters, CapturedStreams.BOTH_STDOUT_STDERR);
+	}
+
+	private FFTranscript recordRun(final Parameters parameters, final CapturedStreams capturedStreams) throws Exception {
+		recorder.prepareParameters(parameters);
+		final var builder = new ProcesslauncherBuilder(new CommandLine("ffmpeg", parameters, executableFinder));
+		builder.addExecutionCallbacker(recorder);
+		builder.getSetCaptureStandardOutputAsOutputText(capturedStreams).addObserver(textRetention);
+		builder.start().waitForEnd();
+		return FFTranscript.read(recorder.getTranscript().get(10, SECONDS));
+	}
+
+	private static byte[] concat(final FFTranscript transcript, final EventType type) {
+		final var result = new ByteArrayOutputStream();
+		transcript.events().stream()
+				.filter(event -> event.type() == type)
+				.forEach(event -> result.writeBytes(event.data()));
+		return result.toByteArray();
+	}
+
+	@Test
+	void testRecord() throws Exception {
+		final var progressBlocks = new AtomicInteger();
+		final var progressEnd = new CompletableFuture<Void>();
+		final var session = new ProgressListener().createSession(new ProgressCallback() {
+
+			@Override
+			public void onProgress(final int localhostTcpPort, final ProgressBlock progressBlock) {
+				progressBlocks.incrementAndGet();
+			}
+
+			@Override
+			public void onEndProgress(final int localhostTcpPort) {
+				progressEnd.complete(null);
+			}
+		}, Duration.ofSeconds(1));
+		final var progressUrl = "tcp://127.0.0.1:" + session.start();
+		final var parameters = Parameters.of("-progress", progressUrl, "-i", "source");
+
+		final var recorded = recordRun(parameters);
+		assertNotEquals(progressUrl, parameters.getValues("-progress").get(0));
+
+		progressEnd.get(10, SECONDS);
+		assertTrue(progressBlocks.get() > 0);
+		for (final var type : List.of(OUT, ERR, PROGRESS)) {
+			assertArrayEquals(concat(source, type), concat(recorded, type), type.name());
+		}
+		assertEquals(0, recorded.getExitCode());
+		assertEquals(EXIT, recorded.events().get(recorded.events().size() - 1).type());
+		assertTrue(recorded.events().get(recorded.events().size() - 1).elapsedMillis() >= 100);
+		assertEquals("line1|line2", textRetention.getStdout(false, "|"));
+	}
+
+	@Test
+	void testRecord_noProgress() throws Exception {
+		final var parameters = Parameters.of("-i", "source");
+		final var recorded = recordRun(parameters);
+
+		assertEquals(List.of("-i", "source"), parameters.getParameters());
+		assertEquals(0, concat(recorded, PROGRESS).length);
+		assertArrayEquals(concat(source, OUT), concat(recorded, OUT));
+		assertArrayEquals(concat(source, ERR), concat(recorded, ERR));
+	}
+
+	@Test
+	void testRecord_onlyStdout() throws Exception {
+		final var recorded = recordRun(Parameters.of("-i", "source"), CapturedStreams.ONLY_STDOUT);
+
+		assertArrayEquals(concat(source, OUT), concat(recorded, OUT));
+		assertEquals(0, concat(recorded, ERR).length);
+		assertEquals(0, recorded.getExitCode());
+		assertEquals("line1|line2", textRetention.getStdout(false, "|"));
+	}
+
+}
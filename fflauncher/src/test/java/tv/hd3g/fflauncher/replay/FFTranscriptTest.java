@@ -0,0 +1,97 @@
+/*
+ * This file is part of fflauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.fflauncher.replay;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static tv.hd3g.fflauncher.replay.FFTranscript.EventType.ERR;
+import static tv.hd3g.fflauncher.replay.FFTranscript.EventType.OUT;
+import static tv.hd3g.fflauncher.replay.FFTranscript.EventType.PROGRESS;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tv.hd3g.fflauncher.replay.FFTranscript.Event;
+
+class FFTranscriptTest {
+
+	@TempDir
+	Path dir;
+
+	Path file;
+	FFTranscript transcript;
+
+	@BeforeEach
+	void init() {
+		file = dir.resolve("transcript.txt");
+		transcript = new FFTranscript(List.of(
+				new Event(0, ERR, "ffmpeg version\n".getBytes(UTF_8)),
+				new Event(10, OUT, new byte[] { 0, -1, 127, -128 }),
+				new Event(20, PROGRESS, "frame=1\nprogress=end\n".getBytes(UTF_8)),
+				Event.exit(30, 3)));
+	}
+
+	@Test
+	void testWriteRead() throws IOException {
+		transcript.write(file);
+		assertEquals(FFTranscript.HEADER, Files.readAllLines(file).get(0));
+		assertEquals(transcript, FFTranscript.read(file));
+	}
+
+	@Test
+	void testGetExitCode() {
+		assertEquals(3, transcript.getExitCode());
+		assertEquals(0, new FFTranscript(List.of()).getExitCode());
+	}
+
+	@Test
+	void testRead_commentsEmptyData() throws IOException {
+		Files.writeString(file, FFTranscript.HEADER + "\n# comment\n\n5 OUT\n");
+		assertEquals(new FFTranscript(List.of(new Event(5, OUT, new byte[0]))), FFTranscript.read(file));
+	}
+
+	@Test
+	void testRead_invalid() throws IOException {
+		Files.writeString(file, "nope\n");
+		assertThrows(IOException.class, () -> FFTranscript.read(file));
+
+		Files.writeString(file, FFTranscript.HEADER + "\n5 NOPE AAAA\n");
+		assertThrows(IOException.class, () -> FFTranscript.read(file));
+
+		Files.writeString(file, FFTranscript.HEADER + "\n5\n");
+		assertThrows(IOException.class, () -> FFTranscript.read(file));
+	}
+
+	@Test
+	void testEvent() {
+		final var data = new byte[0];
+		assertThrows(IllegalArgumentException.class, () -> new Event(-1, OUT, data));
+		assertThrows(NullPointerException.class, () -> new Event(0, null, data));
+		assertEquals(new Event(0, OUT, new byte[] { 1 }).hashCode(), new Event(0, OUT, new byte[] { 1 }).hashCode());
+		assertNotEquals(new Event(0, OUT, new byte[] { 1 }), new Event(0, OUT, new byte[] { 2 }));
+		assertEquals("0 OUT (1 bytes)", new Event(0, OUT, new byte[] { 1 }).toString());
+	}
+
+}
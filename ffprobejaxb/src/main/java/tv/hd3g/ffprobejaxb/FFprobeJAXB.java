@@ -16,14 +16,20 @@
  */
 package tv.hd3g.ffprobejaxb;
 
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import org.w3c.dom.Node;
@@ -31,6 +37,7 @@ import org.w3c.dom.Node;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.ValidationEvent;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,6 +49,8 @@ public abstract class FFprobeJAXB implements FFprobeReference {
 	private static final Logger log = LoggerFactory.getLogger(FFprobeJAXB.class);
 
 	private static final String LOADED_XML = "Loaded XML: {}";
+	static final String NOT_A_FFPROBE_XML = "Not a ffprobe XML document, root element is \"";
+
 	private final String xmlContent;
 
 	protected FFprobeJAXB(final String xmlContent) {
@@ -55,6 +64,9 @@ public abstract class FFprobeJAXB implements FFprobeReference {
 
 	protected abstract void setJAXB(final Object rawJAXB);
 
+	/**
+	 * Load from a DOM, build from xmlContent. The XSD version is guessed from the DOM before unmarshal.
+	 */
 	public static FFprobeJAXB load(final String xmlContent) {
 		Node document;
 		try {
@@ -82,26 +94,124 @@ public abstract class FFprobeJAXB implements FFprobeReference {
 			throw new UncheckedIOException(new IOException("Can't load XML content", e));
 		}
 
+		final var rootName = UnmarshallerTools.getRootElementName(document).orElse("");
+		if (FFprobeXSDVersion.ROOT_ELEMENT_NAME.equals(rootName) == false) {
+			log.debug(LOADED_XML, xmlContent);
+			throw new IllegalArgumentException(NOT_A_FFPROBE_XML + rootName + "\"");
+		}
+
+		final var xsdVersionsToTry = Stream.concat(
+				FFprobeXSDVersion.guessFromDocument(document).stream(),
+				Stream.of(FFprobeXSDVersion.values()))
+				.distinct()
+				.toList();
+
+		return load(xsdVersionsToTry,
+				(xsdVersion, handler) -> UnmarshallerTools.unmarshal(
+						xsdVersion.getContext(),
+						document,
+						handler,
+						xsdVersion.getClassJAXB()),
+				() -> xmlContent);
+	}
+
+	/**
+	 * Streamed load, without String or DOM. The XML is read only one time (and this stream will be read until its end).
+	 * The XSD version is sniffed from the first tag element (see FFprobeXSDVersion.guessFromElementName), with a StAX read
+	 * kept in memory up to this element, then the XML is unmarshalled with StAX and this XSD version only.
+	 * Without tag element, the full XML is kept by the sniff, and the XSD versions are tried in turn.
+	 * The loaded XSD version is returned by the result, with getXSDVersionReference().
+	 * @param xmlContent like a ffprobe process stdout. Not closed here.
+	 * @param keepXmlContent if true, the read XML is copied for getXmlContent(). If false, getXmlContent() will return null.
+	 */
+	public static FFprobeJAXB load(final InputStream xmlContent, final boolean keepXmlContent) {
+		return load(RecordedXMLSource.of(xmlContent, keepXmlContent));
+	}
+
+	/**
+	 * Streamed load, without DOM.
+	 * @param xmlContent not closed here
+	 * @see FFprobeJAXB#load(InputStream, boolean)
+	 */
+	public static FFprobeJAXB load(final Reader xmlContent, final boolean keepXmlContent) {
+		return load(RecordedXMLSource.of(xmlContent, keepXmlContent));
+	}
+
+	private static FFprobeJAXB load(final RecordedXMLSource source) {
+		final List<FFprobeXSDVersion> xsdVersionsToTry;
+		try {
+			xsdVersionsToTry = sniffXSDVersion(source)
+					.map(List::of)
+					.orElseGet(() -> List.of(FFprobeXSDVersion.values()));
+		} catch (final XMLStreamException e) {
+			throw new UncheckedIOException(new IOException("Can't load XML content", e));
+		}
+
+		return load(xsdVersionsToTry,
+				(xsdVersion, handler) -> {
+					try {
+						final var reader = source.createXMLStreamReader();
+						try {
+							reader.nextTag();
+							return UnmarshallerTools.unmarshal(
+									xsdVersion.getContext(),
+									reader,
+									handler,
+									xsdVersion.getClassJAXB());
+						} finally {
+							reader.close();
+							source.readToEnd();
+						}
+					} catch (XMLStreamException | IOException e) {
+						throw new UncheckedIOException(new IOException("Can't load XML content", e));
+					}
+				},
+				source::getRecordedContent);
+	}
+
+	/**
+	 * Check the root element, and read up to the first tag element.
+	 * @return empty if the document don't contain any tag element
+	 */
+	private static Optional<FFprobeXSDVersion> sniffXSDVersion(final RecordedXMLSource source) throws XMLStreamException {
+		final var reader = source.createSniffXMLStreamReader();
+		try {
+			reader.nextTag();
+			if (FFprobeXSDVersion.ROOT_ELEMENT_NAME.equals(reader.getLocalName()) == false) {
+				throw new IllegalArgumentException(NOT_A_FFPROBE_XML + reader.getLocalName() + "\"");
+			}
+			while (reader.hasNext()) {
+				if (reader.next() == START_ELEMENT) {
+					final var xsdVersion = FFprobeXSDVersion.guessFromElementName(reader.getLocalName());
+					if (xsdVersion != null) {
+						return Optional.ofNullable(xsdVersion);
+					}
+				}
+			}
+			return Optional.empty();
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Stop on the first xsdVersionsToTry unmarshalled without validation events.
+	 */
+	private static FFprobeJAXB load(final List<FFprobeXSDVersion> xsdVersionsToTry,
+									final XSDVersionUnmarshaller unmarshaller,
+									final Supplier<String> xmlContent) {
 		final Map<FFprobeXSDVersion, List<ValidationEvent>> eventsByXSDVersion = new EnumMap<>(FFprobeXSDVersion.class);
 		JAXBException lastJAXBException = null;
-		List<ValidationEvent> lastEvents;
-		FFprobeJAXB jaxbReference = null;
-		for (final var xsdVersion : FFprobeXSDVersion.values()) {
+		for (final var xsdVersion : xsdVersionsToTry) {
 			final var events = new ConcurrentLinkedQueue<ValidationEvent>();
 
 			try {
 				log.debug("Try to load JAXB {}", xsdVersion.name());
-				final var ffRef = UnmarshallerTools.unmarshal(
-						xsdVersion.createInstance(),
-						document,
-						events::add,
-						xsdVersion.getClassJAXB());
-
-				lastEvents = events.stream().toList();
-				eventsByXSDVersion.put(xsdVersion, lastEvents);
+				final var ffRef = unmarshaller.unmarshal(xsdVersion, events::add);
+				eventsByXSDVersion.put(xsdVersion, events.stream().toList());
 
 				if (events.isEmpty()) {
-					jaxbReference = xsdVersion.make(xmlContent, ffRef);
+					return xsdVersion.make(xmlContent.get(), ffRef);
 				}
 			} catch (final JAXBException e) {
 				log.debug("Can't load JAXB", e);
@@ -109,31 +219,33 @@ public abstract class FFprobeJAXB implements FFprobeReference {
 			}
 		}
 
-		if (jaxbReference == null) {
-			if (lastJAXBException != null) {
-				throw new UncheckedIOException(new IOException(lastJAXBException));
-			}
-
-			eventsByXSDVersion.getOrDefault(FFprobeXSDVersion.values()[0], List.of())
-					.forEach(e -> {
-						final var locator = e.getLocator();
-						log.error(
-								"JAXB {} says: {} [s{}] at line {}, column {} offset {} node: {}, object {}",
-								FFprobeXSDVersion.values()[0].name(),
-								e.getMessage(),
-								e.getSeverity(),
-								locator.getLineNumber(),
-								locator.getColumnNumber(),
-								locator.getOffset(),
-								locator.getNode(),
-								locator.getObject(),
-								e.getLinkedException());
-					});
-			throw new IllegalArgumentException(
-					"Can't properly load ffprobe JAXB. You should update ffprobe.xsd ref and/or check XML document");
+		if (lastJAXBException != null) {
+			throw new UncheckedIOException(new IOException(lastJAXBException));
 		}
 
-		return jaxbReference;
+		final var firstTriedVersion = xsdVersionsToTry.get(0);
+		throw cantLoad(firstTriedVersion, eventsByXSDVersion.getOrDefault(firstTriedVersion, List.of()));
+	}
+
+	private static IllegalArgumentException cantLoad(final FFprobeXSDVersion firstTriedVersion,
+													 final List<ValidationEvent> firstTriedEvents) {
+		firstTriedEvents
+				.forEach(e -> {
+					final var locator = e.getLocator();
+					log.error(
+							"JAXB {} says: {} [s{}] at line {}, column {} offset {} node: {}, object {}",
+							firstTriedVersion.name(),
+							e.getMessage(),
+							e.getSeverity(),
+							locator.getLineNumber(),
+							locator.getColumnNumber(),
+							locator.getOffset(),
+							locator.getNode(),
+							locator.getObject(),
+							e.getLinkedException());
+				});
+		return new IllegalArgumentException(
+				"Can't properly load ffprobe JAXB. You should update ffprobe.xsd ref and/or check XML document");
 	}
 
 	@SuppressWarnings("unchecked")
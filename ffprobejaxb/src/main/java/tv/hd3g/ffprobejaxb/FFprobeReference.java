@@ -38,6 +38,9 @@ public interface FFprobeReference {
 
 	List<FFProbeStream> getStreams();
 
+	/**
+	 * @return null if loaded from a stream without keepXmlContent
+	 */
 	String getXmlContent();
 
 	String getXSDVersionReference();
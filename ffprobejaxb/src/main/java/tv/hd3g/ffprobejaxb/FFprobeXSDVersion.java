@@ -16,32 +16,94 @@
  */
 package tv.hd3g.ffprobejaxb;
 
+import static java.util.stream.Collectors.toUnmodifiableSet;
+
+import java.util.Optional;
 import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.w3c.dom.Node;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 
 public enum FFprobeXSDVersion {
 
-	V700("org.ffmpeg.ffprobe700", org.ffmpeg.ffprobe700.FfprobeType.class, FFprobeJAXB700::new),
-	V436("org.ffmpeg.ffprobe436", org.ffmpeg.ffprobe436.FfprobeType.class, FFprobeJAXB436::new);
+	V700("org.ffmpeg.ffprobe700", org.ffmpeg.ffprobe700.FfprobeType.class, FFprobeJAXB700::new, "tags"),
+	V436("org.ffmpeg.ffprobe436", org.ffmpeg.ffprobe436.FfprobeType.class, FFprobeJAXB436::new, "tag");
+
+	static final String ROOT_ELEMENT_NAME = "ffprobe";
+	private static final FFprobeXSDVersion[] VALUES = values();
 
 	private final String contextPath;
 	private final Function<String, FFprobeJAXB> makeJAXBRef;
 	private final Class<?> classJAXB;
+	private final String firstTagElementName;
+	private volatile JAXBContext context;// NOSONAR S3077
 
 	FFprobeXSDVersion(final String contextPath,
 					  final Class<?> classJAXB,
-					  final Function<String, FFprobeJAXB> makeJAXBRef) {
+					  final Function<String, FFprobeJAXB> makeJAXBRef,
+					  final String firstTagElementName) {
 		this.contextPath = contextPath;
 		this.classJAXB = classJAXB;
 		this.makeJAXBRef = makeJAXBRef;
+		this.firstTagElementName = firstTagElementName;
 	}
 
+	/**
+	 * @return always a new JAXBContext, slow to build. Prefer getContext().
+	 */
 	public JAXBContext createInstance() throws JAXBException {
 		return JAXBContext.newInstance(contextPath);
 	}
 
+	/**
+	 * @return a lazy created, thread safe and shared JAXBContext for this version.
+	 */
+	public JAXBContext getContext() throws JAXBException {
+		var result = context;
+		if (result == null) {
+			synchronized (this) {
+				result = context;
+				if (result == null) {
+					result = createInstance();
+					context = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Cheap version detection, before any unmarshal: ffprobe 6.1+ put the tag entries in a "tags" element,
+	 * older ffprobe put "tag" elements directly in stream/format/program/chapter.
+	 * The ffprobe program_version can't be used for this: it's frequently a git describe.
+	 * @return empty if the document don't contain any tag, or if no version match.
+	 */
+	static Optional<FFprobeXSDVersion> guessFromDocument(final Node document) {
+		final var tagElementNames = Stream.of(values())
+				.map(v -> v.firstTagElementName)
+				.collect(toUnmodifiableSet());
+		return UnmarshallerTools.findFirstElementName(document, tagElementNames)
+				.flatMap(name -> Stream.of(values())
+						.filter(v -> v.firstTagElementName.equals(name))
+						.findFirst());
+	}
+
+	/**
+	 * Same detection as guessFromDocument, for a single read element (like during a StAX read).
+	 * @return null if this element name don't tell the version
+	 */
+	static FFprobeXSDVersion guessFromElementName(final String elementName) {
+		for (final var version : VALUES) {
+			if (version.firstTagElementName.equals(elementName)) {
+				return version;
+			}
+		}
+		return null;
+	}
+
 	public FFprobeJAXB make(final String xmlContent, final Object rawJAXB) {
 		final var result = makeJAXBRef.apply(xmlContent);
 		result.setJAXB(rawJAXB);
@@ -0,0 +1,253 @@
+/*
+ * This file is part of ffprobejaxb.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.ffprobejaxb;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.CharArrayWriter;
+import java.io.FilterInputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.io.Writer;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * A live XML source (like a process stdout), read only one time.
+ * The start of the XML is read a first time to sniff the XSD version (createSniffXMLStreamReader): this read head is
+ * kept, and replayed before the rest of the live source by createXMLStreamReader.
+ * The full XML is recorded only if asked. Not thread safe.
+ */
+abstract class RecordedXMLSource {
+
+	private static final XMLInputFactory xmlInputFactory;
+
+	static {
+		xmlInputFactory = XMLInputFactory.newFactory();// NOSONAR S2755
+		xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+	}
+
+	protected final boolean record;
+	/**
+	 * True until the first createXMLStreamReader call
+	 */
+	private boolean sniffing = true;
+
+	protected RecordedXMLSource(final boolean record) {
+		this.record = record;
+	}
+
+	static RecordedXMLSource of(final InputStream source, final boolean record) {
+		return new RecordedInputStream(requireNonNull(source, "\"source\" can't to be null"), record);
+	}
+
+	static RecordedXMLSource of(final Reader source, final boolean record) {
+		return new RecordedReader(requireNonNull(source, "\"source\" can't to be null"), record);
+	}
+
+	/**
+	 * Read the live source, and keep the read head. Only before any createXMLStreamReader call.
+	 */
+	XMLStreamReader createSniffXMLStreamReader() throws XMLStreamException {
+		if (sniffing == false) {
+			throw new IllegalStateException("Can't sniff after a read");
+		}
+		return createSniffXMLStreamReader(xmlInputFactory);
+	}
+
+	/**
+	 * Replay the sniffed read head, then read the rest of the live source.
+	 * The next calls replay the same head: after a sniff to the document end, it's the full XML.
+	 */
+	XMLStreamReader createXMLStreamReader() throws XMLStreamException {
+		sniffing = false;
+		return createXMLStreamReader(xmlInputFactory);
+	}
+
+	protected abstract XMLStreamReader createSniffXMLStreamReader(XMLInputFactory factory) throws XMLStreamException;
+
+	protected abstract XMLStreamReader createXMLStreamReader(XMLInputFactory factory) throws XMLStreamException;
+
+	/**
+	 * Consume (and record) the rest of the live source, like trailing spaces after the XML root element end.
+	 */
+	abstract void readToEnd() throws IOException;
+
+	/**
+	 * @return null if not recorded
+	 */
+	abstract String getRecordedContent();
+
+	private static class RecordedInputStream extends RecordedXMLSource {
+		private final InputStream source;
+		private ByteArrayOutputStream recorded;
+		private byte[] head;
+
+		RecordedInputStream(final InputStream source, final boolean record) {
+			super(record);
+			recorded = new ByteArrayOutputStream(0xFFFF);
+			this.source = new FilterInputStream(source) {
+
+				@Override
+				public int read() throws IOException {
+					final var b = super.read();
+					if (b > -1 && recorded != null) {
+						recorded.write(b);
+					}
+					return b;
+				}
+
+				@Override
+				public int read(final byte[] b, final int off, final int len) throws IOException {
+					final var size = super.read(b, off, len);
+					if (size > 0 && recorded != null) {
+						recorded.write(b, off, size);
+					}
+					return size;
+				}
+
+				/**
+				 * The XML parser closes its source on the document end: the live source is not owned here.
+				 */
+				@Override
+				public void close() {
+				}
+
+			};
+		}
+
+		@Override
+		protected XMLStreamReader createSniffXMLStreamReader(final XMLInputFactory factory) throws XMLStreamException {
+			return factory.createXMLStreamReader(source);
+		}
+
+		@Override
+		protected XMLStreamReader createXMLStreamReader(final XMLInputFactory factory) throws XMLStreamException {
+			if (head == null) {
+				head = recorded.toByteArray();
+				if (record == false) {
+					recorded = null;
+				}
+			}
+			final var replay = new PushbackInputStream(source, Math.max(1, head.length));
+			try {
+				replay.unread(head);
+			} catch (final IOException e) {
+				throw new XMLStreamException("Can't replay the XML head", e);
+			}
+			return factory.createXMLStreamReader(replay);
+		}
+
+		@Override
+		void readToEnd() throws IOException {
+			source.transferTo(OutputStream.nullOutputStream());
+		}
+
+		/**
+		 * ffprobe always produce UTF-8 XML
+		 */
+		@Override
+		String getRecordedContent() {
+			if (record == false) {
+				return null;
+			}
+			return recorded.toString(UTF_8);
+		}
+	}
+
+	private static class RecordedReader extends RecordedXMLSource {
+		private final Reader source;
+		private CharArrayWriter recorded;
+		private char[] head;
+
+		RecordedReader(final Reader source, final boolean record) {
+			super(record);
+			recorded = new CharArrayWriter(0xFFFF);
+			this.source = new FilterReader(source) {
+
+				@Override
+				public int read() throws IOException {
+					final var c = super.read();
+					if (c > -1 && recorded != null) {
+						recorded.write(c);
+					}
+					return c;
+				}
+
+				@Override
+				public int read(final char[] cbuf, final int off, final int len) throws IOException {
+					final var size = super.read(cbuf, off, len);
+					if (size > 0 && recorded != null) {
+						recorded.write(cbuf, off, size);
+					}
+					return size;
+				}
+
+				@Override
+				public void close() {
+				}
+
+			};
+		}
+
+		@Override
+		protected XMLStreamReader createSniffXMLStreamReader(final XMLInputFactory factory) throws XMLStreamException {
+			return factory.createXMLStreamReader(source);
+		}
+
+		@Override
+		protected XMLStreamReader createXMLStreamReader(final XMLInputFactory factory) throws XMLStreamException {
+			if (head == null) {
+				head = recorded.toCharArray();
+				if (record == false) {
+					recorded = null;
+				}
+			}
+			final var replay = new PushbackReader(source, Math.max(1, head.length));
+			try {
+				replay.unread(head);
+			} catch (final IOException e) {
+				throw new XMLStreamException("Can't replay the XML head", e);
+			}
+			return factory.createXMLStreamReader(replay);
+		}
+
+		@Override
+		void readToEnd() throws IOException {
+			source.transferTo(Writer.nullWriter());
+		}
+
+		@Override
+		String getRecordedContent() {
+			if (record == false) {
+				return null;
+			}
+			return recorded.toString();
+		}
+	}
+
+}
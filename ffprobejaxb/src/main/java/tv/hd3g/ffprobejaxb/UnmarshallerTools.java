@@ -23,7 +23,10 @@ import static javax.xml.XMLConstants.ACCESS_EXTERNAL_SCHEMA;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.Set;
 
+import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 
 import javax.xml.bind.JAXBContext;
@@ -31,6 +34,7 @@ import javax.xml.bind.JAXBException;
 import javax.xml.bind.ValidationEventHandler;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.xml.sax.ErrorHandler;
 import org.xml.sax.SAXException;
@@ -46,6 +50,15 @@ public interface UnmarshallerTools {
 		return unmarshaller.unmarshal(document, declaredType).getValue();
 	}
 
+	static <T> T unmarshal(final JAXBContext context,
+						   final XMLStreamReader reader,
+						   final ValidationEventHandler handler,
+						   final Class<T> declaredType) throws JAXBException {
+		final var unmarshaller = context.createUnmarshaller();
+		unmarshaller.setEventHandler(handler);
+		return unmarshaller.unmarshal(reader, declaredType).getValue();
+	}
+
 	static Node parseXMLDocument(final String xmlContent,
 								 final ErrorHandler errorHandler) throws ParserConfigurationException, SAXException {
 		final var xmlDocumentBuilderFactory = DocumentBuilderFactory.newInstance();// NOSONAR
@@ -62,4 +75,43 @@ public interface UnmarshallerTools {
 		}
 	}
 
+	/**
+	 * Depth first walk, stop on the first found element.
+	 * @return the name of the first element named like one of elementNames, in document order.
+	 */
+	static Optional<String> findFirstElementName(final Node document, final Set<String> elementNames) {
+		var current = document.getFirstChild();
+		while (current != null) {
+			if (current.getNodeType() == Node.ELEMENT_NODE
+				&& elementNames.contains(current.getNodeName())) {
+				return Optional.ofNullable(current.getNodeName());
+			}
+
+			if (current.getFirstChild() != null) {
+				current = current.getFirstChild();
+				continue;
+			}
+			while (current != null
+				   && current != document
+				   && current.getNextSibling() == null) {
+				current = current.getParentNode();
+			}
+			if (current == null || current == document) {
+				break;
+			}
+			current = current.getNextSibling();
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * @return the root element name, or empty if document don't have root element
+	 */
+	static Optional<String> getRootElementName(final Node document) {
+		if (document instanceof final Document d && d.getDocumentElement() != null) {
+			return Optional.ofNullable(d.getDocumentElement().getNodeName());
+		}
+		return Optional.empty();
+	}
+
 }
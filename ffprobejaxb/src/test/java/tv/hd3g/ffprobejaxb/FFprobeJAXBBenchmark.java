@@ -0,0 +1,112 @@
+/*
+ * This file is part of ffprobejaxb.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.ffprobejaxb;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.ValidationEvent;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.xml.sax.SAXException;
+
+/**
+ * Probes/sec with FFprobeJAXB.load (String/DOM and streamed), versus the previous load implementation (a new JAXBContext by try, all XSD tried).
+ * Run with main(), from test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FFprobeJAXBBenchmark {
+
+	@Param({ "test-mpeg2.ts-4.4.4.xml", "test-mpeg2.ts-7.0.xml", "test-vp8.mkv-6.0.xml", "test-ffv1.mov-7.0.xml" })
+	String xmlFile;
+
+	String xmlContent;
+	byte[] xmlBytes;
+
+	@Setup
+	public void setup() throws IOException {
+		try (var xml = getClass().getResourceAsStream("/" + xmlFile)) {
+			xmlBytes = xml.readAllBytes();
+			xmlContent = new String(xmlBytes, UTF_8);
+		}
+	}
+
+	@Benchmark
+	public FFprobeJAXB load() {
+		return FFprobeJAXB.load(xmlContent);
+	}
+
+	@Benchmark
+	public FFprobeJAXB streamedLoad() {
+		return FFprobeJAXB.load(new ByteArrayInputStream(xmlBytes), false);
+	}
+
+	@Benchmark
+	public FFprobeJAXB streamedLoadKeepXml() {
+		return FFprobeJAXB.load(new ByteArrayInputStream(xmlBytes), true);
+	}
+
+	@Benchmark
+	public FFprobeJAXB previousLoad() throws ParserConfigurationException, SAXException, JAXBException {
+		final var document = UnmarshallerTools.parseXMLDocument(xmlContent, null);
+		FFprobeJAXB jaxbReference = null;
+		for (final var xsdVersion : FFprobeXSDVersion.values()) {
+			final var events = new ConcurrentLinkedQueue<ValidationEvent>();
+			final var ffRef = UnmarshallerTools.unmarshal(
+					xsdVersion.createInstance(),
+					document,
+					events::add,
+					xsdVersion.getClassJAXB());
+			if (events.isEmpty()) {
+				jaxbReference = xsdVersion.make(xmlContent, ffRef);
+			}
+		}
+		return jaxbReference;
+	}
+
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(FFprobeJAXBBenchmark.class.getSimpleName())
+				.build())
+				.run();
+	}
+
+}
@@ -25,7 +25,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.DynamicTest.dynamicTest;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.StringReader;
 import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Objects;
@@ -107,12 +109,35 @@ class FFprobeJAXBE2ETest {
 					ffprobe.getVideoStreams().findFirst().get());
 
 			assertThat(ffprobe.getXSDVersionReference()).isNotNull();
+			if (isXMLNameContains("-6.1.", "-6.2", "-7.")) {
+				assertThat(ffprobe.getXSDVersionReference()).isEqualTo("ffprobe700");
+			} else {
+				assertThat(ffprobe.getXSDVersionReference()).isEqualTo("ffprobe436");
+			}
 			assertThat(ffprobe.toString()).isNotNull().isNotEmpty();
 
 			assertThat(ffprobe.getPixelFormats()).isNotNull();
 			assertThat(ffprobe.getPixelFormats()).isNotEmpty();
 		}
 
+		private void testStreamedLoad() throws IOException {
+			try (var in = new FileInputStream(xml)) {
+				final var streamed = FFprobeJAXB.load(in, true);
+				assertThat(streamed.getXmlContent()).isEqualTo(xmlContent);
+				assertThat(streamed.getXSDVersionReference()).isEqualTo(ffprobe.getXSDVersionReference());
+				assertThat(streamed.getMediaSummary()).isEqualTo(ffprobe.getMediaSummary());
+				assertThat(streamed.getStreams()).isEqualTo(ffprobe.getStreams());
+				assertThat(streamed.getFormat()).isEqualTo(ffprobe.getFormat());
+				assertThat(in.read()).isEqualTo(-1);
+			}
+			try (var in = new StringReader(xmlContent)) {
+				final var streamed = FFprobeJAXB.load(in, false);
+				assertThat(streamed.getXmlContent()).isNull();
+				assertThat(streamed.getXSDVersionReference()).isEqualTo(ffprobe.getXSDVersionReference());
+				assertThat(streamed.getStreams()).isEqualTo(ffprobe.getStreams());
+			}
+		}
+
 		private void testGetFormat() {
 			final var format = ffprobe.getFormat().get();
 			assertThat(format.filename()).endsWith(xml.getName().substring(0, xml.getName().indexOf("-", 6)));
@@ -504,6 +529,7 @@ class FFprobeJAXBE2ETest {
 		Stream<DynamicTest> toDynamicTests() {
 			return Stream.of(
 					dynamicTest(xml.getName() + " preCheck", this::preCheck),
+					dynamicTest(xml.getName() + " testStreamedLoad", this::testStreamedLoad),
 					dynamicTest(xml.getName() + " testGetFormat", this::testGetFormat),
 					dynamicTest(xml.getName() + " testGetStreams", this::testGetStreams),
 					dynamicTest(xml.getName() + " testVideoStream", this::testVideoStream),
@@ -16,9 +16,17 @@
  */
 package tv.hd3g.ffprobejaxb;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
 import java.io.UncheckedIOException;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
@@ -41,4 +49,86 @@ class FFprobeJAXBTest {
 								</ffprobe>
 								"""));
 	}
+
+	@Test
+	void testNotFFprobeXML() {
+		assertThrows(IllegalArgumentException.class,
+				() -> FFprobeJAXB.load(
+						"""
+								<?xml version="1.0" encoding="UTF-8"?>
+								<notffprobe>
+								    <format size="123456" />
+								</notffprobe>
+								"""));
+	}
+
+	@Test
+	void testFoolishXMLStream() {
+		final var in = new ByteArrayInputStream(">not an XML<".getBytes(UTF_8));
+		assertThrows(UncheckedIOException.class,
+				() -> FFprobeJAXB.load(in, true));
+	}
+
+	@Test
+	void testNotFFprobeXMLStream() {
+		final var in = new StringReader("""
+				<?xml version="1.0" encoding="UTF-8"?>
+				<notffprobe>
+				    <format size="123456" />
+				</notffprobe>
+				""");
+		assertThrows(IllegalArgumentException.class,
+				() -> FFprobeJAXB.load(in, false));
+	}
+
+	@Test
+	void testBuggyFFprobeXMLStream() {
+		final var in = new StringReader("""
+				<?xml version="1.0" encoding="UTF-8"?>
+				<ffprobe>
+				    <disposition default="1"/>
+				</ffprobe>
+				""");
+		assertThrows(IllegalArgumentException.class,
+				() -> FFprobeJAXB.load(in, false));
+	}
+
+	private static String readResource(final String name) throws IOException {
+		try (var in = FFprobeJAXBTest.class.getResourceAsStream("/" + name)) {
+			return new String(in.readAllBytes(), UTF_8);
+		}
+	}
+
+	private static void assertSameStreamedLoad(final String xmlContent) {
+		final var ffprobe = FFprobeJAXB.load(xmlContent);
+		final var streamed = FFprobeJAXB.load(new StringReader(xmlContent), false);
+		assertEquals(ffprobe.getXSDVersionReference(), streamed.getXSDVersionReference());
+		assertEquals(ffprobe.getStreams(), streamed.getStreams());
+		assertEquals(ffprobe.getFormat(), streamed.getFormat());
+		assertEquals(ffprobe.getMediaSummary(), streamed.getMediaSummary());
+	}
+
+	@Test
+	void testStreamedLoadWithoutTagElement() throws IOException {
+		for (final var xmlFile : List.of("test-mpeg2.ts-4.4.4.xml", "test-mpeg2.ts-7.0.xml")) {
+			final var xmlContent = readResource(xmlFile)
+					.replaceAll("(?s)<tags>.*?</tags>", "")
+					.replaceAll("<tag [^>]*/>", "");
+			assertFalse(xmlContent.contains("<tag"));
+			assertSameStreamedLoad(xmlContent);
+		}
+	}
+
+	@Test
+	void testStreamedLoadKeepXmlContent() throws IOException {
+		for (final var xmlFile : List.of("test-mpeg2.ts-4.4.4.xml", "test-mpeg2.ts-7.0.xml")) {
+			final var xmlContent = readResource(xmlFile);
+			assertSameStreamedLoad(xmlContent);
+
+			final var kept = FFprobeJAXB.load(new ByteArrayInputStream(xmlContent.getBytes(UTF_8)), true);
+			assertEquals(xmlContent, kept.getXmlContent());
+			assertEquals(FFprobeJAXB.load(xmlContent).getMediaSummary(), kept.getMediaSummary());
+			assertNull(FFprobeJAXB.load(new StringReader(xmlContent), false).getXmlContent());
+		}
+	}
 }
@@ -0,0 +1,85 @@
+/*
+ * This file is part of ffprobejaxb.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.ffprobejaxb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tv.hd3g.ffprobejaxb.FFprobeXSDVersion.V436;
+import static tv.hd3g.ffprobejaxb.FFprobeXSDVersion.V700;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.xml.sax.SAXException;
+
+class FFprobeXSDVersionTest {
+
+	@ParameterizedTest
+	@EnumSource(FFprobeXSDVersion.class)
+	void testGetContext(final FFprobeXSDVersion version) throws JAXBException {
+		final var context = version.getContext();
+		assertThat(context).isNotNull().isSameAs(version.getContext());
+		assertThat(version.createInstance()).isNotSameAs(context);
+	}
+
+	@Test
+	void testGuessFromDocument_tags() throws ParserConfigurationException, SAXException {
+		final var document = UnmarshallerTools.parseXMLDocument("""
+				<?xml version="1.0" encoding="UTF-8"?>
+				<ffprobe>
+				    <format size="123456">
+				        <tags>
+				            <tag key="major_brand" value="qt  "/>
+				        </tags>
+				    </format>
+				</ffprobe>
+				""", null);
+		assertThat(FFprobeXSDVersion.guessFromDocument(document)).contains(V700);
+	}
+
+	@Test
+	void testGuessFromDocument_tag() throws ParserConfigurationException, SAXException {
+		final var document = UnmarshallerTools.parseXMLDocument("""
+				<?xml version="1.0" encoding="UTF-8"?>
+				<ffprobe>
+				    <streams>
+				        <stream index="0" codec_type="video">
+				            <disposition default="1"/>
+				        </stream>
+				    </streams>
+				    <format size="123456">
+				        <tag key="major_brand" value="qt  "/>
+				    </format>
+				</ffprobe>
+				""", null);
+		assertThat(FFprobeXSDVersion.guessFromDocument(document)).contains(V436);
+	}
+
+	@Test
+	void testGuessFromDocument_noTags() throws ParserConfigurationException, SAXException {
+		final var document = UnmarshallerTools.parseXMLDocument("""
+				<?xml version="1.0" encoding="UTF-8"?>
+				<ffprobe>
+				    <format size="123456" />
+				</ffprobe>
+				""", null);
+		assertThat(FFprobeXSDVersion.guessFromDocument(document)).isEmpty();
+	}
+
+}
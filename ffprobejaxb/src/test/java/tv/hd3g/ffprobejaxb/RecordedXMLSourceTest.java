@@ -0,0 +1,79 @@
+/*
+ * This file is part of ffprobejaxb.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.ffprobejaxb;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.junit.jupiter.api.Test;
+
+class RecordedXMLSourceTest {
+
+	static final String XML = "<ffprobe><format size=\"1\"/></ffprobe>  ";
+
+	@Test
+	void testRecord() throws XMLStreamException, IOException {
+		final var source = RecordedXMLSource.of(new ByteArrayInputStream(XML.getBytes(UTF_8)), true);
+		source.createSniffXMLStreamReader().nextTag();
+		final var reader = source.createXMLStreamReader();
+		reader.nextTag();
+		assertThat(reader.getLocalName()).isEqualTo("ffprobe");
+		source.readToEnd();
+		assertThat(source.getRecordedContent()).isEqualTo(XML);
+	}
+
+	@Test
+	void testNoRecord() throws XMLStreamException, IOException {
+		final var in = new ByteArrayInputStream(XML.getBytes(UTF_8));
+		final var source = RecordedXMLSource.of(in, false);
+		source.createSniffXMLStreamReader().nextTag();
+		final var reader = source.createXMLStreamReader();
+		reader.nextTag();
+		assertThat(reader.getLocalName()).isEqualTo("ffprobe");
+		reader.nextTag();
+		assertThat(reader.getLocalName()).isEqualTo("format");
+		source.readToEnd();
+		assertThat(in.available()).isZero();
+		assertThat(source.getRecordedContent()).isNull();
+		assertThrows(IllegalStateException.class, source::createSniffXMLStreamReader);
+	}
+
+	@Test
+	void testReplaySniffedHead() throws XMLStreamException {
+		final var source = RecordedXMLSource.of(new StringReader(XML), false);
+		final var sniff = source.createSniffXMLStreamReader();
+		while (sniff.hasNext()) {
+			sniff.next();
+		}
+		for (var pos = 0; pos < 2; pos++) {
+			final var reader = source.createXMLStreamReader();
+			reader.nextTag();
+			reader.nextTag();
+			assertThat(reader.getLocalName()).isEqualTo("format");
+			assertThat(reader.getAttributeValue(null, "size")).isEqualTo("1");
+		}
+		assertThat(source.getRecordedContent()).isNull();
+	}
+
+}
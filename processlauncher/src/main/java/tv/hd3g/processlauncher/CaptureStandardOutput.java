@@ -22,14 +22,14 @@ public interface CaptureStandardOutput {
 
 	/**
 	 * Called one time just after process starts.
-	 * @return the watcher thread
+	 * @return the started watcher
 	 */
-	Thread stdOutStreamConsumer(InputStream processInputStream, ProcesslauncherLifecycle source);
+	StreamWatcher stdOutStreamConsumer(InputStream processInputStream, ProcesslauncherLifecycle source);
 
 	/**
 	 * Called one time just after process starts.
-	 * @return the watcher thread
+	 * @return the started watcher
 	 */
-	Thread stdErrStreamConsumer(InputStream processInputStream, ProcesslauncherLifecycle source);
+	StreamWatcher stdErrStreamConsumer(InputStream processInputStream, ProcesslauncherLifecycle source);
 
 }
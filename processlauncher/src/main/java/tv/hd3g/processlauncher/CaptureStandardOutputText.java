@@ -17,23 +17,34 @@
 package tv.hd3g.processlauncher;
 
 import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 public class CaptureStandardOutputText implements CaptureStandardOutput {
 	private final CapturedStreams captureOutStreamsBehavior;
 	private final List<CapturedStdOutErrText> observers;
+	private Charset charset;
+	private int maxLineLength;
+	private int textBatchMaxSize;
+	private Duration textBatchMaxDelay;
 
 	/**
-	 * @param executorConsumer each stream parser will be executed in separate thread, ensure the capacity is sufficient for 2 threads by process.
+	 * Each stream parser will be executed by the Processlauncher streams executor.
 	 */
 	CaptureStandardOutputText(final CapturedStreams captureOutStreamsBehavior) {
 		this.captureOutStreamsBehavior = captureOutStreamsBehavior;
 		observers = new ArrayList<>();
+		charset = Charset.defaultCharset();
+		maxLineLength = StreamParser.DEFAULT_MAX_LINE_LENGTH;
+		textBatchMaxSize = StreamParser.DEFAULT_TEXT_BATCH_MAX_SIZE;
+		textBatchMaxDelay = StreamParser.DEFAULT_TEXT_BATCH_MAX_DELAY;
 	}
 
 	/**
-	 * @param executorConsumer each stream parser will be executed in separate thread, ensure the capacity is sufficient for 2 threads by process.
+	 * Each stream parser will be executed by the Processlauncher streams executor.
 	 */
 	CaptureStandardOutputText() {
 		this(CapturedStreams.BOTH_STDOUT_STDERR);
@@ -48,11 +59,74 @@ public class CaptureStandardOutputText implements CaptureStandardOutput {
 		}
 	}
 
+	/**
+	 * Never change it AFTER call stdOut/ErrStreamConsumer()
+	 * @param charset used to decode the process streams, default is the platform default charset
+	 */
+	public CaptureStandardOutputText setCharset(final Charset charset) {
+		this.charset = Objects.requireNonNull(charset, "\"charset\" can't to be null");
+		return this;
+	}
+
+	public Charset getCharset() {
+		return charset;
+	}
+
+	/**
+	 * Never change it AFTER call stdOut/ErrStreamConsumer()
+	 * @param maxLineLength in bytes, longer lines will be truncated. Default is StreamParser.DEFAULT_MAX_LINE_LENGTH
+	 */
+	public CaptureStandardOutputText setMaxLineLength(final int maxLineLength) {
+		if (maxLineLength < 1) {
+			throw new IllegalArgumentException("Invalid maxLineLength: " + maxLineLength);
+		}
+		this.maxLineLength = maxLineLength;
+		return this;
+	}
+
+	public int getMaxLineLength() {
+		return maxLineLength;
+	}
+
+	/**
+	 * Never change it AFTER call stdOut/ErrStreamConsumer()
+	 * @param textBatchMaxSize max lines count by batch, for the CapturedStdOutErrText.isTextBatch observers.
+	 *        Default is StreamParser.DEFAULT_TEXT_BATCH_MAX_SIZE
+	 */
+	public CaptureStandardOutputText setTextBatchMaxSize(final int textBatchMaxSize) {
+		if (textBatchMaxSize < 1) {
+			throw new IllegalArgumentException("Invalid textBatchMaxSize: " + textBatchMaxSize);
+		}
+		this.textBatchMaxSize = textBatchMaxSize;
+		return this;
+	}
+
+	public int getTextBatchMaxSize() {
+		return textBatchMaxSize;
+	}
+
+	/**
+	 * Never change it AFTER call stdOut/ErrStreamConsumer()
+	 * @param textBatchMaxDelay max time to keep the first line of a batch, while the process stream is still sending
+	 *        lines, for the CapturedStdOutErrText.isTextBatch observers. Default is
+	 *        StreamParser.DEFAULT_TEXT_BATCH_MAX_DELAY
+	 */
+	public CaptureStandardOutputText setTextBatchMaxDelay(final Duration textBatchMaxDelay) {
+		this.textBatchMaxDelay = Objects.requireNonNull(textBatchMaxDelay,
+				"\"textBatchMaxDelay\" can't to be null");
+		return this;
+	}
+
+	public Duration getTextBatchMaxDelay() {
+		return textBatchMaxDelay;
+	}
+
 	@Override
 	public StreamParser stdOutStreamConsumer(final InputStream processInputStream,
 											 final ProcesslauncherLifecycle source) {
 		if (captureOutStreamsBehavior.canCaptureStdout()) {
-			final var t = new StreamParser(processInputStream, false, source, observers);
+			final var t = new StreamParser(processInputStream, false, source, observers, charset, maxLineLength,
+					textBatchMaxSize, textBatchMaxDelay);
 			t.start();
 			synchronized (observers) {
 				observers.forEach(o -> o.setWatchThreadStdout(t));
@@ -66,7 +140,8 @@ public class CaptureStandardOutputText implements CaptureStandardOutput {
 	public StreamParser stdErrStreamConsumer(final InputStream processInputStream,
 											 final ProcesslauncherLifecycle source) {
 		if (captureOutStreamsBehavior.canCaptureStderr()) {
-			final var t = new StreamParser(processInputStream, true, source, observers);
+			final var t = new StreamParser(processInputStream, true, source, observers, charset, maxLineLength,
+					textBatchMaxSize, textBatchMaxDelay);
 			t.start();
 			synchronized (observers) {
 				observers.forEach(o -> o.setWatchThreadStderr(t));
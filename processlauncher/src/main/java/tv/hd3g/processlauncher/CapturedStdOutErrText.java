@@ -16,7 +16,11 @@
  */
 package tv.hd3g.processlauncher;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public abstract class CapturedStdOutErrText {
 
@@ -32,8 +36,8 @@ public abstract class CapturedStdOutErrText {
 	}
 
 	public boolean isStreamsWatchIsStillAlive() {
-		return Optional.ofNullable(watchThreadStdout).map(Thread::isAlive).orElse(false) ||
-			   Optional.ofNullable(watchThreadStderr).map(Thread::isAlive).orElse(false);
+		return Optional.ofNullable(watchThreadStdout).map(StreamParser::isAlive).orElse(false) ||
+			   Optional.ofNullable(watchThreadStderr).map(StreamParser::isAlive).orElse(false);
 	}
 
 	/**
@@ -52,6 +56,16 @@ public abstract class CapturedStdOutErrText {
 		}
 	}
 
+	/**
+	 * Non-blocking
+	 * @return done when all the watched streams are closed
+	 */
+	public CompletableFuture<Void> onClosedStreams() {
+		return CompletableFuture.allOf(
+				Optional.ofNullable(watchThreadStdout).map(StreamParser::onEnd).orElseGet(() -> completedFuture(null)),
+				Optional.ofNullable(watchThreadStderr).map(StreamParser::onEnd).orElseGet(() -> completedFuture(null)));
+	}
+
 	/**
 	 * Blocking
 	 */
@@ -68,6 +82,33 @@ public abstract class CapturedStdOutErrText {
 		}
 	}
 
+	/**
+	 * Called before onText, by the stream watcher, for each line. Override it to read the line without create a
+	 * String and a LineEntry. Never called if isTextBatch.
+	 * @param line only valid during this call: never keep it, the backing buffer will be reused for the next line.
+	 * @return true if the line is consumed here: onText will not be called for it.
+	 */
+	public boolean onRawText(final CharSequence line, final boolean stdErr, final ProcesslauncherLifecycle source) {
+		return false;
+	}
+
 	public abstract void onText(LineEntry lineEntry);
 
+	/**
+	 * Opt-in batched delivery: lines will be sent to onTextBatch, in place of onRawText/onText.
+	 * Only read once, when the stream watch starts.
+	 */
+	public boolean isTextBatch() {
+		return false;
+	}
+
+	/**
+	 * Called by the stream watcher, if isTextBatch. A batch is sent on max size, on max delay, when the process
+	 * stream has nothing more to read right now, and on the stream end (see CaptureStandardOutputText).
+	 * @param lineEntries only valid during this call: never keep it, it will be cleared after.
+	 */
+	public void onTextBatch(final List<LineEntry> lineEntries) {
+		lineEntries.forEach(this::onText);
+	}
+
 }
@@ -16,19 +16,36 @@
  */
 package tv.hd3g.processlauncher;
 
+import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import tv.hd3g.processlauncher.CapturedTextStore.Line;
+
+/**
+ * Keep stdout and stderr lines, separately, with CapturedTextLimits (unlimited by default).
+ */
 public class CapturedStdOutErrTextRetention extends CapturedStdOutErrText {
 
 	private final CapturedStreams streamToKeep;
-	private final LinkedBlockingQueue<LineEntry> lineEntries;
+	private final CapturedTextStore stdout;
+	private final CapturedTextStore stderr;
+	private final AtomicLong position;
 
-	public CapturedStdOutErrTextRetention(final CapturedStreams streamToKeep) {
+	public CapturedStdOutErrTextRetention(final CapturedStreams streamToKeep,
+										  final CapturedTextLimits stdoutLimits,
+										  final CapturedTextLimits stderrLimits) {
 		this.streamToKeep = Objects.requireNonNull(streamToKeep, "\"streamToKeep\" can't to be null");
-		lineEntries = new LinkedBlockingQueue<>();
+		stdout = new CapturedTextStore(Objects.requireNonNull(stdoutLimits, "\"stdoutLimits\" can't to be null"));
+		stderr = new CapturedTextStore(Objects.requireNonNull(stderrLimits, "\"stderrLimits\" can't to be null"));
+		position = new AtomicLong();
+	}
+
+	public CapturedStdOutErrTextRetention(final CapturedStreams streamToKeep) {
+		this(streamToKeep, CapturedTextLimits.UNLIMITED, CapturedTextLimits.UNLIMITED);
 	}
 
 	/**
@@ -43,57 +60,43 @@ public class CapturedStdOutErrTextRetention extends CapturedStdOutErrText {
 		if (lineEntry.canUseThis(streamToKeep) == false) {
 			return;
 		}
-		lineEntries.add(lineEntry);
+		final var store = lineEntry.stdErr() ? stderr : stdout;
+		store.add(position.getAndIncrement(), lineEntry.line());
+	}
+
+	private static Stream<String> toText(final List<Line> lines, final boolean keepEmptyLines) {
+		return lines.stream()
+				.filter(l -> keepEmptyLines || l.isEmpty() == false)
+				.map(Line::text);
 	}
 
 	/**
-	 * Only set if setKeepStdout is set (false by default), else return empty stream.
+	 * Only the kept lines, by the stdout CapturedTextLimits.
 	 */
 	public Stream<String> getStdoutLines(final boolean keepEmptyLines) {
-		return lineEntries.stream()
-				.filter(le -> {
-					if (keepEmptyLines) {
-						return true;
-					}
-					return le.isEmpty() == false;
-				})
-				.filter(le -> (le.stdErr() == false))
-				.map(LineEntry::line);
+		return toText(stdout.getLines(), keepEmptyLines);
 	}
 
 	/**
-	 * Only set if setKeepStdout is set (false by default), else return empty stream.
+	 * Only the kept lines, by the stderr CapturedTextLimits.
 	 * @param keepEmptyLines if set false, discard all empty trimed lines
 	 */
 	public Stream<String> getStderrLines(final boolean keepEmptyLines) {
-		return lineEntries.stream()
-				.filter(le -> {
-					if (keepEmptyLines) {
-						return true;
-					}
-					return le.isEmpty() == false;
-				})
-				.filter(LineEntry::stdErr)
-				.map(LineEntry::line);
+		return toText(stderr.getLines(), keepEmptyLines);
 	}
 
 	/**
-	 * Only set if setKeepStdout is set (false by default), else return empty stream.
+	 * Only the kept lines, by the stdout and stderr CapturedTextLimits, in the capture order.
 	 * @param keepEmptyLines if set false, discard all empty trimed lines
 	 */
 	public Stream<String> getStdouterrLines(final boolean keepEmptyLines) {
-		return lineEntries.stream()
-				.filter(le -> {
-					if (keepEmptyLines) {
-						return true;
-					}
-					return le.isEmpty() == false;
-				})
-				.map(LineEntry::line);
+		final var lines = stdout.getLines();
+		lines.addAll(stderr.getLines());
+		lines.sort(Comparator.comparingLong(Line::position));
+		return toText(lines, keepEmptyLines);
 	}
 
 	/**
-	 * Only set if setKeepStdout is set (false by default), else return empty text.
 	 * @param keepEmptyLines if set false, discard all empty trimed lines
 	 * @param newLineSeparator replace new line char by this
 	 *        Use System.lineSeparator() if needed
@@ -103,7 +106,6 @@ public class CapturedStdOutErrTextRetention extends CapturedStdOutErrText {
 	}
 
 	/**
-	 * Only set if setKeepStdout is set (false by default), else return empty text.
 	 * @param keepEmptyLines if set false, discard all empty trimed lines
 	 * @param newLineSeparator replace new line char by this
 	 *        Use System.lineSeparator() if needed
@@ -113,7 +115,6 @@ public class CapturedStdOutErrTextRetention extends CapturedStdOutErrText {
 	}
 
 	/**
-	 * Only set if setKeepStdout is set (false by default), else return empty text.
 	 * @param keepEmptyLines if set false, discard all empty trimed lines
 	 * @param newLineSeparator replace new line char by this
 	 *        Use System.lineSeparator() if needed
@@ -122,4 +123,18 @@ public class CapturedStdOutErrTextRetention extends CapturedStdOutErrText {
 		return getStdouterrLines(keepEmptyLines).collect(Collectors.joining(newLineSeparator));
 	}
 
+	/**
+	 * @return the lines count not kept by the CapturedTextLimits (dropped or spilled)
+	 */
+	public long getSkippedLines(final boolean stdErr) {
+		return (stdErr ? stderr : stdout).getSkippedLines();
+	}
+
+	/**
+	 * @return the lines not kept by the CapturedTextLimits, if spillToDisk, in order. Close it after use.
+	 */
+	public Stream<String> getSpilledLines(final boolean stdErr) {
+		return (stdErr ? stderr : stdout).getSpilledLines();
+	}
+
 }
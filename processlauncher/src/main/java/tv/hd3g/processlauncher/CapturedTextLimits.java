@@ -0,0 +1,63 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher;
+
+/**
+ * Retention limits for one captured text stream (stdout or stderr), used by CapturedStdOutErrTextRetention.
+ * The first headLines lines are kept, then the last tailLines lines. The lines between them are dropped, or
+ * spilled to a temp file.
+ * @param maxBytes estimated heap size for all the kept lines. If tailLines is set, the head is limited to the half.
+ *        The oldest tail lines are dropped (or spilled) over this size.
+ * @param spillToDisk write the dropped lines in a temp file, deleted with the CapturedStdOutErrTextRetention.
+ */
+public record CapturedTextLimits(int headLines,
+								 int tailLines,
+								 long maxBytes,
+								 boolean spillToDisk) {
+
+	/**
+	 * Keep all lines
+	 */
+	public static final CapturedTextLimits UNLIMITED = new CapturedTextLimits(
+			Integer.MAX_VALUE, 0, Long.MAX_VALUE, false);
+
+	/**
+	 * Keep the first and the last 1000 lines, up to 8 MB, for error messages
+	 */
+	public static final CapturedTextLimits DEFAULT_STDERR = new CapturedTextLimits(
+			1000, 1000, 8L * 1024 * 1024, false);
+
+	/**
+	 * Estimated heap size for a String line, without its chars
+	 */
+	static final int LINE_OVERHEAD = 64;
+
+	public CapturedTextLimits {
+		if (headLines < 0) {
+			throw new IllegalArgumentException("Invalid headLines: " + headLines);
+		} else if (tailLines < 0) {
+			throw new IllegalArgumentException("Invalid tailLines: " + tailLines);
+		} else if (maxBytes < 1) {
+			throw new IllegalArgumentException("Invalid maxBytes: " + maxBytes);
+		}
+	}
+
+	static long estimateSize(final String line) {
+		return LINE_OVERHEAD + 2L * line.length();
+	}
+
+}
@@ -0,0 +1,173 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Retained lines for one stream (stdout or stderr), with CapturedTextLimits. Thread safe.
+ */
+@Slf4j
+final class CapturedTextStore {
+	private static final Cleaner CLEANER = Cleaner.create();
+
+	/**
+	 * @param position the global position, for sort stdout and stderr lines
+	 */
+	record Line(long position, String text) {
+
+		boolean isEmpty() {
+			return text.trim().isEmpty();
+		}
+	}
+
+	private final CapturedTextLimits limits;
+	private final long headMaxBytes;
+	private final List<Line> head;
+	private final ArrayDeque<Line> tail;
+	private long headBytes;
+	private long tailBytes;
+	private boolean headClosed;
+	private long skippedLines;
+	private SpillFile spillFile;
+
+	CapturedTextStore(final CapturedTextLimits limits) {
+		this.limits = limits;
+		headMaxBytes = limits.tailLines() > 0 ? limits.maxBytes() / 2 : limits.maxBytes();
+		head = new ArrayList<>();
+		tail = new ArrayDeque<>();
+	}
+
+	synchronized void add(final long position, final String text) {
+		final var line = new Line(position, text);
+		final var size = CapturedTextLimits.estimateSize(text);
+
+		if (headClosed == false
+			&& head.size() < limits.headLines()
+			&& headBytes + size <= headMaxBytes) {
+			head.add(line);
+			headBytes += size;
+			return;
+		}
+		headClosed = true;
+
+		if (limits.tailLines() == 0 || headBytes + size > limits.maxBytes()) {
+			skip(line);
+			return;
+		}
+
+		tail.addLast(line);
+		tailBytes += size;
+		while (tail.size() > limits.tailLines() || headBytes + tailBytes > limits.maxBytes()) {
+			final var evicted = tail.removeFirst();
+			tailBytes -= CapturedTextLimits.estimateSize(evicted.text());
+			skip(evicted);
+		}
+	}
+
+	private void skip(final Line line) {
+		skippedLines++;
+		if (limits.spillToDisk() == false) {
+			return;
+		}
+		try {
+			if (spillFile == null) {
+				spillFile = new SpillFile(Files.createTempFile("processlauncher-spill-", ".txt"));
+				CLEANER.register(this, spillFile);
+			}
+			spillFile.writer.write(line.text());
+			spillFile.writer.write('\n');
+		} catch (final IOException e) {
+			log.error("Can't spill text to {}", spillFile, e);
+		}
+	}
+
+	/**
+	 * @return the kept lines (not skipped), in order
+	 */
+	synchronized List<Line> getLines() {
+		final var result = new ArrayList<Line>(head.size() + tail.size());
+		result.addAll(head);
+		result.addAll(tail);
+		return result;
+	}
+
+	/**
+	 * @return the lines count not kept in memory, by the limits
+	 */
+	synchronized long getSkippedLines() {
+		return skippedLines;
+	}
+
+	/**
+	 * @return the skipped lines, if spillToDisk, in skip order: a too big line is spilled before the older tail lines
+	 *         evicted after it. It must be closed after use.
+	 */
+	synchronized Stream<String> getSpilledLines() {
+		if (spillFile == null) {
+			return Stream.empty();
+		}
+		try {
+			spillFile.writer.flush();
+			return Files.lines(spillFile.path, UTF_8);
+		} catch (final IOException e) {
+			throw new UncheckedIOException("Can't read " + spillFile, e);
+		}
+	}
+
+	private static class SpillFile implements Runnable {
+		private final Path path;
+		private final BufferedWriter writer;
+
+		SpillFile(final Path path) throws IOException {
+			this.path = path;
+			writer = Files.newBufferedWriter(path, UTF_8);
+		}
+
+		/**
+		 * Called by the Cleaner
+		 */
+		@Override
+		public void run() {
+			try {
+				writer.close();
+				Files.deleteIfExists(path);
+			} catch (final IOException e) {
+				log.warn("Can't delete {}", path, e);
+			}
+		}
+
+		@Override
+		public String toString() {
+			return path.toString();
+		}
+	}
+
+}
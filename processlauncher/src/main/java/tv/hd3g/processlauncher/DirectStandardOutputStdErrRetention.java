@@ -16,9 +16,6 @@
  */
 package tv.hd3g.processlauncher;
 
-import static java.lang.Thread.MAX_PRIORITY;
-import static tv.hd3g.processlauncher.StreamParser.CREATED_THREAD_COUNTER;
-
 import java.io.InputStream;
 import java.util.List;
 
@@ -33,27 +30,34 @@ public class DirectStandardOutputStdErrRetention implements CaptureStandardOutpu
 		this.stdOutConsumer = stdOutConsumer;
 	}
 
-	@Override
-	public Thread stdOutStreamConsumer(final InputStream processInputStream, final ProcesslauncherLifecycle source) {
-		final var t = new Thread(() -> {
-			try {
-				stdOutConsumer.onProcessStart(processInputStream, source);
-			} finally {
-				stdOutConsumer.onClose(source);
-			}
-		});
+	/**
+	 * @return the consumer for this run, like to get back what it has read
+	 */
+	public InputStreamConsumer getStdOutConsumer() {
+		return stdOutConsumer;
+	}
 
+	@Override
+	public StreamWatcher stdOutStreamConsumer(final InputStream processInputStream,
+											  final ProcesslauncherLifecycle source) {
 		final var execName = source.getLauncher().getExecutableName();
-		t.setName("Executable sysout watcher for " + execName + " TId#"
-				  + CREATED_THREAD_COUNTER.incrementAndGet());
-		t.setDaemon(true);
-		t.setPriority(MAX_PRIORITY);
+		final var t = new StreamWatcher("Executable sysout watcher for " + execName, source) {
+
+			@Override
+			protected void process() {
+				try {
+					stdOutConsumer.onProcessStart(processInputStream, source);
+				} finally {
+					stdOutConsumer.onClose(source);
+				}
+			}
+		};
 		t.start();
 		return t;
 	}
 
 	@Override
-	public Thread stdErrStreamConsumer(final InputStream processInputStream, final ProcesslauncherLifecycle source) {
+	public StreamWatcher stdErrStreamConsumer(final InputStream processInputStream, final ProcesslauncherLifecycle source) {
 		final var t = new StreamParser(processInputStream, true, source, List.of(stdErrObserver));
 		t.start();
 		stdErrObserver.setWatchThreadStderr(t);
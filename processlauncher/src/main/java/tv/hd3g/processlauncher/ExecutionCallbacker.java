@@ -16,6 +16,8 @@
  */
 package tv.hd3g.processlauncher;
 
+import java.io.InputStream;
+
 @FunctionalInterface
 public interface ExecutionCallbacker {
 
@@ -24,4 +26,14 @@ public interface ExecutionCallbacker {
 	default void postStartupExecution(final ProcesslauncherLifecycle processlauncherLifecycle) {
 	}
 
+	/**
+	 * Called one time by stream, after postStartupExecution, only if a CaptureStandardOutput is set.
+	 * @return processStream, or a wrapper on it (like a tee): the CaptureStandardOutput will read from it.
+	 */
+	default InputStream wrapProcessStream(final ProcesslauncherLifecycle processlauncherLifecycle,
+										  final InputStream processStream,
+										  final boolean stdErr) {
+		return processStream;
+	}
+
 }
@@ -0,0 +1,144 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free, fixed size, log-linear histogram (like HdrHistogram) for positive long values (like nanoseconds).
+ * Values are stored with SUB_BUCKET_BITS significant bits: about 3% of precision, for all the long range.
+ */
+public final class LatencyHistogram {
+	static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+	private final AtomicLongArray buckets;
+	private final LongAdder count;
+	private final LongAdder sum;
+	private final AtomicLong max;
+
+	public LatencyHistogram() {
+		buckets = new AtomicLongArray(BUCKET_COUNT);
+		count = new LongAdder();
+		sum = new LongAdder();
+		max = new AtomicLong();
+	}
+
+	static int getIndex(final long value) {
+		if (value < SUB_BUCKET_COUNT) {
+			return (int) value;
+		}
+		final var shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		return (shift + 1) * SUB_BUCKET_COUNT + (int) (value >>> shift) - SUB_BUCKET_COUNT;
+	}
+
+	/**
+	 * @return the highest value stored in this bucket index
+	 */
+	static long getHighestValue(final int index) {
+		if (index < SUB_BUCKET_COUNT) {
+			return index;
+		}
+		final var shift = index / SUB_BUCKET_COUNT - 1;
+		final var top = (long) (index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT);
+		return ((top + 1) << shift) - 1;
+	}
+
+	/**
+	 * @param value negative values are counted as 0
+	 */
+	public void record(final long value) {
+		final var v = Math.max(0L, value);
+		buckets.incrementAndGet(getIndex(v));
+		count.increment();
+		sum.add(v);
+		max.accumulateAndGet(v, Math::max);
+	}
+
+	public long getCount() {
+		return count.sum();
+	}
+
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * @return 0 if empty
+	 */
+	public double getMean() {
+		final var c = count.sum();
+		if (c == 0) {
+			return 0d;
+		}
+		return (double) sum.sum() / c;
+	}
+
+	/**
+	 * @param percentile from 0 to 100
+	 * @return the highest equivalent value for this percentile, or 0 if empty
+	 */
+	public long getValueAtPercentile(final double percentile) {
+		if (percentile < 0d || percentile > 100d) {
+			throw new IllegalArgumentException("Invalid percentile: " + percentile);
+		}
+		final var counts = new long[BUCKET_COUNT];
+		var total = 0L;
+		for (var pos = 0; pos < BUCKET_COUNT; pos++) {
+			counts[pos] = buckets.get(pos);
+			total += counts[pos];
+		}
+		if (total == 0) {
+			return 0L;
+		}
+
+		final var target = Math.max(1L, (long) Math.ceil(percentile / 100d * total));
+		var cumulative = 0L;
+		for (var pos = 0; pos < BUCKET_COUNT; pos++) {
+			cumulative += counts[pos];
+			if (cumulative >= target) {
+				return Math.min(getHighestValue(pos), getMax());
+			}
+		}
+		return getMax();
+	}
+
+	/**
+	 * Not atomic with concurrent records.
+	 */
+	public void reset() {
+		for (var pos = 0; pos < BUCKET_COUNT; pos++) {
+			buckets.set(pos, 0L);
+		}
+		count.reset();
+		sum.reset();
+		max.set(0L);
+	}
+
+	@Override
+	public String toString() {
+		return "count=" + getCount()
+			   + ", mean=" + Math.round(getMean())
+			   + ", p50=" + getValueAtPercentile(50d)
+			   + ", p99=" + getValueAtPercentile(99d)
+			   + ", max=" + getMax();
+	}
+
+}
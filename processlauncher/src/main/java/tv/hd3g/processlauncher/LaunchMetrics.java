@@ -0,0 +1,120 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Durations of the process launch phases (see LaunchPhase), kept in a LatencyHistogram by executable name and phase,
+ * and sent to the LaunchMetricsSinks (added, or loaded by ServiceLoader).
+ */
+@Slf4j
+public final class LaunchMetrics {
+	private static final LaunchPhase[] PHASES = LaunchPhase.values();
+	private static final LaunchMetrics INSTANCE = new LaunchMetrics(ServiceLoader.load(LaunchMetricsSink.class)
+			.stream()
+			.flatMap(LaunchMetrics::loadSink)
+			.toList());
+
+	private final Map<String, LatencyHistogram[]> histograms;
+	private final List<LaunchMetricsSink> sinks;
+	private volatile boolean enabled;
+
+	LaunchMetrics(final List<LaunchMetricsSink> sinks) {
+		histograms = new ConcurrentHashMap<>();
+		this.sinks = new CopyOnWriteArrayList<>(sinks);
+		enabled = true;
+	}
+
+	private static Stream<LaunchMetricsSink> loadSink(final ServiceLoader.Provider<LaunchMetricsSink> provider) {
+		try {
+			return Stream.of(provider.get());
+		} catch (final ServiceConfigurationError e) {
+			log.warn("Can't load LaunchMetricsSink {}", provider.type(), e);
+			return Stream.empty();
+		}
+	}
+
+	public static LaunchMetrics getInstance() {
+		return INSTANCE;
+	}
+
+	public void record(final String execName, final LaunchPhase phase, final long durationNanos) {
+		if (enabled == false) {
+			return;
+		}
+		histograms.computeIfAbsent(execName, k -> Stream.of(PHASES)
+				.map(p -> new LatencyHistogram())
+				.toArray(LatencyHistogram[]::new))[phase.ordinal()]
+				.record(durationNanos);
+
+		for (final var sink : sinks) {
+			try {
+				sink.record(execName, phase, durationNanos);
+			} catch (final RuntimeException e) {
+				log.warn("Can't send metrics to {}", sink, e);
+			}
+		}
+	}
+
+	/**
+	 * @return empty if nothing was recorded for this execName
+	 */
+	public Optional<LatencyHistogram> getHistogram(final String execName, final LaunchPhase phase) {
+		return Optional.ofNullable(histograms.get(execName)).map(h -> h[phase.ordinal()]);
+	}
+
+	public Set<String> getExecNames() {
+		return Set.copyOf(histograms.keySet());
+	}
+
+	public void addSink(final LaunchMetricsSink sink) {
+		sinks.add(requireNonNull(sink, "\"sink\" can't to be null"));
+	}
+
+	public void removeSink(final LaunchMetricsSink sink) {
+		sinks.remove(sink);
+	}
+
+	/**
+	 * Enabled by default. JFR events are not managed here.
+	 */
+	public void setEnabled(final boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void reset() {
+		histograms.clear();
+	}
+
+}
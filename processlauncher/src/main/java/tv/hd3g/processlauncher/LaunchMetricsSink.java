@@ -0,0 +1,32 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher;
+
+/**
+ * Get all the LaunchMetrics records, to push them to a metrics system.
+ * Add it with LaunchMetrics.addSink, or declare it as a service (META-INF/services/tv.hd3g.processlauncher.LaunchMetricsSink).
+ * Called synchronously from the launching/watching threads: must be fast and non-blocking.
+ */
+@FunctionalInterface
+public interface LaunchMetricsSink {
+
+	/**
+	 * @param execName executable name, like "ffmpeg"
+	 */
+	void record(String execName, LaunchPhase phase, long durationNanos);
+
+}
@@ -0,0 +1,47 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher;
+
+/**
+ * Timed phases of a process launch, recorded by LaunchMetrics.
+ */
+public enum LaunchPhase {
+	/**
+	 * ProcessingToolBuilder: get parameters and callbacks prepareParameters
+	 */
+	PREPARE_PARAMETERS,
+	/**
+	 * ProcessingToolBuilder: create the CommandLine, with the ExecutableFinder resolution
+	 */
+	RESOLVE_EXECUTABLE,
+	/**
+	 * ProcesslauncherLifecycle: ProcessBuilder.start (or ExternalProcessStartup)
+	 */
+	PROCESS_START,
+	/**
+	 * ProcesslauncherLifecycle: from start to the first captured text line (only with a text capture)
+	 */
+	FIRST_OUTPUT,
+	/**
+	 * ProcesslauncherLifecycle: from start to the process exit
+	 */
+	EXIT,
+	/**
+	 * ProcessingToolBuilder: compute the result after the process end
+	 */
+	COMPUTE;
+}
@@ -0,0 +1,175 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher;
+
+import static java.nio.charset.CodingErrorAction.REPLACE;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+
+/**
+ * Split a byte stream in text lines, like BufferedReader.readLine ("\n", "\r" or "\r\n" ends a line), with reusable
+ * buffers: only the bytes are scanned for line ends, and a line is decoded just before it is sent.
+ * Lines longer than maxLineLength bytes are truncated: the next bytes are skipped until the line end.
+ */
+final class LineSplitter {
+	static final int READ_BUFFER_SIZE = 8192;
+	private static final int INITIAL_LINE_CAPACITY = 256;
+
+	@FunctionalInterface
+	interface LineHandler {
+		/**
+		 * @param line only valid during this call: the backing buffer will be reused for the next line.
+		 * @param truncated if some bytes were skipped at the end of this line
+		 */
+		void onLine(CharSequence line, boolean truncated);
+	}
+
+	private final CharsetDecoder decoder;
+	private final int maxLineLength;
+	private final LineHandler handler;
+	private final byte[] readBuffer;
+	private Runnable onIdle;
+	private boolean sentSinceIdle;
+
+	private byte[] line;
+	private ByteBuffer lineBuffer;
+	private CharBuffer decoded;
+	private int lineSize;
+	private boolean truncated;
+	private boolean lastWasCR;
+
+	/**
+	 * @param maxLineLength in bytes
+	 */
+	LineSplitter(final Charset charset, final int maxLineLength, final LineHandler handler) {
+		if (maxLineLength < 1) {
+			throw new IllegalArgumentException("Invalid maxLineLength: " + maxLineLength);
+		}
+		decoder = charset.newDecoder()
+				.onMalformedInput(REPLACE)
+				.onUnmappableCharacter(REPLACE);
+		this.maxLineLength = maxLineLength;
+		this.handler = handler;
+		readBuffer = new byte[READ_BUFFER_SIZE];
+		line = new byte[Math.min(INITIAL_LINE_CAPACITY, maxLineLength)];
+		lineBuffer = ByteBuffer.wrap(line);
+		decoded = CharBuffer.allocate(line.length);
+	}
+
+	/**
+	 * @param onIdle called after some sent lines, before wait for the next bytes: when the stream has nothing more to
+	 *        read right now.
+	 */
+	void setOnIdle(final Runnable onIdle) {
+		this.onIdle = onIdle;
+	}
+
+	/**
+	 * Blocking, until the stream end. It will not be closed here.
+	 */
+	void read(final InputStream inputStream) throws IOException {
+		int len;
+		while ((len = readAfterIdle(inputStream)) != -1) {
+			if (len == 0) {
+				throw new IOException("Underlying input stream returned zero bytes");
+			}
+			var start = 0;
+			for (var pos = 0; pos < len; pos++) {
+				final var b = readBuffer[pos];
+				if (b != '\n' && b != '\r') {
+					continue;
+				}
+				if (b == '\n' && lastWasCR && pos == start) {
+					/**
+					 * End of a "\r\n"
+					 */
+					lastWasCR = false;
+				} else {
+					append(start, pos - start);
+					sendLine();
+					lastWasCR = b == '\r';
+				}
+				start = pos + 1;
+			}
+			if (start < len) {
+				append(start, len - start);
+				lastWasCR = false;
+			}
+		}
+		if (lineSize > 0 || truncated) {
+			sendLine();
+		}
+	}
+
+	private int readAfterIdle(final InputStream inputStream) throws IOException {
+		if (sentSinceIdle && onIdle != null && inputStream.available() == 0) {
+			sentSinceIdle = false;
+			onIdle.run();
+		}
+		return inputStream.read(readBuffer, 0, READ_BUFFER_SIZE);
+	}
+
+	private void append(final int offset, final int length) {
+		if (truncated || length == 0) {
+			return;
+		}
+		var toCopy = length;
+		if (toCopy > maxLineLength - lineSize) {
+			toCopy = maxLineLength - lineSize;
+			truncated = true;
+		}
+		if (lineSize + toCopy > line.length) {
+			final var newCapacity = (int) Math.min(Math.max(lineSize + toCopy, line.length * 2L), maxLineLength);
+			final var newLine = new byte[newCapacity];
+			System.arraycopy(line, 0, newLine, 0, lineSize);
+			line = newLine;
+			lineBuffer = ByteBuffer.wrap(line);
+		}
+		System.arraycopy(readBuffer, offset, line, lineSize, toCopy);
+		lineSize += toCopy;
+	}
+
+	private void sendLine() {
+		final var maxChars = (int) Math.ceil(lineSize * (double) decoder.maxCharsPerByte());
+		if (maxChars > decoded.capacity()) {
+			decoded = CharBuffer.allocate(maxChars);
+		}
+		lineBuffer.clear().limit(lineSize);
+		decoded.clear();
+		decoder.reset();
+		/**
+		 * A truncated line can ends with an incomplete char: it will not be decoded.
+		 */
+		decoder.decode(lineBuffer, decoded, truncated == false);
+		if (truncated == false) {
+			decoder.flush(decoded);
+		}
+		decoded.flip();
+
+		final var wasTruncated = truncated;
+		lineSize = 0;
+		truncated = false;
+		sentSinceIdle = true;
+		handler.onLine(decoded, wasTruncated);
+	}
+
+}
@@ -0,0 +1,48 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("tv.hd3g.processlauncher.ProcessExit")
+@Label("Process exit")
+@Category("processlauncher")
+@Description("End of an external process")
+class ProcessExitEvent extends Event {
+
+	@Label("Executable name")
+	String execName;
+
+	@Label("PID")
+	long pid;
+
+	@Label("Exit code")
+	int exitCode;
+
+	@Label("End status")
+	String endStatus;
+
+	@Label("Uptime")
+	@Timespan(Timespan.NANOSECONDS)
+	long uptime;
+
+}
@@ -0,0 +1,187 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * All the running ProcesslauncherLifecycle, with a single JVM shutdown hook to kill them (and their sub processes).
+ * On shutdown, all process trees are asked to stop (SIGTERM), then forced to stop (SIGKILL) after a grace period.
+ */
+@Slf4j
+public final class ProcessRegistry {
+	public static final Duration DEFAULT_SHUTDOWN_GRACE_PERIOD = Duration.ofSeconds(3);
+	static final int MAX_SHUTDOWN_THREADS = 8;
+
+	private static final ProcessRegistry INSTANCE = new ProcessRegistry();
+
+	private final Set<ProcesslauncherLifecycle> running;
+	private final AtomicBoolean shutdownHookAdded;
+	private volatile Duration shutdownGracePeriod;
+
+	ProcessRegistry() {
+		running = ConcurrentHashMap.newKeySet();
+		shutdownHookAdded = new AtomicBoolean(false);
+		shutdownGracePeriod = DEFAULT_SHUTDOWN_GRACE_PERIOD;
+	}
+
+	public static ProcessRegistry getInstance() {
+		return INSTANCE;
+	}
+
+	void register(final ProcesslauncherLifecycle lifecycle) {
+		if (shutdownHookAdded.compareAndSet(false, true)) {
+			final var shutdownHook = new Thread(this::killAll);
+			shutdownHook.setPriority(Thread.MAX_PRIORITY);
+			shutdownHook.setName("ShutdownHook for processlauncher");
+			Runtime.getRuntime().addShutdownHook(shutdownHook);
+		}
+		running.add(lifecycle);
+	}
+
+	void unregister(final ProcesslauncherLifecycle lifecycle) {
+		running.remove(lifecycle);
+	}
+
+	/**
+	 * @return a snapshot of the actual running processes
+	 */
+	public List<ProcesslauncherLifecycle> getRunning() {
+		return List.copyOf(running);
+	}
+
+	public int getRunningCount() {
+		return running.size();
+	}
+
+	/**
+	 * @return the first started and still running process
+	 */
+	public Optional<ProcesslauncherLifecycle> getOldest() {
+		return running.stream()
+				.min(Comparator.comparingLong(ProcesslauncherLifecycle::getStartDate));
+	}
+
+	public Duration getShutdownGracePeriod() {
+		return shutdownGracePeriod;
+	}
+
+	/**
+	 * @param shutdownGracePeriod time between the stop request (SIGTERM) and the forced stop (SIGKILL), on JVM shutdown.
+	 */
+	public void setShutdownGracePeriod(final Duration shutdownGracePeriod) {
+		this.shutdownGracePeriod = Objects.requireNonNull(shutdownGracePeriod,
+				"\"shutdownGracePeriod\" can't to be null");
+	}
+
+	/**
+	 * Blocking, called by the shutdown hook. Stop all the running process trees.
+	 * The process trees are walked in parallel, on MAX_SHUTDOWN_THREADS threads max.
+	 */
+	void killAll() {
+		final var lifecycles = getRunning();
+		if (lifecycles.isEmpty()) {
+			return;
+		}
+		log.warn("Try to kill {} running process(es)", lifecycles.size());
+
+		final var threadCount = new AtomicLong();
+		final var executor = Executors.newFixedThreadPool(Math.min(lifecycles.size(), MAX_SHUTDOWN_THREADS), r -> {
+			final var t = new Thread(r);
+			t.setDaemon(true);
+			t.setName("ShutdownProcessKiller#" + threadCount.getAndIncrement());
+			return t;
+		});
+		try {
+			final var tasks = lifecycles.stream()
+					.map(lifecycle -> (Callable<List<ProcessHandle>>) () -> terminate(lifecycle))
+					.toList();
+			final var handles = executor.invokeAll(tasks).stream()
+					.flatMap(ProcessRegistry::getDone)
+					.toList();
+
+			try {
+				CompletableFuture.allOf(handles.stream()
+						.map(ProcessHandle::onExit)
+						.toArray(CompletableFuture[]::new))
+						.get(shutdownGracePeriod.toMillis(), MILLISECONDS);
+			} catch (final TimeoutException e) {
+				log.debug("Grace period is over", e);
+			} catch (final ExecutionException e) {
+				log.warn("Can't wait the process ends", e);
+			}
+
+			handles.stream()
+					.filter(ProcessHandle::isAlive)
+					.forEach(h -> {
+						log.info("Force to close process #{}", h.pid());
+						h.destroyForcibly();
+					});
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			log.warn("Interrupted, some processes may be still running", e);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * SIGTERM the process and all its sub processes
+	 * @return all the ProcessHandles to wait
+	 */
+	private static List<ProcessHandle> terminate(final ProcesslauncherLifecycle lifecycle) {
+		final var process = lifecycle.getProcess().toHandle();
+		final var handles = Stream.concat(process.descendants(), Stream.of(process))
+				.filter(ProcessHandle::isAlive)
+				.toList();
+		log.info("Close process {}", lifecycle);
+		handles.forEach(ProcessHandle::destroy);
+		return handles;
+	}
+
+	private static Stream<ProcessHandle> getDone(final Future<List<ProcessHandle>> future) {
+		try {
+			return future.get().stream();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return Stream.empty();
+		} catch (final ExecutionException e) {
+			log.warn("Can't close process", e);
+			return Stream.empty();
+		}
+	}
+
+}
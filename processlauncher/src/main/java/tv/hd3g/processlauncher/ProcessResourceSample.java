@@ -0,0 +1,34 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher;
+
+/**
+ * Resources used by a process and all its sub processes, at a time.
+ * @param date System.currentTimeMillis()
+ * @param cpuPercent since the previous sample, 100 by fully used CPU core
+ * @param rss resident memory, in bytes
+ * @param readBytes cumulative read bytes from the storage layer
+ * @param writeBytes cumulative written bytes to the storage layer
+ * @param threads thread count
+ */
+public record ProcessResourceSample(long date,
+								   double cpuPercent,
+								   long rss,
+								   long readBytes,
+								   long writeBytes,
+								   int threads) {
+}
@@ -0,0 +1,221 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opt-in, add it as ExecutionCallbacker on ProcesslauncherBuilder: regularly sample CPU, RSS, IO and threads of the
+ * running processes (with their sub processes), with a single scheduled task for all the processes.
+ * Linux only, read /proc/[pid]/stat, status and io. CPU times are counted with 100 ticks by sec (USER_HZ).
+ * Summary stats are available with ProcesslauncherLifecycle.getResourceStats().
+ */
+@Slf4j
+public class ProcessResourceSampler implements ExecutionCallbacker {
+	static final long CLOCK_TICKS_BY_SEC = 100;
+	private static final int STAT_UTIME = 11;
+	private static final int STAT_STIME = 12;
+
+	private final ScheduledExecutorService scheduler;
+	private final long intervalMs;
+	private final Path procDir;
+	private final Map<ProcesslauncherLifecycle, SamplingState> running;
+	private final List<BiConsumer<ProcesslauncherLifecycle, ProcessResourceSample>> observers;
+	private ScheduledFuture<?> samplingTask;
+
+	private static class SamplingState {
+		private long cpuTicks = -1;
+		private long nanoTime;
+	}
+
+	private record TreeValues(long cpuTicks, long rss, long readBytes, long writeBytes, int threads) {
+	}
+
+	/**
+	 * @param procDir the /proc directory, or a fake one
+	 */
+	public ProcessResourceSampler(final ScheduledExecutorService scheduler,
+								  final Duration interval,
+								  final Path procDir) {
+		this.scheduler = requireNonNull(scheduler, "\"scheduler\" can't to be null");
+		intervalMs = requireNonNull(interval, "\"interval\" can't to be null").toMillis();
+		if (intervalMs < 1) {
+			throw new IllegalArgumentException("Invalid interval: " + interval);
+		}
+		this.procDir = requireNonNull(procDir, "\"procDir\" can't to be null");
+		running = new ConcurrentHashMap<>();
+		observers = new CopyOnWriteArrayList<>();
+	}
+
+	public ProcessResourceSampler(final ScheduledExecutorService scheduler, final Duration interval) {
+		this(scheduler, interval, Path.of("/proc"));
+	}
+
+	/**
+	 * @param observer called on each live sample, from the scheduler thread
+	 */
+	public ProcessResourceSampler addObserver(final BiConsumer<ProcesslauncherLifecycle, ProcessResourceSample> observer) {
+		observers.add(requireNonNull(observer, "\"observer\" can't to be null"));
+		return this;
+	}
+
+	@Override
+	public void postStartupExecution(final ProcesslauncherLifecycle processlauncherLifecycle) {
+		processlauncherLifecycle.setResourceStats(ProcessResourceStats.EMPTY);
+		running.put(processlauncherLifecycle, new SamplingState());
+		synchronized (this) {
+			if (samplingTask == null) {
+				samplingTask = scheduler.scheduleAtFixedRate(this::sampleAll, 0, intervalMs, MILLISECONDS);
+			}
+		}
+	}
+
+	@Override
+	public void onEndExecution(final ProcesslauncherLifecycle processlauncherLifecycle) {
+		running.remove(processlauncherLifecycle);
+		synchronized (this) {
+			if (running.isEmpty() && samplingTask != null) {
+				samplingTask.cancel(false);
+				samplingTask = null;
+			}
+		}
+	}
+
+	public int getSampledCount() {
+		return running.size();
+	}
+
+	private void sampleAll() {
+		running.keySet().forEach(lifecycle -> {
+			try {
+				sample(lifecycle).ifPresent(s -> observers.forEach(o -> o.accept(lifecycle, s)));
+			} catch (final RuntimeException e) {
+				log.warn("Can't sample process resources for {}", lifecycle, e);
+			}
+		});
+	}
+
+	/**
+	 * @return empty if the process is not (or no longer) running, or not readable in procDir
+	 */
+	Optional<ProcessResourceSample> sample(final ProcesslauncherLifecycle lifecycle) {
+		final var state = running.get(lifecycle);
+		if (state == null) {
+			return Optional.empty();
+		}
+		final var process = lifecycle.getProcess();
+		final var values = Stream.concat(Stream.of(process.pid()), process.descendants().map(ProcessHandle::pid))
+				.map(this::read)
+				.flatMap(Optional::stream)
+				.reduce((l, r) -> new TreeValues(
+						l.cpuTicks + r.cpuTicks,
+						l.rss + r.rss,
+						l.readBytes + r.readBytes,
+						l.writeBytes + r.writeBytes,
+						l.threads + r.threads));
+		if (values.isEmpty()) {
+			return Optional.empty();
+		}
+		final var tree = values.get();
+
+		final var now = System.nanoTime();
+		final double cpuPercent;
+		synchronized (state) {
+			if (state.cpuTicks < 0) {
+				cpuPercent = 0d;
+			} else {
+				final var elapsedNanos = Math.max(1L, now - state.nanoTime);
+				final var cpuNanos = SECONDS.toNanos(Math.max(0L, tree.cpuTicks - state.cpuTicks))
+									 / CLOCK_TICKS_BY_SEC;
+				cpuPercent = 100d * cpuNanos / elapsedNanos;
+			}
+			state.cpuTicks = tree.cpuTicks;
+			state.nanoTime = now;
+		}
+
+		final var sample = new ProcessResourceSample(System.currentTimeMillis(), cpuPercent,
+				tree.rss, tree.readBytes, tree.writeBytes, tree.threads);
+		lifecycle.updateResourceStats(sample);
+		return Optional.ofNullable(sample);
+	}
+
+	private Optional<TreeValues> read(final long pid) {
+		final var pidDir = procDir.resolve(String.valueOf(pid));
+		try {
+			final var stat = Files.readString(pidDir.resolve("stat"));
+			final var afterComm = stat.substring(stat.lastIndexOf(')') + 2).trim().split(" ");
+			final var cpuTicks = Long.parseLong(afterComm[STAT_UTIME]) + Long.parseLong(afterComm[STAT_STIME]);
+
+			var rss = 0L;
+			var threads = 0;
+			for (final var line : Files.readAllLines(pidDir.resolve("status"))) {
+				if (line.startsWith("VmRSS:")) {
+					rss = parseLongValue(line) * 1024L;
+				} else if (line.startsWith("Threads:")) {
+					threads = (int) parseLongValue(line);
+				}
+			}
+
+			var readBytes = 0L;
+			var writeBytes = 0L;
+			try {
+				for (final var line : Files.readAllLines(pidDir.resolve("io"))) {
+					if (line.startsWith("read_bytes:")) {
+						readBytes = parseLongValue(line);
+					} else if (line.startsWith("write_bytes:")) {
+						writeBytes = parseLongValue(line);
+					}
+				}
+			} catch (final IOException e) {
+				log.trace("Can't read {}/io", pidDir, e);
+			}
+			return Optional.ofNullable(new TreeValues(cpuTicks, rss, readBytes, writeBytes, threads));
+		} catch (final NoSuchFileException e) {
+			return Optional.empty();
+		} catch (final IOException | RuntimeException e) {
+			log.debug("Can't read process resources in {}", pidDir, e);
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * @param line like "VmRSS:	   12345 kB"
+	 */
+	private static long parseLongValue(final String line) {
+		return Long.parseLong(line.substring(line.indexOf(':') + 1).trim().split("\\s+")[0]);
+	}
+
+}
@@ -0,0 +1,49 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher;
+
+/**
+ * Summary of all the ProcessResourceSample for a process.
+ * @param readBytes max seen cumulative read bytes
+ * @param writeBytes max seen cumulative written bytes
+ */
+public record ProcessResourceStats(int sampleCount,
+								   double meanCpuPercent,
+								   double peakCpuPercent,
+								   long peakRss,
+								   long readBytes,
+								   long writeBytes,
+								   int peakThreads) {
+
+	public static final ProcessResourceStats EMPTY = new ProcessResourceStats(0, 0d, 0d, 0L, 0L, 0L, 0);
+
+	/**
+	 * @return a new ProcessResourceStats with this sample
+	 */
+	public ProcessResourceStats add(final ProcessResourceSample sample) {
+		final var count = sampleCount + 1;
+		return new ProcessResourceStats(
+				count,
+				meanCpuPercent + (sample.cpuPercent() - meanCpuPercent) / count,
+				Math.max(peakCpuPercent, sample.cpuPercent()),
+				Math.max(peakRss, sample.rss()),
+				Math.max(readBytes, sample.readBytes()),
+				Math.max(writeBytes, sample.writeBytes()),
+				Math.max(peakThreads, sample.threads()));
+	}
+
+}
@@ -0,0 +1,88 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher;
+
+import static java.lang.Thread.MAX_PRIORITY;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executors for the process streams watchers (StreamWatcher) and the process end callbacks.
+ * The default one is shared by all the processes: a pool of daemon threads reused between processes, up to
+ * DEFAULT_MAX_POOL_SIZE threads. A stream watcher is never queued (a waiting watcher can block its process on a full
+ * pipe): beyond the pool size, it runs on a dedicated, not reused, thread.
+ * Set a virtual threads executor (like Executors.newVirtualThreadPerTaskExecutor()) to keep the platform threads count
+ * flat as the running processes count grows.
+ */
+@Slf4j
+public final class ProcessStreamsExecutor {
+	public static final int DEFAULT_MAX_POOL_SIZE = 64;
+	private static final AtomicLong CREATED_THREAD_COUNTER = new AtomicLong(0);
+
+	private static volatile Executor defaultExecutor = createSharedPool(DEFAULT_MAX_POOL_SIZE);
+
+	private ProcessStreamsExecutor() {
+	}
+
+	/**
+	 * @return the executor used by ProcesslauncherBuilder, if not set on it
+	 */
+	public static Executor getDefault() {
+		return defaultExecutor;
+	}
+
+	/**
+	 * Set globally the executor for the next created ProcesslauncherBuilder.
+	 * It will not be shutdown here. It should never queue tasks: each stream watcher runs until the process ends.
+	 */
+	public static void setDefault(final Executor executor) {
+		defaultExecutor = Objects.requireNonNull(executor, "\"executor\" can't to be null");
+	}
+
+	/**
+	 * @param maxPoolSize threads kept and reused (after a 60 seconds idle time, they are stopped). Over this limit,
+	 *        tasks run on a new dedicated thread.
+	 */
+	public static ExecutorService createSharedPool(final int maxPoolSize) {
+		final ThreadFactory threadFactory = r -> {
+			final var t = new Thread(r);
+			t.setDaemon(true);
+			t.setPriority(MAX_PRIORITY);
+			t.setName("ProcessStreamsWatcher#" + CREATED_THREAD_COUNTER.getAndIncrement());
+			return t;
+		};
+		return new ThreadPoolExecutor(0, maxPoolSize, 60, SECONDS, new SynchronousQueue<>(), threadFactory,
+				(r, executor) -> {
+					if (executor.isShutdown()) {
+						throw new RejectedExecutionException("Executor is shutdown");
+					}
+					log.debug("All the {} shared threads are busy, start a dedicated thread", maxPoolSize);
+					threadFactory.newThread(r).start();
+				});
+	}
+
+}
@@ -22,6 +22,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 public class Processlauncher {
 
@@ -34,6 +35,7 @@ public class Processlauncher {
 	private final String fullCommandLine;
 	private final ProcesslauncherBuilder processlauncherBuilder;
 	private final String executableName;
+	private final Executor streamsExecutor;
 
 	public Processlauncher(final ProcesslauncherBuilder processlauncherBuilder) {
 		this.processlauncherBuilder = Objects.requireNonNull(processlauncherBuilder,
@@ -48,6 +50,7 @@ public class Processlauncher {
 		processBuilder = processlauncherBuilder.makeProcessBuilder();
 		fullCommandLine = processlauncherBuilder.getFullCommandLine();
 		executableName = processlauncherBuilder.getExecutableName();
+		streamsExecutor = processlauncherBuilder.getStreamsExecutor();
 	}
 
 	public ProcesslauncherLifecycle start() throws IOException {
@@ -100,4 +103,11 @@ public class Processlauncher {
 	public String getExecutableName() {
 		return executableName;
 	}
+
+	/**
+	 * @return the executor for the streams watchers and the end callbacks
+	 */
+	public Executor getStreamsExecutor() {
+		return streamsExecutor;
+	}
 }
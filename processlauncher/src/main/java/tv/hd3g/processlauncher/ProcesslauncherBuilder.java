@@ -15,6 +15,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
@@ -36,6 +37,7 @@ public class ProcesslauncherBuilder {
 	private Optional<ExecutionTimeLimiter> executionTimeLimiter;
 	private Optional<CaptureStandardOutput> captureStandardOutput;
 	private Optional<ExternalProcessStartup> externalProcessStartup;
+	private Executor streamsExecutor;
 
 	public ProcesslauncherBuilder(final File executable, final Collection<String> parameters,
 								  final ExecutableFinder execFinder) {
@@ -60,6 +62,7 @@ public class ProcesslauncherBuilder {
 		executionTimeLimiter = Optional.empty();
 		captureStandardOutput = Optional.empty();
 		externalProcessStartup = Optional.empty();
+		streamsExecutor = ProcessStreamsExecutor.getDefault();
 	}
 
 	public ProcesslauncherBuilder(final File executable, final Collection<String> parameters) {
@@ -68,7 +71,7 @@ public class ProcesslauncherBuilder {
 
 	public ProcesslauncherBuilder(final CommandLine commandLine) {
 		this(commandLine.getExecutable(), commandLine.getParameters().getParameters(), commandLine.getExecutableFinder()
-				.orElseGet(ExecutableFinder::new));
+				.orElseGet(ExecutableFinder::getDefault));
 	}
 
 	/**
@@ -185,6 +188,19 @@ public class ProcesslauncherBuilder {
 		return captureStandardOutput;
 	}
 
+	/**
+	 * Default is ProcessStreamsExecutor.getDefault().
+	 * @param streamsExecutor for the stdout/stderr watchers and the end callbacks. It should never queue tasks.
+	 */
+	public ProcesslauncherBuilder setStreamsExecutor(final Executor streamsExecutor) {
+		this.streamsExecutor = Objects.requireNonNull(streamsExecutor, "\"streamsExecutor\" can't to be null");
+		return this;
+	}
+
+	public Executor getStreamsExecutor() {
+		return streamsExecutor;
+	}
+
 	public ProcessBuilder makeProcessBuilder() {
 		final List<String> fullCommandLine = new ArrayList<>();
 		fullCommandLine.add(executable.getPath());
@@ -16,14 +16,16 @@
  */
 package tv.hd3g.processlauncher;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
 import java.io.IOException;
 import java.time.Duration;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
@@ -34,25 +36,16 @@ public class ProcesslauncherLifecycle {
 	private static final String LOG_FORCE_TO_CLOSE_PROCESS = "Force to close process {}";
 	private static final String LOG_CLOSE_MANUALLY_PROCESS = "Close manually process {}";
 
-	private static final Executor END_EXEC_CALLBACK;
-	private static final AtomicLong END_EXEC_CALLBACK_COUNT;
-
-	static {
-		END_EXEC_CALLBACK_COUNT = new AtomicLong(0);
-		END_EXEC_CALLBACK = Executors.newCachedThreadPool(r -> {
-			final var t = new Thread(r);
-			t.setPriority(Thread.MIN_PRIORITY);
-			t.setDaemon(true);
-			t.setName("EndProcessExecCallback#" + END_EXEC_CALLBACK_COUNT.getAndIncrement());
-			return t;
-		});
-	}
-
 	private final Processlauncher launcher;
 	private final Process process;
-	private final Thread shutdownHook;
 	private final String fullCommandLine;
 	private final long startDate;
+	private final CompletableFuture<ProcesslauncherLifecycle> ended;
+	private final CompletableFuture<Void> closedStreams;
+	private final AtomicReference<ProcessResourceStats> resourceStats;
+	private final String execName;
+	private final long startNanoTime;
+	private final AtomicBoolean firstOutput;
 
 	private volatile boolean processWasKilled;
 	private volatile boolean processWasStoppedBecauseTooLongTime;
@@ -63,10 +56,16 @@ public class ProcesslauncherLifecycle {
 		this.launcher = launcher;
 		processWasKilled = false;
 		processWasStoppedBecauseTooLongTime = false;
+		resourceStats = new AtomicReference<>();
 		fullCommandLine = launcher.getFullCommandLine();
+		execName = getExecNameWithoutExt();
+		firstOutput = new AtomicBoolean(false);
 
 		final var pBuilder = launcher.getProcessBuilder();
 
+		final var launchEvent = new ProcessLaunchEvent();
+		launchEvent.begin();
+		final var beforeStart = System.nanoTime();
 		final var externalProcessStartup = launcher.getExternalProcessStartup();
 		if (externalProcessStartup.isPresent()) {
 			process = externalProcessStartup.get().startProcess(pBuilder);
@@ -75,28 +74,50 @@ public class ProcesslauncherLifecycle {
 			process = pBuilder.start();
 			log.info("Start process # {} {}", process.pid(), fullCommandLine);
 		}
+		startNanoTime = System.nanoTime();
 		startDate = System.currentTimeMillis();
+		LaunchMetrics.getInstance().record(execName, LaunchPhase.PROCESS_START, startNanoTime - beforeStart);
+		if (launchEvent.shouldCommit()) {
+			launchEvent.execName = execName;
+			launchEvent.pid = getPID().orElse(-1L);
+			launchEvent.commandLine = fullCommandLine;
+			launchEvent.commit();
+		}
 
-		shutdownHook = new Thread(() -> {
-			log.warn("Try to kill {}", this);
-			killProcessTree(process);
-		});
-		shutdownHook.setDaemon(false);
-		shutdownHook.setPriority(Thread.MAX_PRIORITY);
-		shutdownHook.setName("ShutdownHook for " + toString());
-		Runtime.getRuntime().addShutdownHook(shutdownHook);
+		ProcessRegistry.getInstance().register(this);
 
 		launcher.getExecutionTimeLimiter().ifPresent(etl -> etl.addTimesUp(this, process));
 
 		final var executionCallbackers = launcher.getExecutionCallbackers();
 		executionCallbackers.forEach(ec -> ec.postStartupExecution(this));
 
-		launcher.getCaptureStandardOutput().ifPresent(cso -> {
-			cso.stdOutStreamConsumer(process.getInputStream(), this);
-			cso.stdErrStreamConsumer(process.getErrorStream(), this);
-		});
+		closedStreams = launcher.getCaptureStandardOutput().map(cso -> {
+			var stdOut = process.getInputStream();
+			var stdErr = process.getErrorStream();
+			for (final var ec : executionCallbackers) {
+				stdOut = ec.wrapProcessStream(this, stdOut, false);
+				stdErr = ec.wrapProcessStream(this, stdErr, true);
+			}
+			final var stdOutWatcher = cso.stdOutStreamConsumer(stdOut, this);
+			final var stdErrWatcher = cso.stdErrStreamConsumer(stdErr, this);
+			return CompletableFuture.allOf(
+					Optional.ofNullable(stdOutWatcher).map(StreamWatcher::onEnd).orElseGet(() -> completedFuture(null)),
+					Optional.ofNullable(stdErrWatcher).map(StreamWatcher::onEnd).orElseGet(() -> completedFuture(null)));
+		}).orElseGet(() -> completedFuture(null));
+
+		ended = process.onExit().thenApplyAsync(endedProcess -> {
+			final var uptime = System.nanoTime() - startNanoTime;
+			LaunchMetrics.getInstance().record(execName, LaunchPhase.EXIT, uptime);
+			final var exitEvent = new ProcessExitEvent();
+			if (exitEvent.shouldCommit()) {
+				exitEvent.execName = execName;
+				exitEvent.pid = getPID().orElse(-1L);
+				exitEvent.exitCode = process.exitValue();
+				exitEvent.endStatus = getEndStatus().toString();
+				exitEvent.uptime = uptime;
+				exitEvent.commit();
+			}
 
-		process.onExit().thenRunAsync(() -> {
 			final var pName = getExecNameWithoutExt();
 			final var pid = getPID().map(p -> "#" + p).orElse("");
 			final var status = getEndStatus().toString().toLowerCase();
@@ -119,10 +140,11 @@ public class ProcesslauncherLifecycle {
 			log.info("End exec process {}{} {}{}{}", pName, pid, status, retnr, dur);
 
 			endDate = System.currentTimeMillis();
-			Runtime.getRuntime().removeShutdownHook(shutdownHook);
+			ProcessRegistry.getInstance().unregister(this);
 			externalProcessStartup.ifPresent(eps -> eps.onEndProcess(this));
 			executionCallbackers.forEach(ec -> ec.onEndExecution(this));
-		}, END_EXEC_CALLBACK);
+			return this;
+		}, launcher.getStreamsExecutor());
 	}
 
 	public String getExecNameWithoutExt() {
@@ -135,6 +157,15 @@ public class ProcesslauncherLifecycle {
 		}
 	}
 
+	/**
+	 * Called by the text capture, on each first line.
+	 */
+	void onFirstOutput() {
+		if (firstOutput.compareAndSet(false, true)) {
+			LaunchMetrics.getInstance().record(execName, LaunchPhase.FIRST_OUTPUT, System.nanoTime() - startNanoTime);
+		}
+	}
+
 	public long getStartDate() {
 		return getProcess().info().startInstant().flatMap(i -> Optional.ofNullable(i.toEpochMilli())).orElse(startDate);
 	}
@@ -227,6 +258,21 @@ public class ProcesslauncherLifecycle {
 		return EndStatus.CORRECTLY_DONE;
 	}
 
+	/**
+	 * @return empty if no ProcessResourceSampler is set for this process
+	 */
+	public Optional<ProcessResourceStats> getResourceStats() {
+		return Optional.ofNullable(resourceStats.get());
+	}
+
+	void setResourceStats(final ProcessResourceStats stats) {
+		resourceStats.set(stats);
+	}
+
+	void updateResourceStats(final ProcessResourceSample sample) {
+		resourceStats.updateAndGet(s -> Optional.ofNullable(s).orElse(ProcessResourceStats.EMPTY).add(sample));
+	}
+
 	public long getEndDate() {
 		return endDate;
 	}
@@ -265,6 +311,23 @@ public class ProcesslauncherLifecycle {
 		return this;
 	}
 
+	/**
+	 * Non-blocking, never kills the process on cancel.
+	 * @return done after the process end, and after all the ExecutionCallbackers onEndExecution calls.
+	 */
+	public CompletableFuture<ProcesslauncherLifecycle> onEnd() {
+		return ended.copy();
+	}
+
+	/**
+	 * Non-blocking.
+	 * @return done when all the started stream consumers (see CaptureStandardOutput) are ended, or already done
+	 *         without stream capture.
+	 */
+	public CompletableFuture<Void> onClosedStreams() {
+		return closedStreams.copy();
+	}
+
 	public ProcesslauncherLifecycle waitForEnd() {
 		try {
 			process.waitFor();
@@ -16,71 +16,150 @@
  */
 package tv.hd3g.processlauncher;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.Optional;
 
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
-public class StreamParser extends Thread {
-	static final AtomicLong CREATED_THREAD_COUNTER = new AtomicLong(-1);
+public class StreamParser extends StreamWatcher {
+	/**
+	 * In bytes
+	 */
+	public static final int DEFAULT_MAX_LINE_LENGTH = 1024 * 1024;
+	public static final int DEFAULT_TEXT_BATCH_MAX_SIZE = 1000;
+	public static final Duration DEFAULT_TEXT_BATCH_MAX_DELAY = Duration.ofMillis(100);
 
 	private final InputStream processStream;
 	private final boolean isStdErr;
-	private final ProcesslauncherLifecycle source;
 	private final List<CapturedStdOutErrText> observers;
+	private final Charset charset;
+	private final int maxLineLength;
+	private final int textBatchMaxSize;
+	private final long textBatchMaxDelay;
+	private final List<LineEntry> textBatch;
+	private final List<LineEntry> textBatchView;
+	private List<CapturedStdOutErrText> lineObservers;
+	private List<CapturedStdOutErrText> batchObservers;
+	private long textBatchStart;
+	private long truncatedLines;
+	private boolean firstLineDone;
 
 	StreamParser(final InputStream processStream,
 				 final boolean isStdErr,
 				 final ProcesslauncherLifecycle source,
 				 final List<CapturedStdOutErrText> observers) {
+		this(processStream, isStdErr, source, observers, Charset.defaultCharset(), DEFAULT_MAX_LINE_LENGTH,
+				DEFAULT_TEXT_BATCH_MAX_SIZE, DEFAULT_TEXT_BATCH_MAX_DELAY);
+	}
+
+	/**
+	 * @param maxLineLength in bytes, longer lines will be truncated
+	 * @param textBatchMaxSize and textBatchMaxDelay only for the CapturedStdOutErrText.isTextBatch observers
+	 */
+	StreamParser(final InputStream processStream,
+				 final boolean isStdErr,
+				 final ProcesslauncherLifecycle source,
+				 final List<CapturedStdOutErrText> observers,
+				 final Charset charset,
+				 final int maxLineLength,
+				 final int textBatchMaxSize,
+				 final Duration textBatchMaxDelay) {
+		super((isStdErr ? "Executable syserr watcher for " : "Executable sysout watcher for ")
+			  + source.getLauncher().getExecutableName(), source);
 		this.processStream = processStream;
 		this.isStdErr = isStdErr;
-		this.source = source;
 		this.observers = Collections.unmodifiableList(observers);
-
-		setDaemon(true);
-		setPriority(MAX_PRIORITY);
-
-		final var execName = source.getLauncher().getExecutableName();
-		if (isStdErr) {
-			setName("Executable syserr watcher for " + execName + " TId#"
-					+ CREATED_THREAD_COUNTER.incrementAndGet());
-		} else {
-			setName("Executable sysout watcher for " + execName + " TId#"
-					+ CREATED_THREAD_COUNTER.incrementAndGet());
-		}
+		this.charset = charset;
+		this.maxLineLength = maxLineLength;
+		this.textBatchMaxSize = textBatchMaxSize;
+		this.textBatchMaxDelay = textBatchMaxDelay.toMillis();
+		textBatch = new ArrayList<>();
+		textBatchView = Collections.unmodifiableList(textBatch);
 	}
 
 	@Override
-	public void run() {
+	protected void process() {
+		batchObservers = observers.stream()
+				.filter(CapturedStdOutErrText::isTextBatch)
+				.toList();
+		lineObservers = observers.stream()
+				.filter(o -> o.isTextBatch() == false)
+				.toList();
 		try {
-			final var reader = new BufferedReader(new InputStreamReader(processStream));
-			subRun(reader);
+			final var splitter = new LineSplitter(charset, maxLineLength, this::onLine);
+			if (batchObservers.isEmpty() == false) {
+				splitter.setOnIdle(this::flushTextBatch);
+			}
+			subRun(splitter);
 		} catch (final IOException ioe) {
 			log.error("Trouble opening process streams: {}", this, ioe);
 		}
 	}
 
-	private void subRun(final BufferedReader reader) throws IOException {
-		try {
-			var line = "";
-			while ((line = reader.readLine()) != null) {
-				final var lineEntry = new LineEntry(System.currentTimeMillis(), line, isStdErr,
-						source);
-				observers.forEach(observer -> {
-					try {
-						observer.onText(lineEntry);
-					} catch (final RuntimeException e) {
-						log.error("Can't callback process text event ", e);
-					}
-				});
+	private void onLine(final CharSequence line, final boolean truncated) {
+		if (truncated && truncatedLines++ == 0) {
+			log.warn("Too long line (more than {} bytes), it will be truncated, on {}", maxLineLength, this);
+		}
+		if (firstLineDone == false) {
+			firstLineDone = true;
+			Optional.ofNullable(getSource()).ifPresent(ProcesslauncherLifecycle::onFirstOutput);
+		}
+		final var date = System.currentTimeMillis();
+		LineEntry lineEntry = null;
+		for (final var observer : lineObservers) {
+			try {
+				if (observer.onRawText(line, isStdErr, getSource())) {
+					continue;
+				}
+				if (lineEntry == null) {
+					lineEntry = new LineEntry(date, line.toString(), isStdErr, getSource());
+				}
+				observer.onText(lineEntry);
+			} catch (final RuntimeException e) {
+				log.error("Can't callback process text event ", e);
 			}
+		}
+
+		if (batchObservers.isEmpty()) {
+			return;
+		}
+		if (lineEntry == null) {
+			lineEntry = new LineEntry(date, line.toString(), isStdErr, getSource());
+		}
+		if (textBatch.isEmpty()) {
+			textBatchStart = date;
+		}
+		textBatch.add(lineEntry);
+		if (textBatch.size() >= textBatchMaxSize
+			|| date - textBatchStart >= textBatchMaxDelay) {
+			flushTextBatch();
+		}
+	}
+
+	private void flushTextBatch() {
+		if (textBatch.isEmpty()) {
+			return;
+		}
+		for (final var observer : batchObservers) {
+			try {
+				observer.onTextBatch(textBatchView);
+			} catch (final RuntimeException e) {
+				log.error("Can't callback process text batch event ", e);
+			}
+		}
+		textBatch.clear();
+	}
+
+	private void subRun(final LineSplitter splitter) throws IOException {
+		try {
+			splitter.read(processStream);
 		} catch (final IOException ioe) {
 			if (ioe.getMessage().equalsIgnoreCase("Bad file descriptor")) {
 				if (log.isTraceEnabled()) {
@@ -96,14 +175,14 @@ public class StreamParser extends Thread {
 		} catch (final Exception e) {
 			log.error("Trouble during process {}", this, e);
 		} finally {
-			reader.close();
+			flushTextBatch();
+			processStream.close();
+			if (truncatedLines > 1) {
+				log.warn("{} truncated lines on {}", truncatedLines, this);
+			}
 		}
 	}
 
-	public ProcesslauncherLifecycle getSource() {
-		return source;
-	}
-
 	public boolean isStdErr() {
 		return isStdErr;
 	}
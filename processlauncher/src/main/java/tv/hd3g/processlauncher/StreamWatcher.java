@@ -0,0 +1,133 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A process stream consumer, run by the Processlauncher streams executor (see ProcessStreamsExecutor), instead of a
+ * dedicated Thread. The running thread is renamed during the run.
+ */
+public abstract class StreamWatcher implements Runnable {
+	static final AtomicLong CREATED_WATCHER_COUNTER = new AtomicLong(-1);
+
+	private final String name;
+	private final ProcesslauncherLifecycle source;
+	private final CompletableFuture<Void> ended;
+	private volatile boolean started;
+
+	/**
+	 * @param name an unique id will be added
+	 */
+	protected StreamWatcher(final String name, final ProcesslauncherLifecycle source) {
+		this.name = name + " TId#" + CREATED_WATCHER_COUNTER.incrementAndGet();
+		this.source = source;
+		ended = new CompletableFuture<>();
+	}
+
+	/**
+	 * Consume the stream, until its end.
+	 */
+	protected abstract void process();
+
+	@Override
+	public final void run() {
+		final var thread = Thread.currentThread();
+		final var threadName = thread.getName();
+		thread.setName(name);
+		try {
+			process();
+		} finally {
+			thread.setName(threadName);
+			ended.complete(null);
+		}
+	}
+
+	/**
+	 * Run it on the source Processlauncher streams executor.
+	 */
+	public void start() {
+		started = true;
+		source.getLauncher().getStreamsExecutor().execute(this);
+	}
+
+	/**
+	 * @return true if started and not ended
+	 */
+	public boolean isAlive() {
+		return started && ended.isDone() == false;
+	}
+
+	/**
+	 * Blocking, until the end.
+	 */
+	public void join() throws InterruptedException {
+		if (started) {
+			try {
+				ended.get();
+			} catch (final ExecutionException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+
+	/**
+	 * Blocking, until the end or the timeout.
+	 */
+	public void join(final long millis) throws InterruptedException {
+		if (started) {
+			try {
+				ended.get(millis, MILLISECONDS);
+			} catch (final TimeoutException e) {// NOSONAR
+				return;
+			} catch (final ExecutionException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+
+	/**
+	 * Non-blocking.
+	 * @return done at the end, or already done if not started.
+	 */
+	public CompletableFuture<Void> onEnd() {
+		if (started) {
+			return ended.copy();
+		}
+		return completedFuture(null);
+	}
+
+	public ProcesslauncherLifecycle getSource() {
+		return source;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+
+}
@@ -21,12 +21,15 @@ import static java.util.Arrays.stream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -37,6 +40,8 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * It will resolve/find valid executable files in *NIX and valid executable extensions in Windows.
  * On system PATH, classpath, current dir, and local user dir (/bin).
+ * Found executables are cached, and checked again after the cache TTL: if the search directories are not modified
+ * (by lastModified date), and if the executable is still here, the cache is kept.
  * ThreadSafe
  */
 @Slf4j
@@ -58,6 +63,8 @@ public class ExecutableFinder {
 	 */
 	public static final List<File> GLOBAL_DECLARED_DIRS;
 
+	public static final Duration DEFAULT_CACHE_TTL = Duration.ofSeconds(10);
+
 	static {
 		if (System.getenv().containsKey("PATHEXT")) {
 			/**
@@ -97,10 +104,29 @@ public class ExecutableFinder {
 	private final Deque<File> paths;
 	private final Map<String, File> declaredInConfiguration;
 	private final boolean isWindowsStylePath;
+	private final Map<String, ResolvedExecutable> resolvedCache;
+	private volatile long cacheTTLNanos;
+
+	private record ResolvedExecutable(File executable, List<File> searchDirs, long[] lastModified, long checked) {
+	}
+
+	private static class DefaultHolder {
+		private static final ExecutableFinder DEFAULT = new ExecutableFinder();
+	}
+
+	/**
+	 * Created on the first call, shared by all the JVM: avoid to walk PATH for each new ExecutableFinder.
+	 * Changes on it (addPath, registerExecutable) will be visible by all users.
+	 */
+	public static ExecutableFinder getDefault() {
+		return DefaultHolder.DEFAULT;
+	}
 
 	public ExecutableFinder() {
 		declaredInConfiguration = Collections.synchronizedMap(new LinkedHashMap<>());
 		isWindowsStylePath = File.separator.equals("\\");
+		resolvedCache = new ConcurrentHashMap<>();
+		cacheTTLNanos = DEFAULT_CACHE_TTL.toNanos();
 
 		/**
 		 * Adds only valid dirs
@@ -172,10 +198,26 @@ public class ExecutableFinder {
 				log.debug("Register path: {}", f.getPath());
 				paths.addFirst(f);
 			}
+			resolvedCache.clear();
 		}
 		return this;
 	}
 
+	/**
+	 * @param cacheTTL time before check again a found executable. Duration.ZERO for check it each time.
+	 */
+	public void setCacheTTL(final Duration cacheTTL) {
+		cacheTTLNanos = Objects.requireNonNull(cacheTTL, "\"cacheTTL\" can't to be null").toNanos();
+	}
+
+	public Duration getCacheTTL() {
+		return Duration.ofNanos(cacheTTLNanos);
+	}
+
+	public void clearCache() {
+		resolvedCache.clear();
+	}
+
 	private boolean validExec(final File exec) {
 		if (exec.exists() == false || exec.isFile() == false || exec.canRead() == false) {
 			return false;
@@ -190,6 +232,7 @@ public class ExecutableFinder {
 			                      + " can't be correctly found in " + fullPath);
 		}
 		declaredInConfiguration.put(name, fullPath);
+		resolvedCache.clear();
 		return this;
 	}
 
@@ -204,14 +247,50 @@ public class ExecutableFinder {
 			return declaredInConfiguration.get(name);
 		}
 
+		final var cached = resolvedCache.get(name);
+		if (cached != null && isStillValid(name, cached)) {
+			return cached.executable();
+		}
+
 		final var exec = new File(name);
 		if (validExec(exec)) {
 			return exec;
 		}
 
-		final var allFileCandidates = Stream.concat(declaredInConfiguration.values().stream().map(
-				File::getParentFile), paths.stream()).map(dir -> new File(dir + File.separator + name)
-						.getAbsoluteFile())
+		final var searchDirs = Stream.concat(
+				declaredInConfiguration.values().stream().map(File::getParentFile),
+				paths.stream())
+				.distinct()
+				.toList();
+		final var lastModified = getLastModified(searchDirs);
+		final var found = search(name, searchDirs);
+		resolvedCache.put(name, new ResolvedExecutable(found, searchDirs, lastModified, System.nanoTime()));
+		return found;
+	}
+
+	private static long[] getLastModified(final List<File> dirs) {
+		return dirs.stream().mapToLong(File::lastModified).toArray();
+	}
+
+	private boolean isStillValid(final String name, final ResolvedExecutable cached) {
+		final var now = System.nanoTime();
+		if (now - cached.checked() < cacheTTLNanos) {
+			return true;
+		}
+		if (Arrays.equals(cached.lastModified(), getLastModified(cached.searchDirs()))
+			&& validExec(cached.executable())) {
+			resolvedCache.replace(name, cached, new ResolvedExecutable(
+					cached.executable(), cached.searchDirs(), cached.lastModified(), now));
+			return true;
+		}
+		log.debug("Search again executable \"{}\"", name);
+		resolvedCache.remove(name, cached);
+		return false;
+	}
+
+	private File search(final String name, final List<File> searchDirs) throws FileNotFoundException {
+		final var allFileCandidates = searchDirs.stream()
+				.map(dir -> new File(dir + File.separator + name).getAbsoluteFile())
 				.distinct().toList();
 
 		if (isWindowsStylePath == false) {
@@ -0,0 +1,204 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher.processingtool;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Adjust the ProcessingToolScheduler max concurrent processes by executable name, with the host load (AIMD):
+ * - on host overload (CPU, IO wait or load average), the limit is multiplied by decreaseFactor;
+ * - else, if the executable uses all its slots, the limit is increased by one;
+ * - but if the last increase has lowered the reported throughput, the limit goes back by one.
+ * Call update() regularly, or start() it on a ScheduledExecutorService.
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+	public static final double DEFAULT_MAX_CPU_BUSY = 0.9d;
+	public static final double DEFAULT_MAX_IO_WAIT = 0.25d;
+	public static final double DEFAULT_MAX_LOAD_BY_CPU = 1.5d;
+	public static final double DEFAULT_DECREASE_FACTOR = 0.75d;
+	/**
+	 * Weight for the newest reportThroughput value
+	 */
+	static final double THROUGHPUT_SMOOTHING = 0.3d;
+
+	private final ProcessingToolScheduler scheduler;
+	private final HostLoadSource hostLoadSource;
+	private final Map<String, ToolLimit> toolLimits;
+
+	private volatile double maxCpuBusy;
+	private volatile double maxIoWait;
+	private volatile double maxLoadByCpu;
+	private volatile double decreaseFactor;
+
+	public AdaptiveConcurrencyLimiter(final ProcessingToolScheduler scheduler, final HostLoadSource hostLoadSource) {
+		this.scheduler = requireNonNull(scheduler, "\"scheduler\" can't to be null");
+		this.hostLoadSource = requireNonNull(hostLoadSource, "\"hostLoadSource\" can't to be null");
+		toolLimits = new ConcurrentHashMap<>();
+		maxCpuBusy = DEFAULT_MAX_CPU_BUSY;
+		maxIoWait = DEFAULT_MAX_IO_WAIT;
+		maxLoadByCpu = DEFAULT_MAX_LOAD_BY_CPU;
+		decreaseFactor = DEFAULT_DECREASE_FACTOR;
+	}
+
+	/**
+	 * Start with minConcurrent.
+	 * @param execName like ProcessingToolBuilder execName ("ffmpeg", "ffprobe"...)
+	 */
+	public void addTool(final String execName, final int minConcurrent, final int maxConcurrent) {
+		requireNonNull(execName, "\"execName\" can't to be null");
+		if (minConcurrent < 1 || maxConcurrent < minConcurrent) {
+			throw new IllegalArgumentException("Invalid min/max concurrent: " + minConcurrent + "/" + maxConcurrent);
+		}
+		toolLimits.put(execName, new ToolLimit(minConcurrent, maxConcurrent));
+		scheduler.setMaxConcurrent(execName, minConcurrent);
+	}
+
+	/**
+	 * @return the actual limit, or 0 if execName is not managed here
+	 */
+	public int getLimit(final String execName) {
+		final var toolLimit = toolLimits.get(execName);
+		if (toolLimit == null) {
+			return 0;
+		}
+		synchronized (toolLimit) {
+			return toolLimit.limit;
+		}
+	}
+
+	/**
+	 * Optional, from progress data: a job throughput (like processed frames/sec, or speed).
+	 */
+	public void reportThroughput(final String execName, final double jobThroughput) {
+		final var toolLimit = toolLimits.get(execName);
+		if (toolLimit == null || jobThroughput < 0d) {
+			return;
+		}
+		synchronized (toolLimit) {
+			if (toolLimit.jobThroughput < 0d) {
+				toolLimit.jobThroughput = jobThroughput;
+			} else {
+				toolLimit.jobThroughput = THROUGHPUT_SMOOTHING * jobThroughput
+										  + (1d - THROUGHPUT_SMOOTHING) * toolLimit.jobThroughput;
+			}
+		}
+	}
+
+	/**
+	 * Read the host load, and adjust all the limits.
+	 */
+	public synchronized void update() {
+		final HostLoad hostLoad;
+		try {
+			hostLoad = hostLoadSource.getHostLoad();
+		} catch (final RuntimeException e) {
+			log.warn("Can't get host load, keep actual limits", e);
+			return;
+		}
+		final var overloaded = hostLoad.cpuBusy() > maxCpuBusy
+							   || hostLoad.ioWait() > maxIoWait
+							   || hostLoad.getLoadByCpu() > maxLoadByCpu;
+		log.trace("Host load: {}, overloaded: {}", hostLoad, overloaded);
+
+		toolLimits.forEach((execName, toolLimit) -> {
+			final int newLimit;
+			synchronized (toolLimit) {
+				newLimit = toolLimit.computeNextLimit(overloaded, scheduler.getRunningCount(execName));
+				if (newLimit == toolLimit.limit) {
+					return;
+				}
+				log.debug("Change {} concurrent limit from {} to {} ({})", execName, toolLimit.limit, newLimit, hostLoad);
+				toolLimit.limit = newLimit;
+			}
+			scheduler.setMaxConcurrent(execName, newLimit);
+		});
+	}
+
+	public ScheduledFuture<?> start(final ScheduledExecutorService scheduledExecutor, final Duration period) {
+		requireNonNull(scheduledExecutor, "\"scheduledExecutor\" can't to be null");
+		final var periodMs = requireNonNull(period, "\"period\" can't to be null").toMillis();
+		return scheduledExecutor.scheduleAtFixedRate(this::update, periodMs, periodMs, TimeUnit.MILLISECONDS);
+	}
+
+	public void setMaxCpuBusy(final double maxCpuBusy) {
+		this.maxCpuBusy = maxCpuBusy;
+	}
+
+	public void setMaxIoWait(final double maxIoWait) {
+		this.maxIoWait = maxIoWait;
+	}
+
+	public void setMaxLoadByCpu(final double maxLoadByCpu) {
+		this.maxLoadByCpu = maxLoadByCpu;
+	}
+
+	/**
+	 * @param decreaseFactor between 0 and 1 (excluded)
+	 */
+	public void setDecreaseFactor(final double decreaseFactor) {
+		if (decreaseFactor <= 0d || decreaseFactor >= 1d) {
+			throw new IllegalArgumentException("Invalid decreaseFactor: " + decreaseFactor);
+		}
+		this.decreaseFactor = decreaseFactor;
+	}
+
+	private class ToolLimit {
+		private final int min;
+		private final int max;
+		private int limit;
+		private double jobThroughput;
+		/**
+		 * Total throughput (jobs * jobThroughput) before the last increase, or -1
+		 */
+		private double throughputBeforeIncrease;
+
+		ToolLimit(final int min, final int max) {
+			this.min = min;
+			this.max = max;
+			limit = min;
+			jobThroughput = -1d;
+			throughputBeforeIncrease = -1d;
+		}
+
+		int computeNextLimit(final boolean overloaded, final int running) {
+			final var totalThroughput = jobThroughput < 0d ? -1d : jobThroughput * running;
+			final var lastIncrease = throughputBeforeIncrease;
+			throughputBeforeIncrease = -1d;
+
+			if (overloaded) {
+				return Math.max(min, (int) Math.floor(limit * decreaseFactor));
+			} else if (lastIncrease >= 0d && totalThroughput >= 0d && totalThroughput < lastIncrease) {
+				return Math.max(min, limit - 1);
+			} else if (running >= limit && limit < max) {
+				throughputBeforeIncrease = totalThroughput;
+				return limit + 1;
+			}
+			return limit;
+		}
+	}
+
+}
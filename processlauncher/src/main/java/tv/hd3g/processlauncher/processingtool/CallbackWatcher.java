@@ -18,6 +18,7 @@ package tv.hd3g.processlauncher.processingtool;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -27,6 +28,7 @@ import org.apache.commons.collections4.queue.CircularFifoQueue;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import tv.hd3g.processlauncher.CapturedStdOutErrText;
 import tv.hd3g.processlauncher.CapturedStdOutErrTextInteractive;
 import tv.hd3g.processlauncher.InvalidExecution;
 import tv.hd3g.processlauncher.LineEntry;
@@ -39,6 +41,12 @@ public class CallbackWatcher implements ExecutorWatcher {
 	@Setter
 	@Getter
 	private Consumer<LineEntry> stdOutErrConsumer;
+	/**
+	 * If set, used in place of stdOutErrConsumer: lines will be sent by batches (never keep the provided List).
+	 */
+	@Setter
+	@Getter
+	private Consumer<List<LineEntry>> stdOutErrBatchConsumer;
 	protected final CircularFifoQueue<String> stdErrLinesBucket;
 	protected Predicate<String> filterOutErrorLines;
 
@@ -59,17 +67,45 @@ public class CallbackWatcher implements ExecutorWatcher {
 
 	@Override
 	public void setupWatcherRun(final ProcesslauncherBuilder builder) {
+		final var batchConsumer = stdOutErrBatchConsumer;
+		if (batchConsumer != null) {
+			builder.getSetCaptureStandardOutputAsOutputText()
+					.addObserver(new CapturedStdOutErrText() {
+
+						@Override
+						public boolean isTextBatch() {
+							return true;
+						}
+
+						@Override
+						public void onTextBatch(final List<LineEntry> lineEntries) {
+							batchConsumer.accept(lineEntries);
+							lineEntries.forEach(CallbackWatcher.this::retainStdErrLine);
+						}
+
+						@Override
+						public void onText(final LineEntry lineEntry) {
+							onTextBatch(List.of(lineEntry));
+						}
+					});
+			return;
+		}
+
 		builder.getSetCaptureStandardOutputAsOutputText()
 				.addObserver(new CapturedStdOutErrTextInteractive(line -> {
 					stdOutErrConsumer.accept(line);
-					if (line.stdErr()
-						&& line.isEmpty() == false) {
-						stdErrLinesBucket.add(line.line());
-					}
+					retainStdErrLine(line);
 					return null;
 				}));
 	}
 
+	private void retainStdErrLine(final LineEntry line) {
+		if (line.stdErr()
+			&& line.isEmpty() == false) {
+			stdErrLinesBucket.add(line.line());
+		}
+	}
+
 	@Override
 	public void afterStartProcess(final ProcesslauncherLifecycle lifeCycle) {
 		try {
@@ -18,12 +18,16 @@ package tv.hd3g.processlauncher.processingtool;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import lombok.Getter;
 import lombok.Setter;
 import tv.hd3g.processlauncher.CapturedStdOutErrTextRetention;
+import tv.hd3g.processlauncher.CapturedStreams;
+import tv.hd3g.processlauncher.CapturedTextLimits;
 import tv.hd3g.processlauncher.DirectStandardOutputStdErrRetention;
 import tv.hd3g.processlauncher.InputStreamConsumer;
 import tv.hd3g.processlauncher.InvalidExecution;
@@ -34,13 +38,30 @@ public class DirectStdoutGetStderrWatcher implements ExecutorWatcher {
 
 	@Setter
 	private InputStreamConsumer stdOutConsumer;
+	/**
+	 * If set, called on each run setup, in place of stdOutConsumer: one InputStreamConsumer by run, kept by the run
+	 * capture (see DirectStandardOutputStdErrRetention.getStdOutConsumer), not by this watcher.
+	 */
+	@Setter
+	private Supplier<InputStreamConsumer> stdOutConsumerFactory;
 	@Getter
 	private final CapturedStdOutErrTextRetention stdErrtextRetention;
 	protected Predicate<String> filterOutErrorLines;
 
-	public DirectStdoutGetStderrWatcher() {
+	/**
+	 * @param stderrLimits for the stderr retention
+	 */
+	public DirectStdoutGetStderrWatcher(final CapturedTextLimits stderrLimits) {
 		filterOutErrorLines = p -> true;
-		stdErrtextRetention = new CapturedStdOutErrTextRetention();
+		stdErrtextRetention = new CapturedStdOutErrTextRetention(
+				CapturedStreams.ONLY_STDERR, CapturedTextLimits.UNLIMITED, stderrLimits);
+	}
+
+	/**
+	 * With CapturedTextLimits.DEFAULT_STDERR
+	 */
+	public DirectStdoutGetStderrWatcher() {
+		this(CapturedTextLimits.DEFAULT_STDERR);
 	}
 
 	@Override
@@ -50,7 +71,10 @@ public class DirectStdoutGetStderrWatcher implements ExecutorWatcher {
 
 	@Override
 	public void setupWatcherRun(final ProcesslauncherBuilder builder) {
-		final var directStreams = new DirectStandardOutputStdErrRetention(stdErrtextRetention, stdOutConsumer);
+		final var runStdOutConsumer = Optional.ofNullable(stdOutConsumerFactory)
+				.map(Supplier::get)
+				.orElse(stdOutConsumer);
+		final var directStreams = new DirectStandardOutputStdErrRetention(stdErrtextRetention, runStdOutConsumer);
 		builder.setCaptureStandardOutput(directStreams);
 	}
 
@@ -64,4 +88,5 @@ public class DirectStdoutGetStderrWatcher implements ExecutorWatcher {
 					.map(String::trim).collect(Collectors.joining("|")));
 		}
 	}
+
 }
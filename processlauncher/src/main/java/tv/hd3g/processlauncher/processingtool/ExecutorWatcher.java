@@ -16,6 +16,7 @@
  */
 package tv.hd3g.processlauncher.processingtool;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 
 import tv.hd3g.processlauncher.ProcesslauncherBuilder;
@@ -41,6 +42,19 @@ public interface ExecutorWatcher {
 		lifeCycle.waitForEnd();
 	}
 
+	/**
+	 * Must be non-blocking. Async version of afterStartProcess.
+	 * By default, afterStartProcess is called after the process end and its closed streams (see
+	 * ProcesslauncherLifecycle.onClosedStreams), so it should not block anymore.
+	 * @return done with the same (failed) result as afterStartProcess
+	 */
+	default CompletableFuture<ProcesslauncherLifecycle> afterStartProcessAsync(final ProcesslauncherLifecycle lifeCycle) {
+		return lifeCycle.onEnd().thenCombine(lifeCycle.onClosedStreams(), (endedLifeCycle, v) -> {
+			afterStartProcess(endedLifeCycle);
+			return endedLifeCycle;
+		});
+	}
+
 	default void setFilterOutErrorLines(final Predicate<String> filterOutErrorLines) {
 	}
 
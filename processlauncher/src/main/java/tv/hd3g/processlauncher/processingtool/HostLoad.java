@@ -0,0 +1,38 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher.processingtool;
+
+/**
+ * A host load measure, between two HostLoadSource reads.
+ * @param loadAverage 1 minute load average
+ * @param cpuCount logical CPU count
+ * @param cpuBusy from 0 to 1, all CPUs time not idle and not waiting for IO
+ * @param ioWait from 0 to 1, all CPUs time waiting for IO
+ */
+public record HostLoad(double loadAverage,
+					   int cpuCount,
+					   double cpuBusy,
+					   double ioWait) {
+
+	/**
+	 * @return loadAverage by CPU
+	 */
+	public double getLoadByCpu() {
+		return loadAverage / Math.max(1, cpuCount);
+	}
+
+}
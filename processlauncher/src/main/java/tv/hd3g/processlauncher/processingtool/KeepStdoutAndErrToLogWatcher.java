@@ -29,6 +29,7 @@ import org.slf4j.event.Level;
 import lombok.Getter;
 import tv.hd3g.processlauncher.CapturedStdOutErrTextInteractive;
 import tv.hd3g.processlauncher.CapturedStdOutErrTextRetention;
+import tv.hd3g.processlauncher.CapturedTextLimits;
 import tv.hd3g.processlauncher.InvalidExecution;
 import tv.hd3g.processlauncher.LineEntry;
 import tv.hd3g.processlauncher.ProcesslauncherBuilder;
@@ -46,11 +47,23 @@ public class KeepStdoutAndErrToLogWatcher implements ExecutorWatcher {
 	 * @param log Where to put all stdout/err events
 	 * @param levelMapper How to log stdOut/err events, return the Level to log or null for discard line.
 	 */
-	public KeepStdoutAndErrToLogWatcher(final Logger log, final Function<LineEntry, Level> levelMapper) {
+	public KeepStdoutAndErrToLogWatcher(final Logger log,
+										final Function<LineEntry, Level> levelMapper,
+										final CapturedTextLimits stdoutLimits,
+										final CapturedTextLimits stderrLimits) {
 		filterOutErrorLines = p -> true;
 		this.log = log;
 		this.levelMapper = levelMapper;
-		textRetention = new CapturedStdOutErrTextRetention();
+		textRetention = new CapturedStdOutErrTextRetention(BOTH_STDOUT_STDERR, stdoutLimits, stderrLimits);
+	}
+
+	/**
+	 * Keep all stdout lines, and stderr with CapturedTextLimits.DEFAULT_STDERR
+	 * @param log Where to put all stdout/err events
+	 * @param levelMapper How to log stdOut/err events, return the Level to log or null for discard line.
+	 */
+	public KeepStdoutAndErrToLogWatcher(final Logger log, final Function<LineEntry, Level> levelMapper) {
+		this(log, levelMapper, CapturedTextLimits.UNLIMITED, CapturedTextLimits.DEFAULT_STDERR);
 	}
 
 	public KeepStdoutAndErrToLogWatcher() {
@@ -83,7 +96,7 @@ public class KeepStdoutAndErrToLogWatcher implements ExecutorWatcher {
 	public void afterStartProcess(final ProcesslauncherLifecycle lifeCycle) {
 		try {
 			lifeCycle.checkExecution();
-			textRetention.waitForClosedStreams();
+			lifeCycle.onClosedStreams().join();
 		} catch (final InvalidExecution e) {
 			throw e.injectStdErr(textRetention.getStderrLines(false)
 					.filter(filterOutErrorLines)
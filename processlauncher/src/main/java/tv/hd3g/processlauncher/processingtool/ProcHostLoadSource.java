@@ -0,0 +1,100 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher.processingtool;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Linux only, read /proc/loadavg and /proc/stat. CPU times are compared with the previous read.
+ */
+public class ProcHostLoadSource implements HostLoadSource {
+
+	private static final int STAT_IDLE = 3;
+	private static final int STAT_IOWAIT = 4;
+	private static final int STAT_MIN_COLUMNS = STAT_IOWAIT + 1;
+	/**
+	 * user, nice, system, idle, iowait, irq, softirq, steal. The next ones (guest, guest_nice) are already counted in
+	 * user and nice.
+	 */
+	private static final int STAT_TOTAL_COLUMNS = 8;
+
+	private final Path loadavg;
+	private final Path stat;
+	private long[] lastCpuTimes;
+
+	/**
+	 * @param procDir the /proc directory, or a fake one
+	 */
+	public ProcHostLoadSource(final Path procDir) {
+		requireNonNull(procDir, "\"procDir\" can't to be null");
+		loadavg = procDir.resolve("loadavg");
+		stat = procDir.resolve("stat");
+		lastCpuTimes = new long[0];
+	}
+
+	public ProcHostLoadSource() {
+		this(Path.of("/proc"));
+	}
+
+	@Override
+	public synchronized HostLoad getHostLoad() {
+		try {
+			final var loadAverage = Double.parseDouble(Files.readString(loadavg).trim().split("\\s+")[0]);
+
+			final var statLines = Files.readAllLines(stat);
+			final var cpuCount = (int) statLines.stream()
+					.filter(l -> l.startsWith("cpu") && l.length() > 3 && Character.isDigit(l.charAt(3)))
+					.count();
+			final var cpuTimes = statLines.stream()
+					.filter(l -> l.startsWith("cpu "))
+					.findFirst()
+					.map(l -> Arrays.stream(l.trim().split("\\s+"))
+							.skip(1)
+							.mapToLong(Long::parseLong)
+							.toArray())
+					.filter(t -> t.length >= STAT_MIN_COLUMNS)
+					.orElseThrow(() -> new IOException("Invalid " + stat + " content"));
+
+			var total = 0L;
+			for (var pos = 0; pos < Math.min(cpuTimes.length, STAT_TOTAL_COLUMNS); pos++) {
+				total += cpuTimes[pos] - (pos < lastCpuTimes.length ? lastCpuTimes[pos] : 0L);
+			}
+			final var idle = cpuTimes[STAT_IDLE] - (lastCpuTimes.length > STAT_IDLE ? lastCpuTimes[STAT_IDLE] : 0L);
+			final var ioWait = cpuTimes[STAT_IOWAIT]
+							   - (lastCpuTimes.length > STAT_IOWAIT ? lastCpuTimes[STAT_IOWAIT] : 0L);
+			lastCpuTimes = cpuTimes;
+
+			if (total <= 0) {
+				return new HostLoad(loadAverage, cpuCount, 0d, 0d);
+			}
+			return new HostLoad(loadAverage, cpuCount,
+					(double) (total - idle - ioWait) / total,
+					(double) ioWait / total);
+		} catch (final IOException e) {
+			throw new UncheckedIOException("Can't read host load from " + loadavg + " and " + stat, e);
+		} catch (final NumberFormatException e) {
+			throw new IllegalStateException("Invalid host load values in " + loadavg + " or " + stat, e);
+		}
+	}
+
+}
@@ -29,11 +29,14 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import tv.hd3g.processlauncher.LaunchMetrics;
+import tv.hd3g.processlauncher.LaunchPhase;
 import tv.hd3g.processlauncher.ProcessLifeCycleException;
 import tv.hd3g.processlauncher.ProcesslauncherBuilder;
 import tv.hd3g.processlauncher.ProcesslauncherLifecycle;
@@ -79,20 +82,79 @@ public abstract class ProcessingToolBuilder<O, P extends ParametersProvider, T,
 
 			return new ProcessingToolResult<>(this,
 					lifeCycle.getFullCommandLine(),
-					compute(sourceOrigin, lifeCycle));
+					timedCompute(sourceOrigin, lifeCycle));
 		} catch (final IOException e) {
 			throw new ProcessLifeCycleException("Can't start " + execName, e);
 		}
 	}
 
+	/**
+	 * Non-blocking: never wait the process end.
+	 * The result is computed on the process streams executor, after the (async) end checks by the ExecutorWatcher.
+	 * Cancel the returned future will kill the process tree.
+	 * @return failed with a ProcessLifeCycleException if the process can't start.
+	 */
+	public CompletableFuture<ProcessingToolResult<O, P, T, W>> processAsync(final O sourceOrigin) {
+		final ProcesslauncherLifecycle lifeCycle;
+		try {
+			lifeCycle = start(sourceOrigin);
+		} catch (final IOException e) {
+			return CompletableFuture.failedFuture(new ProcessLifeCycleException("Can't start " + execName, e));
+		}
+
+		final var result = executorWatcher.afterStartProcessAsync(lifeCycle)
+				.thenApplyAsync(endedLifeCycle -> new ProcessingToolResult<>(this,
+						endedLifeCycle.getFullCommandLine(),
+						timedCompute(sourceOrigin, endedLifeCycle)),
+						lifeCycle.getLauncher().getStreamsExecutor());
+		result.whenComplete((r, e) -> {
+			if (result.isCancelled()) {
+				log.info("Cancel {}", lifeCycle);
+				lifeCycle.kill();
+			}
+		});
+		return result;
+	}
+
+	private T timedCompute(final O sourceOrigin, final ProcesslauncherLifecycle lifeCycle) {
+		final var computeEvent = new ProcessingToolComputeEvent();
+		computeEvent.begin();
+		final var beforeCompute = System.nanoTime();
+		try {
+			return compute(sourceOrigin, lifeCycle);
+		} finally {
+			final var metricsExecName = lifeCycle.getExecNameWithoutExt();
+			LaunchMetrics.getInstance().record(metricsExecName, LaunchPhase.COMPUTE,
+					System.nanoTime() - beforeCompute);
+			if (computeEvent.shouldCommit()) {
+				computeEvent.execName = metricsExecName;
+				computeEvent.commit();
+			}
+		}
+	}
+
 	protected ProcesslauncherLifecycle run(final O sourceOrigin) throws IOException {
+		final var lifeCycle = start(sourceOrigin);
+		executorWatcher.afterStartProcess(lifeCycle);
+		return lifeCycle;
+	}
+
+	/**
+	 * Non-blocking
+	 * The PREPARE_PARAMETERS and RESOLVE_EXECUTABLE LaunchMetrics are recorded after the process start, with the same
+	 * executable name as the process phases (ProcesslauncherLifecycle.getExecNameWithoutExt).
+	 */
+	protected ProcesslauncherLifecycle start(final O sourceOrigin) throws IOException {
+		final var beforePrepare = System.nanoTime();
 		final var parametersProvider = getParametersProvider(sourceOrigin);
 		final var fullCallbackList = callbacks.stream().toList();
 
 		final var parameters = parametersProvider.getReadyToRunParameters();
 		fullCallbackList.forEach(c -> c.prepareParameters(parameters));
 
+		final var beforeResolve = System.nanoTime();
 		final var cmd = createCommandLine(parameters);
+		final var afterResolve = System.nanoTime();
 
 		final var pBuilder = createProcesslauncherBuilder(cmd);
 		fullCallbackList.forEach(c -> c.beforeRun(pBuilder));
@@ -113,16 +175,18 @@ public abstract class ProcessingToolBuilder<O, P extends ParametersProvider, T,
 		fullCallbackList.forEach(pBuilder::addExecutionCallbacker);
 
 		final var lifeCycle = pBuilder.start();
+		final var metrics = LaunchMetrics.getInstance();
+		final var metricsExecName = lifeCycle.getExecNameWithoutExt();
+		metrics.record(metricsExecName, LaunchPhase.PREPARE_PARAMETERS, beforeResolve - beforePrepare);
+		metrics.record(metricsExecName, LaunchPhase.RESOLVE_EXECUTABLE, afterResolve - beforeResolve);
 
 		log.debug("Start {}", lifeCycle.getFullCommandLine());
-		executorWatcher.afterStartProcess(lifeCycle);
-
 		return lifeCycle;
 	}
 
 	protected CommandLine createCommandLine(final Parameters parameters) throws IOException {
 		return new CommandLine(execName, parameters,
-				Optional.ofNullable(executableFinder).orElseGet(ExecutableFinder::new));
+				Optional.ofNullable(executableFinder).orElseGet(ExecutableFinder::getDefault));
 	}
 
 	protected ProcesslauncherBuilder createProcesslauncherBuilder(final CommandLine commandLine) {
@@ -0,0 +1,32 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher.processingtool;
+
+/**
+ * ProcessingToolScheduler queue priorities, from the highest to the lowest.
+ */
+public enum ProcessingToolPriority {
+	/**
+	 * Short jobs with someone waiting for the result, like a media probe.
+	 */
+	INTERACTIVE,
+	NORMAL,
+	/**
+	 * Long jobs, like a media analysis or a transcode.
+	 */
+	BATCH;
+}
@@ -0,0 +1,283 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher.processingtool;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Limit how many processes run at the same time, globally and by executable name, and queue the others.
+ * Queued jobs are started by priority (see ProcessingToolPriority), then by submit order. A job which can't start
+ * because of its executable limit don't block the next jobs.
+ * Never blocking: jobs are started with ProcessingToolBuilder.processAsync, on submit or on the end of another job.
+ */
+@Slf4j
+public class ProcessingToolScheduler {
+
+	private final int maxConcurrent;
+	private final int maxQueueSize;
+	private final Map<String, Integer> maxConcurrentByExecName;
+	private final Map<String, Integer> runningByExecName;
+	private final Map<ProcessingToolPriority, ArrayDeque<Job>> queues;
+	private final Map<ProcessingToolPriority, LongSummaryStatistics> queueTimeStats;
+	private int running;
+	private int queued;
+	private boolean dispatching;
+
+	/**
+	 * @param maxConcurrent max running processes, for all executables
+	 * @param maxQueueSize max waiting jobs, for all priorities. Over it, the submited jobs that can't start now are
+	 *        rejected.
+	 */
+	public ProcessingToolScheduler(final int maxConcurrent, final int maxQueueSize) {
+		if (maxConcurrent < 1) {
+			throw new IllegalArgumentException("Invalid maxConcurrent: " + maxConcurrent);
+		} else if (maxQueueSize < 0) {
+			throw new IllegalArgumentException("Invalid maxQueueSize: " + maxQueueSize);
+		}
+		this.maxConcurrent = maxConcurrent;
+		this.maxQueueSize = maxQueueSize;
+		maxConcurrentByExecName = new HashMap<>();
+		runningByExecName = new HashMap<>();
+		queues = new EnumMap<>(ProcessingToolPriority.class);
+		queueTimeStats = new EnumMap<>(ProcessingToolPriority.class);
+		for (final var priority : ProcessingToolPriority.values()) {
+			queues.put(priority, new ArrayDeque<>());
+			queueTimeStats.put(priority, new LongSummaryStatistics());
+		}
+	}
+
+	/**
+	 * @param execName like ProcessingToolBuilder execName ("ffmpeg", "ffprobe"...)
+	 * @param maxConcurrent max running processes for this executable, in addition to the global limit
+	 */
+	public void setMaxConcurrent(final String execName, final int maxConcurrent) {
+		requireNonNull(execName, "\"execName\" can't to be null");
+		if (maxConcurrent < 1) {
+			throw new IllegalArgumentException("Invalid maxConcurrent: " + maxConcurrent);
+		}
+		synchronized (this) {
+			maxConcurrentByExecName.put(execName, maxConcurrent);
+		}
+		dispatch();
+	}
+
+	/**
+	 * @return Integer.MAX_VALUE if not set
+	 */
+	public synchronized int getMaxConcurrent(final String execName) {
+		return maxConcurrentByExecName.getOrDefault(execName, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Non-blocking. Cancel the returned future will remove the job from the queue, or kill the running process.
+	 * @return failed with a RejectedExecutionException if the queue is full
+	 */
+	public <O, P extends ParametersProvider, T, W extends ExecutorWatcher> CompletableFuture<ProcessingToolResult<O, P, T, W>> submit(final ProcessingToolBuilder<O, P, T, W> builder,
+																																	   final O sourceOrigin,
+																																	   final ProcessingToolPriority priority) {
+		requireNonNull(builder, "\"builder\" can't to be null");
+		requireNonNull(priority, "\"priority\" can't to be null");
+
+		final var result = new CompletableFuture<ProcessingToolResult<O, P, T, W>>();
+		final var job = new Job(builder.execName, priority, result, () -> {
+			final var processing = builder.processAsync(sourceOrigin);
+			processing.whenComplete((r, e) -> {
+				if (e != null) {
+					result.completeExceptionally(e);
+				} else {
+					result.complete(r);
+				}
+			});
+			return processing;
+		});
+
+		synchronized (this) {
+			if (queued >= maxQueueSize && canStart(job.execName) == false) {
+				return CompletableFuture.failedFuture(new RejectedExecutionException(
+						"Too many queued jobs (" + queued + "), can't add " + builder.execName));
+			}
+			queues.get(priority).add(job);
+			queued++;
+		}
+		result.whenComplete((r, e) -> {
+			if (result.isCancelled()) {
+				job.cancel();
+			}
+		});
+
+		dispatch();
+		return result;
+	}
+
+	public synchronized int getRunningCount() {
+		return running;
+	}
+
+	public synchronized int getRunningCount(final String execName) {
+		return runningByExecName.getOrDefault(execName, 0);
+	}
+
+	public synchronized int getQueuedCount() {
+		return queued;
+	}
+
+	public synchronized int getQueuedCount(final ProcessingToolPriority priority) {
+		return queues.get(priority).size();
+	}
+
+	/**
+	 * @return a copy of the time spent in queue, in msec, by priority, for all the started jobs
+	 */
+	public synchronized Map<ProcessingToolPriority, LongSummaryStatistics> getQueueTimeStats() {
+		final var result = new EnumMap<ProcessingToolPriority, LongSummaryStatistics>(ProcessingToolPriority.class);
+		queueTimeStats.forEach((priority, stats) -> result.put(priority, stats.getCount() == 0
+																			 ? new LongSummaryStatistics()
+																			 : new LongSummaryStatistics(
+																					 stats.getCount(),
+																					 stats.getMin(),
+																					 stats.getMax(),
+																					 stats.getSum())));
+		return Collections.unmodifiableMap(result);
+	}
+
+	private boolean canStart(final String execName) {
+		return running < maxConcurrent
+			   && runningByExecName.getOrDefault(execName, 0) < maxConcurrentByExecName.getOrDefault(execName,
+					   Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Start all the startable queued jobs, out of the lock.
+	 * Only one dispatch loop at a time: a dispatch call during another one (like a job released during its start,
+	 * on the same stack, or by another thread) returns now, and the running loop will start the next jobs.
+	 */
+	private void dispatch() {
+		synchronized (this) {
+			if (dispatching) {
+				return;
+			}
+			dispatching = true;
+		}
+		while (true) {
+			final Job job;
+			synchronized (this) {
+				job = pollNext();
+				if (job == null) {
+					dispatching = false;
+					return;
+				}
+				running++;
+				runningByExecName.merge(job.execName, 1, Integer::sum);
+				queueTimeStats.get(job.priority).accept(
+						TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - job.submitDate));
+			}
+			job.start();
+		}
+	}
+
+	private Job pollNext() {
+		if (running >= maxConcurrent) {
+			return null;
+		}
+		for (final var queue : queues.values()) {
+			final var iterator = queue.iterator();
+			while (iterator.hasNext()) {
+				final var job = iterator.next();
+				if (canStart(job.execName)) {
+					iterator.remove();
+					queued--;
+					return job;
+				}
+			}
+		}
+		return null;
+	}
+
+	private void release(final Job job) {
+		synchronized (this) {
+			running--;
+			runningByExecName.computeIfPresent(job.execName, (k, v) -> v > 1 ? v - 1 : null);
+		}
+		dispatch();
+	}
+
+	private class Job {
+		private final String execName;
+		private final ProcessingToolPriority priority;
+		private final CompletableFuture<?> result;
+		private final Supplier<CompletableFuture<?>> starter;
+		private final long submitDate;
+		private volatile CompletableFuture<?> processing;
+
+		Job(final String execName,
+			final ProcessingToolPriority priority,
+			final CompletableFuture<?> result,
+			final Supplier<CompletableFuture<?>> starter) {
+			this.execName = execName;
+			this.priority = priority;
+			this.result = result;
+			this.starter = starter;
+			submitDate = System.nanoTime();
+		}
+
+		void start() {
+			if (result.isDone()) {
+				release(this);
+				return;
+			}
+			try {
+				processing = starter.get();
+			} catch (final RuntimeException e) {
+				log.warn("Can't start {}", execName, e);
+				result.completeExceptionally(e);
+				release(this);
+				return;
+			}
+			processing.whenComplete((r, e) -> release(this));
+			if (result.isCancelled()) {
+				processing.cancel(true);
+			}
+		}
+
+		void cancel() {
+			synchronized (ProcessingToolScheduler.this) {
+				if (queues.get(priority).remove(this)) {
+					queued--;
+					return;
+				}
+			}
+			final var actualProcessing = processing;
+			if (actualProcessing != null) {
+				actualProcessing.cancel(true);
+			}
+		}
+	}
+
+}
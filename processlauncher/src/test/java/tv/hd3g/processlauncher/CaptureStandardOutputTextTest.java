@@ -16,10 +16,14 @@
  */
 package tv.hd3g.processlauncher;
 
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayInputStream;
+import java.nio.charset.Charset;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -62,6 +66,7 @@ class CaptureStandardOutputTextTest {
 		final var launcher = Mockito.mock(Processlauncher.class);
 		Mockito.when(source.getLauncher()).thenReturn(launcher);
 		Mockito.when(launcher.getExecutableName()).thenReturn("some-exec");
+		Mockito.when(launcher.getStreamsExecutor()).thenReturn(ProcessStreamsExecutor.getDefault());
 
 		csot.stdOutStreamConsumer(processInputStreamOut, source);
 		csot.stdErrStreamConsumer(processInputStreamErr, source);
@@ -84,4 +89,119 @@ class CaptureStandardOutputTextTest {
 		assertTrue(CollectionUtils.isEqualCollection(textLinesStdErr, capturedlinesErr));
 	}
 
+	@Test
+	void testCharsetMaxLineLength() {
+		final var csot = new CaptureStandardOutputText();
+		assertEquals(Charset.defaultCharset(), csot.getCharset());
+		assertEquals(StreamParser.DEFAULT_MAX_LINE_LENGTH, csot.getMaxLineLength());
+
+		assertEquals(csot, csot.setCharset(ISO_8859_1));
+		assertEquals(ISO_8859_1, csot.getCharset());
+		assertEquals(csot, csot.setMaxLineLength(10));
+		assertEquals(10, csot.getMaxLineLength());
+
+		assertThrows(NullPointerException.class, () -> csot.setCharset(null));
+		assertThrows(IllegalArgumentException.class, () -> csot.setMaxLineLength(0));
+	}
+
+	@Test
+	void testTextBatchSetup() {
+		final var csot = new CaptureStandardOutputText();
+		assertEquals(StreamParser.DEFAULT_TEXT_BATCH_MAX_SIZE, csot.getTextBatchMaxSize());
+		assertEquals(StreamParser.DEFAULT_TEXT_BATCH_MAX_DELAY, csot.getTextBatchMaxDelay());
+
+		assertEquals(csot, csot.setTextBatchMaxSize(10));
+		assertEquals(10, csot.getTextBatchMaxSize());
+		assertEquals(csot, csot.setTextBatchMaxDelay(Duration.ofSeconds(1)));
+		assertEquals(Duration.ofSeconds(1), csot.getTextBatchMaxDelay());
+
+		assertThrows(IllegalArgumentException.class, () -> csot.setTextBatchMaxSize(0));
+		assertThrows(NullPointerException.class, () -> csot.setTextBatchMaxDelay(null));
+	}
+
+	@Test
+	void testTextBatch() throws InterruptedException {
+		final List<List<String>> batches = new ArrayList<>();
+		final List<String> lines = new ArrayList<>();
+
+		final var csot = new CaptureStandardOutputText(CapturedStreams.ONLY_STDOUT)
+				.setTextBatchMaxSize(2)
+				.setTextBatchMaxDelay(Duration.ofHours(1));
+		csot.addObserver(new CapturedStdOutErrText() {
+
+			@Override
+			public boolean isTextBatch() {
+				return true;
+			}
+
+			@Override
+			public void onTextBatch(final List<LineEntry> lineEntries) {
+				batches.add(lineEntries.stream().map(LineEntry::line).toList());
+			}
+
+			@Override
+			public void onText(final LineEntry lineEntry) {
+				throw new IllegalStateException();
+			}
+		});
+		csot.addObserver(new CapturedStdOutErrText() {
+
+			@Override
+			public void onText(final LineEntry lineEntry) {
+				lines.add(lineEntry.line());
+			}
+		});
+
+		final var source = Mockito.mock(ProcesslauncherLifecycle.class);
+		final var launcher = Mockito.mock(Processlauncher.class);
+		Mockito.when(source.getLauncher()).thenReturn(launcher);
+		Mockito.when(launcher.getExecutableName()).thenReturn("some-exec");
+		Mockito.when(launcher.getStreamsExecutor()).thenReturn(ProcessStreamsExecutor.getDefault());
+
+		final var processInputStreamOut = new ByteArrayInputStream("A\nB\nC\nD\nE".getBytes());
+		csot.stdOutStreamConsumer(processInputStreamOut, source).join();
+
+		assertEquals(List.of("A", "B", "C", "D", "E"), lines);
+		assertEquals(List.of(List.of("A", "B"), List.of("C", "D"), List.of("E")), batches);
+	}
+
+	@Test
+	void testRawText() throws InterruptedException {
+		final List<String> rawLines = new ArrayList<>();
+		final List<LineEntry> capturedlines = new ArrayList<>();
+
+		final var csot = new CaptureStandardOutputText(CapturedStreams.ONLY_STDOUT)
+				.setCharset(ISO_8859_1)
+				.setMaxLineLength(5);
+		csot.addObserver(new CapturedStdOutErrText() {
+
+			@Override
+			public boolean onRawText(final CharSequence line,
+									 final boolean stdErr,
+									 final ProcesslauncherLifecycle source) {
+				rawLines.add(line.toString());
+				return line.length() > 0 && line.charAt(0) == 'R';
+			}
+
+			@Override
+			public void onText(final LineEntry lineEntry) {
+				capturedlines.add(lineEntry);
+			}
+		});
+
+		final var source = Mockito.mock(ProcesslauncherLifecycle.class);
+		final var launcher = Mockito.mock(Processlauncher.class);
+		Mockito.when(source.getLauncher()).thenReturn(launcher);
+		Mockito.when(launcher.getExecutableName()).thenReturn("some-exec");
+		Mockito.when(launcher.getStreamsExecutor()).thenReturn(ProcessStreamsExecutor.getDefault());
+
+		final var processInputStreamOut = new ByteArrayInputStream("Raw line\nTéxt line\n".getBytes(ISO_8859_1));
+		csot.stdOutStreamConsumer(processInputStreamOut, source).join();
+
+		assertEquals(List.of("Raw l", "Téxt "), rawLines);
+		assertEquals(1, capturedlines.size());
+		assertEquals("Téxt ", capturedlines.get(0).line());
+		assertEquals(source, capturedlines.get(0).source());
+	}
+
 }
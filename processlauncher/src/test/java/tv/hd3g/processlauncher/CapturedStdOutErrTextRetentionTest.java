@@ -21,6 +21,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -86,6 +87,38 @@ class CapturedStdOutErrTextRetentionTest {
 		assertEquals("Err 0,Err 1,Err 3", capText.getStderr(false, ","));
 	}
 
+	@Test
+	void testLimits() {
+		final var limited = new CapturedStdOutErrTextRetention(CapturedStreams.BOTH_STDOUT_STDERR,
+				new CapturedTextLimits(1, 1, Long.MAX_VALUE, false),
+				new CapturedTextLimits(0, 2, Long.MAX_VALUE, true));
+		for (var pos = 0; pos < 4; pos++) {
+			limited.onText(createLineEntry("Out " + pos, false));
+			limited.onText(createLineEntry("Err " + pos, true));
+		}
+
+		assertEquals("Out 0,Out 3", limited.getStdout(true, ","));
+		assertEquals("Err 2,Err 3", limited.getStderr(true, ","));
+		assertEquals("Out 0,Err 2,Out 3,Err 3", limited.getStdouterr(true, ","));
+		assertEquals(2, limited.getSkippedLines(false));
+		assertEquals(2, limited.getSkippedLines(true));
+		try (var spilled = limited.getSpilledLines(false)) {
+			assertEquals(0, spilled.count());
+		}
+		try (var spilled = limited.getSpilledLines(true)) {
+			assertEquals(List.of("Err 0", "Err 1"), spilled.toList());
+		}
+	}
+
+	@Test
+	void testOnlyStdErr() {
+		final var onlyErr = new CapturedStdOutErrTextRetention(CapturedStreams.ONLY_STDERR);
+		onlyErr.onText(createLineEntry("Out 0", false));
+		onlyErr.onText(createLineEntry("Err 0", true));
+		assertEquals("", onlyErr.getStdout(true, ","));
+		assertEquals("Err 0", onlyErr.getStdouterr(true, ","));
+	}
+
 	@Test
 	void testGetStdouterr() {
 		assertEquals("Out 0,Err 0,Out 1,Err 1,,,Out 3,Err 3", capText.getStdouterr(true, ","));
@@ -0,0 +1,39 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class CapturedTextLimitsTest {
+
+	@Test
+	void testInvalid() {
+		assertThrows(IllegalArgumentException.class, () -> new CapturedTextLimits(-1, 0, 1, false));
+		assertThrows(IllegalArgumentException.class, () -> new CapturedTextLimits(0, -1, 1, false));
+		assertThrows(IllegalArgumentException.class, () -> new CapturedTextLimits(0, 0, 0, false));
+	}
+
+	@Test
+	void testEstimateSize() {
+		assertEquals(CapturedTextLimits.LINE_OVERHEAD, CapturedTextLimits.estimateSize(""));
+		assertEquals(CapturedTextLimits.LINE_OVERHEAD + 6, CapturedTextLimits.estimateSize("abc"));
+	}
+
+}
@@ -0,0 +1,129 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static tv.hd3g.processlauncher.CapturedTextLimits.LINE_OVERHEAD;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import tv.hd3g.processlauncher.CapturedTextStore.Line;
+
+class CapturedTextStoreTest {
+
+	CapturedTextStore store;
+
+	void addLines(final int count) {
+		IntStream.range(0, count).forEach(i -> store.add(i, "L" + i));
+	}
+
+	List<String> getLines() {
+		return store.getLines().stream().map(Line::text).toList();
+	}
+
+	List<String> getSpilledLines() {
+		try (var lines = store.getSpilledLines()) {
+			return lines.toList();
+		}
+	}
+
+	@Test
+	void testUnlimited() {
+		store = new CapturedTextStore(CapturedTextLimits.UNLIMITED);
+		addLines(5);
+		assertEquals(List.of("L0", "L1", "L2", "L3", "L4"), getLines());
+		assertEquals(0, store.getSkippedLines());
+		assertEquals(List.of(), getSpilledLines());
+	}
+
+	@Test
+	void testHeadTail() {
+		store = new CapturedTextStore(new CapturedTextLimits(2, 3, Long.MAX_VALUE, false));
+		addLines(10);
+		assertEquals(List.of("L0", "L1", "L7", "L8", "L9"), getLines());
+		assertEquals(5, store.getSkippedLines());
+		assertEquals(List.of(), getSpilledLines());
+	}
+
+	@Test
+	void testHeadOnly() {
+		store = new CapturedTextStore(new CapturedTextLimits(2, 0, Long.MAX_VALUE, false));
+		addLines(10);
+		assertEquals(List.of("L0", "L1"), getLines());
+		assertEquals(8, store.getSkippedLines());
+	}
+
+	@Test
+	void testTailOnly() {
+		store = new CapturedTextStore(new CapturedTextLimits(0, 2, Long.MAX_VALUE, false));
+		addLines(10);
+		assertEquals(List.of("L8", "L9"), getLines());
+		assertEquals(8, store.getSkippedLines());
+	}
+
+	@Test
+	void testMaxBytes() {
+		final var lineSize = LINE_OVERHEAD + 4;
+		store = new CapturedTextStore(new CapturedTextLimits(100, 100, lineSize * 4, false));
+		addLines(10);
+		assertEquals(List.of("L0", "L1", "L8", "L9"), getLines());
+		assertEquals(6, store.getSkippedLines());
+	}
+
+	@Test
+	void testMaxBytes_tooBigLine() {
+		final var lineSize = LINE_OVERHEAD + 4;
+		store = new CapturedTextStore(new CapturedTextLimits(1, 100, lineSize * 3, true));
+		addLines(3);
+		store.add(3, "L3".repeat(lineSize));
+		store.add(4, "L4");
+		assertEquals(List.of("L0", "L2", "L4"), getLines());
+		assertEquals(2, store.getSkippedLines());
+		assertEquals(List.of("L3".repeat(lineSize), "L1"), getSpilledLines());
+	}
+
+	@Test
+	void testMaxBytes_tooBigLine_keepTail() {
+		final var lineSize = LINE_OVERHEAD + 4;
+		store = new CapturedTextStore(new CapturedTextLimits(1, 3, lineSize * 4, false));
+		addLines(4);
+		store.add(4, "L4".repeat(lineSize));
+		assertEquals(List.of("L0", "L1", "L2", "L3"), getLines());
+		assertEquals(1, store.getSkippedLines());
+
+		store.add(5, "L5");
+		store.add(6, "L6");
+		assertEquals(List.of("L0", "L3", "L5", "L6"), getLines());
+		assertEquals(3, store.getSkippedLines());
+	}
+
+	@Test
+	void testSpill() {
+		store = new CapturedTextStore(new CapturedTextLimits(2, 3, Long.MAX_VALUE, true));
+		addLines(10);
+		assertEquals(List.of("L0", "L1", "L7", "L8", "L9"), getLines());
+		assertEquals(5, store.getSkippedLines());
+		assertEquals(List.of("L2", "L3", "L4", "L5", "L6"), getSpilledLines());
+
+		store.add(10, "L10");
+		assertEquals(List.of("L2", "L3", "L4", "L5", "L6", "L7"), getSpilledLines());
+	}
+
+}
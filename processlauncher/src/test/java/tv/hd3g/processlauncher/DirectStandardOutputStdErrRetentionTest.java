@@ -28,6 +28,7 @@ import static org.mockito.MockitoAnnotations.openMocks;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.Executor;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -37,7 +38,7 @@ import org.mockito.Mock;
 class DirectStandardOutputStdErrRetentionTest {
 
 	DirectStandardOutputStdErrRetention d;
-	Thread t;
+	StreamWatcher t;
 
 	@Mock
 	CapturedStdOutErrText stdErrObserver;
@@ -49,6 +50,7 @@ class DirectStandardOutputStdErrRetentionTest {
 	ProcesslauncherLifecycle source;
 	@Mock
 	Processlauncher launcher;
+	Executor streamsExecutor = ProcessStreamsExecutor.getDefault();
 
 	@BeforeEach
 	void init() throws Exception {
@@ -57,12 +59,14 @@ class DirectStandardOutputStdErrRetentionTest {
 
 		when(source.getLauncher()).thenReturn(launcher);
 		when(launcher.getExecutableName()).thenReturn("Test for " + getClass().getSimpleName());
+		when(launcher.getStreamsExecutor()).thenReturn(streamsExecutor);
 	}
 
 	@AfterEach
 	void end() {
-		verify(source, times(1)).getLauncher();
+		verify(source, times(2)).getLauncher();
 		verify(launcher, times(1)).getExecutableName();
+		verify(launcher, times(1)).getStreamsExecutor();
 
 		verifyNoMoreInteractions(stdErrObserver, stdOutConsumer, processInputStream, source, launcher);
 	}
@@ -95,6 +99,7 @@ class DirectStandardOutputStdErrRetentionTest {
 
 		verify(processInputStream, times(1)).read(any(), anyInt(), anyInt());
 		verify(processInputStream, times(1)).close();
+		verify(stdErrObserver, times(2)).isTextBatch();
 
 	}
 
@@ -0,0 +1,87 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+	LatencyHistogram h;
+
+	@BeforeEach
+	void init() {
+		h = new LatencyHistogram();
+	}
+
+	@Test
+	void testIndexes() {
+		var previousIndex = -1;
+		for (final var value : LongStream.concat(
+				LongStream.range(0, 10_000),
+				LongStream.of(Long.MAX_VALUE / 3, Long.MAX_VALUE - 1, Long.MAX_VALUE)).toArray()) {
+			final var index = LatencyHistogram.getIndex(value);
+			assertTrue(index >= previousIndex);
+			assertTrue(index < LatencyHistogram.BUCKET_COUNT);
+			assertTrue(LatencyHistogram.getHighestValue(index) >= value);
+			assertTrue(LatencyHistogram.getHighestValue(index) - value <= value / 16, "For " + value);
+			previousIndex = index;
+		}
+		assertEquals(Long.MAX_VALUE, LatencyHistogram.getHighestValue(LatencyHistogram.BUCKET_COUNT - 1));
+	}
+
+	@Test
+	void testEmpty() {
+		assertEquals(0, h.getCount());
+		assertEquals(0, h.getMax());
+		assertEquals(0d, h.getMean());
+		assertEquals(0, h.getValueAtPercentile(99d));
+	}
+
+	@Test
+	void testRecord() {
+		IntStream.rangeClosed(1, 1000).forEach(i -> h.record(i * 1000L));
+		h.record(-1);
+		assertEquals(1001, h.getCount());
+		assertEquals(1_000_000L, h.getMax());
+		assertEquals(500_000d, h.getMean(), 1000d);
+		assertEquals(500_000d, h.getValueAtPercentile(50d), 500_000d / 32);
+		assertEquals(990_000d, h.getValueAtPercentile(99d), 990_000d / 32);
+		assertEquals(1_000_000L, h.getValueAtPercentile(100d));
+		assertEquals(0L, h.getValueAtPercentile(0d));
+		assertThrows(IllegalArgumentException.class, () -> h.getValueAtPercentile(101d));
+
+		h.reset();
+		assertEquals(0, h.getCount());
+		assertEquals(0, h.getValueAtPercentile(50d));
+	}
+
+	@Test
+	void testConcurrentRecord() {
+		IntStream.range(0, 100_000).parallel().forEach(h::record);
+		assertEquals(100_000, h.getCount());
+		assertEquals(99_999, h.getMax());
+	}
+
+}
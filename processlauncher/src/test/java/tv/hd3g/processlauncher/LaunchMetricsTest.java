@@ -0,0 +1,142 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static tv.hd3g.processlauncher.LaunchPhase.EXIT;
+import static tv.hd3g.processlauncher.LaunchPhase.FIRST_OUTPUT;
+import static tv.hd3g.processlauncher.LaunchPhase.PROCESS_START;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jdk.jfr.EventType;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import tv.hd3g.processlauncher.cmdline.CommandLine;
+import tv.hd3g.processlauncher.cmdline.ExecutableFinder;
+import tv.hd3g.processlauncher.cmdline.Parameters;
+import tv.hd3g.processlauncher.demo.DemoExecSimple;
+
+class LaunchMetricsTest {
+
+	record Record(String execName, LaunchPhase phase, long durationNanos) {
+	}
+
+	List<Record> records;
+	LaunchMetrics metrics;
+
+	@BeforeEach
+	void init() {
+		records = new CopyOnWriteArrayList<>();
+		metrics = new LaunchMetrics(List.of((e, p, d) -> records.add(new Record(e, p, d))));
+	}
+
+	@Test
+	void testRecord() {
+		assertEquals(Optional.empty(), metrics.getHistogram("exec", PROCESS_START));
+		metrics.record("exec", PROCESS_START, 10);
+		metrics.record("exec", PROCESS_START, 20);
+		metrics.record("exec", EXIT, 100);
+
+		assertEquals(2, metrics.getHistogram("exec", PROCESS_START).get().getCount());
+		assertEquals(1, metrics.getHistogram("exec", EXIT).get().getCount());
+		assertEquals(0, metrics.getHistogram("exec", FIRST_OUTPUT).get().getCount());
+		assertEquals(Set.of("exec"), metrics.getExecNames());
+		assertEquals(List.of(
+				new Record("exec", PROCESS_START, 10),
+				new Record("exec", PROCESS_START, 20),
+				new Record("exec", EXIT, 100)), records);
+
+		metrics.reset();
+		assertEquals(Optional.empty(), metrics.getHistogram("exec", PROCESS_START));
+	}
+
+	@Test
+	void testDisabled() {
+		metrics.setEnabled(false);
+		metrics.record("exec", PROCESS_START, 10);
+		assertTrue(records.isEmpty());
+		assertTrue(metrics.getExecNames().isEmpty());
+	}
+
+	@Test
+	void testSinks() {
+		metrics.addSink((e, p, d) -> {
+			throw new IllegalStateException("Broken sink");
+		});
+		final LaunchMetricsSink other = (e, p, d) -> records.add(new Record("other", p, d));
+		metrics.addSink(other);
+		metrics.record("exec", EXIT, 1);
+		metrics.removeSink(other);
+		metrics.record("exec", EXIT, 2);
+		assertEquals(List.of(
+				new Record("exec", EXIT, 1),
+				new Record("other", EXIT, 1),
+				new Record("exec", EXIT, 2)), records);
+	}
+
+	@Test
+	void testProcess(@TempDir final Path tempDir) throws IOException {
+		final var sink = (LaunchMetricsSink) (e, p, d) -> records.add(new Record(e, p, d));
+		LaunchMetrics.getInstance().addSink(sink);
+		final var jfrFile = tempDir.resolve("record.jfr");
+		try (var recording = new Recording()) {
+			recording.enable(ProcessLaunchEvent.class);
+			recording.enable(ProcessExitEvent.class);
+			recording.start();
+
+			final var parameters = Parameters.of("-cp", System.getProperty("java.class.path"),
+					DemoExecSimple.class.getName());
+			final var builder = new ProcesslauncherBuilder(
+					new CommandLine("java", parameters, new ExecutableFinder()));
+			final var textRetention = new CapturedStdOutErrTextRetention();
+			builder.getSetCaptureStandardOutputAsOutputText().addObserver(textRetention);
+			builder.start().onEnd().join();
+			textRetention.waitForClosedStreams();
+
+			recording.stop();
+			recording.dump(jfrFile);
+		} finally {
+			LaunchMetrics.getInstance().removeSink(sink);
+		}
+
+		final var phases = records.stream().map(Record::phase).toList();
+		assertTrue(phases.contains(PROCESS_START));
+		assertTrue(phases.contains(EXIT));
+		assertTrue(phases.contains(FIRST_OUTPUT));
+		assertTrue(LaunchMetrics.getInstance().getHistogram("java", PROCESS_START).get().getCount() > 0);
+
+		final var events = RecordingFile.readAllEvents(jfrFile).stream()
+				.map(RecordedEvent::getEventType)
+				.map(EventType::getName)
+				.toList();
+		assertTrue(events.contains("tv.hd3g.processlauncher.ProcessLaunch"));
+		assertTrue(events.contains("tv.hd3g.processlauncher.ProcessExit"));
+	}
+
+}
@@ -0,0 +1,188 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static tv.hd3g.processlauncher.LineSplitter.READ_BUFFER_SIZE;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.datafaker.Faker;
+
+class LineSplitterTest {
+	static Faker faker = net.datafaker.Faker.instance();
+
+	List<String> lines;
+	List<Boolean> truncated;
+
+	@BeforeEach
+	void init() {
+		lines = new ArrayList<>();
+		truncated = new ArrayList<>();
+	}
+
+	void split(final String text, final Charset charset, final int maxLineLength) throws IOException {
+		split(new ByteArrayInputStream(text.getBytes(charset)), charset, maxLineLength);
+	}
+
+	void split(final InputStream inputStream, final Charset charset, final int maxLineLength) throws IOException {
+		new LineSplitter(charset, maxLineLength, (l, t) -> {
+			lines.add(l.toString());
+			truncated.add(t);
+		}).read(inputStream);
+	}
+
+	static List<String> readLines(final String text) {
+		return new BufferedReader(new StringReader(text)).lines().toList();
+	}
+
+	@Test
+	void testInvalidMaxLineLength() {
+		assertThrows(IllegalArgumentException.class, () -> new LineSplitter(UTF_8, 0, (l, t) -> {
+		}));
+	}
+
+	@Test
+	void testLineEnds() throws IOException {
+		final var text = "A\nBB\r\nCCC\rD\n\nE\r\r\nF\n\r";
+		split(text, UTF_8, 100);
+		assertEquals(readLines(text), lines);
+		assertEquals(List.of("A", "BB", "CCC", "D", "", "E", "", "F", ""), lines);
+	}
+
+	@Test
+	void testNoEndLine() throws IOException {
+		split("A\nB", UTF_8, 100);
+		assertEquals(List.of("A", "B"), lines);
+	}
+
+	@Test
+	void testEmpty() throws IOException {
+		split("", UTF_8, 100);
+		assertEquals(List.of(), lines);
+	}
+
+	@Test
+	void testCharset() throws IOException {
+		final var text = "Éléphant ❌ ✅\nçà";
+		split(text, UTF_8, 100);
+		assertEquals(List.of("Éléphant ❌ ✅", "çà"), lines);
+
+		init();
+		split("Éléphant\nçà", ISO_8859_1, 100);
+		assertEquals(List.of("Éléphant", "çà"), lines);
+	}
+
+	@Test
+	void testTruncate() throws IOException {
+		split("ABCDEF\nGH\nIJKL\n", UTF_8, 4);
+		assertEquals(List.of("ABCD", "GH", "IJKL"), lines);
+		assertEquals(List.of(true, false, false), truncated);
+	}
+
+	@Test
+	void testTruncate_incompleteChar() throws IOException {
+		split("AB✅\nC", UTF_8, 4);
+		assertEquals(List.of("AB", "C"), lines);
+		assertEquals(List.of(true, false), truncated);
+	}
+
+	@Test
+	void testBigLines() throws IOException {
+		final var sb = new StringBuilder();
+		for (var pos = 0; pos < 50; pos++) {
+			sb.append(faker.lorem().characters(1, READ_BUFFER_SIZE * 2));
+			sb.append(pos % 2 == 0 ? "\r\n" : "\n");
+		}
+		final var text = sb.toString();
+		split(text, UTF_8, Integer.MAX_VALUE);
+		assertEquals(readLines(text), lines);
+	}
+
+	@Test
+	void testCRLFOnReadLimit() throws IOException {
+		final var text = "A".repeat(READ_BUFFER_SIZE - 1) + "\r\nB\rC".repeat(3) + "\r";
+		final var source = new ByteArrayInputStream(text.getBytes(UTF_8)) {
+
+			@Override
+			public synchronized int read(final byte[] b, final int off, final int len) {
+				/**
+				 * Split reads each 3 bytes, after the first
+				 */
+				return super.read(b, off, pos == 0 ? len : Math.min(3, len));
+			}
+		};
+		split(source, UTF_8, Integer.MAX_VALUE);
+		assertEquals(readLines(text), lines);
+	}
+
+	@Test
+	void testOnIdle() throws IOException {
+		final var idles = new ArrayList<Integer>();
+		final var source = new ByteArrayInputStream("A\nB\nC\nD".getBytes(UTF_8)) {
+
+			@Override
+			public synchronized int read(final byte[] b, final int off, final int len) {
+				return super.read(b, off, Math.min(4, len));
+			}
+
+			@Override
+			public synchronized int available() {
+				/**
+				 * Nothing more to read after "C\n"
+				 */
+				return pos == 6 ? 0 : super.available();
+			}
+		};
+		final var splitter = new LineSplitter(UTF_8, 10, (l, t) -> lines.add(l.toString()));
+		splitter.setOnIdle(() -> idles.add(lines.size()));
+		splitter.read(source);
+		assertEquals(List.of("A", "B", "C", "D"), lines);
+		assertEquals(List.of(3), idles);
+	}
+
+	@Test
+	void testZeroRead() {
+		final var source = new InputStream() {
+
+			@Override
+			public int read() throws IOException {
+				return 0;
+			}
+
+			@Override
+			public int read(final byte[] b, final int off, final int len) throws IOException {
+				return 0;
+			}
+		};
+		assertThrows(IOException.class, () -> split(source, UTF_8, 10));
+	}
+
+}
@@ -0,0 +1,134 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import tv.hd3g.processlauncher.cmdline.CommandLine;
+import tv.hd3g.processlauncher.cmdline.ExecutableFinder;
+import tv.hd3g.processlauncher.cmdline.Parameters;
+import tv.hd3g.processlauncher.demo.DemoExecLongSleep;
+
+class ProcessRegistryTest {
+
+	@Mock
+	ProcesslauncherLifecycle lifecycle0;
+	@Mock
+	ProcesslauncherLifecycle lifecycle1;
+
+	/**
+	 * Shared: the first register adds a JVM shutdown hook.
+	 */
+	static final ProcessRegistry registry = new ProcessRegistry();
+
+	@BeforeEach
+	void init() throws Exception {
+		openMocks(this).close();
+		when(lifecycle0.getStartDate()).thenReturn(10L);
+		when(lifecycle1.getStartDate()).thenReturn(20L);
+	}
+
+	@AfterEach
+	void end() {
+		registry.getRunning().forEach(registry::unregister);
+		registry.setShutdownGracePeriod(ProcessRegistry.DEFAULT_SHUTDOWN_GRACE_PERIOD);
+	}
+
+	/**
+	 * The lifecycle is unregistered after the process end, asynchronously.
+	 */
+	private static void waitUnregistered(final ProcesslauncherLifecycle lifecycle) throws InterruptedException {
+		final var timeout = System.currentTimeMillis() + 10_000;
+		while (ProcessRegistry.getInstance().getRunning().contains(lifecycle)
+			   && System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+		}
+	}
+
+	@Test
+	void testGetInstance() {
+		assertEquals(ProcessRegistry.getInstance(), ProcessRegistry.getInstance());
+	}
+
+	@Test
+	void testRegister() {
+		assertEquals(0, registry.getRunningCount());
+		assertEquals(Optional.empty(), registry.getOldest());
+
+		registry.register(lifecycle1);
+		registry.register(lifecycle0);
+		assertEquals(2, registry.getRunningCount());
+		assertEquals(Optional.ofNullable(lifecycle0), registry.getOldest());
+		assertTrue(registry.getRunning().containsAll(List.of(lifecycle0, lifecycle1)));
+
+		registry.unregister(lifecycle0);
+		assertEquals(1, registry.getRunningCount());
+		assertEquals(Optional.ofNullable(lifecycle1), registry.getOldest());
+		assertEquals(List.of(lifecycle1), registry.getRunning());
+	}
+
+	@Test
+	void testShutdownGracePeriod() {
+		assertEquals(ProcessRegistry.DEFAULT_SHUTDOWN_GRACE_PERIOD, registry.getShutdownGracePeriod());
+		registry.setShutdownGracePeriod(Duration.ofMillis(10));
+		assertEquals(Duration.ofMillis(10), registry.getShutdownGracePeriod());
+		assertThrows(NullPointerException.class, () -> registry.setShutdownGracePeriod(null));
+	}
+
+	@Test
+	void testKillAll_empty() {
+		registry.killAll();
+		assertEquals(0, registry.getRunningCount());
+	}
+
+	@Test
+	void testKillAll() throws Exception {
+		final var parameters = Parameters.of("-cp", System.getProperty("java.class.path"),
+				DemoExecLongSleep.class.getName());
+		final var cmd = new CommandLine("java", parameters, new ExecutableFinder());
+		final var lifecycles = List.of(
+				new ProcesslauncherBuilder(cmd).start(),
+				new ProcesslauncherBuilder(cmd).start());
+		assertTrue(ProcessRegistry.getInstance().getRunning().containsAll(lifecycles));
+
+		lifecycles.forEach(registry::register);
+		registry.killAll();
+
+		for (final var l : lifecycles) {
+			l.waitForEnd();
+			waitUnregistered(l);
+			assertFalse(l.isRunning());
+			assertFalse(ProcessRegistry.getInstance().getRunning().contains(l));
+		}
+		assertEquals(2, registry.getRunningCount());
+	}
+
+}
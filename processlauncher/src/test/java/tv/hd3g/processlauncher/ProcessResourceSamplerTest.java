@@ -0,0 +1,184 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+
+import tv.hd3g.processlauncher.cmdline.CommandLine;
+import tv.hd3g.processlauncher.cmdline.ExecutableFinder;
+import tv.hd3g.processlauncher.cmdline.Parameters;
+import tv.hd3g.processlauncher.demo.DemoExecShortSleep;
+
+class ProcessResourceSamplerTest {
+
+	static final long PID = 1234;
+	static final long SUB_PID = 1235;
+
+	@TempDir
+	Path procDir;
+	@Mock
+	ScheduledExecutorService scheduler;
+	@Mock
+	ScheduledFuture<?> samplingTask;
+	@Mock
+	ProcesslauncherLifecycle lifecycle;
+	@Mock
+	Process process;
+	@Mock
+	ProcessHandle subProcess;
+
+	ProcessResourceSampler sampler;
+
+	@BeforeEach
+	void init() throws Exception {
+		openMocks(this).close();
+		sampler = new ProcessResourceSampler(scheduler, Duration.ofMillis(100), procDir);
+		when(lifecycle.getProcess()).thenReturn(process);
+		when(process.pid()).thenReturn(PID);
+		when(subProcess.pid()).thenReturn(SUB_PID);
+		when(process.descendants()).thenAnswer(i -> Stream.of(subProcess));
+	}
+
+	void writeProc(final long pid, final long utime, final long stime, final long rssKb) throws IOException {
+		final var dir = Files.createDirectories(procDir.resolve(String.valueOf(pid)));
+		Files.writeString(dir.resolve("stat"), pid + " (my exec (1)) S 1 2 3 4 5 6 7 8 9 10 "
+											   + utime + " " + stime + " 0 0 20 0 3 0 100 200 300");
+		Files.writeString(dir.resolve("status"), "Name:\tmy exec\nVmRSS:\t   " + rssKb + " kB\nThreads:\t3\n");
+		Files.writeString(dir.resolve("io"), "rchar: 1\nwchar: 2\nread_bytes: 4096\nwrite_bytes: 8192\n");
+	}
+
+	@Test
+	void testInvalidParams() {
+		final var interval = Duration.ZERO;
+		assertThrows(IllegalArgumentException.class, () -> new ProcessResourceSampler(scheduler, interval));
+	}
+
+	@Test
+	void testNotRegistered() {
+		assertEquals(Optional.empty(), sampler.sample(lifecycle));
+	}
+
+	@Test
+	void testStartupEnd() {
+		when(scheduler.scheduleAtFixedRate(any(), eq(0L), eq(100L), eq(TimeUnit.MILLISECONDS)))
+				.thenAnswer(i -> samplingTask);
+		sampler.postStartupExecution(lifecycle);
+		sampler.postStartupExecution(lifecycle);
+		assertEquals(1, sampler.getSampledCount());
+		verify(lifecycle, times(2)).setResourceStats(ProcessResourceStats.EMPTY);
+		verify(scheduler, times(1)).scheduleAtFixedRate(any(), anyLong(), anyLong(), any());
+
+		sampler.onEndExecution(lifecycle);
+		assertEquals(0, sampler.getSampledCount());
+		verify(samplingTask, times(1)).cancel(false);
+	}
+
+	@Test
+	void testSample() throws IOException {
+		when(scheduler.scheduleAtFixedRate(any(), anyLong(), anyLong(), any())).thenAnswer(i -> samplingTask);
+		final var samples = new CopyOnWriteArrayList<ProcessResourceSample>();
+		sampler.addObserver((l, s) -> samples.add(s));
+		sampler.postStartupExecution(lifecycle);
+
+		writeProc(PID, 10, 5, 1000);
+		writeProc(SUB_PID, 1, 1, 500);
+		final var first = sampler.sample(lifecycle).get();
+		assertEquals(0d, first.cpuPercent());
+		assertEquals(1500L * 1024L, first.rss());
+		assertEquals(2 * 4096L, first.readBytes());
+		assertEquals(2 * 8192L, first.writeBytes());
+		assertEquals(6, first.threads());
+
+		writeProc(PID, 1000010, 5, 2000);
+		final var second = sampler.sample(lifecycle).get();
+		assertTrue(second.cpuPercent() > 0d);
+		assertEquals(2500L * 1024L, second.rss());
+		verify(lifecycle, times(2)).updateResourceStats(any());
+		assertTrue(samples.isEmpty());
+	}
+
+	@Test
+	void testSample_noProc() {
+		when(scheduler.scheduleAtFixedRate(any(), anyLong(), anyLong(), any())).thenAnswer(i -> samplingTask);
+		sampler.postStartupExecution(lifecycle);
+		assertEquals(Optional.empty(), sampler.sample(lifecycle));
+	}
+
+	@Test
+	void testStats() {
+		var stats = ProcessResourceStats.EMPTY;
+		stats = stats.add(new ProcessResourceSample(0, 10d, 100, 1, 2, 3));
+		stats = stats.add(new ProcessResourceSample(0, 30d, 50, 10, 20, 1));
+		assertEquals(new ProcessResourceStats(2, 20d, 30d, 100, 10, 20, 3), stats);
+	}
+
+	@Test
+	void testRealProcess() throws IOException {
+		assumeTrue(Files.isDirectory(Path.of("/proc/self")));
+		final var realScheduler = Executors.newSingleThreadScheduledExecutor();
+		try {
+			final var realSampler = new ProcessResourceSampler(realScheduler, Duration.ofMillis(10));
+			final var samples = new CopyOnWriteArrayList<ProcessResourceSample>();
+			realSampler.addObserver((l, s) -> samples.add(s));
+
+			final var parameters = Parameters.of("-cp", System.getProperty("java.class.path"),
+					DemoExecShortSleep.class.getName());
+			final var builder = new ProcesslauncherBuilder(
+					new CommandLine("java", parameters, new ExecutableFinder()));
+			builder.addExecutionCallbacker(realSampler);
+			final var result = builder.start().onEnd().join();
+
+			final var stats = result.getResourceStats().get();
+			assertTrue(stats.sampleCount() > 0);
+			assertTrue(stats.peakRss() > 0);
+			assertTrue(stats.peakThreads() > 0);
+			assertFalse(samples.isEmpty());
+			assertEquals(0, realSampler.getSampledCount());
+		} finally {
+			realScheduler.shutdownNow();
+		}
+	}
+
+}
@@ -0,0 +1,110 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProcessStreamsExecutorTest {
+
+	Executor previousDefault;
+
+	@BeforeEach
+	void init() {
+		previousDefault = ProcessStreamsExecutor.getDefault();
+	}
+
+	@AfterEach
+	void end() {
+		ProcessStreamsExecutor.setDefault(previousDefault);
+	}
+
+	@Test
+	void testGetSetDefault() {
+		final Executor executor = Runnable::run;
+		ProcessStreamsExecutor.setDefault(executor);
+		assertEquals(executor, ProcessStreamsExecutor.getDefault());
+		assertThrows(NullPointerException.class, () -> ProcessStreamsExecutor.setDefault(null));
+	}
+
+	@Test
+	void testCreateSharedPool_neverQueue() throws InterruptedException {
+		final var pool = ProcessStreamsExecutor.createSharedPool(2);
+		final var release = new CountDownLatch(1);
+		final var started = new CountDownLatch(5);
+		final var threads = ConcurrentHashMap.<Thread> newKeySet();
+		try {
+			for (var pos = 0; pos < 5; pos++) {
+				pool.execute(() -> {
+					final var t = Thread.currentThread();
+					threads.add(t);
+					assertTrue(t.isDaemon());
+					started.countDown();
+					try {
+						release.await();
+					} catch (final InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				});
+			}
+			assertTrue(started.await(5, SECONDS));
+			assertEquals(5, threads.size());
+		} finally {
+			release.countDown();
+			pool.shutdown();
+		}
+		assertTrue(pool.awaitTermination(5, SECONDS));
+		assertThrows(RejectedExecutionException.class, () -> pool.execute(() -> {
+		}));
+	}
+
+	@Test
+	void testCreateSharedPool_reuse() throws InterruptedException {
+		final var pool = ProcessStreamsExecutor.createSharedPool(1);
+		final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		try {
+			for (var pos = 0; pos < 3; pos++) {
+				final var done = new CountDownLatch(1);
+				pool.execute(() -> {
+					threads.add(Thread.currentThread());
+					done.countDown();
+				});
+				assertTrue(done.await(5, SECONDS));
+				while (((ThreadPoolExecutor) pool).getActiveCount() > 0) {
+					Thread.onSpinWait();
+				}
+			}
+			assertEquals(1, threads.size());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+}
@@ -19,6 +19,7 @@ package tv.hd3g.processlauncher;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
@@ -26,6 +27,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Assertions;
@@ -187,4 +189,13 @@ class ProcesslauncherBuilderTest {
 		assertEquals(execFile.getName(), pb.getExecutableName());
 	}
 
+	@Test
+	void testGetSetStreamsExecutor() {
+		assertEquals(ProcessStreamsExecutor.getDefault(), pb.getStreamsExecutor());
+		final Executor executor = Runnable::run;
+		assertEquals(pb, pb.setStreamsExecutor(executor));
+		assertEquals(executor, pb.getStreamsExecutor());
+		assertThrows(NullPointerException.class, () -> pb.setStreamsExecutor(null));
+	}
+
 }
@@ -31,9 +31,13 @@ import static tv.hd3g.processlauncher.demo.DemoExecIOText.EXPECTED_IN;
 import static tv.hd3g.processlauncher.demo.DemoExecIOText.EXPECTED_OUT;
 import static tv.hd3g.processlauncher.demo.DemoExecLongSleep.MAX_DURATION;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -142,6 +146,34 @@ public class ProcesslauncherLifecycleITTest {// NOSONAR
 		assertTrue(isAlive.get());
 	}
 
+	@Test
+	void testWrapProcessStream() throws IOException {
+		final var ept = prepareBuilder(DemoExecSimple.class);
+		final var wrapped = new LinkedBlockingQueue<Boolean>();
+		ept.addExecutionCallbacker(new ExecutionCallbacker() {
+			@Override
+			public void onEndExecution(final ProcesslauncherLifecycle processlauncherLifecycle) {
+			}
+
+			@Override
+			public InputStream wrapProcessStream(final ProcesslauncherLifecycle processlauncherLifecycle,
+												 final InputStream processStream,
+												 final boolean stdErr) {
+				wrapped.add(stdErr);
+				if (stdErr) {
+					return processStream;
+				}
+				return new SequenceInputStream(processStream,
+						new ByteArrayInputStream("WRAPPED".getBytes(StandardCharsets.UTF_8)));
+			}
+		});
+
+		captureTextAndStart(ept).waitForEnd();
+		textRetention.waitForClosedStreams();
+		assertEquals(DemoExecSimple.EXPECTED + "|WRAPPED", textRetention.getStdout(false, "|"));
+		assertEquals(List.of(false, true), List.copyOf(wrapped));
+	}
+
 	@Test
 	void testResultValues() throws Exception {
 		final var parameters = Parameters.of("-cp", System.getProperty("java.class.path"),
@@ -312,6 +344,26 @@ public class ProcesslauncherLifecycleITTest {// NOSONAR
 		assertTrue(ept.start().waitForEnd(500, TimeUnit.MILLISECONDS).isCorrectlyDone());
 	}
 
+	@Test
+	void testOnEnd() throws Exception {
+		final var ept = prepareBuilder(DemoExecShortSleep.class);
+		final var onEndExecution = new AtomicBoolean(false);
+		ept.addExecutionCallbacker(new ExecutionCallbacker() {
+			@Override
+			public void onEndExecution(final ProcesslauncherLifecycle processlauncherLifecycle) {
+				onEndExecution.set(true);
+			}
+		});
+
+		final var p = captureTextAndStart(ept);
+		final var onEnd = p.onEnd();
+		assertEquals(p, onEnd.get(500, TimeUnit.MILLISECONDS));
+		assertTrue(onEndExecution.get());
+		assertTrue(p.isCorrectlyDone());
+		textRetention.onClosedStreams().get(500, TimeUnit.MILLISECONDS);
+		assertFalse(textRetention.isStreamsWatchIsStillAlive());
+	}
+
 	@Test
 	void testToString() throws IOException {
 		assertNotNull(prepareBuilder(DemoExecSimple.class).start().toString());
@@ -383,4 +435,28 @@ public class ProcesslauncherLifecycleITTest {// NOSONAR
 		assertNull(errors.get());
 	}
 
+	@Test
+	void testOnClosedStreams() throws Exception {
+		final var ept = prepareBuilder(DemoExecLongStdOutErr.class);
+		ept.setExecutionTimeLimiter(500, TimeUnit.MILLISECONDS, scheduledThreadPool);
+
+		final var lineCount = new AtomicInteger();
+		final InputStreamConsumer stdOutConsumer = (processInputStream, source) -> lineCount.set(
+				IOUtils.readLines(processInputStream, StandardCharsets.UTF_8).size());
+
+		ept.setCaptureStandardOutput(new DirectStandardOutputStdErrRetention(textRetention, stdOutConsumer));
+		final var result = ept.start();
+		result.onEnd().thenCombine(result.onClosedStreams(), (l, v) -> l).get(500, TimeUnit.MILLISECONDS);
+		assertTrue(result.isCorrectlyDone());
+		assertEquals(DemoExecLongStdOutErr.COUNT + 1, lineCount.get());
+		assertFalse(textRetention.isStreamsWatchIsStillAlive());
+	}
+
+	@Test
+	void testOnClosedStreams_noCapture() throws Exception {
+		final var result = prepareBuilder(DemoExecShortSleep.class).start();
+		assertTrue(result.onClosedStreams().isDone());
+		result.waitForEnd();
+	}
+
 }
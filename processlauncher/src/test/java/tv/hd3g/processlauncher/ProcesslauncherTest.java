@@ -23,6 +23,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.junit.jupiter.api.Test;
@@ -37,6 +38,7 @@ class ProcesslauncherTest {
 	private final ProcessBuilder processBuilder;
 	private final String fullCommandLine;
 	private final ProcesslauncherBuilder processlauncherBuilder;
+	private final Executor streamsExecutor;
 
 	private final Processlauncher pl;
 
@@ -48,6 +50,7 @@ class ProcesslauncherTest {
 		processBuilder = new ProcessBuilder("");
 		fullCommandLine = "aaa bbb ccc";
 		processlauncherBuilder = Mockito.mock(ProcesslauncherBuilder.class);
+		streamsExecutor = Mockito.mock(Executor.class);
 
 		Mockito.when(processlauncherBuilder.getExecutionCallbackers())
 		        .thenReturn(executionCallbackers);
@@ -59,6 +62,7 @@ class ProcesslauncherTest {
 		        .thenReturn(Optional.ofNullable(externalProcessStartup));
 		Mockito.when(processlauncherBuilder.makeProcessBuilder()).thenReturn(processBuilder);
 		Mockito.when(processlauncherBuilder.getFullCommandLine()).thenReturn(fullCommandLine);
+		Mockito.when(processlauncherBuilder.getStreamsExecutor()).thenReturn(streamsExecutor);
 
 		pl = new Processlauncher(processlauncherBuilder);
 	}
@@ -113,4 +117,9 @@ class ProcesslauncherTest {
 		assertEquals(processlauncherBuilder.getExecutableName(), pl.getExecutableName());
 	}
 
+	@Test
+	void testGetStreamsExecutor() {
+		assertEquals(streamsExecutor, pl.getStreamsExecutor());
+	}
+
 }
@@ -0,0 +1,195 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static tv.hd3g.processlauncher.demo.DemoExecFloodStdOut.FRAME_COUNT;
+import static tv.hd3g.processlauncher.demo.DemoExecFloodStdOut.LINES_BY_FRAME;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.List;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import tv.hd3g.processlauncher.cmdline.CommandLine;
+import tv.hd3g.processlauncher.cmdline.ExecutableFinder;
+import tv.hd3g.processlauncher.cmdline.Parameters;
+import tv.hd3g.processlauncher.demo.DemoExecFloodStdOut;
+
+/**
+ * Send the DemoExecFloodStdOut lines to some observers, by line (onText) or by batch (onTextBatch).
+ * "parse" reads a captured DemoExecFloodStdOut stdout, "process" starts DemoExecFloodStdOut.
+ * Run with main(), from test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StreamParserBatchBenchmark {
+
+	@Param({ "false", "true" })
+	boolean batch;
+
+	byte[] floodStdOut;
+	ProcesslauncherLifecycle source;
+	ExecutableFinder executableFinder;
+
+	@Setup
+	public void setup() throws IOException {
+		final var stdOut = new ByteArrayOutputStream();
+		DemoExecFloodStdOut.write(new PrintStream(stdOut, false, UTF_8));
+		floodStdOut = stdOut.toByteArray();
+
+		source = Mockito.mock(ProcesslauncherLifecycle.class);
+		final var launcher = Mockito.mock(Processlauncher.class);
+		Mockito.when(source.getLauncher()).thenReturn(launcher);
+		Mockito.when(launcher.getExecutableName()).thenReturn("flood");
+		executableFinder = new ExecutableFinder();
+	}
+
+	abstract static class Counter extends CapturedStdOutErrText {
+		final boolean batch;
+		long count;
+
+		Counter(final boolean batch) {
+			this.batch = batch;
+		}
+
+		@Override
+		public boolean isTextBatch() {
+			return batch;
+		}
+	}
+
+	static class LineCounter extends Counter {
+		LineCounter(final boolean batch) {
+			super(batch);
+		}
+
+		@Override
+		public void onText(final LineEntry lineEntry) {
+			count++;
+		}
+
+		@Override
+		public void onTextBatch(final List<LineEntry> lineEntries) {
+			count += lineEntries.size();
+		}
+	}
+
+	static class CharCounter extends Counter {
+		CharCounter(final boolean batch) {
+			super(batch);
+		}
+
+		@Override
+		public void onText(final LineEntry lineEntry) {
+			count += lineEntry.line().length();
+		}
+
+		@Override
+		public void onTextBatch(final List<LineEntry> lineEntries) {
+			for (final var lineEntry : lineEntries) {
+				count += lineEntry.line().length();
+			}
+		}
+	}
+
+	static class FrameCounter extends Counter {
+		FrameCounter(final boolean batch) {
+			super(batch);
+		}
+
+		@Override
+		public void onText(final LineEntry lineEntry) {
+			if (lineEntry.line().startsWith("frame:")) {
+				count++;
+			}
+		}
+
+		@Override
+		public void onTextBatch(final List<LineEntry> lineEntries) {
+			for (final var lineEntry : lineEntries) {
+				if (lineEntry.line().startsWith("frame:")) {
+					count++;
+				}
+			}
+		}
+	}
+
+	private List<Counter> makeObservers() {
+		return List.of(new LineCounter(batch), new CharCounter(batch), new FrameCounter(batch));
+	}
+
+	private static long check(final List<Counter> observers) {
+		if (observers.get(0).count != FRAME_COUNT * LINES_BY_FRAME
+			|| observers.get(2).count != FRAME_COUNT) {
+			throw new IllegalStateException("Invalid line count: " + observers.get(0).count);
+		}
+		return observers.get(1).count;
+	}
+
+	@Benchmark
+	public long parse() {
+		final var observers = makeObservers();
+		new StreamParser(new ByteArrayInputStream(floodStdOut), false, source,
+				List.copyOf(observers), UTF_8, StreamParser.DEFAULT_MAX_LINE_LENGTH,
+				StreamParser.DEFAULT_TEXT_BATCH_MAX_SIZE, StreamParser.DEFAULT_TEXT_BATCH_MAX_DELAY).run();
+		return check(observers);
+	}
+
+	@Benchmark
+	public long process() throws IOException {
+		final var observers = makeObservers();
+		final var parameters = Parameters.of("-cp", System.getProperty("java.class.path"),
+				DemoExecFloodStdOut.class.getName());
+		final var builder = new ProcesslauncherBuilder(new CommandLine("java", parameters, executableFinder));
+		final var capture = builder.getSetCaptureStandardOutputAsOutputText(CapturedStreams.ONLY_STDOUT);
+		observers.forEach(capture::addObserver);
+		builder.start().waitForEnd();
+		observers.get(0).waitForClosedStreams();
+		return check(observers);
+	}
+
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(StreamParserBatchBenchmark.class.getSimpleName())
+				.build())
+				.run();
+	}
+
+}
@@ -0,0 +1,113 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+class StreamWatcherTest {
+
+	@Mock
+	ProcesslauncherLifecycle source;
+	@Mock
+	Processlauncher launcher;
+
+	List<Runnable> tasks;
+	CountDownLatch release;
+	String runningThreadName;
+	StreamWatcher w;
+
+	@BeforeEach
+	void init() throws Exception {
+		openMocks(this).close();
+		tasks = new ArrayList<>();
+		release = new CountDownLatch(1);
+		when(source.getLauncher()).thenReturn(launcher);
+		when(launcher.getStreamsExecutor()).thenReturn(tasks::add);
+
+		w = new StreamWatcher("watcher", source) {
+
+			@Override
+			protected void process() {
+				runningThreadName = Thread.currentThread().getName();
+			}
+		};
+	}
+
+	@AfterEach
+	void end() {
+		verifyNoMoreInteractions(source, launcher);
+	}
+
+	@Test
+	void testName() {
+		assertTrue(w.getName().startsWith("watcher TId#"));
+		assertEquals(w.getName(), w.toString());
+		assertEquals(source, w.getSource());
+	}
+
+	@Test
+	void testNotStarted() throws InterruptedException {
+		assertFalse(w.isAlive());
+		w.join();
+		w.join(1);
+		w.run();
+		assertFalse(w.isAlive());
+		assertTrue(w.onEnd().isDone());
+	}
+
+	@Test
+	void testStartRun() throws InterruptedException {
+		w.start();
+		assertTrue(w.isAlive());
+		assertEquals(1, tasks.size());
+		assertEquals(w, tasks.get(0));
+		w.join(1);
+		assertTrue(w.isAlive());
+		final var onEnd = w.onEnd();
+		assertFalse(onEnd.isDone());
+
+		final var threadName = Thread.currentThread().getName();
+		tasks.get(0).run();
+		assertEquals(w.getName(), runningThreadName);
+		assertNotEquals(w.getName(), Thread.currentThread().getName());
+		assertEquals(threadName, Thread.currentThread().getName());
+		assertFalse(w.isAlive());
+		assertTrue(onEnd.isDone());
+		w.join();
+
+		verify(source, times(1)).getLauncher();
+		verify(launcher, times(1)).getStreamsExecutor();
+	}
+
+}
@@ -17,12 +17,19 @@
 package tv.hd3g.processlauncher.cmdline;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import tv.hd3g.processlauncher.Tool;
 
@@ -67,4 +74,53 @@ class ExecutableFinderTest {
 		ef.registerExecutable("java", element);
 		assertEquals(element.getPath(), ef.get("java").getPath());
 	}
+
+	@Test
+	void testGetDefault() {
+		assertSame(ExecutableFinder.getDefault(), ExecutableFinder.getDefault());
+	}
+
+	private static File createExec(final Path dir) throws IOException {
+		final var exec = Files.writeString(dir.resolve("cached-exec"), "").toFile();
+		assertTrue(exec.setExecutable(true));
+		return exec.getAbsoluteFile();
+	}
+
+	@Test
+	void testCache(@TempDir final Path tempDir) throws IOException {
+		final var lowPriorityDir = Files.createDirectory(tempDir.resolve("low"));
+		final var highPriorityDir = Files.createDirectory(tempDir.resolve("high"));
+		final var ef = new ExecutableFinder();
+		ef.addPath(lowPriorityDir.toFile());
+		ef.addPath(highPriorityDir.toFile());
+		assertEquals(ExecutableFinder.DEFAULT_CACHE_TTL, ef.getCacheTTL());
+
+		final var lowPriorityExec = createExec(lowPriorityDir);
+		assertEquals(lowPriorityExec, ef.get("cached-exec"));
+
+		final var highPriorityExec = createExec(highPriorityDir);
+		assertTrue(highPriorityDir.toFile().setLastModified(System.currentTimeMillis() + 10_000));
+		assertEquals(lowPriorityExec, ef.get("cached-exec"));
+
+		ef.setCacheTTL(Duration.ZERO);
+		assertEquals(highPriorityExec, ef.get("cached-exec"));
+		assertEquals(highPriorityExec, ef.get("cached-exec"));
+
+		Files.delete(highPriorityExec.toPath());
+		Files.delete(lowPriorityExec.toPath());
+		assertThrows(FileNotFoundException.class, () -> ef.get("cached-exec"));
+	}
+
+	@Test
+	void testClearCache(@TempDir final Path tempDir) throws IOException {
+		final var ef = new ExecutableFinder();
+		ef.addPath(tempDir.toFile());
+		final var exec = createExec(tempDir);
+		assertEquals(exec, ef.get("cached-exec"));
+
+		Files.delete(exec.toPath());
+		assertEquals(exec, ef.get("cached-exec"));
+		ef.clearCache();
+		assertThrows(FileNotFoundException.class, () -> ef.get("cached-exec"));
+	}
 }
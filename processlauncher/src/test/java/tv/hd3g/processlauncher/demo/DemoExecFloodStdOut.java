@@ -0,0 +1,51 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher.demo;
+
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+
+/**
+ * Like a "ffmpeg -f lavfi ... metadata=mode=print" stdout
+ */
+public class DemoExecFloodStdOut {
+
+	public static final int FRAME_COUNT = 100_000;
+	public static final int LINES_BY_FRAME = 4;
+
+	public static void main(final String[] args) {
+		write(new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 65536)));
+	}
+
+	public static void write(final PrintStream out) {
+		for (var pos = 0; pos < FRAME_COUNT; pos++) {
+			out.print("frame:");
+			out.print(pos);
+			out.print("    pts:");
+			out.print(pos * 1024);
+			out.print("    pts_time:");
+			out.println(pos * 0.021333f);
+			out.println("lavfi.aphasemeter.phase=1.000000");
+			out.println("lavfi.astats.1.DC_offset=0.000001");
+			out.println("lavfi.r128.M=-23.012");
+		}
+		out.flush();
+	}
+
+}
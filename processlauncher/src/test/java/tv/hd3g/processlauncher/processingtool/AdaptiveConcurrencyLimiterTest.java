@@ -0,0 +1,159 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher.processingtool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static tv.hd3g.processlauncher.processingtool.ProcessingToolPriority.BATCH;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import tv.hd3g.processlauncher.ProcesslauncherLifecycle;
+
+class AdaptiveConcurrencyLimiterTest {
+
+	static final HostLoad IDLE = new HostLoad(0.1d, 4, 0.1d, 0d);
+	static final HostLoad CPU_OVERLOAD = new HostLoad(2d, 4, 0.99d, 0d);
+	static final HostLoad IO_OVERLOAD = new HostLoad(2d, 4, 0.3d, 0.6d);
+	static final HostLoad LOAD_OVERLOAD = new HostLoad(20d, 4, 0.5d, 0d);
+
+	class PTB extends ProcessingToolBuilder<String, ParametersProvider, String, ExecutorWatcher> {
+
+		PTB() {
+			super("ffmpeg", new ExecutorWatcher() {});
+		}
+
+		@Override
+		protected ParametersProvider getParametersProvider(final String sourceOrigin) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		protected String compute(final String sourceOrigin, final ProcesslauncherLifecycle lifeCycle) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public CompletableFuture<ProcessingToolResult<String, ParametersProvider, String, ExecutorWatcher>> processAsync(final String sourceOrigin) {
+			return new CompletableFuture<>();
+		}
+	}
+
+	AtomicReference<HostLoad> hostLoad;
+	ProcessingToolScheduler scheduler;
+	AdaptiveConcurrencyLimiter limiter;
+
+	@BeforeEach
+	void init() {
+		hostLoad = new AtomicReference<>(IDLE);
+		scheduler = new ProcessingToolScheduler(100, 100);
+		limiter = new AdaptiveConcurrencyLimiter(scheduler, hostLoad::get);
+		limiter.addTool("ffmpeg", 2, 8);
+	}
+
+	void submit(final int count) {
+		final var ptb = new PTB();
+		for (var i = 0; i < count; i++) {
+			scheduler.submit(ptb, "", BATCH);
+		}
+	}
+
+	@Test
+	void testAddTool() {
+		assertEquals(2, limiter.getLimit("ffmpeg"));
+		assertEquals(2, scheduler.getMaxConcurrent("ffmpeg"));
+		assertEquals(0, limiter.getLimit("ffprobe"));
+		assertThrows(IllegalArgumentException.class, () -> limiter.addTool("ffprobe", 0, 1));
+		assertThrows(IllegalArgumentException.class, () -> limiter.addTool("ffprobe", 2, 1));
+		assertThrows(IllegalArgumentException.class, () -> limiter.setDecreaseFactor(1d));
+	}
+
+	@Test
+	void testUpdate_noDemand() {
+		submit(1);
+		limiter.update();
+		assertEquals(2, limiter.getLimit("ffmpeg"));
+	}
+
+	@Test
+	void testUpdate_additiveIncrease() {
+		submit(20);
+		assertEquals(2, scheduler.getRunningCount("ffmpeg"));
+		for (var i = 3; i <= 8; i++) {
+			limiter.update();
+			assertEquals(i, limiter.getLimit("ffmpeg"));
+			assertEquals(i, scheduler.getRunningCount("ffmpeg"));
+		}
+		limiter.update();
+		assertEquals(8, limiter.getLimit("ffmpeg"));
+	}
+
+	@Test
+	void testUpdate_multiplicativeDecrease() {
+		submit(20);
+		for (var i = 0; i < 6; i++) {
+			limiter.update();
+		}
+		assertEquals(8, limiter.getLimit("ffmpeg"));
+
+		hostLoad.set(CPU_OVERLOAD);
+		limiter.update();
+		assertEquals(6, limiter.getLimit("ffmpeg"));
+		assertEquals(6, scheduler.getMaxConcurrent("ffmpeg"));
+
+		hostLoad.set(IO_OVERLOAD);
+		limiter.update();
+		assertEquals(4, limiter.getLimit("ffmpeg"));
+
+		hostLoad.set(LOAD_OVERLOAD);
+		limiter.update();
+		assertEquals(3, limiter.getLimit("ffmpeg"));
+		limiter.update();
+		assertEquals(2, limiter.getLimit("ffmpeg"));
+		limiter.update();
+		assertEquals(2, limiter.getLimit("ffmpeg"));
+	}
+
+	@Test
+	void testUpdate_throughputDrop() {
+		submit(20);
+		limiter.reportThroughput("ffmpeg", 10d);
+		limiter.update();
+		assertEquals(3, limiter.getLimit("ffmpeg"));
+
+		for (var i = 0; i < 20; i++) {
+			limiter.reportThroughput("ffmpeg", 5d);
+		}
+		limiter.update();
+		assertEquals(2, limiter.getLimit("ffmpeg"));
+	}
+
+	@Test
+	void testUpdate_hostLoadError() {
+		final var failLimiter = new AdaptiveConcurrencyLimiter(scheduler, () -> {
+			throw new IllegalStateException("No /proc");
+		});
+		failLimiter.addTool("ffprobe", 1, 2);
+		failLimiter.update();
+		assertEquals(1, failLimiter.getLimit("ffprobe"));
+	}
+
+}
@@ -16,7 +16,10 @@
  */
 package tv.hd3g.processlauncher.processingtool;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -24,6 +27,8 @@ import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.openMocks;
 import static org.mockito.internal.verification.VerificationModeFactory.times;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -51,6 +56,8 @@ class CallbackWatcherTest {
 	@Mock
 	Consumer<LineEntry> stdOutErrConsumer;
 	@Mock
+	Consumer<List<LineEntry>> stdOutErrBatchConsumer;
+	@Mock
 	ProcesslauncherBuilder builder;
 	@Mock
 	ProcesslauncherLifecycle lifeCycle;
@@ -84,6 +91,7 @@ class CallbackWatcherTest {
 		verifyNoMoreInteractions(
 				filterOutErrorLines,
 				stdOutErrConsumer,
+				stdOutErrBatchConsumer,
 				builder,
 				lifeCycle,
 				captureStandardOutputText,
@@ -116,6 +124,37 @@ class CallbackWatcherTest {
 		verify(lineEntry, times(3)).source();
 	}
 
+	@Test
+	void testSetupWatcherRun_batch() {
+		callbackWatcher.setStdOutErrBatchConsumer(stdOutErrBatchConsumer);
+		callbackWatcher.setupWatcherRun(builder);
+
+		verify(builder, times(1)).getSetCaptureStandardOutputAsOutputText();
+		verify(captureStandardOutputText, times(1)).addObserver(observer.capture());
+		final var o = observer.getValue();
+		assertTrue(o.isTextBatch());
+
+		when(lineEntry.stdErr()).thenReturn(true);
+		when(lineEntry.isEmpty()).thenReturn(false);
+		final var lineEntries = List.of(lineEntry, lineEntry);
+		o.onTextBatch(lineEntries);
+		verify(stdOutErrBatchConsumer, times(1)).accept(lineEntries);
+		o.onText(lineEntry);
+		verify(stdOutErrBatchConsumer, times(1)).accept(List.of(lineEntry));
+
+		verify(lineEntry, times(3)).stdErr();
+		verify(lineEntry, times(3)).isEmpty();
+		verify(lineEntry, times(3)).line();
+	}
+
+	@Test
+	void testSetupWatcherRun_notBatch() {
+		callbackWatcher.setupWatcherRun(builder);
+		verify(builder, times(1)).getSetCaptureStandardOutputAsOutputText();
+		verify(captureStandardOutputText, times(1)).addObserver(observer.capture());
+		assertFalse(observer.getValue().isTextBatch());
+	}
+
 	@Test
 	void testAfterStartProcess_noError() {
 		callbackWatcher.afterStartProcess(lifeCycle);
@@ -148,4 +187,22 @@ class CallbackWatcherTest {
 		verify(invalidExecution, times(1)).injectStdErr(line);
 	}
 
+	@Test
+	void testAfterStartProcessAsync_waitClosedStreams() throws Exception {
+		final var onEnd = new CompletableFuture<ProcesslauncherLifecycle>();
+		final var onClosedStreams = new CompletableFuture<Void>();
+		when(lifeCycle.onEnd()).thenReturn(onEnd);
+		when(lifeCycle.onClosedStreams()).thenReturn(onClosedStreams);
+
+		final var afterStart = callbackWatcher.afterStartProcessAsync(lifeCycle);
+		onEnd.complete(lifeCycle);
+		assertFalse(afterStart.isDone());
+
+		onClosedStreams.complete(null);
+		assertEquals(lifeCycle, afterStart.get());
+		verify(lifeCycle, times(1)).onEnd();
+		verify(lifeCycle, times(1)).onClosedStreams();
+		verify(lifeCycle, times(1)).checkExecution();
+	}
+
 }
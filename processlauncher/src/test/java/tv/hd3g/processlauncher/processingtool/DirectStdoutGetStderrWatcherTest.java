@@ -16,14 +16,20 @@
  */
 package tv.hd3g.processlauncher.processingtool;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.internal.verification.VerificationModeFactory.times;
 import static tv.hd3g.processlauncher.EndStatus.KILLED;
 
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 
 import org.junit.jupiter.api.AfterEach;
@@ -84,6 +90,25 @@ class DirectStdoutGetStderrWatcherTest {
 		assertNotNull(directStreamsCapture.getValue());
 	}
 
+	@Test
+	void testSetupWatcherRun_stdOutConsumerFactory() {
+		final var runConsumers = new ArrayList<InputStreamConsumer>();
+		w.setStdOutConsumerFactory(() -> {
+			final var runConsumer = mock(InputStreamConsumer.class);
+			runConsumers.add(runConsumer);
+			return runConsumer;
+		});
+		w.setupWatcherRun(builder);
+		w.setupWatcherRun(builder);
+
+		verify(builder, times(2)).setCaptureStandardOutput(directStreamsCapture.capture());
+		assertEquals(2, runConsumers.size());
+		assertNotSame(runConsumers.get(0), runConsumers.get(1));
+		assertEquals(runConsumers, directStreamsCapture.getAllValues().stream()
+				.map(DirectStandardOutputStdErrRetention::getStdOutConsumer)
+				.toList());
+	}
+
 	@Test
 	void testAfterStartProcess() {
 		w.afterStartProcess(lifeCycle);
@@ -97,4 +122,22 @@ class DirectStdoutGetStderrWatcherTest {
 		verify(lifeCycle, times(1)).checkExecution();
 	}
 
+	@Test
+	void testAfterStartProcessAsync_waitClosedStreams() throws Exception {
+		final var onEnd = new CompletableFuture<ProcesslauncherLifecycle>();
+		final var onClosedStreams = new CompletableFuture<Void>();
+		when(lifeCycle.onEnd()).thenReturn(onEnd);
+		when(lifeCycle.onClosedStreams()).thenReturn(onClosedStreams);
+
+		final var afterStart = w.afterStartProcessAsync(lifeCycle);
+		onEnd.complete(lifeCycle);
+		assertFalse(afterStart.isDone());
+
+		onClosedStreams.complete(null);
+		assertEquals(lifeCycle, afterStart.get());
+		verify(lifeCycle, times(1)).onEnd();
+		verify(lifeCycle, times(1)).onClosedStreams();
+		verify(lifeCycle, times(1)).checkExecution();
+	}
+
 }
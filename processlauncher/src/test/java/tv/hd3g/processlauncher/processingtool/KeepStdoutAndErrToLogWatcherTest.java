@@ -16,6 +16,8 @@
  */
 package tv.hd3g.processlauncher.processingtool;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -26,8 +28,11 @@ import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.openMocks;
 import static org.mockito.internal.verification.VerificationModeFactory.times;
 import static tv.hd3g.processlauncher.CapturedStreams.BOTH_STDOUT_STDERR;
+import static tv.hd3g.processlauncher.CapturedTextLimits.DEFAULT_STDERR;
 import static tv.hd3g.processlauncher.EndStatus.KILLED;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -143,10 +148,26 @@ class KeepStdoutAndErrToLogWatcherTest {
 		verify(captureStandardOutputText, times(1)).addObserver(w.getTextRetention());
 	}
 
+	@Test
+	void testDefaultTextRetentionLimits() {
+		final var textRetention = w.getTextRetention();
+		final var count = DEFAULT_STDERR.headLines() + DEFAULT_STDERR.tailLines() + 10;
+		for (var pos = 0; pos < count; pos++) {
+			textRetention.onText(new LineEntry(0, "Out", false, lifeCycle));
+			textRetention.onText(new LineEntry(0, "Err", true, lifeCycle));
+		}
+		assertEquals(count, textRetention.getStdoutLines(true).count());
+		assertEquals(count - 10, textRetention.getStderrLines(true).count());
+		assertEquals(0, textRetention.getSkippedLines(false));
+		assertEquals(10, textRetention.getSkippedLines(true));
+	}
+
 	@Test
 	void testAfterStartProcess() {
+		when(lifeCycle.onClosedStreams()).thenReturn(CompletableFuture.completedFuture(null));
 		w.afterStartProcess(lifeCycle);
 		verify(lifeCycle, times(1)).checkExecution();
+		verify(lifeCycle, times(1)).onClosedStreams();
 	}
 
 	@Test
@@ -155,4 +176,38 @@ class KeepStdoutAndErrToLogWatcherTest {
 		assertThrows(InvalidExecution.class, () -> w.afterStartProcess(lifeCycle));
 		verify(lifeCycle, times(1)).checkExecution();
 	}
+
+	@Test
+	void testAfterStartProcessAsync() throws Exception {
+		final var onEnd = new CompletableFuture<ProcesslauncherLifecycle>();
+		final var onClosedStreams = new CompletableFuture<Void>();
+		when(lifeCycle.onEnd()).thenReturn(onEnd);
+		when(lifeCycle.onClosedStreams()).thenReturn(onClosedStreams);
+
+		final var afterStart = w.afterStartProcessAsync(lifeCycle);
+		assertFalse(afterStart.isDone());
+		verify(lifeCycle, times(0)).checkExecution();
+
+		onEnd.complete(lifeCycle);
+		assertFalse(afterStart.isDone());
+		onClosedStreams.complete(null);
+		assertEquals(lifeCycle, afterStart.get());
+		verify(lifeCycle, times(1)).onEnd();
+		verify(lifeCycle, times(2)).onClosedStreams();
+		verify(lifeCycle, times(1)).checkExecution();
+	}
+
+	@Test
+	void testAfterStartProcessAsync_withError() {
+		when(lifeCycle.onEnd()).thenReturn(CompletableFuture.completedFuture(lifeCycle));
+		when(lifeCycle.onClosedStreams()).thenReturn(CompletableFuture.completedFuture(null));
+		when(lifeCycle.checkExecution()).thenThrow(invalidExecution);
+
+		final var afterStart = w.afterStartProcessAsync(lifeCycle);
+		final var e = assertThrows(ExecutionException.class, afterStart::get);
+		assertEquals(InvalidExecution.class, e.getCause().getClass());
+		verify(lifeCycle, times(1)).onEnd();
+		verify(lifeCycle, times(1)).onClosedStreams();
+		verify(lifeCycle, times(1)).checkExecution();
+	}
 }
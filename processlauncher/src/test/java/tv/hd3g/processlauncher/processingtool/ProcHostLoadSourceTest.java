@@ -0,0 +1,101 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher.processingtool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ProcHostLoadSourceTest {
+
+	@TempDir
+	Path procDir;
+
+	ProcHostLoadSource source;
+
+	@BeforeEach
+	void init() {
+		source = new ProcHostLoadSource(procDir);
+	}
+
+	void writeProc(final String loadavg, final long user, final long idle, final long iowait) throws IOException {
+		writeProc(loadavg, user, idle, iowait, 0);
+	}
+
+	void writeProc(final String loadavg,
+				   final long user,
+				   final long idle,
+				   final long iowait,
+				   final long guest) throws IOException {
+		Files.writeString(procDir.resolve("loadavg"), loadavg + " 0.50 0.40 2/345 6789\n");
+		Files.writeString(procDir.resolve("stat"), String.join("\n",
+				"cpu  " + user + " 0 0 " + idle + " " + iowait + " 0 0 0 " + guest + " 0",
+				"cpu0 0 0 0 0 0 0 0 0 0 0",
+				"cpu1 0 0 0 0 0 0 0 0 0 0",
+				"intr 12345",
+				"ctxt 67890"));
+	}
+
+	@Test
+	void testGetHostLoad() throws IOException {
+		writeProc("3.00", 100, 300, 0);
+		var load = source.getHostLoad();
+		assertEquals(3d, load.loadAverage());
+		assertEquals(2, load.cpuCount());
+		assertEquals(1.5d, load.getLoadByCpu());
+		assertEquals(0.25d, load.cpuBusy());
+		assertEquals(0d, load.ioWait());
+
+		writeProc("1.00", 180, 300, 20);
+		load = source.getHostLoad();
+		assertEquals(0.8d, load.cpuBusy());
+		assertEquals(0.2d, load.ioWait());
+
+		load = source.getHostLoad();
+		assertEquals(0d, load.cpuBusy());
+		assertEquals(0d, load.ioWait());
+	}
+
+	@Test
+	void testGetHostLoad_guestInUser() throws IOException {
+		writeProc("1.00", 100, 100, 0, 100);
+		final var load = source.getHostLoad();
+		assertEquals(0.5d, load.cpuBusy());
+		assertEquals(0d, load.ioWait());
+	}
+
+	@Test
+	void testMissing() {
+		assertThrows(UncheckedIOException.class, source::getHostLoad);
+	}
+
+	@Test
+	void testInvalid() throws IOException {
+		Files.writeString(procDir.resolve("loadavg"), "nope");
+		Files.writeString(procDir.resolve("stat"), "cpu  1 2 3 4 5");
+		assertThrows(IllegalStateException.class, source::getHostLoad);
+	}
+
+}
@@ -29,11 +29,16 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.mockito.internal.verification.VerificationModeFactory.times;
+import static tv.hd3g.processlauncher.LaunchPhase.COMPUTE;
+import static tv.hd3g.processlauncher.LaunchPhase.PREPARE_PARAMETERS;
+import static tv.hd3g.processlauncher.LaunchPhase.RESOLVE_EXECUTABLE;
 
 import java.io.File;
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 
 import org.junit.jupiter.api.AfterEach;
@@ -47,6 +52,9 @@ import org.mockito.Mock;
 
 import tv.hd3g.commons.testtools.Fake;
 import tv.hd3g.commons.testtools.MockToolsExtendsJunit;
+import tv.hd3g.processlauncher.LaunchMetrics;
+import tv.hd3g.processlauncher.LaunchMetricsSink;
+import tv.hd3g.processlauncher.LaunchPhase;
 import tv.hd3g.processlauncher.Processlauncher;
 import tv.hd3g.processlauncher.ProcesslauncherBuilder;
 import tv.hd3g.processlauncher.ProcesslauncherLifecycle;
@@ -140,6 +148,8 @@ class ProcessingToolBuilderTest {
 	@Fake
 	String fullCommandLine;
 	@Fake
+	String execNameWithoutExt;
+	@Fake
 	String param;
 	@Fake
 	File execFile;
@@ -191,13 +201,27 @@ class ProcessingToolBuilderTest {
 		when(parametersProvider.getReadyToRunParameters()).thenReturn(parameters);
 		when(pBuilder.start()).thenReturn(lifeCycle);
 		when(lifeCycle.getFullCommandLine()).thenReturn(fullCommandLine);
+		when(lifeCycle.getExecNameWithoutExt()).thenReturn(execNameWithoutExt);
 
 		if (addWorkingDirectoryAndMaxExecTimeScheduler) {
 			assertTrue(ptb.setMaxExecutionTime(Duration.ofDays(1), maxExecTimeScheduler));
 			ptb.setWorkingDirectory(workingDirectory);
 		}
 
-		final var pResult = ptb.process(sourceOrigin);
+		final var phases = new ArrayList<LaunchPhase>();
+		final LaunchMetricsSink sink = (e, p, d) -> {
+			if (e.equals(execNameWithoutExt)) {
+				phases.add(p);
+			}
+		};
+		LaunchMetrics.getInstance().addSink(sink);
+		final ProcessingToolResult<Object, ParametersProvider, Object, ExecutorWatcher> pResult;
+		try {
+			pResult = ptb.process(sourceOrigin);
+		} finally {
+			LaunchMetrics.getInstance().removeSink(sink);
+		}
+		assertEquals(List.of(PREPARE_PARAMETERS, RESOLVE_EXECUTABLE, COMPUTE), phases);
 		assertNotNull(pResult);
 		assertEquals(ptb, pResult.getBuilder());
 		assertEquals(fullCommandLine, pResult.getFullCommandLine());
@@ -209,6 +233,7 @@ class ProcessingToolBuilderTest {
 		verify(pBuilder, times(1)).start();
 		verify(parametersProvider, times(1)).getReadyToRunParameters();
 		verify(lifeCycle, atLeastOnce()).getFullCommandLine();
+		verify(lifeCycle, times(2)).getExecNameWithoutExt();
 		verify(executorWatcher, times(1)).setupWatcherRun(pBuilder);
 		verify(executorWatcher, times(1)).afterStartProcess(lifeCycle);
 
@@ -218,6 +243,66 @@ class ProcessingToolBuilderTest {
 		}
 	}
 
+	@Test
+	void testProcessAsync() throws Exception {
+		when(parametersProvider.getReadyToRunParameters()).thenReturn(parameters);
+		when(pBuilder.start()).thenReturn(lifeCycle);
+		when(lifeCycle.getFullCommandLine()).thenReturn(fullCommandLine);
+		when(lifeCycle.getExecNameWithoutExt()).thenReturn(execNameWithoutExt);
+		when(lifeCycle.getLauncher()).thenReturn(processlauncher);
+		when(processlauncher.getStreamsExecutor()).thenReturn(Runnable::run);
+		final var afterStart = new CompletableFuture<ProcesslauncherLifecycle>();
+		when(executorWatcher.afterStartProcessAsync(lifeCycle)).thenReturn(afterStart);
+
+		final var pResult = ptb.processAsync(sourceOrigin);
+		assertFalse(pResult.isDone());
+		afterStart.complete(lifeCycle);
+
+		assertEquals(ptb, pResult.get().getBuilder());
+		assertEquals(fullCommandLine, pResult.get().getFullCommandLine());
+		assertEquals(result, pResult.get().getResult());
+
+		verify(callback, times(1)).prepareParameters(parameters);
+		verify(callback, times(1)).beforeRun(pBuilder);
+		verify(pBuilder, times(1)).addExecutionCallbacker(callback);
+		verify(pBuilder, times(1)).start();
+		verify(parametersProvider, times(1)).getReadyToRunParameters();
+		verify(lifeCycle, atLeastOnce()).getFullCommandLine();
+		verify(lifeCycle, times(2)).getExecNameWithoutExt();
+		verify(lifeCycle, times(1)).getLauncher();
+		verify(processlauncher, times(1)).getStreamsExecutor();
+		verify(executorWatcher, times(1)).setupWatcherRun(pBuilder);
+		verify(executorWatcher, times(1)).afterStartProcessAsync(lifeCycle);
+	}
+
+	@Test
+	void testProcessAsync_cancel() throws IOException {
+		when(parametersProvider.getReadyToRunParameters()).thenReturn(parameters);
+		when(pBuilder.start()).thenReturn(lifeCycle);
+		when(lifeCycle.getFullCommandLine()).thenReturn(fullCommandLine);
+		when(lifeCycle.getExecNameWithoutExt()).thenReturn(execNameWithoutExt);
+		when(lifeCycle.getLauncher()).thenReturn(processlauncher);
+		when(processlauncher.getStreamsExecutor()).thenReturn(Runnable::run);
+		when(executorWatcher.afterStartProcessAsync(lifeCycle)).thenReturn(new CompletableFuture<>());
+
+		final var pResult = ptb.processAsync(sourceOrigin);
+		assertTrue(pResult.cancel(true));
+		assertTrue(pResult.isCancelled());
+
+		verify(lifeCycle, times(1)).kill();
+		verify(callback, times(1)).prepareParameters(parameters);
+		verify(callback, times(1)).beforeRun(pBuilder);
+		verify(pBuilder, times(1)).addExecutionCallbacker(callback);
+		verify(pBuilder, times(1)).start();
+		verify(parametersProvider, times(1)).getReadyToRunParameters();
+		verify(lifeCycle, atLeastOnce()).getFullCommandLine();
+		verify(lifeCycle, times(1)).getExecNameWithoutExt();
+		verify(lifeCycle, times(1)).getLauncher();
+		verify(processlauncher, times(1)).getStreamsExecutor();
+		verify(executorWatcher, times(1)).setupWatcherRun(pBuilder);
+		verify(executorWatcher, times(1)).afterStartProcessAsync(lifeCycle);
+	}
+
 	@Test
 	void testDryRunCallbacks() {
 		ptb.dryRunCallbacks(parameters, pBuilder, lifeCycle);
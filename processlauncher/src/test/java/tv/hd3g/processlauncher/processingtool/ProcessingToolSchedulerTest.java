@@ -0,0 +1,218 @@
+/*
+ * This file is part of processlauncher.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * Copyright (C) hdsdi3g for hd3g.tv 2026
+ *
+ */
+package tv.hd3g.processlauncher.processingtool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static tv.hd3g.processlauncher.processingtool.ProcessingToolPriority.BATCH;
+import static tv.hd3g.processlauncher.processingtool.ProcessingToolPriority.INTERACTIVE;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import tv.hd3g.processlauncher.ProcesslauncherLifecycle;
+
+class ProcessingToolSchedulerTest {
+
+	class PTB extends ProcessingToolBuilder<String, ParametersProvider, String, ExecutorWatcher> {
+
+		final List<String> started;
+		final List<CompletableFuture<ProcessingToolResult<String, ParametersProvider, String, ExecutorWatcher>>> processing;
+
+		PTB(final String execName) {
+			super(execName, new ExecutorWatcher() {});
+			started = new ArrayList<>();
+			processing = new ArrayList<>();
+		}
+
+		@Override
+		protected ParametersProvider getParametersProvider(final String sourceOrigin) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		protected String compute(final String sourceOrigin, final ProcesslauncherLifecycle lifeCycle) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public CompletableFuture<ProcessingToolResult<String, ParametersProvider, String, ExecutorWatcher>> processAsync(final String sourceOrigin) {
+			if (sourceOrigin.equals("fail")) {
+				throw new IllegalStateException("Can't start");
+			} else if (sourceOrigin.equals("failed")) {
+				return CompletableFuture.failedFuture(new IllegalStateException("Process error"));
+			}
+			final var result = new CompletableFuture<ProcessingToolResult<String, ParametersProvider, String, ExecutorWatcher>>();
+			started.add(sourceOrigin);
+			processing.add(result);
+			return result;
+		}
+
+		void end(final int index) {
+			processing.get(index).complete(new ProcessingToolResult<>(this, execName, started.get(index)));
+		}
+	}
+
+	PTB ffmpeg;
+	PTB ffprobe;
+	ProcessingToolScheduler scheduler;
+
+	@BeforeEach
+	void init() {
+		ffmpeg = new PTB("ffmpeg");
+		ffprobe = new PTB("ffprobe");
+		scheduler = new ProcessingToolScheduler(2, 3);
+	}
+
+	@Test
+	void testInvalidParams() {
+		assertThrows(IllegalArgumentException.class, () -> new ProcessingToolScheduler(0, 1));
+		assertThrows(IllegalArgumentException.class, () -> new ProcessingToolScheduler(1, -1));
+		assertThrows(IllegalArgumentException.class, () -> scheduler.setMaxConcurrent("ffmpeg", 0));
+		assertThrows(NullPointerException.class, () -> scheduler.setMaxConcurrent(null, 1));
+	}
+
+	@Test
+	void testSubmit() throws Exception {
+		final var result = scheduler.submit(ffmpeg, "A", BATCH);
+		assertEquals(List.of("A"), ffmpeg.started);
+		assertEquals(1, scheduler.getRunningCount());
+		assertEquals(1, scheduler.getRunningCount("ffmpeg"));
+		assertFalse(result.isDone());
+
+		ffmpeg.end(0);
+		assertEquals("A", result.get().getResult());
+		assertEquals(0, scheduler.getRunningCount());
+		assertEquals(0, scheduler.getRunningCount("ffmpeg"));
+		assertEquals(1, scheduler.getQueueTimeStats().get(BATCH).getCount());
+		assertEquals(0, scheduler.getQueueTimeStats().get(INTERACTIVE).getCount());
+	}
+
+	@Test
+	void testGlobalLimitAndPriority() {
+		scheduler.submit(ffmpeg, "A", BATCH);
+		scheduler.submit(ffmpeg, "B", BATCH);
+		scheduler.submit(ffmpeg, "C", BATCH);
+		scheduler.submit(ffprobe, "D", INTERACTIVE);
+		assertEquals(List.of("A", "B"), ffmpeg.started);
+		assertEquals(2, scheduler.getQueuedCount());
+		assertEquals(1, scheduler.getQueuedCount(INTERACTIVE));
+		assertEquals(1, scheduler.getQueuedCount(BATCH));
+
+		ffmpeg.end(0);
+		assertEquals(List.of("D"), ffprobe.started);
+		assertEquals(List.of("A", "B"), ffmpeg.started);
+
+		ffprobe.end(0);
+		assertEquals(List.of("A", "B", "C"), ffmpeg.started);
+		assertEquals(0, scheduler.getQueuedCount());
+		assertEquals(2, scheduler.getRunningCount());
+	}
+
+	@Test
+	void testExecNameLimit() {
+		scheduler.setMaxConcurrent("ffmpeg", 1);
+		scheduler.submit(ffmpeg, "A", BATCH);
+		scheduler.submit(ffmpeg, "B", BATCH);
+		scheduler.submit(ffprobe, "C", BATCH);
+		assertEquals(List.of("A"), ffmpeg.started);
+		assertEquals(List.of("C"), ffprobe.started);
+		assertEquals(1, scheduler.getQueuedCount());
+
+		ffprobe.end(0);
+		assertEquals(List.of("A"), ffmpeg.started);
+		ffmpeg.end(0);
+		assertEquals(List.of("A", "B"), ffmpeg.started);
+	}
+
+	@Test
+	void testRejected() {
+		final var s = new ProcessingToolScheduler(1, 1);
+		s.submit(ffmpeg, "A", BATCH);
+		s.submit(ffmpeg, "B", BATCH);
+		final var rejected = s.submit(ffmpeg, "C", BATCH);
+		final var e = assertThrows(ExecutionException.class, rejected::get);
+		assertEquals(RejectedExecutionException.class, e.getCause().getClass());
+		assertEquals(List.of("A"), ffmpeg.started);
+		assertEquals(1, s.getQueuedCount());
+	}
+
+	@Test
+	void testCancelQueued() {
+		scheduler.submit(ffmpeg, "A", BATCH);
+		scheduler.submit(ffmpeg, "B", BATCH);
+		final var queued = scheduler.submit(ffmpeg, "C", BATCH);
+		assertEquals(1, scheduler.getQueuedCount());
+
+		assertTrue(queued.cancel(true));
+		assertEquals(0, scheduler.getQueuedCount());
+		ffmpeg.end(0);
+		assertEquals(List.of("A", "B"), ffmpeg.started);
+	}
+
+	@Test
+	void testCancelRunning() {
+		final var running = scheduler.submit(ffmpeg, "A", BATCH);
+		assertTrue(running.cancel(true));
+		assertTrue(ffmpeg.processing.get(0).isCancelled());
+		assertEquals(0, scheduler.getRunningCount());
+	}
+
+	@Test
+	void testStartFail() {
+		final var result = scheduler.submit(ffmpeg, "fail", BATCH);
+		final var e = assertThrows(ExecutionException.class, result::get);
+		assertEquals(IllegalStateException.class, e.getCause().getClass());
+		assertEquals(0, scheduler.getRunningCount());
+	}
+
+	@Test
+	void testProcessFail() {
+		final var result = scheduler.submit(ffmpeg, "A", BATCH);
+		ffmpeg.processing.get(0).completeExceptionally(new IllegalStateException("Process error"));
+		final var e = assertThrows(ExecutionException.class, result::get);
+		assertEquals(IllegalStateException.class, e.getCause().getClass());
+		assertEquals(0, scheduler.getRunningCount());
+	}
+
+	@Test
+	void testManyQueuedStartFails() {
+		final var count = 5000;
+		scheduler = new ProcessingToolScheduler(1, count);
+		scheduler.submit(ffmpeg, "A", BATCH);
+		final var results = new ArrayList<CompletableFuture<?>>();
+		for (var pos = 0; pos < count; pos++) {
+			results.add(scheduler.submit(ffmpeg, "failed", BATCH));
+		}
+		assertEquals(count, scheduler.getQueuedCount());
+
+		ffmpeg.end(0);
+		assertTrue(results.stream().allMatch(CompletableFuture::isCompletedExceptionally));
+		assertEquals(0, scheduler.getQueuedCount());
+		assertEquals(0, scheduler.getRunningCount());
+		assertEquals(count + 1, scheduler.getQueueTimeStats().get(BATCH).getCount());
+	}
+
+}